@@ -10,6 +10,7 @@ import com.newsvisualizer.service.SessionManager;
 import com.newsvisualizer.service.DatabaseService;
 import com.newsvisualizer.utils.NewsAnalyzer;
 import com.newsvisualizer.utils.ArticleSummarizer;
+import com.newsvisualizer.utils.SummaryCache;
 import com.newsvisualizer.visualization.ChartGenerator;
 import com.newsvisualizer.gui.TranslationPanel;
 import com.newsvisualizer.gui.NewsAppPanel;
@@ -95,6 +96,7 @@ public class EnhancedMainWindow extends JFrame implements ModernSidebar.Navigati
         newsService = new NewsApiService();
         sessionManager = SessionManager.getInstance();
         databaseService = DatabaseService.getInstance();
+        SummaryCache.getInstance().setStore(databaseService);
     }
     
     private void showLoginWindow() {
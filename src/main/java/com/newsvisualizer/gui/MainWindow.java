@@ -7,8 +7,18 @@ import com.newsvisualizer.model.User;
 import com.newsvisualizer.service.DatabaseService;
 import com.newsvisualizer.service.NewsApiService;
 import com.newsvisualizer.service.SessionManager;
+import com.newsvisualizer.utils.ArticleTimeline;
+import com.newsvisualizer.utils.BatchSummarizer;
+import com.newsvisualizer.utils.CorpusTfIdfModel;
+import com.newsvisualizer.utils.DistinctCountTracker;
+import com.newsvisualizer.utils.EntityMentionCounter;
+import com.newsvisualizer.utils.ExtractionBudget;
+import com.newsvisualizer.utils.KeywordAnomalyDetector;
+import com.newsvisualizer.utils.KeywordCooccurrence;
 import com.newsvisualizer.utils.NewsAnalyzer;
+import com.newsvisualizer.utils.SentimentQuantiles;
 import com.newsvisualizer.utils.ArticleSummarizer;
+import com.newsvisualizer.utils.SummaryCache;
 import com.newsvisualizer.visualization.ChartGenerator;
 import com.newsvisualizer.gui.NewsAppPanel;
 import com.newsvisualizer.gui.TranslationPanel;
@@ -22,7 +32,11 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -41,9 +55,14 @@ public class MainWindow extends JFrame {
     private ModernUIComponents.ModernButton searchButton;
     private ModernUIComponents.ModernButton analyzeButton;
     private ModernUIComponents.ModernTextField urlField;
+    private ModernUIComponents.ModernComboBox summaryModeCombo;
     private ModernUIComponents.ModernButton summarizeButton;
+    private ModernUIComponents.ModernButton summarizeAllButton;
+    private transient BatchSummarizer.Batch currentBatch;
     private ModernUIComponents.ModernProgressBar progressBar;
     private JLabel statusLabel;
+    private JLabel anomalyLabel;
+    private transient KeywordAnomalyDetector.AnomalyListener anomalyListener;
     private ModernUIComponents.ModernTabbedPane tabbedPane;
     private DefaultTableModel tableModel;
     private JTable articlesTable;
@@ -67,6 +86,7 @@ public class MainWindow extends JFrame {
         newsService = new NewsApiService();
         sessionManager = SessionManager.getInstance();
         databaseService = DatabaseService.getInstance();
+        SummaryCache.getInstance().setStore(databaseService);
     }
     
     private void showLoginWindow() {
@@ -350,6 +370,14 @@ public class MainWindow extends JFrame {
         JPanel urlPanel = createFormGroup("Article URL:", urlField);
         
         panel.add(urlPanel);
+        panel.add(Box.createVerticalStrut(ModernTheme.Spacing.SMALL));
+        
+        // Sentence selection mode for single-article summaries
+        summaryModeCombo = ModernUIComponents.createComboBox(new String[]{
+            "Keyword scoring", "TextRank"
+        });
+        summaryModeCombo.setToolTipText("TextRank picks the sentences most connected to the rest of the article");
+        panel.add(createFormGroup("Summary Mode:", summaryModeCombo));
         panel.add(Box.createVerticalStrut(ModernTheme.Spacing.MEDIUM));
         
         // Summarize button
@@ -358,6 +386,13 @@ public class MainWindow extends JFrame {
         buttonPanel.setOpaque(false);
         buttonPanel.add(summarizeButton);
         
+        // Batch summarization of every fetched article
+        summarizeAllButton = ModernUIComponents.createSecondaryButton("📚 Summarize All");
+        summarizeAllButton.setToolTipText("Summarize every article in the table");
+        summarizeAllButton.setEnabled(false);
+        buttonPanel.add(Box.createHorizontalStrut(ModernTheme.Spacing.SMALL));
+        buttonPanel.add(summarizeAllButton);
+        
         panel.add(buttonPanel);
         
         return panel;
@@ -426,6 +461,20 @@ public class MainWindow extends JFrame {
             }
         });
         
+        summarizeAllButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                // While a batch runs the same button cancels it
+                if (currentBatch != null) {
+                    currentBatch.cancel();
+                    summarizeAllButton.setEnabled(false);
+                    statusLabel.setText("Cancelling batch...");
+                } else {
+                    summarizeAllArticles();
+                }
+            }
+        });
+        
         // Enter key in URL field triggers summarization
         urlField.addActionListener(new ActionListener() {
             @Override
@@ -508,6 +557,13 @@ public class MainWindow extends JFrame {
                         statusLabel.setText("📡 Fetching news from Indian RSS feeds (default)..."));
                 }
                 
+                // Stream the fetched articles into the keyword spike detector, distinct counters and entity counts
+                if (response.isSuccess() && response.hasArticles()) {
+                    KeywordAnomalyDetector.getInstance().addArticles(response.getArticles());
+                    DistinctCountTracker.getInstance().addArticles(response.getArticles());
+                    EntityMentionCounter.getInstance().addArticles(response.getArticles());
+                }
+                
                 return response;
             }
             
@@ -535,6 +591,7 @@ public class MainWindow extends JFrame {
             currentArticles = response.getArticles();
             updateArticlesTable();
             analyzeButton.setEnabled(true);
+            summarizeAllButton.setEnabled(true);
             
             // Save search history if user is logged in
             saveSearchHistory(response);
@@ -661,6 +718,11 @@ public class MainWindow extends JFrame {
                 
                 // Perform sentiment analysis
                 NewsAnalyzer.analyzeSentiment(currentArticles);
+                SentimentQuantiles.getInstance().addArticles(currentArticles);
+                
+                // Feed the corpus-wide models: TF-IDF weights and keyword co-occurrence
+                CorpusTfIdfModel.getInstance().addDocuments(currentArticles);
+                KeywordCooccurrence.getInstance().addArticles(currentArticles);
                 
                 return null;
             }
@@ -697,6 +759,24 @@ public class MainWindow extends JFrame {
             return;
         }
         
+        ArticleSummarizer.SummaryMode mode = "TextRank".equals(summaryModeCombo.getSelectedItem())
+                ? ArticleSummarizer.SummaryMode.TEXTRANK : ArticleSummarizer.SummaryMode.KEYWORDS;
+        
+        // Topic pages stream their linked articles into the batch view before the digest is ready
+        DefaultListModel<ArticleSummarizer.ArticleSummary> linkedSummaries = new DefaultListModel<>();
+        BatchSummarizer.ProgressListener topicListener = (linkUrl, linkSummary, completed, total) ->
+                SwingUtilities.invokeLater(() -> {
+                    if (linkedSummaries.isEmpty()) {
+                        tabbedPane.setComponentAt(5, createBatchSummaryPanel(linkedSummaries));
+                        tabbedPane.setSelectedIndex(5);
+                    }
+                    linkedSummaries.addElement(linkSummary);
+                    progressBar.setIndeterminate(false);
+                    progressBar.setMaximum(total);
+                    progressBar.setValue(completed);
+                    progressBar.setString("Topic page: " + completed + " / " + total + " articles");
+                });
+        
         SwingWorker<ArticleSummarizer.ArticleSummary, Void> worker = new SwingWorker<ArticleSummarizer.ArticleSummary, Void>() {
             @Override
             protected ArticleSummarizer.ArticleSummary doInBackground() throws Exception {
@@ -707,14 +787,19 @@ public class MainWindow extends JFrame {
                     statusLabel.setText("🔍 Fetching article content and generating AI summary...");
                 });
                 
-                return ArticleSummarizer.summarizeFromUrl(url);
+                return ArticleSummarizer.summarizeFromUrl(url, ExtractionBudget.DEFAULT_BUDGET_MILLIS, mode, topicListener);
             }
             
             @Override
             protected void done() {
                 try {
                     ArticleSummarizer.ArticleSummary summary = get();
-                    displayArticleSummary(summary);
+                    if (linkedSummaries.isEmpty()) {
+                        displayArticleSummary(summary);
+                    } else {
+                        // The digest heads the list of the linked articles it was built from
+                        linkedSummaries.add(0, summary);
+                    }
                     statusLabel.setText("✨ Article summarized successfully! Check the 'AI Summary' tab.");
                 } catch (Exception e) {
                     showError("Error summarizing article: " + e.getMessage());
@@ -722,6 +807,7 @@ public class MainWindow extends JFrame {
                 } finally {
                     summarizeButton.setEnabled(true);
                     progressBar.setIndeterminate(false);
+                    progressBar.setMaximum(100);
                     progressBar.setValue(0);
                     progressBar.setString("Ready");
                 }
@@ -731,6 +817,110 @@ public class MainWindow extends JFrame {
         worker.execute();
     }
     
+    private void summarizeAllArticles() {
+        List<String> urls = new ArrayList<>();
+        if (currentArticles != null) {
+            for (NewsArticle article : currentArticles) {
+                if (article.getUrl() != null && isValidUrl(article.getUrl())) {
+                    urls.add(article.getUrl());
+                }
+            }
+        }
+        if (urls.isEmpty()) {
+            showError("No article URLs to summarize. Fetch news first.");
+            return;
+        }
+        
+        DefaultListModel<ArticleSummarizer.ArticleSummary> summaries = new DefaultListModel<>();
+        tabbedPane.setComponentAt(5, createBatchSummaryPanel(summaries));
+        tabbedPane.setSelectedIndex(5);
+        
+        summarizeButton.setEnabled(false);
+        summarizeAllButton.setText("⏹ Cancel Batch");
+        summarizeAllButton.setToolTipText("Stop summarizing; summaries already shown are kept");
+        progressBar.setIndeterminate(false);
+        progressBar.setMaximum(urls.size());
+        progressBar.setValue(0);
+        progressBar.setString("Summarizing 0 / " + urls.size());
+        statusLabel.setText("📚 Summarizing " + urls.size() + " articles...");
+        
+        // Summaries stream in from worker threads; hop onto the EDT for every update
+        currentBatch = new BatchSummarizer().summarizeAll(urls, new BatchSummarizer.ProgressListener() {
+            @Override
+            public void onSummary(String url, ArticleSummarizer.ArticleSummary summary, int completed, int total) {
+                SwingUtilities.invokeLater(() -> {
+                    summaries.addElement(summary);
+                    progressBar.setValue(completed);
+                    progressBar.setString("Summarizing " + completed + " / " + total);
+                });
+            }
+            
+            @Override
+            public void onFinished(int completed, int total, boolean cancelled) {
+                SwingUtilities.invokeLater(() -> {
+                    currentBatch = null;
+                    summarizeButton.setEnabled(true);
+                    summarizeAllButton.setText("📚 Summarize All");
+                    summarizeAllButton.setToolTipText("Summarize every article in the table");
+                    summarizeAllButton.setEnabled(true);
+                    progressBar.setMaximum(100);
+                    progressBar.setValue(0);
+                    progressBar.setString("Ready");
+                    statusLabel.setText((cancelled ? "⚠️ Batch cancelled after " : "✨ Summarized ")
+                            + completed + " of " + total + " articles. Check the 'AI Summary' tab.");
+                });
+            }
+        });
+    }
+    
+    private JPanel createBatchSummaryPanel(DefaultListModel<ArticleSummarizer.ArticleSummary> summaries) {
+        JList<ArticleSummarizer.ArticleSummary> list = new JList<>(summaries);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setFont(ModernTheme.Fonts.BODY_MEDIUM);
+        list.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                ArticleSummarizer.ArticleSummary summary = (ArticleSummarizer.ArticleSummary) value;
+                String label = "Error".equals(summary.getTitle()) ? "⚠️ Could not summarize" : summary.getTitle();
+                return super.getListCellRendererComponent(list, label, index, isSelected, cellHasFocus);
+            }
+        });
+        
+        JTextArea detail = new JTextArea();
+        detail.setEditable(false);
+        detail.setLineWrap(true);
+        detail.setWrapStyleWord(true);
+        detail.setFont(ModernTheme.Fonts.BODY_MEDIUM);
+        detail.setBorder(new EmptyBorder(ModernTheme.Spacing.MEDIUM, ModernTheme.Spacing.MEDIUM,
+                ModernTheme.Spacing.MEDIUM, ModernTheme.Spacing.MEDIUM));
+        list.addListSelectionListener(e -> {
+            ArticleSummarizer.ArticleSummary summary = list.getSelectedValue();
+            if (summary == null || e.getValueIsAdjusting()) {
+                return;
+            }
+            StringBuilder text = new StringBuilder(summary.getTitle()).append("\n");
+            if (!summary.getUrl().isEmpty()) {
+                text.append(summary.getUrl()).append("\n");
+            }
+            text.append("\n").append(summary.getSummary()).append("\n\n");
+            for (String point : summary.getKeyPoints()) {
+                text.append(point).append("\n");
+            }
+            detail.setText(text.toString());
+            detail.setCaretPosition(0);
+        });
+        
+        JSplitPane split = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, new JScrollPane(list), new JScrollPane(detail));
+        split.setResizeWeight(0.35);
+        split.setBorder(null);
+        
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(ModernTheme.Colors.BACKGROUND_PRIMARY);
+        panel.add(split, BorderLayout.CENTER);
+        return panel;
+    }
+    
     private boolean isValidUrl(String url) {
         return url.startsWith("http://") || url.startsWith("https://");
     }
@@ -768,8 +958,8 @@ public class MainWindow extends JFrame {
         summaryPanel.add(scrollPane, BorderLayout.CENTER);
         
         // Replace the AI Summary tab (index 4)
-        tabbedPane.setComponentAt(4, summaryPanel);
-        tabbedPane.setSelectedIndex(4); // Switch to AI Summary tab
+        tabbedPane.setComponentAt(5, summaryPanel);
+        tabbedPane.setSelectedIndex(5); // Switch to AI Summary tab
     }
     
     private JPanel createSummaryHeader(ArticleSummarizer.ArticleSummary summary) {
@@ -886,10 +1076,8 @@ public class MainWindow extends JFrame {
         headerLabel.setBorder(new EmptyBorder(10, 15, 8, 15)); // Compact header
         card.add(headerLabel, BorderLayout.NORTH);
         
-        JTextArea summaryText = new JTextArea(summary.getSummary(), 0, 120); // Increased to 120 columns for even wider text
-        summaryText.setWrapStyleWord(true);
-        summaryText.setLineWrap(true);
-        summaryText.setEditable(false);
+        // HTML pane so the summary keywords can be highlighted in place
+        JEditorPane summaryText = createHighlightedText(summary.getSummary(), summary.getKeywords());
         summaryText.setOpaque(true);
         summaryText.setBackground(new Color(255, 255, 255)); // White background
         summaryText.setFont(new Font("Georgia", Font.PLAIN, 18)); // Increased font size to 18 for better readability
@@ -929,7 +1117,7 @@ public class MainWindow extends JFrame {
         pointsPanel.setBorder(new EmptyBorder(5, 20, 20, 20));
         
         for (String point : summary.getKeyPoints()) {
-            JPanel pointPanel = createKeyPointItem(point);
+            JPanel pointPanel = createKeyPointItem(point, summary.getKeywords());
             pointsPanel.add(pointPanel);
             pointsPanel.add(Box.createVerticalStrut(8));
         }
@@ -1060,16 +1248,13 @@ public class MainWindow extends JFrame {
         return panel;
     }
     
-    private JPanel createKeyPointItem(String point) {
+    private JPanel createKeyPointItem(String point, Map<String, Integer> keywords) {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setOpaque(false);
         panel.setBorder(new EmptyBorder(5, 0, 5, 0));
         
-        // Use JTextArea for better text wrapping instead of HTML labels
-        JTextArea pointText = new JTextArea(point, 0, 110); // Increased to 110 columns for even wider wrapping
-        pointText.setWrapStyleWord(true);
-        pointText.setLineWrap(true);
-        pointText.setEditable(false);
+        // Wrapping HTML pane, with the summary keywords highlighted
+        JEditorPane pointText = createHighlightedText(point, keywords);
         pointText.setOpaque(false);
         pointText.setFont(new Font("Arial", Font.PLAIN, 17)); // Increased font size to 17 for better readability
         pointText.setForeground(new Color(44, 62, 80));
@@ -1097,6 +1282,18 @@ public class MainWindow extends JFrame {
         return panel;
     }
     
+    /**
+     * Read-only wrapping text pane showing plain text with the keywords highlighted; the
+     * component font and colour apply as with a text area
+     */
+    private JEditorPane createHighlightedText(String text, Map<String, Integer> keywords) {
+        String html = ArticleSummarizer.highlightKeywords(text != null ? text : "", keywords).replace("\n", "<br>");
+        JEditorPane pane = new JEditorPane("text/html", "<html><body>" + html + "</body></html>");
+        pane.putClientProperty(JEditorPane.HONOR_DISPLAY_PROPERTIES, Boolean.TRUE);
+        pane.setEditable(false);
+        return pane;
+    }
+    
     private JPanel createKeywordTag(String keyword, int frequency) {
         JPanel tag = new JPanel() {
             @Override
@@ -1124,9 +1321,7 @@ public class MainWindow extends JFrame {
         // Generate analysis data
         Map<String, Integer> sentimentDist = NewsAnalyzer.getSentimentDistribution(currentArticles);
         Map<String, Integer> sourceDist = NewsAnalyzer.getSourceDistribution(currentArticles);
-        Map<String, Integer> keywords = NewsAnalyzer.extractKeywords(currentArticles, 20);
-        
-        // Timeline functionality removed
+        Map<String, Integer> keywords = NewsAnalyzer.extractKeywordsTfIdf(currentArticles, 20);
         
         // Calculate summary statistics
         double avgSentiment = NewsAnalyzer.getAverageSentiment(currentArticles);
@@ -1143,25 +1338,83 @@ public class MainWindow extends JFrame {
         sentimentPanel.add(summaryPanel, BorderLayout.NORTH);
         if (!sentimentDist.isEmpty()) {
             JPanel chartPanel = ChartGenerator.createSentimentChart("Sentiment Distribution", sentimentDist);
-            sentimentPanel.add(chartPanel, BorderLayout.CENTER);
+            Map<String, SentimentQuantiles.Summary> spread = SentimentQuantiles.getInstance()
+                .getSummaries(SentimentQuantiles.Dimension.SOURCE, 10);
+            if (spread.isEmpty()) {
+                sentimentPanel.add(chartPanel, BorderLayout.CENTER);
+            } else {
+                JPanel chartsPanel = new JPanel(new GridLayout(1, 2, 10, 0));
+                chartsPanel.setBackground(Color.WHITE);
+                chartsPanel.add(chartPanel);
+                chartsPanel.add(ChartGenerator.createSentimentBoxPlot("Sentiment Spread by Source", "Sources", spread));
+                sentimentPanel.add(chartsPanel, BorderLayout.CENTER);
+            }
         }
         tabbedPane.setComponentAt(1, sentimentPanel);
         
-        // Source Distribution tab
+        // Source Distribution tab, with the stories most sources picked up
         if (!sourceDist.isEmpty()) {
             JPanel sourceChart = ChartGenerator.createHorizontalBarChart(
                 "Articles by Source", "Sources", "Number of Articles", sourceDist);
-            tabbedPane.setComponentAt(2, sourceChart);
+            Map<String, Integer> storyCoverage = NewsAnalyzer.getStoryCoverage(currentArticles, 10);
+            if (storyCoverage.isEmpty()) {
+                tabbedPane.setComponentAt(2, sourceChart);
+            } else {
+                JPanel sourcePanel = new JPanel(new GridLayout(2, 1, 0, 10));
+                sourcePanel.setBackground(Color.WHITE);
+                sourcePanel.add(sourceChart);
+                sourcePanel.add(ChartGenerator.createHorizontalBarChart(
+                    "Stories Across Sources", "Stories", "Number of Sources", storyCoverage));
+                tabbedPane.setComponentAt(2, sourcePanel);
+            }
         }
         
-        // Keywords tab
+        // Keywords tab: single words next to multi-word phrases, with the terms that appear together below
         if (!keywords.isEmpty()) {
             JPanel keywordChart = ChartGenerator.createWordFrequencyChart(
                 "Top Keywords", keywords);
-            tabbedPane.setComponentAt(3, keywordChart);
+            Map<String, Integer> phrases = NewsAnalyzer.extractKeyPhrases(currentArticles, 15);
+            JPanel wordsPanel = keywordChart;
+            if (!phrases.isEmpty()) {
+                wordsPanel = new JPanel(new GridLayout(1, 2, 10, 0));
+                wordsPanel.setBackground(Color.WHITE);
+                wordsPanel.add(keywordChart);
+                wordsPanel.add(ChartGenerator.createWordFrequencyChart("Top Phrases", phrases));
+            }
+            
+            List<String> relatedTerms = new ArrayList<>(keywords.keySet()).subList(0, Math.min(12, keywords.size()));
+            int[][] cooccurrence = KeywordCooccurrence.getInstance().getMatrix(relatedTerms);
+            if (Arrays.stream(cooccurrence).flatMapToInt(Arrays::stream).anyMatch(count -> count > 0)) {
+                JPanel keywordPanel = new JPanel(new GridLayout(2, 1, 0, 10));
+                keywordPanel.setBackground(Color.WHITE);
+                keywordPanel.add(wordsPanel);
+                keywordPanel.add(ChartGenerator.createCooccurrenceHeatmap(
+                    "Keywords Appearing Together", relatedTerms, cooccurrence));
+                tabbedPane.setComponentAt(3, keywordPanel);
+            } else {
+                tabbedPane.setComponentAt(3, wordsPanel);
+            }
         }
         
-        // Timeline functionality removed
+        // Timeline tab, with the people, places and organizations of the last day across all fetches
+        ArticleTimeline timeline = ArticleTimeline.fromArticles(currentArticles);
+        if (!timeline.isEmpty()) {
+            JPanel timelineChart = ChartGenerator.createTimelineChart(
+                "Publication Timeline", timeline);
+            long now = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+            Map<String, Integer> entities = EntityMentionCounter.getInstance()
+                .getTopEntities(null, now - 24 * 3600, now + 1, 10);
+            if (entities.isEmpty()) {
+                tabbedPane.setComponentAt(4, timelineChart);
+            } else {
+                JPanel timelinePanel = new JPanel(new GridLayout(2, 1, 0, 10));
+                timelinePanel.setBackground(Color.WHITE);
+                timelinePanel.add(timelineChart);
+                timelinePanel.add(ChartGenerator.createHorizontalBarChart(
+                    "Most Mentioned in the Last 24 Hours", "Entities", "Mentions", entities));
+                tabbedPane.setComponentAt(4, timelinePanel);
+            }
+        }
     }
     
     private void showError(String message) {
@@ -1615,7 +1868,14 @@ public class MainWindow extends JFrame {
         );
         tabbedPane.addTab("🔑 Keywords", keywordPanel);
         
-        // Timeline tab removed
+        // Timeline tab
+        JPanel timelinePanel = createPlaceholderPanel(
+            "📈 Publication Timeline", 
+            "Track article volume and sentiment over time",
+            new Color(139, 92, 246)
+        );
+        tabbedPane.addTab("📈 Timeline", timelinePanel);
+        
         
         // Article Summary tab
         JPanel summaryPanel = createPlaceholderPanel(
@@ -1727,11 +1987,29 @@ public class MainWindow extends JFrame {
         statusLabel.setForeground(ModernTheme.Colors.TEXT_SECONDARY);
         
         statusPanel.add(statusLabel, BorderLayout.WEST);
+        
+        // Keyword spike alerts from the ingest stream
+        anomalyLabel = new JLabel();
+        anomalyLabel.setFont(ModernTheme.Fonts.BODY_SMALL);
+        anomalyLabel.setForeground(ModernTheme.Colors.WARNING);
+        statusPanel.add(anomalyLabel, BorderLayout.EAST);
+        
+        anomalyListener = anomaly -> SwingUtilities.invokeLater(() ->
+            anomalyLabel.setText("⚡ Spike: \"" + anomaly.getTerm() + "\" " + anomaly.getCount()
+                + " mentions (usually " + String.format("%.1f", anomaly.getBaseline()) + ")"));
+        KeywordAnomalyDetector.getInstance().addListener(anomalyListener);
+        
         add(statusPanel, BorderLayout.SOUTH);
     }
     
     @Override
     public void dispose() {
+        if (anomalyListener != null) {
+            KeywordAnomalyDetector.getInstance().removeListener(anomalyListener);
+        }
+        if (currentBatch != null) {
+            currentBatch.cancel();
+        }
         if (newsService != null) {
             newsService.close();
         }
@@ -0,0 +1,99 @@
+package com.newsvisualizer.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted URL summary together with the validators of the page it was built from
+ */
+public class CachedUrlSummary {
+    private String canonicalUrl;
+    private String etag;
+    private String lastModified;
+    private long bodyHash;
+    private String summaryJson; // JSON string of the ArticleSummary
+    private LocalDateTime fetchedAt;
+    private LocalDateTime validatedAt;
+    
+    // Default constructor
+    public CachedUrlSummary() {
+        this.fetchedAt = LocalDateTime.now();
+        this.validatedAt = fetchedAt;
+    }
+    
+    public CachedUrlSummary(String canonicalUrl, String etag, String lastModified, long bodyHash, String summaryJson) {
+        this();
+        this.canonicalUrl = canonicalUrl;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.bodyHash = bodyHash;
+        this.summaryJson = summaryJson;
+    }
+    
+    // Getters and Setters
+    public String getCanonicalUrl() {
+        return canonicalUrl;
+    }
+    
+    public void setCanonicalUrl(String canonicalUrl) {
+        this.canonicalUrl = canonicalUrl;
+    }
+    
+    public String getEtag() {
+        return etag;
+    }
+    
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+    
+    public String getLastModified() {
+        return lastModified;
+    }
+    
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+    
+    public long getBodyHash() {
+        return bodyHash;
+    }
+    
+    public void setBodyHash(long bodyHash) {
+        this.bodyHash = bodyHash;
+    }
+    
+    public String getSummaryJson() {
+        return summaryJson;
+    }
+    
+    public void setSummaryJson(String summaryJson) {
+        this.summaryJson = summaryJson;
+    }
+    
+    public LocalDateTime getFetchedAt() {
+        return fetchedAt;
+    }
+    
+    public void setFetchedAt(LocalDateTime fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+    
+    public LocalDateTime getValidatedAt() {
+        return validatedAt;
+    }
+    
+    public void setValidatedAt(LocalDateTime validatedAt) {
+        this.validatedAt = validatedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "CachedUrlSummary{" +
+                "canonicalUrl='" + canonicalUrl + '\'' +
+                ", etag='" + etag + '\'' +
+                ", bodyHash=" + bodyHash +
+                ", fetchedAt=" + fetchedAt +
+                ", validatedAt=" + validatedAt +
+                '}';
+    }
+}
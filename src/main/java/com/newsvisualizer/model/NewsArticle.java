@@ -148,6 +148,13 @@ public class NewsArticle {
      * Get sentiment as text with emojis
      */
     public String getSentimentText() {
+        return sentimentText(sentimentScore);
+    }
+    
+    /**
+     * Sentiment label for a raw score, shared with analytics that work on bare scores
+     */
+    public static String sentimentText(double sentimentScore) {
         if (sentimentScore > 0.05) return "😀 Positive";
         if (sentimentScore < -0.05) return "😞 Negative";
         return "😐 Neutral";
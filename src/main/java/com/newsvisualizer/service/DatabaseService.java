@@ -1,7 +1,9 @@
 package com.newsvisualizer.service;
 
+import com.newsvisualizer.model.CachedUrlSummary;
 import com.newsvisualizer.model.SearchHistory;
 import com.newsvisualizer.model.User;
+import com.newsvisualizer.utils.SummaryCache;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
@@ -16,7 +18,7 @@ import java.util.List;
 /**
  * Database service for handling user data and search history
  */
-public class DatabaseService {
+public class DatabaseService implements SummaryCache.Store {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseService.class);
     
     private static DatabaseService instance;
@@ -92,9 +94,23 @@ public class DatabaseService {
                 )
             """;
             
+            // Create url_summaries table (summary cache, keyed by canonical URL)
+            String createUrlSummariesTable = """
+                CREATE TABLE IF NOT EXISTS url_summaries (
+                    canonical_url VARCHAR(2048) PRIMARY KEY,
+                    etag VARCHAR(512),
+                    last_modified VARCHAR(100),
+                    body_hash BIGINT NOT NULL,
+                    summary_json CLOB NOT NULL,
+                    fetched_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    validated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+            """;
+            
             try (Statement stmt = conn.createStatement()) {
                 stmt.execute(createUsersTable);
                 stmt.execute(createSearchHistoryTable);
+                stmt.execute(createUrlSummariesTable);
                 logger.info("Database tables created successfully");
             }
             
@@ -302,6 +318,57 @@ public class DatabaseService {
         }
     }
     
+    // URL summary cache operations
+    @Override
+    public void saveUrlSummary(CachedUrlSummary cached) throws SQLException {
+        String sql = "MERGE INTO url_summaries (canonical_url, etag, last_modified, body_hash, summary_json, fetched_at, validated_at) KEY (canonical_url) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, cached.getCanonicalUrl());
+            stmt.setString(2, cached.getEtag());
+            stmt.setString(3, cached.getLastModified());
+            stmt.setLong(4, cached.getBodyHash());
+            stmt.setString(5, cached.getSummaryJson());
+            stmt.setTimestamp(6, Timestamp.valueOf(cached.getFetchedAt()));
+            stmt.setTimestamp(7, Timestamp.valueOf(cached.getValidatedAt()));
+            stmt.executeUpdate();
+        }
+    }
+    
+    @Override
+    public CachedUrlSummary findUrlSummary(String canonicalUrl) throws SQLException {
+        String sql = "SELECT * FROM url_summaries WHERE canonical_url = ?";
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, canonicalUrl);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToCachedUrlSummary(rs);
+                }
+            }
+        }
+        
+        return null;
+    }
+    
+    @Override
+    public boolean touchUrlSummary(String canonicalUrl, LocalDateTime validatedAt) throws SQLException {
+        String sql = "UPDATE url_summaries SET validated_at = ? WHERE canonical_url = ?";
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setTimestamp(1, Timestamp.valueOf(validatedAt));
+            stmt.setString(2, canonicalUrl);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+    
     // Helper methods
     private User mapResultSetToUser(ResultSet rs) throws SQLException {
         User user = new User();
@@ -346,6 +413,27 @@ public class DatabaseService {
         return history;
     }
     
+    private CachedUrlSummary mapResultSetToCachedUrlSummary(ResultSet rs) throws SQLException {
+        CachedUrlSummary cached = new CachedUrlSummary();
+        cached.setCanonicalUrl(rs.getString("canonical_url"));
+        cached.setEtag(rs.getString("etag"));
+        cached.setLastModified(rs.getString("last_modified"));
+        cached.setBodyHash(rs.getLong("body_hash"));
+        cached.setSummaryJson(rs.getString("summary_json"));
+        
+        Timestamp fetchedAt = rs.getTimestamp("fetched_at");
+        if (fetchedAt != null) {
+            cached.setFetchedAt(fetchedAt.toLocalDateTime());
+        }
+        
+        Timestamp validatedAt = rs.getTimestamp("validated_at");
+        if (validatedAt != null) {
+            cached.setValidatedAt(validatedAt.toLocalDateTime());
+        }
+        
+        return cached;
+    }
+    
     public void close() {
         if (dataSource instanceof HikariDataSource) {
             ((HikariDataSource) dataSource).close();
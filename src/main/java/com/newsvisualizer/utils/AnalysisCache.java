@@ -0,0 +1,149 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of per-article analysis results, keyed by a fast hash of
+ * title + description + content. Re-analysing an unchanged batch (or refetched
+ * duplicates) becomes a hash lookup per article instead of a full rescoring.
+ */
+public class AnalysisCache {
+    
+    public static final int DEFAULT_CAPACITY = 10_000;
+    
+    private static AnalysisCache instance;
+    
+    private final Map<Long, AnalysisResult> results;
+    private long hits;
+    private long misses;
+    
+    public AnalysisCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        // Access-ordered LinkedHashMap evicting the least recently used entry
+        this.results = new LinkedHashMap<Long, AnalysisResult>(Math.min(capacity, 1024) * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, AnalysisResult> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+    
+    /**
+     * Get the shared cache used by NewsAnalyzer
+     */
+    public static synchronized AnalysisCache getInstance() {
+        if (instance == null) {
+            instance = new AnalysisCache(DEFAULT_CAPACITY);
+        }
+        return instance;
+    }
+    
+    /**
+     * Hash of the analysed text fields; any edit to them yields a different key
+     */
+    public static long contentHash(NewsArticle article) {
+        long hash = fieldHash(article.getTitle());
+        hash = Hashing.combine(hash, fieldHash(article.getDescription()));
+        return Hashing.combine(hash, fieldHash(article.getContent()));
+    }
+    
+    /**
+     * Cached result for an article, computing and storing it on a miss.
+     * The computation runs outside the lock so analysis threads do not serialize on it.
+     */
+    public AnalysisResult getOrCompute(NewsArticle article, Function<NewsArticle, AnalysisResult> analyzer) {
+        long key = contentHash(article);
+        synchronized (this) {
+            AnalysisResult cached = results.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        
+        AnalysisResult computed = analyzer.apply(article);
+        synchronized (this) {
+            results.put(key, computed);
+        }
+        return computed;
+    }
+    
+    public synchronized AnalysisResult get(NewsArticle article) {
+        return results.get(contentHash(article));
+    }
+    
+    public synchronized int size() {
+        return results.size();
+    }
+    
+    public synchronized long getHitCount() {
+        return hits;
+    }
+    
+    public synchronized long getMissCount() {
+        return misses;
+    }
+    
+    public synchronized void clear() {
+        results.clear();
+        hits = 0;
+        misses = 0;
+    }
+    
+    private static long fieldHash(String value) {
+        // Distinguish null from empty so moving text between fields changes the key
+        return value == null ? 0x9e3779b97f4a7c15L : Hashing.hash64(value);
+    }
+    
+    /**
+     * Immutable analysis of one article: sentiment, token count and keyword vector
+     */
+    public static class AnalysisResult {
+        private final double sentiment;
+        private final int tokenCount;
+        private final String[] keywords;
+        private final int[] keywordCounts;
+        
+        public AnalysisResult(double sentiment, int tokenCount, String[] keywords, int[] keywordCounts) {
+            if (keywords.length != keywordCounts.length) {
+                throw new IllegalArgumentException("Keyword and count arrays must have the same length");
+            }
+            this.sentiment = sentiment;
+            this.tokenCount = tokenCount;
+            this.keywords = keywords;
+            this.keywordCounts = keywordCounts;
+        }
+        
+        public double getSentiment() { return sentiment; }
+        public int getTokenCount() { return tokenCount; }
+        public int getKeywordCount() { return keywords.length; }
+        public String getKeyword(int index) { return keywords[index]; }
+        public int getKeywordFrequency(int index) { return keywordCounts[index]; }
+        
+        /**
+         * The most frequent keywords, highest count first
+         */
+        public List<String> getTopKeywords(int limit) {
+            Integer[] order = new Integer[keywords.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(keywordCounts[b], keywordCounts[a]));
+            List<String> top = new ArrayList<>(Math.min(order.length, limit));
+            for (int i = 0; i < order.length && i < limit; i++) {
+                top.add(keywords[order[i]]);
+            }
+            return top;
+        }
+    }
+}
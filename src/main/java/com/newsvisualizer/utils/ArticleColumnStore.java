@@ -0,0 +1,206 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Struct-of-arrays article store for analytics.
+ *
+ * Each attribute lives in its own primitive column: publication time as epoch seconds,
+ * source/category/author as dictionary-encoded int IDs, sentiment as a float, and the
+ * text fields as offsets into one shared char buffer. Scans over a million rows touch a
+ * few contiguous arrays instead of chasing NewsArticle, LocalDateTime and Source objects.
+ * Not thread-safe; fill it from one thread, then query.
+ */
+public class ArticleColumnStore {
+    
+    /** Marker for rows without a publication time */
+    public static final long NO_TIME = Long.MIN_VALUE;
+    
+    private static final String UNKNOWN = "Unknown";
+    
+    private final TermDictionary sources = new TermDictionary();
+    private final TermDictionary categories = new TermDictionary();
+    private final TermDictionary authors = new TermDictionary();
+    
+    private int size;
+    private long[] publishedAt;
+    private int[] sourceIds;
+    private int[] categoryIds;
+    private int[] authorIds;
+    private float[] sentiments;
+    
+    // Title, description and content of row i are text[textStart[i]..titleEnd[i]),
+    // [titleEnd[i]..descriptionEnd[i]) and [descriptionEnd[i]..textStart[i + 1])
+    private char[] text;
+    private int textLength;
+    private int[] textStart;
+    private int[] titleEnd;
+    private int[] descriptionEnd;
+    
+    public ArticleColumnStore() {
+        this(1024);
+    }
+    
+    public ArticleColumnStore(int expectedRows) {
+        int capacity = Math.max(16, expectedRows);
+        publishedAt = new long[capacity];
+        sourceIds = new int[capacity];
+        categoryIds = new int[capacity];
+        authorIds = new int[capacity];
+        sentiments = new float[capacity];
+        textStart = new int[capacity + 1];
+        titleEnd = new int[capacity];
+        descriptionEnd = new int[capacity];
+        text = new char[capacity * 64];
+    }
+    
+    /**
+     * Build a store from a list of articles
+     */
+    public static ArticleColumnStore fromArticles(List<NewsArticle> articles) {
+        ArticleColumnStore store = new ArticleColumnStore(articles.size());
+        store.addAll(articles);
+        return store;
+    }
+    
+    public void addAll(List<NewsArticle> articles) {
+        for (NewsArticle article : articles) {
+            add(article);
+        }
+    }
+    
+    /**
+     * Append one article as a new row and return its row index
+     */
+    public int add(NewsArticle article) {
+        ensureRowCapacity(size + 1);
+        int row = size;
+        
+        publishedAt[row] = article.getPublishedAt() != null ? NewsAnalyzer.publishedEpochSecond(article) : NO_TIME;
+        String source = article.getSource() != null && article.getSource().getName() != null
+                ? article.getSource().getName() : UNKNOWN;
+        sourceIds[row] = sources.getOrAdd(source);
+        categoryIds[row] = categories.getOrAdd(article.getCategory() != null ? article.getCategory() : UNKNOWN);
+        authorIds[row] = authors.getOrAdd(article.getAuthor() != null ? article.getAuthor() : UNKNOWN);
+        sentiments[row] = (float) article.getSentimentScore();
+        
+        textStart[row] = textLength;
+        appendText(article.getTitle());
+        titleEnd[row] = textLength;
+        appendText(article.getDescription());
+        descriptionEnd[row] = textLength;
+        appendText(article.getContent());
+        textStart[row + 1] = textLength;
+        
+        size++;
+        return row;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public long getPublishedAt(int row) {
+        return publishedAt[row];
+    }
+    
+    public int getSourceId(int row) {
+        return sourceIds[row];
+    }
+    
+    public int getCategoryId(int row) {
+        return categoryIds[row];
+    }
+    
+    public int getAuthorId(int row) {
+        return authorIds[row];
+    }
+    
+    public float getSentiment(int row) {
+        return sentiments[row];
+    }
+    
+    public void setSentiment(int row, float sentiment) {
+        sentiments[row] = sentiment;
+    }
+    
+    public String getTitle(int row) {
+        return new String(text, textStart[row], titleEnd[row] - textStart[row]);
+    }
+    
+    public String getDescription(int row) {
+        return new String(text, titleEnd[row], descriptionEnd[row] - titleEnd[row]);
+    }
+    
+    public String getContent(int row) {
+        return new String(text, descriptionEnd[row], textStart[row + 1] - descriptionEnd[row]);
+    }
+    
+    public TermDictionary getSourceDictionary() {
+        return sources;
+    }
+    
+    public TermDictionary getCategoryDictionary() {
+        return categories;
+    }
+    
+    public TermDictionary getAuthorDictionary() {
+        return authors;
+    }
+    
+    /**
+     * Direct column access for tight analytics loops; arrays may be longer than {@link #size()}
+     */
+    long[] publishedAtColumn() {
+        return publishedAt;
+    }
+    
+    int[] sourceIdColumn() {
+        return sourceIds;
+    }
+    
+    int[] categoryIdColumn() {
+        return categoryIds;
+    }
+    
+    float[] sentimentColumn() {
+        return sentiments;
+    }
+    
+    /**
+     * Approximate heap used by the columns and the text buffer, in bytes
+     */
+    public long getApproximateBytes() {
+        long rows = publishedAt.length;
+        return rows * (8 + 4 + 4 + 4 + 4 + 4 + 4 + 4) + (long) text.length * 2;
+    }
+    
+    private void appendText(String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (textLength + value.length() > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + value.length()));
+        }
+        value.getChars(0, value.length(), text, textLength);
+        textLength += value.length();
+    }
+    
+    private void ensureRowCapacity(int rows) {
+        if (rows <= publishedAt.length) {
+            return;
+        }
+        int capacity = Math.max(rows, publishedAt.length * 2);
+        publishedAt = Arrays.copyOf(publishedAt, capacity);
+        sourceIds = Arrays.copyOf(sourceIds, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        authorIds = Arrays.copyOf(authorIds, capacity);
+        sentiments = Arrays.copyOf(sentiments, capacity);
+        textStart = Arrays.copyOf(textStart, capacity + 1);
+        titleEnd = Arrays.copyOf(titleEnd, capacity);
+        descriptionEnd = Arrays.copyOf(descriptionEnd, capacity);
+    }
+}
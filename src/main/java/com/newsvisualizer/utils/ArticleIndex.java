@@ -0,0 +1,179 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Indexed in-memory article corpus for {@link ArticleQuery}.
+ *
+ * Rows live in an {@link ArticleColumnStore}. On top of it the index keeps one bitmap per
+ * source and per category, and a permutation of the rows sorted by publication time, so
+ * queries can intersect bitmaps and binary-search a time range instead of scanning every
+ * article. Appending in time order keeps the time index current; out-of-order rows mark it
+ * stale and it is re-sorted on the next query. Not thread-safe.
+ */
+public class ArticleIndex {
+    
+    private final ArticleColumnStore store;
+    private final List<NewsArticle> articles = new ArrayList<>();
+    private final List<BitSet> sourceBitmaps = new ArrayList<>();
+    private final List<BitSet> categoryBitmaps = new ArrayList<>();
+    
+    private int[] rowsByTime = new int[16];
+    private long[] sortedTimes = new long[16];
+    private int timedRows;
+    private int[] untimedRows = new int[16];
+    private int untimedCount;
+    private boolean timeIndexStale;
+    
+    public ArticleIndex() {
+        this(1024);
+    }
+    
+    public ArticleIndex(int expectedRows) {
+        this.store = new ArticleColumnStore(expectedRows);
+    }
+    
+    public static ArticleIndex fromArticles(List<NewsArticle> articles) {
+        ArticleIndex index = new ArticleIndex(articles.size());
+        index.addAll(articles);
+        return index;
+    }
+    
+    public void addAll(List<NewsArticle> articles) {
+        for (NewsArticle article : articles) {
+            add(article);
+        }
+    }
+    
+    /**
+     * Append an article and index it; returns its row
+     */
+    public int add(NewsArticle article) {
+        int row = store.add(article);
+        articles.add(article);
+        bitmap(sourceBitmaps, store.getSourceId(row)).set(row);
+        bitmap(categoryBitmaps, store.getCategoryId(row)).set(row);
+        
+        long time = store.getPublishedAt(row);
+        if (time == ArticleColumnStore.NO_TIME) {
+            if (untimedCount == untimedRows.length) {
+                untimedRows = Arrays.copyOf(untimedRows, untimedCount * 2);
+            }
+            untimedRows[untimedCount++] = row;
+        } else {
+            if (timedRows == rowsByTime.length) {
+                rowsByTime = Arrays.copyOf(rowsByTime, timedRows * 2);
+                sortedTimes = Arrays.copyOf(sortedTimes, timedRows * 2);
+            }
+            if (timedRows > 0 && time < sortedTimes[timedRows - 1]) {
+                timeIndexStale = true;
+            }
+            rowsByTime[timedRows] = row;
+            sortedTimes[timedRows] = time;
+            timedRows++;
+        }
+        return row;
+    }
+    
+    public ArticleQuery query() {
+        return new ArticleQuery(this);
+    }
+    
+    public int size() {
+        return store.size();
+    }
+    
+    public NewsArticle getArticle(int row) {
+        return articles.get(row);
+    }
+    
+    public ArticleColumnStore getStore() {
+        return store;
+    }
+    
+    /**
+     * Rows from the given source, or null when the source is unknown
+     */
+    BitSet sourceBitmap(String source) {
+        int id = store.getSourceDictionary().getId(source);
+        return id >= 0 ? sourceBitmaps.get(id) : null;
+    }
+    
+    BitSet categoryBitmap(String category) {
+        int id = store.getCategoryDictionary().getId(category);
+        return id >= 0 ? categoryBitmaps.get(id) : null;
+    }
+    
+    /**
+     * Position range [from, to) in the time index of rows published in [start, end)
+     */
+    int[] timeRange(long start, long end) {
+        ensureTimeIndex();
+        return new int[] {lowerBound(start), lowerBound(end)};
+    }
+    
+    int timedRowCount() {
+        ensureTimeIndex();
+        return timedRows;
+    }
+    
+    int rowAtTimePosition(int position) {
+        return rowsByTime[position];
+    }
+    
+    int untimedRowCount() {
+        return untimedCount;
+    }
+    
+    int untimedRow(int i) {
+        return untimedRows[i];
+    }
+    
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = timedRows;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedTimes[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private void ensureTimeIndex() {
+        if (!timeIndexStale) {
+            return;
+        }
+        // Stable sort of (time, row) pairs; rows are appended in order so ties keep insertion order
+        Integer[] order = new Integer[timedRows];
+        for (int i = 0; i < timedRows; i++) {
+            order[i] = i;
+        }
+        long[] times = sortedTimes;
+        Arrays.sort(order, (a, b) -> Long.compare(times[a], times[b]));
+        int[] rows = new int[rowsByTime.length];
+        long[] sorted = new long[sortedTimes.length];
+        for (int i = 0; i < timedRows; i++) {
+            rows[i] = rowsByTime[order[i]];
+            sorted[i] = sortedTimes[order[i]];
+        }
+        rowsByTime = rows;
+        sortedTimes = sorted;
+        timeIndexStale = false;
+    }
+    
+    private static BitSet bitmap(List<BitSet> bitmaps, int id) {
+        while (bitmaps.size() <= id) {
+            bitmaps.add(new BitSet());
+        }
+        return bitmaps.get(id);
+    }
+}
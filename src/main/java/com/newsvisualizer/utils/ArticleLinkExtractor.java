@@ -0,0 +1,299 @@
+package com.newsvisualizer.utils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the article links on a topic or listing page in one pass over the HTML.
+ *
+ * Every {@code <a href>} is resolved against the page URL and kept when it stays on the same
+ * site, looks like a story (a multi-word slug, a long numeric story ID, or a headline-length
+ * anchor on a deep path) and is not another listing, author, login or media page. Script
+ * blocks and comments are skipped. Links are deduplicated by canonical URL, keep their
+ * longest anchor text as the headline, and come back in page order, which on listing pages
+ * is the editors' order of prominence.
+ */
+public class ArticleLinkExtractor {
+    
+    private static final int MIN_SLUG_WORDS = 3;
+    private static final int MIN_HEADLINE_WORDS = 4;
+    private static final int MIN_STORY_ID_DIGITS = 5;
+    
+    private static final Set<String> LISTING_SEGMENTS = Set.of(
+        "topic", "topics", "tag", "tags", "category", "categories", "author", "authors", "search",
+        "login", "signin", "signup", "register", "subscribe", "subscription", "account", "newsletter",
+        "video", "videos", "photos", "gallery", "live-tv", "podcast", "podcasts", "about", "contact", "privacy");
+    private static final String[] MEDIA_EXTENSIONS = {".jpg", ".jpeg", ".png", ".gif", ".webp", ".svg",
+        ".pdf", ".mp3", ".mp4", ".xml", ".rss", ".json", ".css", ".js"};
+    
+    private ArticleLinkExtractor() {
+    }
+    
+    /**
+     * Up to {@code limit} distinct article links from a page, in page order
+     */
+    public static List<ArticleLink> extract(String html, String pageUrl, int limit) {
+        URI base;
+        try {
+            base = URI.create(pageUrl.trim());
+        } catch (IllegalArgumentException e) {
+            return new ArrayList<>();
+        }
+        String pageDomain = BatchSummarizer.domainOf(pageUrl);
+        String pageKey = SummaryCache.canonicalize(pageUrl);
+        Map<String, ArticleLink> links = new LinkedHashMap<>();
+        
+        // Match case-insensitively in place: lower-casing a copy can change its length and shift offsets
+        int length = html.length();
+        int i = html.indexOf('<');
+        while (i >= 0 && i < length) {
+            if (html.startsWith("<!--", i)) {
+                i = skipPast(html, "-->", i);
+            } else if (startsTag(html, i, "script")) {
+                i = skipPast(html, "</script", i);
+            } else if (startsTag(html, i, "style")) {
+                i = skipPast(html, "</style", i);
+            } else if (startsTag(html, i, "a")) {
+                int tagEnd = tagEnd(html, i);
+                if (tagEnd < 0) {
+                    break;
+                }
+                String href = attribute(html, i + 2, tagEnd, "href");
+                int close = closingTag(html, "a", tagEnd);
+                int textEnd = close < 0 ? length : close;
+                if (href != null) {
+                    String headline = anchorText(html, tagEnd + 1, textEnd);
+                    String url = articleUrl(base, HtmlTextExtractor.decodeEntities(href), pageDomain, headline);
+                    if (url != null) {
+                        String key = SummaryCache.canonicalize(url);
+                        ArticleLink existing = links.get(key);
+                        if (existing == null && !key.equals(pageKey) && links.size() < limit) {
+                            links.put(key, new ArticleLink(url, headline));
+                        } else if (existing != null && headline.length() > existing.headline.length()) {
+                            links.put(key, new ArticleLink(existing.url, headline));
+                        }
+                    }
+                }
+                i = textEnd;
+            } else {
+                i++;
+            }
+            i = html.indexOf('<', i);
+        }
+        return new ArrayList<>(links.values());
+    }
+    
+    /**
+     * Absolute URL of an article link, or null when the link is not a same-site story
+     */
+    static String articleUrl(URI base, String href, String pageDomain, String headline) {
+        String trimmed = href.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.startsWith("javascript:")
+                || trimmed.startsWith("mailto:") || trimmed.startsWith("tel:")) {
+            return null;
+        }
+        URI resolved;
+        try {
+            resolved = base.resolve(trimmed);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        String scheme = resolved.getScheme();
+        if (scheme == null || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))) {
+            return null;
+        }
+        String url = resolved.toString();
+        String domain = BatchSummarizer.domainOf(url);
+        if (!(domain.equals(pageDomain) || domain.endsWith("." + pageDomain) || pageDomain.endsWith("." + domain))) {
+            return null;
+        }
+        
+        String path = resolved.getPath() == null ? "" : resolved.getPath().toLowerCase(Locale.ROOT);
+        for (String extension : MEDIA_EXTENSIONS) {
+            if (path.endsWith(extension)) {
+                return null;
+            }
+        }
+        String[] segments = path.split("/");
+        int depth = 0;
+        String slug = "";
+        for (String segment : segments) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (LISTING_SEGMENTS.contains(segment)) {
+                return null;
+            }
+            depth++;
+            slug = segment;
+        }
+        
+        boolean storyId = longestDigitRun(path) >= MIN_STORY_ID_DIGITS;
+        boolean wordySlug = slug.replaceAll("\\.[a-z]+$", "").split("[-_]").length >= MIN_SLUG_WORDS;
+        boolean headlineAnchor = depth >= 2 && headline.split(" ").length >= MIN_HEADLINE_WORDS;
+        return storyId || wordySlug || headlineAnchor ? url : null;
+    }
+    
+    private static String anchorText(String html, int start, int end) {
+        StringBuilder text = new StringBuilder();
+        boolean inTag = false;
+        boolean space = false;
+        for (int i = start; i < end; i++) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                inTag = true;
+            } else if (c == '>') {
+                inTag = false;
+                space = true;
+            } else if (!inTag) {
+                if (Character.isWhitespace(c)) {
+                    space = true;
+                } else {
+                    if (space && text.length() > 0) {
+                        text.append(' ');
+                    }
+                    space = false;
+                    text.append(c);
+                }
+            }
+        }
+        return HtmlTextExtractor.decodeEntities(text.toString());
+    }
+    
+    /**
+     * Value of an attribute in the tag between {@code from} and {@code to}, or null
+     */
+    private static String attribute(String html, int from, int to, String name) {
+        int i = from;
+        while (i < to) {
+            int found = indexOfIgnoreCase(html, name, i);
+            if (found < 0 || found >= to) {
+                return null;
+            }
+            int after = found + name.length();
+            if (!Character.isWhitespace(html.charAt(found - 1))) {
+                i = after;
+                continue;
+            }
+            while (after < to && Character.isWhitespace(html.charAt(after))) {
+                after++;
+            }
+            if (after >= to || html.charAt(after) != '=') {
+                i = after;
+                continue;
+            }
+            after++;
+            while (after < to && Character.isWhitespace(html.charAt(after))) {
+                after++;
+            }
+            if (after >= to) {
+                return null;
+            }
+            char quote = html.charAt(after);
+            if (quote == '"' || quote == '\'') {
+                int end = html.indexOf(quote, after + 1);
+                return end < 0 || end > to ? null : html.substring(after + 1, end);
+            }
+            int end = after;
+            while (end < to && !Character.isWhitespace(html.charAt(end)) && html.charAt(end) != '>') {
+                end++;
+            }
+            return html.substring(after, end);
+        }
+        return null;
+    }
+    
+    /**
+     * Index of the '>' closing the tag at {@code start}, ignoring '>' inside quoted values
+     */
+    private static int tagEnd(String html, int start) {
+        char quote = 0;
+        for (int i = start; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static int skipPast(String html, String marker, int from) {
+        int end = indexOfIgnoreCase(html, marker, from + 1);
+        return end < 0 ? html.length() : end + marker.length();
+    }
+    
+    /**
+     * Whether a start tag with exactly this name begins at {@code i}
+     */
+    private static boolean startsTag(String html, int i, String name) {
+        int after = i + 1 + name.length();
+        return html.regionMatches(true, i + 1, name, 0, name.length())
+                && html.charAt(i) == '<' && after < html.length() && isTagNameEnd(html.charAt(after));
+    }
+    
+    /**
+     * Start of the next end tag with exactly this name, or -1
+     */
+    private static int closingTag(String html, String name, int from) {
+        int i = from;
+        while ((i = html.indexOf("</", i)) >= 0) {
+            int after = i + 2 + name.length();
+            if (html.regionMatches(true, i + 2, name, 0, name.length())
+                    && after < html.length() && isTagNameEnd(html.charAt(after))) {
+                return i;
+            }
+            i += 2;
+        }
+        return -1;
+    }
+    
+    private static int indexOfIgnoreCase(String html, String marker, int from) {
+        for (int i = Math.max(0, from); i + marker.length() <= html.length(); i++) {
+            if (html.regionMatches(true, i, marker, 0, marker.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static boolean isTagNameEnd(char c) {
+        return Character.isWhitespace(c) || c == '>' || c == '/';
+    }
+    
+    private static int longestDigitRun(String text) {
+        int best = 0;
+        int run = 0;
+        for (int i = 0; i < text.length(); i++) {
+            run = Character.isDigit(text.charAt(i)) ? run + 1 : 0;
+            best = Math.max(best, run);
+        }
+        return best;
+    }
+    
+    /**
+     * A linked article and the anchor text it was linked with
+     */
+    public static class ArticleLink {
+        private final String url;
+        private final String headline;
+        
+        public ArticleLink(String url, String headline) {
+            this.url = url;
+            this.headline = headline;
+        }
+        
+        public String getUrl() { return url; }
+        public String getHeadline() { return headline; }
+    }
+}
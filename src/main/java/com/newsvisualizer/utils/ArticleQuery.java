@@ -0,0 +1,344 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Small query API over an {@link ArticleIndex}: filter, group, aggregate, order and limit.
+ *
+ * Source and category predicates are answered from bitmaps (OR within a dimension, AND
+ * across), and time-range predicates by binary search over the time-sorted row index.
+ * The executor walks whichever candidate set is smaller and checks the rest per row;
+ * arbitrary predicates run last, only on rows that survived the indexed ones. Time-ordered
+ * queries read the time index in order, so a limit stops the scan early.
+ *
+ * <pre>
+ * index.query().publishedWithin(24).fromSources("BBC News").orderBy(Order.NEWEST_FIRST).limit(10).list();
+ * index.query().inCategories("business").averageSentimentBy(Field.SOURCE);
+ * </pre>
+ */
+public class ArticleQuery {
+    
+    private static final long SECONDS_PER_DAY = 86_400L;
+    
+    /**
+     * Attributes that results can be grouped by
+     */
+    public enum Field {
+        SOURCE, CATEGORY, AUTHOR, DAY, SENTIMENT
+    }
+    
+    /**
+     * Result orderings
+     */
+    public enum Order {
+        NONE, NEWEST_FIRST, OLDEST_FIRST, MOST_POSITIVE, MOST_NEGATIVE
+    }
+    
+    private final ArticleIndex index;
+    private final List<String> sources = new ArrayList<>();
+    private final List<String> categories = new ArrayList<>();
+    private long startTime = Long.MIN_VALUE;
+    private long endTime = Long.MAX_VALUE;
+    private boolean timeFiltered;
+    private Predicate<NewsArticle> predicate;
+    private boolean emptyResult;
+    private Order order = Order.NONE;
+    private int limit = Integer.MAX_VALUE;
+    private int scannedRows;
+    
+    ArticleQuery(ArticleIndex index) {
+        this.index = index;
+    }
+    
+    /**
+     * Articles published in [from, to)
+     */
+    public ArticleQuery publishedBetween(LocalDateTime from, LocalDateTime to) {
+        startTime = Math.max(startTime, from.toEpochSecond(ZoneOffset.UTC));
+        endTime = Math.min(endTime, to.toEpochSecond(ZoneOffset.UTC));
+        timeFiltered = true;
+        return this;
+    }
+    
+    /**
+     * Articles published in the last N hours
+     */
+    public ArticleQuery publishedWithin(int hours) {
+        LocalDateTime now = LocalDateTime.now();
+        // Exclusive of the cutoff itself, like NewsAnalyzer.getRecentArticles
+        startTime = Math.max(startTime, now.minusHours(hours).toEpochSecond(ZoneOffset.UTC) + 1);
+        timeFiltered = true;
+        return this;
+    }
+    
+    /**
+     * Articles from any of the given sources; repeated calls narrow further
+     */
+    public ArticleQuery fromSources(String... names) {
+        narrow(sources, names);
+        return this;
+    }
+    
+    public ArticleQuery inCategories(String... names) {
+        narrow(categories, names);
+        return this;
+    }
+    
+    /**
+     * Residual predicate, evaluated only on rows matching the indexed filters
+     */
+    public ArticleQuery where(Predicate<NewsArticle> condition) {
+        predicate = predicate == null ? condition : predicate.and(condition);
+        return this;
+    }
+    
+    public ArticleQuery orderBy(Order order) {
+        this.order = order;
+        return this;
+    }
+    
+    public ArticleQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+    
+    /**
+     * Matching articles in the requested order
+     */
+    public List<NewsArticle> list() {
+        int[] rows = rows();
+        List<NewsArticle> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(index.getArticle(row));
+        }
+        return result;
+    }
+    
+    public int count() {
+        return rows().length;
+    }
+    
+    /**
+     * Matching row numbers in the requested order
+     */
+    public int[] rows() {
+        IntList matches = new IntList();
+        boolean timeOrdered = order == Order.NEWEST_FIRST || order == Order.OLDEST_FIRST;
+        execute(matches, timeOrdered ? limit : Integer.MAX_VALUE);
+        
+        if (order == Order.MOST_POSITIVE || order == Order.MOST_NEGATIVE) {
+            Integer[] boxed = new Integer[matches.size];
+            for (int i = 0; i < boxed.length; i++) {
+                boxed[i] = matches.values[i];
+            }
+            Comparator<Integer> bySentiment = Comparator.comparingDouble(row -> index.getArticle(row).getSentimentScore());
+            Arrays.sort(boxed, order == Order.MOST_POSITIVE ? bySentiment.reversed() : bySentiment);
+            for (int i = 0; i < boxed.length; i++) {
+                matches.values[i] = boxed[i];
+            }
+        }
+        return Arrays.copyOf(matches.values, Math.min(matches.size, limit));
+    }
+    
+    /**
+     * Number of matching articles per group, largest group first
+     */
+    public Map<String, Integer> countBy(Field field) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int row : rows()) {
+            counts.merge(groupKey(field, row), 1, Integer::sum);
+        }
+        return sortedByValue(counts);
+    }
+    
+    /**
+     * Mean sentiment of the matching articles per group, most positive first
+     */
+    public Map<String, Double> averageSentimentBy(Field field) {
+        Map<String, double[]> sums = new HashMap<>();
+        for (int row : rows()) {
+            double[] sum = sums.computeIfAbsent(groupKey(field, row), key -> new double[2]);
+            sum[0] += index.getArticle(row).getSentimentScore();
+            sum[1]++;
+        }
+        Map<String, Double> averages = new HashMap<>();
+        for (Map.Entry<String, double[]> entry : sums.entrySet()) {
+            averages.put(entry.getKey(), entry.getValue()[0] / entry.getValue()[1]);
+        }
+        return sortedByValue(averages);
+    }
+    
+    /**
+     * Rows examined by the last execution; lets callers check that indexes were used
+     */
+    public int getScannedRowCount() {
+        return scannedRows;
+    }
+    
+    private void execute(IntList matches, int stopAfter) {
+        scannedRows = 0;
+        if (emptyResult) {
+            return;
+        }
+        BitSet filter = bitmapFilter();
+        if (filter != null && filter.isEmpty()) {
+            return;
+        }
+        
+        boolean newestFirst = order == Order.NEWEST_FIRST;
+        boolean walkTimeIndex = timeFiltered || order == Order.NEWEST_FIRST || order == Order.OLDEST_FIRST;
+        if (walkTimeIndex) {
+            int[] range = timeFiltered ? index.timeRange(startTime, endTime) : new int[] {0, index.timedRowCount()};
+            int rangeSize = range[1] - range[0];
+            
+            // A small bitmap beats a wide time range unless the result must come out in time order
+            if (filter != null && filter.cardinality() < rangeSize && order == Order.NONE) {
+                scanBitmap(filter, matches, stopAfter);
+                return;
+            }
+            for (int i = 0; i < rangeSize && matches.size < stopAfter; i++) {
+                int position = newestFirst ? range[1] - 1 - i : range[0] + i;
+                int row = index.rowAtTimePosition(position);
+                scannedRows++;
+                if ((filter == null || filter.get(row)) && matchesPredicate(row)) {
+                    matches.add(row);
+                }
+            }
+            // Undated articles sort last and never match a time range
+            if (!timeFiltered) {
+                for (int i = 0; i < index.untimedRowCount() && matches.size < stopAfter; i++) {
+                    int row = index.untimedRow(i);
+                    scannedRows++;
+                    if ((filter == null || filter.get(row)) && matchesPredicate(row)) {
+                        matches.add(row);
+                    }
+                }
+            }
+        } else if (filter != null) {
+            scanBitmap(filter, matches, stopAfter);
+        } else {
+            for (int row = 0; row < index.size() && matches.size < stopAfter; row++) {
+                scannedRows++;
+                if (matchesPredicate(row)) {
+                    matches.add(row);
+                }
+            }
+        }
+    }
+    
+    private void scanBitmap(BitSet filter, IntList matches, int stopAfter) {
+        ArticleColumnStore store = index.getStore();
+        for (int row = filter.nextSetBit(0); row >= 0 && matches.size < stopAfter; row = filter.nextSetBit(row + 1)) {
+            scannedRows++;
+            if (timeFiltered) {
+                long time = store.getPublishedAt(row);
+                if (time == ArticleColumnStore.NO_TIME || time < startTime || time >= endTime) {
+                    continue;
+                }
+            }
+            if (matchesPredicate(row)) {
+                matches.add(row);
+            }
+        }
+    }
+    
+    /**
+     * OR the bitmaps within each dimension and AND the dimensions; null when no bitmap predicate was given
+     */
+    private BitSet bitmapFilter() {
+        BitSet filter = null;
+        for (List<String> names : List.of(sources, categories)) {
+            if (names.isEmpty()) {
+                continue;
+            }
+            BitSet union = new BitSet();
+            for (String name : names) {
+                BitSet bitmap = names == sources ? index.sourceBitmap(name) : index.categoryBitmap(name);
+                if (bitmap != null) {
+                    union.or(bitmap);
+                }
+            }
+            if (filter == null) {
+                filter = union;
+            } else {
+                filter.and(union);
+            }
+        }
+        return filter;
+    }
+    
+    private boolean matchesPredicate(int row) {
+        return predicate == null || predicate.test(index.getArticle(row));
+    }
+    
+    private String groupKey(Field field, int row) {
+        ArticleColumnStore store = index.getStore();
+        switch (field) {
+            case SOURCE:
+                return store.getSourceDictionary().getTerm(store.getSourceId(row));
+            case CATEGORY:
+                return store.getCategoryDictionary().getTerm(store.getCategoryId(row));
+            case AUTHOR:
+                return store.getAuthorDictionary().getTerm(store.getAuthorId(row));
+            case DAY:
+                long time = store.getPublishedAt(row);
+                return time == ArticleColumnStore.NO_TIME ? "Unknown"
+                        : LocalDate.ofEpochDay(Math.floorDiv(time, SECONDS_PER_DAY)).toString();
+            default:
+                return NewsArticle.sentimentText(index.getArticle(row).getSentimentScore());
+        }
+    }
+    
+    /**
+     * Add the first list of names for a dimension; a second call keeps only names in both,
+     * and when none are left the query matches nothing without touching the index
+     */
+    private void narrow(List<String> target, String[] names) {
+        if (target.isEmpty() && !emptyResult) {
+            target.addAll(List.of(names));
+            return;
+        }
+        target.retainAll(List.of(names));
+        if (target.isEmpty()) {
+            emptyResult = true;
+        }
+    }
+    
+    private static <V extends Comparable<V>> Map<String, V> sortedByValue(Map<String, V> values) {
+        List<Map.Entry<String, V>> entries = new ArrayList<>(values.entrySet());
+        entries.sort(Map.Entry.<String, V>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, V> sorted = new LinkedHashMap<>();
+        for (Map.Entry<String, V> entry : entries) {
+            sorted.put(entry.getKey(), entry.getValue());
+        }
+        return sorted;
+    }
+    
+    /**
+     * Growable int buffer for matching rows
+     */
+    private static class IntList {
+        private int[] values = new int[16];
+        private int size;
+        
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -1,16 +1,18 @@
 package com.newsvisualizer.utils;
 
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -22,6 +24,26 @@ import java.util.Arrays;
 public class ArticleSummarizer {
     private static final Logger logger = LoggerFactory.getLogger(ArticleSummarizer.class);
     
+    /** Pages are truncated after this many bytes; article text is near the top of any sane page */
+    static final int MAX_PAGE_BYTES = 2 * 1024 * 1024;
+    
+    /** Longest any single regex extraction step may run before it is abandoned */
+    static final long STEP_BUDGET_MILLIS = 2_000;
+    
+    private static final int HTTP_TIMEOUT_MILLIS = 20_000;
+    
+    /** Alternative user agents start this far apart while earlier ones are still pending */
+    private static final long HEDGE_STAGGER_MILLIS = 500;
+    
+    /** The whole user-agent retry gives up after this long */
+    private static final long RETRY_DEADLINE_MILLIS = 8_000;
+    
+    /** Topic pages with fewer article links than this are summarized as a single text */
+    private static final int MIN_TOPIC_LINKS = 3;
+    
+    /** Linked articles of a topic page fetched at once; they all live on the same site */
+    private static final int TOPIC_CONCURRENCY = 4;
+    
     private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
         "the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for", "of", 
         "with", "by", "is", "are", "was", "were", "be", "been", "being", "have", 
@@ -31,18 +53,136 @@ public class ArticleSummarizer {
         "myself", "yourself", "himself", "herself", "itself", "ourselves", "yourselves", "themselves"
     ));
     
+    private static final String[] KEY_PHRASES = {"according to", "study shows", "research", "announced",
+        "revealed", "discovered", "found that", "reported", "said",
+        "however", "therefore", "as a result", "in conclusion",
+        "importantly", "significantly", "notably", "meanwhile"};
+    
+    // Varied transition words for better flow
+    private static final String[] TRANSITIONS = {
+        "Furthermore, ", "Additionally, ", "Moreover, ", "In addition, ",
+        "Subsequently, ", "Meanwhile, ", "However, ", "Nevertheless, ",
+        "Consequently, ", "As a result, ", "On the other hand, ", "Similarly, "
+    };
+    
+    // Categorized key indicators for better organization
+    private static final Map<String, String[]> CATEGORY_INDICATORS = new HashMap<>();
+    
+    static {
+        CATEGORY_INDICATORS.put("📊", new String[]{"study shows", "research", "data", "statistics", "survey", "poll", "findings", "results"});
+        CATEGORY_INDICATORS.put("📢", new String[]{"announced", "declared", "statement", "confirmed", "official", "spokesperson"});
+        CATEGORY_INDICATORS.put("🔍", new String[]{"revealed", "discovered", "investigation", "found that", "uncovered", "analysis"});
+        CATEGORY_INDICATORS.put("💬", new String[]{"according to", "reported", "said", "quoted", "mentioned", "stated", "claimed"});
+        CATEGORY_INDICATORS.put("⚡", new String[]{"breaking", "urgent", "immediate", "emergency", "crisis", "alert"});
+        CATEGORY_INDICATORS.put("💰", new String[]{"million", "billion", "cost", "price", "revenue", "profit", "economic", "financial"});
+        CATEGORY_INDICATORS.put("🏛️", new String[]{"government", "policy", "law", "regulation", "parliament", "congress", "minister"});
+    }
+    
+    /**
+     * How the sentences of a regular article are chosen for its summary
+     */
+    public enum SummaryMode {
+        /** Word frequency, position and key-phrase heuristics */
+        KEYWORDS,
+        /** Centrality in the sentence similarity graph */
+        TEXTRANK
+    }
+    
     /**
      * Fetch and summarize article from URL with worldwide support
      */
     public static ArticleSummary summarizeFromUrl(String url) {
+        return summarizeFromUrl(url, ExtractionBudget.DEFAULT_BUDGET_MILLIS);
+    }
+    
+    /**
+     * Fetch and summarize an article with the given sentence selection mode
+     */
+    public static ArticleSummary summarizeFromUrl(String url, SummaryMode mode) {
+        return summarizeFromUrl(url, ExtractionBudget.DEFAULT_BUDGET_MILLIS, mode);
+    }
+    
+    /**
+     * Fetch and summarize an article, giving up once {@code budgetMillis} have passed
+     */
+    public static ArticleSummary summarizeFromUrl(String url, long budgetMillis) {
+        return summarizeFromUrl(url, budgetMillis, SummaryMode.KEYWORDS);
+    }
+    
+    /**
+     * Fetch and summarize an article in the given mode, giving up once {@code budgetMillis} have passed
+     */
+    public static ArticleSummary summarizeFromUrl(String url, long budgetMillis, SummaryMode mode) {
+        return summarizeFromUrl(url, budgetMillis, mode, null);
+    }
+    
+    /**
+     * Fetch and summarize a page. For a topic or listing page the linked articles are summarized
+     * concurrently and merged into a digest; {@code topicListener} (may be null) receives each
+     * linked article's summary as it completes, and articles unfinished at the deadline are left out.
+     */
+    public static ArticleSummary summarizeFromUrl(String url, long budgetMillis, SummaryMode mode,
+                                                  BatchSummarizer.ProgressListener topicListener) {
+        return summarize(url, budgetMillis, mode, topicListener, true);
+    }
+    
+    private static ArticleSummary summarize(String url, long budgetMillis, SummaryMode mode,
+                                            BatchSummarizer.ProgressListener topicListener, boolean expandTopics) {
+        ExtractionBudget budget = ExtractionBudget.ofMillis(budgetMillis);
+        SummaryCache cache = SummaryCache.getInstance();
+        // Canonical URLs carry no fragment, so a mode suffix cannot collide with a real page
+        String canonicalUrl = SummaryCache.canonicalize(url);
+        if (mode != SummaryMode.KEYWORDS) {
+            canonicalUrl += "#" + mode.name().toLowerCase(Locale.ROOT);
+        }
         try {
+            SummaryCache.Entry cached = cache.get(canonicalUrl);
+            if (cached != null && cache.isFresh(cached)) {
+                logger.info("Serving cached summary for URL: {}", url);
+                return cached.getSummary();
+            }
+            
             logger.info("Fetching article from URL: {}", url);
             
-            String htmlContent = fetchHtmlContent(url);
+            FetchedPage page = fetchHtmlContent(url, cached, budget);
+            if (cached != null && page != null && page.notModified) {
+                logger.info("Page not modified, reusing cached summary for URL: {}", url);
+                cache.markValidated(cached);
+                return cached.getSummary();
+            }
+            
+            String htmlContent = page != null ? page.html : null;
+            if ((htmlContent == null || htmlContent.isEmpty()) && cached != null) {
+                // A stale summary beats an error when the site is down or blocking us
+                logger.info("Fetch failed, serving stale cached summary for URL: {}", url);
+                return cached.getSummary();
+            }
             if (htmlContent == null || htmlContent.isEmpty()) {
                 return createErrorSummary("⚠️ Access Denied\n\nThe website is blocking automated access to this article. This commonly happens when:\n\n• The site has anti-bot protection\n• The URL requires user authentication\n• The content is behind a paywall\n• The site blocks certain regions\n\n💡 Try copying a different article URL or use articles from sites that allow automated access.");
             }
             
+            // Unchanged body: skip extraction and summarization entirely
+            long bodyHash = Hashing.hash64(htmlContent);
+            if (cached != null && cached.getBodyHash() == bodyHash) {
+                logger.info("Page body unchanged, reusing cached summary for URL: {}", url);
+                cache.markValidated(cached);
+                return cached.getSummary();
+            }
+            
+            // Check if this is a topic/listing page with multiple articles
+            boolean isTopicPage = url.toLowerCase().contains("/topic/") || 
+                                url.toLowerCase().contains("/tag/") ||
+                                url.toLowerCase().contains("/category/") ||
+                                htmlContent.toLowerCase().contains("showing") && htmlContent.toLowerCase().contains("results");
+            
+            if (isTopicPage && expandTopics) {
+                ArticleSummary digest = summarizeLinkedArticles(url, htmlContent, budget, mode, topicListener);
+                if (digest != null) {
+                    cache.put(canonicalUrl, page.etag, page.lastModified, bodyHash, digest);
+                    return digest;
+                }
+            }
+            
             String articleText = extractArticleText(htmlContent);
             
             // Debug logging
@@ -53,7 +193,7 @@ public class ArticleSummarizer {
             
             if (articleText == null || articleText.trim().length() < 50) {
                 // Try alternative extraction method for difficult pages
-                articleText = extractAlternativeContent(htmlContent, url);
+                articleText = extractAlternativeContent(htmlContent, url, budget);
                 logger.info("Alternative extraction result length: {}", articleText != null ? articleText.length() : 0);
             }
             
@@ -61,37 +201,75 @@ public class ArticleSummarizer {
                 return createErrorSummary("Could not extract meaningful content from the article. The page may have complex JavaScript-based content or anti-scraping measures.");
             }
             
-            // Check if this is a topic/listing page with multiple articles
-            boolean isTopicPage = url.toLowerCase().contains("/topic/") || 
-                                url.toLowerCase().contains("/tag/") ||
-                                url.toLowerCase().contains("/category/") ||
-                                htmlContent.toLowerCase().contains("showing") && htmlContent.toLowerCase().contains("results");
-            
-            String title = extractTitle(htmlContent);
+            String title = extractTitle(htmlContent, budget);
             String summary;
             List<String> keyPoints;
             
+            // Split and tokenize once; every stage below reads the same model
+            SummaryDocument document = SummaryDocument.build(articleText, STOP_WORDS);
+            
             if (isTopicPage) {
                 // Special handling for topic pages - extract multiple article snippets
-                summary = generateTopicPageSummary(articleText, htmlContent);
-                keyPoints = extractTopicKeyPoints(articleText);
+                summary = generateTopicPageSummary(document, htmlContent, budget);
+                keyPoints = extractTopicKeyPoints(document);
                 title = title.isEmpty() ? "Topic Summary" : title + " - Topic Summary";
             } else {
                 // Regular article processing with comprehensive summary
-                summary = generateComprehensiveSummary(articleText, title);
-                keyPoints = extractKeyPoints(articleText);
+                summary = generateComprehensiveSummary(document, title, mode, budget);
+                keyPoints = extractKeyPoints(document);
             }
             
-            Map<String, Integer> keywords = extractKeywords(articleText, 20); // Increased from 10 to 20 keywords
+            Map<String, Integer> keywords = extractKeywords(document, 20); // Increased from 10 to 20 keywords
             
-            return new ArticleSummary(title, summary, keyPoints, keywords, articleText.length(), url);
+            ArticleSummary result = new ArticleSummary(title, summary, keyPoints, keywords, articleText.length(), url);
+            cache.put(canonicalUrl, page.etag, page.lastModified, bodyHash, result);
+            return result;
             
+        } catch (ExtractionBudget.BudgetExceededException e) {
+            logger.warn("Summarization of {} exceeded its {} ms budget", url, budgetMillis);
+            return createErrorSummary("⏱️ Timed out\n\nThe page took too long to download or process. It may be unusually large or slow to respond.");
         } catch (Exception e) {
             logger.error("Error summarizing article from URL: {}", url, e);
             return createErrorSummary("Error processing article: " + e.getMessage());
         }
     }
     
+    /**
+     * Digest of the articles linked from a topic page, or null when the page links too few
+     * articles or none could be summarized in time (the page is then summarized as one text)
+     */
+    private static ArticleSummary summarizeLinkedArticles(String url, String htmlContent, ExtractionBudget budget,
+                                                          SummaryMode mode, BatchSummarizer.ProgressListener topicListener) {
+        List<ArticleLinkExtractor.ArticleLink> links =
+                ArticleLinkExtractor.extract(htmlContent, url, TopicDigest.DEFAULT_MAX_ARTICLES);
+        if (links.size() < MIN_TOPIC_LINKS) {
+            return null;
+        }
+        logger.info("Topic page {} links {} articles, summarizing them concurrently", url, links.size());
+        String title = extractTitle(htmlContent, budget);
+        
+        List<String> urls = new ArrayList<>();
+        for (ArticleLinkExtractor.ArticleLink link : links) {
+            urls.add(link.getUrl());
+        }
+        // Linked articles share the page's deadline and are never expanded as topic pages themselves
+        long remainingMillis = budget.remainingMillis();
+        BatchSummarizer batchSummarizer = new BatchSummarizer(TOPIC_CONCURRENCY, TOPIC_CONCURRENCY,
+                link -> summarize(link, remainingMillis, mode, null, false));
+        BatchSummarizer.Batch batch = batchSummarizer.summarizeAll(urls, topicListener != null
+                ? topicListener : (link, summary, completed, total) -> { });
+        
+        Map<String, ArticleSummary> summaries;
+        try {
+            summaries = batch.await(remainingMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.cancel();
+            return null;
+        }
+        return TopicDigest.merge(title, url, links, summaries);
+    }
+    
     /**
      * Helper method to strip HTML tags from text
      */
@@ -101,12 +279,15 @@ public class ArticleSummarizer {
     }
     
     /**
-     * Fetch HTML content from URL with enhanced worldwide support
+     * Fetch HTML content from URL with enhanced worldwide support.
+     * With a cached entry the request is conditional, so an unchanged page can answer 304.
      */
-    private static String fetchHtmlContent(String url) {
+    private static FetchedPage fetchHtmlContent(String url, SummaryCache.Entry cached, ExtractionBudget budget) {
+        // Never wait on the network past the request budget
+        int timeout = (int) Math.max(1, Math.min(HTTP_TIMEOUT_MILLIS, budget.remainingMillis()));
         RequestConfig config = RequestConfig.custom()
-                .setConnectTimeout(20000)  // Increased timeout for international sites
-                .setSocketTimeout(20000)
+                .setConnectTimeout(timeout)  // Increased timeout for international sites
+                .setSocketTimeout(timeout)
                 .setRedirectsEnabled(true)
                 .setMaxRedirects(5)
                 .build();
@@ -133,61 +314,31 @@ public class ArticleSummarizer {
             if (url.contains("ndtv.com") || url.contains("timesofindia.com") || url.contains("hindustantimes.com")) {
                 request.setHeader("Referer", "https://www.google.com/");
             }
+            if (cached != null && cached.getEtag() != null) {
+                request.setHeader("If-None-Match", cached.getEtag());
+            }
+            if (cached != null && cached.getLastModified() != null) {
+                request.setHeader("If-Modified-Since", cached.getLastModified());
+            }
             
             try (CloseableHttpResponse response = httpClient.execute(request)) {
                 int statusCode = response.getStatusLine().getStatusCode();
                 logger.info("HTTP response status: {} for URL: {}", statusCode, url);
                 
                 // Handle different HTTP response codes
-                if (statusCode == 403 || statusCode == 401) {
+                if (statusCode == 304) {
+                    return FetchedPage.notModified();
+                } else if (statusCode == 403 || statusCode == 401) {
                     // Try with different User-Agent for access denied
-                    return retryWithDifferentUserAgent(url, httpClient);
+                    return retryWithDifferentUserAgent(url, budget);
                 } else if (statusCode >= 400) {
                     logger.warn("HTTP error {} for URL: {}", statusCode, url);
                     return null;
                 }
                 HttpEntity entity = response.getEntity();
                 if (entity != null) {
-                    // Try to detect encoding from response headers first
-                    String charset = "UTF-8";
-                    if (entity.getContentType() != null) {
-                        String contentType = entity.getContentType().getValue();
-                        if (contentType.contains("charset=")) {
-                            charset = contentType.substring(contentType.indexOf("charset=") + 8);
-                            if (charset.contains(";")) {
-                                charset = charset.substring(0, charset.indexOf(";"));
-                            }
-                            charset = charset.trim();
-                        }
-                    }
-                    
-                    String content = EntityUtils.toString(entity, charset);
-                    
-                    // If content looks garbled, try different encodings
-                    if (containsGarbageCharacters(content)) {
-                        logger.info("Detected encoding issues, trying alternative encodings");
-                        // Try ISO-8859-1 (Latin-1) which is common for Indian sites
-                        try {
-                            content = EntityUtils.toString(entity, "ISO-8859-1");
-                            if (!containsGarbageCharacters(content)) {
-                                return content;
-                            }
-                        } catch (Exception e) {
-                            logger.debug("ISO-8859-1 encoding failed");
-                        }
-                        
-                        // Try Windows-1252
-                        try {
-                            content = EntityUtils.toString(entity, "Windows-1252");
-                            if (!containsGarbageCharacters(content)) {
-                                return content;
-                            }
-                        } catch (Exception e) {
-                            logger.debug("Windows-1252 encoding failed");
-                        }
-                    }
-                    
-                    return content;
+                    byte[] body = readBody(request, entity, url, budget);
+                    return FetchedPage.of(decode(body, entity, url), response);
                 }
             }
         } catch (IOException e) {
@@ -197,9 +348,11 @@ public class ArticleSummarizer {
     }
     
     /**
-     * Retry fetching content with different user agents to bypass access restrictions
+     * Retry fetching content with different user agents to bypass access restrictions.
+     * The alternatives are hedged: they start {@link #HEDGE_STAGGER_MILLIS} apart, the first
+     * 200 wins and the rest are aborted, all within {@link #RETRY_DEADLINE_MILLIS}.
      */
-    private static String retryWithDifferentUserAgent(String url, CloseableHttpClient httpClient) {
+    private static FetchedPage retryWithDifferentUserAgent(String url, ExtractionBudget budget) {
         String[] alternativeUserAgents = {
             "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
             "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
@@ -209,30 +362,32 @@ public class ArticleSummarizer {
             "facebookexternalhit/1.1 (+http://www.facebook.com/externalhit_uatext.php)"
         };
         
-        for (String userAgent : alternativeUserAgents) {
-            try {
-                logger.info("Retrying with User-Agent: {}", userAgent);
-                HttpGet request = new HttpGet(url);
-                request.setHeader("User-Agent", userAgent);
-                request.setHeader("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
-                request.setHeader("Accept-Language", "en-US,en;q=0.5");
-                request.setHeader("Accept-Encoding", "gzip, deflate");
-                request.setHeader("Connection", "keep-alive");
-                
-                try (CloseableHttpResponse response = httpClient.execute(request)) {
-                    int statusCode = response.getStatusLine().getStatusCode();
-                    if (statusCode == 200) {
-                        HttpEntity entity = response.getEntity();
-                        if (entity != null) {
-                            String content = EntityUtils.toString(entity, "UTF-8");
-                            logger.info("Successfully fetched content with alternative User-Agent");
-                            return content;
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                logger.debug("Failed with User-Agent: {}, error: {}", userAgent, e.getMessage());
+        ExtractionBudget deadline = budget.forStep(RETRY_DEADLINE_MILLIS);
+        int timeout = (int) Math.max(1, Math.min(HTTP_TIMEOUT_MILLIS, deadline.remainingMillis()));
+        RequestConfig config = RequestConfig.custom()
+                .setConnectTimeout(timeout)
+                .setSocketTimeout(timeout)
+                .setRedirectsEnabled(true)
+                .setMaxRedirects(5)
+                .build();
+        
+        // Every hedge needs its own connection to the same host
+        try (CloseableHttpClient httpClient = HttpClients.custom()
+                .setDefaultRequestConfig(config)
+                .setMaxConnPerRoute(alternativeUserAgents.length)
+                .setMaxConnTotal(alternativeUserAgents.length)
+                .build()) {
+            
+            List<UserAgentAttempt> attempts = new ArrayList<>();
+            for (String userAgent : alternativeUserAgents) {
+                attempts.add(new UserAgentAttempt(httpClient, url, userAgent, deadline));
+            }
+            FetchedPage page = HedgedRequests.firstSuccess(attempts, HEDGE_STAGGER_MILLIS, deadline);
+            if (page != null) {
+                return page;
             }
+        } catch (IOException e) {
+            logger.debug("Error closing retry client for URL: {}", url, e);
         }
         
         logger.warn("All retry attempts failed for URL: {}", url);
@@ -240,141 +395,69 @@ public class ArticleSummarizer {
     }
     
     /**
-     * Extract article text from HTML content with enhanced worldwide support
+     * Read at most {@link #MAX_PAGE_BYTES} of a response body, stopping early when the budget runs out.
+     * A cut-off read aborts the request, since closing the stream normally would drain the rest of it.
      */
-    private static String extractArticleText(String htmlContent) {
-        // Remove script, style, and other non-content tags
-        String cleanHtml = htmlContent.replaceAll("(?s)<script.*?</script>", "");
-        cleanHtml = cleanHtml.replaceAll("(?s)<style.*?</style>", "");
-        cleanHtml = cleanHtml.replaceAll("(?s)<noscript.*?</noscript>", "");
-        cleanHtml = cleanHtml.replaceAll("(?s)<!--.*?-->", "");
-        
-        // Look for article content with comprehensive patterns for worldwide websites
-        String articleText = "";
-        
-        // Enhanced patterns for global news sites and content management systems
-        Pattern articlePatterns[] = {
-            // Standard semantic HTML
-            Pattern.compile("(?s)<article[^>]*>(.*?)</article>", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("(?s)<main[^>]*>(.*?)</main>", Pattern.CASE_INSENSITIVE),
-            
-            // Common CMS patterns
-            Pattern.compile("(?s)<div[^>]*class[^>]*article[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("(?s)<div[^>]*class[^>]*content[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("(?s)<div[^>]*class[^>]*story[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("(?s)<div[^>]*class[^>]*post[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("(?s)<div[^>]*class[^>]*entry[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE),
-            
-            // News site specific patterns
-            Pattern.compile("(?s)<div[^>]*class[^>]*(story-body|article-body|post-body)[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("(?s)<div[^>]*class[^>]*(content-body|news-content|article-content)[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE),
-            
-            // International news sites patterns
-            Pattern.compile("(?s)<div[^>]*class[^>]*(text|body|main)[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("(?s)<section[^>]*class[^>]*(content|article)[^>]*>(.*?)</section>", Pattern.CASE_INSENSITIVE),
-            
-            // WordPress and other CMS patterns
-            Pattern.compile("(?s)<div[^>]*class[^>]*wp-content[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("(?s)<div[^>]*class[^>]*post-content[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE),
-            
-            // ID-based selectors
-            Pattern.compile("(?s)<div[^>]*id[^>]*(content|article|story|post)[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE),
-            
-            // Fallback for topic/listing pages like the Times of India example
-            Pattern.compile("(?s)<div[^>]*class[^>]*topic[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("(?s)<div[^>]*class[^>]*listing[^>]*>(.*?)</div>", Pattern.CASE_INSENSITIVE)
-        };
-        
-        for (Pattern pattern : articlePatterns) {
-            Matcher matcher = pattern.matcher(cleanHtml);
-            if (matcher.find()) {
-                articleText = matcher.group(1);
-                // If we found substantial content, break
-                if (stripHtml(articleText).length() > 200) {
+    private static byte[] readBody(HttpGet request, HttpEntity entity, String url, ExtractionBudget budget) throws IOException {
+        long declared = entity.getContentLength();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(
+                declared > 0 && declared < MAX_PAGE_BYTES ? (int) declared : 64 * 1024);
+        byte[] buffer = new byte[16 * 1024];
+        try (InputStream in = entity.getContent()) {
+            int read;
+            while ((read = in.read(buffer, 0, Math.min(buffer.length, MAX_PAGE_BYTES - body.size()))) > 0) {
+                body.write(buffer, 0, read);
+                if (budget.isExpired()) {
+                    logger.warn("Download of {} stopped at {} bytes: time budget exhausted", url, body.size());
+                    request.abort();
                     break;
                 }
-            }
-        }
-        
-        // Enhanced paragraph extraction for better worldwide coverage
-        if (articleText.isEmpty() || stripHtml(articleText).length() < 200) {
-            StringBuilder sb = new StringBuilder();
-            
-            // First try to get content from all paragraphs
-            Pattern pPattern = Pattern.compile("(?s)<p[^>]*>(.*?)</p>", Pattern.CASE_INSENSITIVE);
-            Matcher pMatcher = pPattern.matcher(cleanHtml);
-            while (pMatcher.find()) {
-                String pContent = pMatcher.group(1);
-                String cleanPContent = stripHtml(pContent).trim();
-                
-                // Filter out navigation, ads, and short content
-                if (cleanPContent.length() > 30 && 
-                    !cleanPContent.toLowerCase().contains("subscribe") &&
-                    !cleanPContent.toLowerCase().contains("advertisement") &&
-                    !cleanPContent.toLowerCase().contains("cookie") &&
-                    !cleanPContent.toLowerCase().contains("privacy policy") &&
-                    !cleanPContent.toLowerCase().matches(".*copyright.*") &&
-                    !cleanPContent.toLowerCase().matches(".*all rights reserved.*")) {
-                    sb.append(pContent).append(" ");
+                if (body.size() >= MAX_PAGE_BYTES) {
+                    logger.info("Truncated {} at {} bytes", url, MAX_PAGE_BYTES);
+                    request.abort();
+                    break;
                 }
             }
-            
-            // Also try div tags with text content for sites that don't use p tags
-            if (sb.length() < 300) {
-                Pattern divPattern = Pattern.compile("(?s)<div[^>]*>([^<]{50,})</div>", Pattern.CASE_INSENSITIVE);
-                Matcher divMatcher = divPattern.matcher(cleanHtml);
-                while (divMatcher.find()) {
-                    String divContent = divMatcher.group(1).trim();
-                    if (!divContent.toLowerCase().contains("subscribe") &&
-                        !divContent.toLowerCase().contains("advertisement")) {
-                        sb.append(divContent).append(" ");
-                    }
+        }
+        return body.toByteArray();
+    }
+    
+    /**
+     * Decode a body exactly once, in the charset sniffed from its bytes and the Content-Type header
+     */
+    private static String decode(byte[] body, HttpEntity entity, String url) {
+        String headerCharset = null;
+        if (entity.getContentType() != null) {
+            String contentType = entity.getContentType().getValue();
+            int charsetIndex = contentType.toLowerCase(Locale.ROOT).indexOf("charset=");
+            if (charsetIndex >= 0) {
+                headerCharset = contentType.substring(charsetIndex + 8);
+                if (headerCharset.contains(";")) {
+                    headerCharset = headerCharset.substring(0, headerCharset.indexOf(";"));
                 }
             }
-            
-            if (sb.length() > 0) {
-                articleText = sb.toString();
-            }
         }
         
-        // Clean up HTML tags and entities - comprehensive cleanup
-        articleText = articleText.replaceAll("<[^>]+>", " ");
-        
-        // HTML entities cleanup - comprehensive list
-        articleText = articleText.replaceAll("&nbsp;", " ");
-        articleText = articleText.replaceAll("&amp;", "&");
-        articleText = articleText.replaceAll("&lt;", "<");
-        articleText = articleText.replaceAll("&gt;", ">");
-        articleText = articleText.replaceAll("&quot;", "\"");
-        articleText = articleText.replaceAll("&#39;", "'");
-        articleText = articleText.replaceAll("&#x27;", "'");  // Fix apostrophe display
-        articleText = articleText.replaceAll("&#x2019;", "'"); // Right single quotation mark
-        articleText = articleText.replaceAll("&#8217;", "'");  // Right single quotation mark
-        articleText = articleText.replaceAll("&#8220;", "\""); // Left double quotation mark
-        articleText = articleText.replaceAll("&#8221;", "\""); // Right double quotation mark
-        articleText = articleText.replaceAll("&#8211;", "—");   // En dash
-        articleText = articleText.replaceAll("&#8212;", "—");   // Em dash
-        articleText = articleText.replaceAll("&rsquo;", "'");
-        articleText = articleText.replaceAll("&lsquo;", "'");
-        articleText = articleText.replaceAll("&rdquo;", "\"");
-        articleText = articleText.replaceAll("&ldquo;", "\"");
-        articleText = articleText.replaceAll("&mdash;", "—");
-        articleText = articleText.replaceAll("&ndash;", "–");
+        CharsetSniffer.Detection detection = CharsetSniffer.detect(body, headerCharset);
+        logger.debug("Decoding {} as {} (from {})", url, detection.getCharset(), detection.getSource());
+        return detection.decode(body);
+    }
+    
+    /**
+     * Extract article text from HTML content with enhanced worldwide support.
+     * One streaming pass over the page; see {@link HtmlTextExtractor}.
+     */
+    private static String extractArticleText(String htmlContent) {
+        String articleText = HtmlTextExtractor.extract(htmlContent);
         
         // Clean up encoding issues and special characters
-        articleText = cleanupEncodingIssues(articleText);
-        
-        // Clean up whitespace
-        articleText = articleText.replaceAll("\\s+", " ");
-        articleText = articleText.replaceAll("\\n+", " ");
-        
-        return articleText.trim();
+        return cleanupEncodingIssues(articleText);
     }
     
     /**
      * Extract title from HTML content with enhanced worldwide support
      */
-    private static String extractTitle(String htmlContent) {
+    private static String extractTitle(String htmlContent, ExtractionBudget budget) {
         String title = "";
         
         // Try multiple title extraction methods
@@ -392,8 +475,8 @@ public class ArticleSummarizer {
         };
         
         for (Pattern pattern : titlePatterns) {
-            Matcher matcher = pattern.matcher(htmlContent);
-            if (matcher.find()) {
+            Matcher matcher = pattern.matcher(budget.forStep(STEP_BUDGET_MILLIS).guard(htmlContent));
+            if (findWithinBudget(matcher, budget)) {
                 title = matcher.group(1).trim();
                 // Clean up title
                 title = stripHtml(title);
@@ -416,17 +499,16 @@ public class ArticleSummarizer {
     /**
      * Generate summary for topic/listing pages with multiple articles
      */
-    private static String generateTopicPageSummary(String articleText, String htmlContent) {
+    private static String generateTopicPageSummary(SummaryDocument document, String htmlContent, ExtractionBudget budget) {
         // Extract the main topic description first
         String topicDescription = "";
         Pattern descPattern = Pattern.compile("(?s)<meta[^>]*name=['\"]description['\"][^>]*content=['\"]([^'\"]*)['\"][^>]*>", Pattern.CASE_INSENSITIVE);
-        Matcher descMatcher = descPattern.matcher(htmlContent);
-        if (descMatcher.find()) {
+        Matcher descMatcher = descPattern.matcher(budget.forStep(STEP_BUDGET_MILLIS).guard(htmlContent));
+        if (findWithinBudget(descMatcher, budget)) {
             topicDescription = descMatcher.group(1).trim();
         }
         
         // Extract key sentences about the topic
-        String[] sentences = articleText.split("(?<=\\.)\\s+");
         StringBuilder topicSummary = new StringBuilder();
         
         if (!topicDescription.isEmpty()) {
@@ -437,21 +519,21 @@ public class ArticleSummarizer {
         Set<String> addedSentences = new HashSet<>();
         int sentenceCount = 0;
         
-        for (String sentence : sentences) {
+        for (int i = 0; i < document.getSentenceCount(); i++) {
             if (sentenceCount >= 10) break; // Reduced to focus on quality
             
-            sentence = sentence.trim();
+            String sentence = document.getSentence(i);
             if (sentence.length() < 50 || sentence.length() > 300) continue;
             
             // Enhanced validation - check if sentence is readable
             if (!isValidContent(sentence)) continue;
             
-            String lowerSentence = sentence.toLowerCase();
+            String lowerSentence = document.getLowerSentence(i);
             
             // Look for sentences that provide context or key information
             if ((lowerSentence.contains("attack") || lowerSentence.contains("incident") || 
                  lowerSentence.contains("event") || lowerSentence.contains("happened") ||
-                 lowerSentence.contains("occurred") || lowerSentence.matches(".*\\d{4}.*") ||
+                 lowerSentence.contains("occurred") || (document.hasDigit(i) && lowerSentence.matches(".*\\d{4}.*")) ||
                  lowerSentence.contains("parliament") || lowerSentence.contains("terrorist") ||
                  lowerSentence.contains("security") || lowerSentence.contains("government")) &&
                 !addedSentences.contains(sentence)) {
@@ -466,10 +548,10 @@ public class ArticleSummarizer {
         
         // If we didn't find enough contextual sentences, add more general ones with stricter validation
         if (sentenceCount < 6) {
-            for (String sentence : sentences) {
+            for (int i = 0; i < document.getSentenceCount(); i++) {
                 if (sentenceCount >= 8) break;
                 
-                sentence = sentence.trim();
+                String sentence = document.getSentence(i);
                 if (sentence.length() >= 50 && sentence.length() <= 300 && 
                     !addedSentences.contains(sentence) && isValidContent(sentence)) {
                     
@@ -496,23 +578,23 @@ public class ArticleSummarizer {
     /**
      * Extract key points specifically for topic/listing pages
      */
-    private static List<String> extractTopicKeyPoints(String articleText) {
+    private static List<String> extractTopicKeyPoints(SummaryDocument document) {
         List<String> keyPoints = new ArrayList<>();
-        String[] sentences = articleText.split("(?<=\\.)\\s+");
         
         // Look for key facts, dates, numbers, and important statements
-        for (String sentence : sentences) {
+        for (int i = 0; i < document.getSentenceCount(); i++) {
+            String sentence = document.getSentence(i);
             if (sentence.length() < 30 || sentence.length() > 200) continue;
             
-            String lowerSentence = sentence.toLowerCase();
+            String lowerSentence = document.getLowerSentence(i);
             boolean isImportant = false;
             String icon = "📌";
             
-            // Categorize different types of key information
-            if (lowerSentence.matches(".*\\b\\d{1,2}\\s+(december|january|february|march|april|may|june|july|august|september|october|november)\\s+\\d{4}.*")) {
+            // Categorize different types of key information (the date and count patterns need a digit)
+            if (document.hasDigit(i) && lowerSentence.matches(".*\\b\\d{1,2}\\s+(december|january|february|march|april|may|june|july|august|september|october|november)\\s+\\d{4}.*")) {
                 icon = "📅";
                 isImportant = true;
-            } else if (lowerSentence.matches(".*\\d+\\s+(people|persons|individuals|victims|casualties).*")) {
+            } else if (document.hasDigit(i) && lowerSentence.matches(".*\\d+\\s+(people|persons|individuals|victims|casualties).*")) {
                 icon = "👥";
                 isImportant = true;
             } else if (lowerSentence.contains("killed") || lowerSentence.contains("died") || lowerSentence.contains("deaths")) {
@@ -546,7 +628,7 @@ public class ArticleSummarizer {
     /**
      * Alternative content extraction for challenging pages like Times of India topic pages
      */
-    private static String extractAlternativeContent(String htmlContent, String url) {
+    private static String extractAlternativeContent(String htmlContent, String url, ExtractionBudget budget) {
         logger.info("Trying alternative content extraction for URL: {}", url);
         StringBuilder contentBuilder = new StringBuilder();
         
@@ -565,8 +647,8 @@ public class ArticleSummarizer {
         };
         
         for (Pattern pattern : textPatterns) {
-            Matcher matcher = pattern.matcher(htmlContent);
-            while (matcher.find()) {
+            Matcher matcher = pattern.matcher(budget.forStep(STEP_BUDGET_MILLIS).guard(htmlContent));
+            while (findWithinBudget(matcher, budget)) {
                 String content = matcher.group(1).trim();
                 
                 // Filter out common navigation/UI text
@@ -607,16 +689,16 @@ public class ArticleSummarizer {
             
             // Also try the original pattern
             Pattern toiPattern = Pattern.compile("(?s)2001 indian parliament attack.*?infiltrated.*?Parliament House.*?(?=More than|All \\()", Pattern.CASE_INSENSITIVE);
-            Matcher toiMatcher = toiPattern.matcher(htmlContent);
-            if (toiMatcher.find()) {
+            Matcher toiMatcher = toiPattern.matcher(budget.forStep(STEP_BUDGET_MILLIS).guard(htmlContent));
+            if (findWithinBudget(toiMatcher, budget)) {
                 String toiContent = toiMatcher.group(0);
                 contentBuilder.append(toiContent).append(". ");
             }
             
             // Look for news article headlines
             Pattern newsPattern = Pattern.compile("(?s)(Last rites must be respected|Intelligence inputs suggest|Afzal Guru hanging|Parliamentarians pay tribute).*?(?=TIMESOFINDIA|PTI|TNN)", Pattern.CASE_INSENSITIVE);
-            Matcher newsMatcher = newsPattern.matcher(htmlContent);
-            while (newsMatcher.find()) {
+            Matcher newsMatcher = newsPattern.matcher(budget.forStep(STEP_BUDGET_MILLIS).guard(htmlContent));
+            while (findWithinBudget(newsMatcher, budget)) {
                 String newsContent = newsMatcher.group(0).trim();
                 if (newsContent.length() > 20) {
                     contentBuilder.append("Recent News: ").append(newsContent).append(". ");
@@ -625,8 +707,8 @@ public class ArticleSummarizer {
             
             // Also look for article headlines and snippets
             Pattern headlinePattern = Pattern.compile("(?s)<a[^>]*href=[^>]*>([^<]{20,100})</a>", Pattern.CASE_INSENSITIVE);
-            Matcher headlineMatcher = headlinePattern.matcher(htmlContent);
-            while (headlineMatcher.find()) {
+            Matcher headlineMatcher = headlinePattern.matcher(budget.forStep(STEP_BUDGET_MILLIS).guard(htmlContent));
+            while (findWithinBudget(headlineMatcher, budget)) {
                 String headline = headlineMatcher.group(1).trim();
                 if (isValidHeadline(headline)) {
                     contentBuilder.append("Related: ").append(headline).append(". ");
@@ -635,9 +717,9 @@ public class ArticleSummarizer {
         }
         
         // Method 3: Extract any meaningful text blocks - with enhanced filtering
-        String rawText = htmlContent.replaceAll("<script[^>]*>.*?</script>", "");
-        rawText = rawText.replaceAll("<style[^>]*>.*?</style>", "");
-        rawText = rawText.replaceAll("<[^>]+>", " ");
+        String rawText = replaceWithinBudget(htmlContent, "<script[^>]*>.*?</script>", "", budget);
+        rawText = replaceWithinBudget(rawText, "<style[^>]*>.*?</style>", "", budget);
+        rawText = replaceWithinBudget(rawText, "<[^>]+>", " ", budget);
         
         // Look for sentences in the raw text with stricter validation
         String[] sentences = rawText.split("\\.|\\!|\\?");
@@ -674,6 +756,33 @@ public class ArticleSummarizer {
         return result;
     }
     
+    /**
+     * {@link Matcher#find()} over a guarded input; a step that runs out of time just stops matching.
+     * Running out of the whole request budget still propagates.
+     */
+    private static boolean findWithinBudget(Matcher matcher, ExtractionBudget budget) {
+        try {
+            return matcher.find();
+        } catch (ExtractionBudget.BudgetExceededException e) {
+            budget.check();
+            logger.warn("Abandoned slow extraction pattern: {}", matcher.pattern().pattern());
+            return false;
+        }
+    }
+    
+    /**
+     * replaceAll with a per-step time limit; on timeout the text is returned unchanged
+     */
+    private static String replaceWithinBudget(String text, String regex, String replacement, ExtractionBudget budget) {
+        try {
+            return Pattern.compile(regex).matcher(budget.forStep(STEP_BUDGET_MILLIS).guard(text)).replaceAll(replacement);
+        } catch (ExtractionBudget.BudgetExceededException e) {
+            budget.check();
+            logger.warn("Abandoned slow extraction pattern: {}", regex);
+            return text;
+        }
+    }
+    
     /**
      * Check if content is valid and not navigation/UI text
      */
@@ -745,32 +854,6 @@ public class ArticleSummarizer {
         return content.trim();
     }
     
-    /**
-     * Check if content contains garbage characters indicating encoding issues
-     */
-    private static boolean containsGarbageCharacters(String content) {
-        if (content == null) return true;
-        
-        // Count suspicious characters that suggest encoding problems
-        int garbageCount = 0;
-        int totalChars = content.length();
-        
-        for (char c : content.toCharArray()) {
-            // Check for common garbage characters from encoding issues
-            if (c == '\u25C6' || c == '\u2660' || c == '\u2665' || c == '\u2663' || // Card suit symbols
-                c == '\u00A0' || // Non-breaking space
-                (c >= '\u2500' && c <= '\u257F') || // Box drawing characters
-                (c >= '\u25A0' && c <= '\u25FF') || // Geometric shapes
-                c == '\uFFFD' || // Replacement character
-                (c >= '\u00C0' && c <= '\u00FF' && !Character.isLetter(c))) { // Extended ASCII but not letters
-                garbageCount++;
-            }
-        }
-        
-        // If more than 1% of characters are garbage, consider it problematic
-        return totalChars > 0 && (garbageCount * 100.0 / totalChars) > 1.0;
-    }
-    
     /**
      * Clean up encoding issues in extracted text - enhanced version
      */
@@ -815,44 +898,43 @@ public class ArticleSummarizer {
     /**
      * Generate comprehensive summary from article text using enhanced extractive summarization
      */
-    private static String generateSummary(String articleText) {
-        String[] sentences = articleText.split("(?<=\\.)\\s+");
-        if (sentences.length <= 3) {
-            return articleText;
+    private static String generateSummary(SummaryDocument document, SummaryMode mode, ExtractionBudget budget) {
+        int sentenceTotal = document.getSentenceCount();
+        if (sentenceTotal <= 3) {
+            return document.getText();
+        }
+        
+        if (mode == SummaryMode.TEXTRANK) {
+            try {
+                return generateTextRankSummary(document, budget.forStep(STEP_BUDGET_MILLIS));
+            } catch (ExtractionBudget.BudgetExceededException e) {
+                budget.check();
+                logger.warn("TextRank graph for {} sentences exceeded its step budget, using keyword scoring", sentenceTotal);
+            }
         }
         
-        // Score sentences based on multiple factors
-        Map<String, Double> sentenceScores = new HashMap<>();
-        Map<String, Integer> wordFreq = getWordFrequency(articleText);
+        // Score sentences based on multiple factors; NaN marks sentences too short to use
+        double[] scores = new double[sentenceTotal];
+        Arrays.fill(scores, Double.NaN);
         
-        for (int i = 0; i < sentences.length; i++) {
-            String sentence = sentences[i].trim();
+        for (int i = 0; i < sentenceTotal; i++) {
+            String sentence = document.getSentence(i);
             if (sentence.length() < 20) continue; // Lowered from 25 to 20 for more coverage
             
-            double score = 0.0;
-            String[] words = sentence.toLowerCase().split("\\W+");
-            
             // Score based on word frequency
-            for (String word : words) {
-                if (!STOP_WORDS.contains(word) && wordFreq.containsKey(word)) {
-                    score += wordFreq.get(word);
-                }
-            }
+            int wordCount = document.getTokenIds(i).length;
+            double score = document.frequencyScore(i, 1);
             
             // Boost score for sentences at the beginning and end (often important)
-            if (i < sentences.length * 0.25) {
+            if (i < sentenceTotal * 0.25) {
                 score *= 1.8; // Strong boost for opening sentences
-            } else if (i > sentences.length * 0.75) {
+            } else if (i > sentenceTotal * 0.75) {
                 score *= 1.3; // Moderate boost for concluding sentences
             }
             
             // Boost sentences with key phrases
-            String lowerSentence = sentence.toLowerCase();
-            String[] keyPhrases = {"according to", "study shows", "research", "announced", 
-                                 "revealed", "discovered", "found that", "reported", "said",
-                                 "however", "therefore", "as a result", "in conclusion",
-                                 "importantly", "significantly", "notably", "meanwhile"};
-            for (String phrase : keyPhrases) {
+            String lowerSentence = document.getLowerSentence(i);
+            for (String phrase : KEY_PHRASES) {
                 if (lowerSentence.contains(phrase)) {
                     score *= 1.4;
                     break;
@@ -860,12 +942,12 @@ public class ArticleSummarizer {
             }
             
             // Boost sentences with numbers/statistics
-            if (sentence.matches(".*\\d+.*")) {
+            if (document.hasDigit(i)) {
                 score *= 1.2;
             }
             
             // Penalize very long sentences but not as much
-            if (words.length > 35) {
+            if (wordCount > 35) {
                 score *= 0.9;
             }
             
@@ -874,58 +956,89 @@ public class ArticleSummarizer {
                 score *= 0.7;
             }
             
-            sentenceScores.put(sentence, score / Math.sqrt(words.length));
+            scores[i] = score / Math.sqrt(Math.max(1, wordCount));
         }
         
         // Select top sentences for a much more comprehensive summary
-        int summaryLength = Math.min(15, Math.max(8, sentences.length / 2)); // Increased from 7 to 15 max sentences
-        List<Map.Entry<String, Double>> topSentences = sentenceScores.entrySet()
-                .stream()
-                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-                .limit(summaryLength)
-                .collect(ArrayList::new, (list, entry) -> list.add(entry), ArrayList::addAll);
-        
-        // Rebuild summary maintaining original order and add more detailed transitions
+        int summaryLength = Math.min(15, Math.max(8, sentenceTotal / 2)); // Increased from 7 to 15 max sentences
+        return buildSummary(document, selectTopSentences(document, scores, summaryLength));
+    }
+    
+    /**
+     * Summary of the most central sentences in the similarity graph
+     */
+    private static String generateTextRankSummary(SummaryDocument document, ExtractionBudget budget) {
+        int sentenceTotal = document.getSentenceCount();
+        TextRankSummarizer.Ranking ranking = TextRankSummarizer.rank(document, budget);
+        logger.debug("TextRank over {} sentences: {} edges, {} iterations, converged={}",
+                sentenceTotal, ranking.getEdgeCount(), ranking.getIterations(), ranking.isConverged());
+        
+        double[] scores = ranking.getScores();
+        for (int i = 0; i < sentenceTotal; i++) {
+            if (document.getSentence(i).length() < 20) {
+                scores[i] = Double.NaN;
+            }
+        }
+        
+        int summaryLength = Math.min(15, Math.max(8, sentenceTotal / 2));
+        return buildSummary(document, selectTopSentences(document, scores, summaryLength));
+    }
+    
+    /**
+     * Indices of the best-scoring sentences in document order; repeated sentences are taken once
+     */
+    static int[] selectTopSentences(SummaryDocument document, double[] scores, int limit) {
+        List<Integer> ranked = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) {
+            if (!Double.isNaN(scores[i])) {
+                ranked.add(i);
+            }
+        }
+        ranked.sort((a, b) -> Double.compare(scores[b], scores[a]));
+        
+        Set<String> chosenText = new HashSet<>();
+        int[] chosen = new int[Math.min(limit, ranked.size())];
+        int count = 0;
+        for (int i = 0; i < ranked.size() && count < chosen.length; i++) {
+            if (chosenText.add(document.getSentence(ranked.get(i)))) {
+                chosen[count++] = ranked.get(i);
+            }
+        }
+        int[] result = Arrays.copyOf(chosen, count);
+        Arrays.sort(result);
+        return result;
+    }
+    
+    /**
+     * Join the chosen sentences in original order, with occasional transitions and paragraph breaks
+     */
+    static String buildSummary(SummaryDocument document, int[] chosen) {
         StringBuilder summary = new StringBuilder();
-        boolean first = true;
         int sentenceCount = 0;
         
-        for (String sentence : sentences) {
-            for (Map.Entry<String, Double> entry : topSentences) {
-                if (entry.getKey().equals(sentence.trim())) {
-                    String cleanSentence = sentence.trim();
-                    
-                    if (!first) {
-                        // Add varied transition words for better flow
-                        String[] transitions = {
-                            "Furthermore, ", "Additionally, ", "Moreover, ", "In addition, ",
-                            "Subsequently, ", "Meanwhile, ", "However, ", "Nevertheless, ",
-                            "Consequently, ", "As a result, ", "On the other hand, ", "Similarly, "
-                        };
-                        
-                        // Use transitions strategically based on sentence content and position
-                        if (sentenceCount % 4 == 0) {
-                            summary.append(" ").append(transitions[sentenceCount % transitions.length]);
-                        } else {
-                            summary.append(" ");
-                        }
-                    }
-                    
-                    summary.append(cleanSentence);
-                    if (!cleanSentence.endsWith(".") && !cleanSentence.endsWith("!") && !cleanSentence.endsWith("?")) {
-                        summary.append(".");
-                    }
-                    
-                    // Add paragraph breaks for better readability in longer summaries
-                    if (sentenceCount > 0 && sentenceCount % 3 == 2) {
-                        summary.append("\n\n");
-                    }
-                    
-                    first = false;
-                    sentenceCount++;
-                    break;
+        for (int index : chosen) {
+            String cleanSentence = document.getSentence(index).trim();
+            
+            if (sentenceCount > 0) {
+                // Use transitions strategically based on sentence content and position
+                if (sentenceCount % 4 == 0) {
+                    summary.append(" ").append(TRANSITIONS[sentenceCount % TRANSITIONS.length]);
+                } else {
+                    summary.append(" ");
                 }
             }
+            
+            summary.append(cleanSentence);
+            if (!cleanSentence.endsWith(".") && !cleanSentence.endsWith("!") && !cleanSentence.endsWith("?")) {
+                summary.append(".");
+            }
+            
+            // Add paragraph breaks for better readability in longer summaries
+            if (sentenceCount > 0 && sentenceCount % 3 == 2) {
+                summary.append("\n\n");
+            }
+            
+            sentenceCount++;
         }
         
         return summary.toString().trim();
@@ -934,7 +1047,8 @@ public class ArticleSummarizer {
     /**
      * Generate comprehensive summary with introduction and detailed analysis
      */
-    private static String generateComprehensiveSummary(String articleText, String title) {
+    private static String generateComprehensiveSummary(SummaryDocument document, String title,
+                                                       SummaryMode mode, ExtractionBudget budget) {
         StringBuilder comprehensiveSummary = new StringBuilder();
         
         // Add contextual introduction based on title
@@ -945,7 +1059,7 @@ public class ArticleSummarizer {
         }
         
         // Generate the main summary content
-        String mainSummary = generateSummary(articleText);
+        String mainSummary = generateSummary(document, mode, budget);
         comprehensiveSummary.append(mainSummary);
         
         // Add analytical conclusion
@@ -959,182 +1073,191 @@ public class ArticleSummarizer {
     }
     
     /**
-     * Extract categorized key points from article with enhanced analysis
+     * Extract categorized key points from article with enhanced analysis.
+     * The strict and the relaxed selection are scored in the same pass; the relaxed one is
+     * used when the strict threshold finds too few sentences.
      */
-    private static List<String> extractKeyPoints(String articleText) {
+    private static List<String> extractKeyPoints(SummaryDocument document) {
         List<String> keyPoints = new ArrayList<>();
-        String[] sentences = articleText.split("(?<=\\.)\\s+");
-        Map<String, Integer> wordFreq = getWordFrequency(articleText);
-        
-        // Categorized key indicators for better organization
-        Map<String, String[]> categoryIndicators = new HashMap<>();
-        categoryIndicators.put("📊", new String[]{"study shows", "research", "data", "statistics", "survey", "poll", "findings", "results"});
-        categoryIndicators.put("📢", new String[]{"announced", "declared", "statement", "confirmed", "official", "spokesperson"});
-        categoryIndicators.put("🔍", new String[]{"revealed", "discovered", "investigation", "found that", "uncovered", "analysis"});
-        categoryIndicators.put("💬", new String[]{"according to", "reported", "said", "quoted", "mentioned", "stated", "claimed"});
-        categoryIndicators.put("⚡", new String[]{"breaking", "urgent", "immediate", "emergency", "crisis", "alert"});
-        categoryIndicators.put("💰", new String[]{"million", "billion", "cost", "price", "revenue", "profit", "economic", "financial"});
-        categoryIndicators.put("🏛️", new String[]{"government", "policy", "law", "regulation", "parliament", "congress", "minister"});
+        List<String> relaxedKeyPoints = new ArrayList<>();
         
         // Look for sentences with high-frequency important words and categorize them
-        for (String sentence : sentences) {
+        for (int i = 0; i < document.getSentenceCount(); i++) {
+            if (keyPoints.size() >= 15 && relaxedKeyPoints.size() >= 12) break;
+            
+            String sentence = document.getSentence(i);
             if (sentence.length() < 35 || sentence.length() > 250) continue;
             
-            String lowerSentence = sentence.toLowerCase();
+            String lowerSentence = document.getLowerSentence(i);
             int importanceScore = 0;
+            int relaxedScore = 0;
             String categoryIcon = "🔹"; // Default icon
             
-            // Determine category and boost score
-            for (Map.Entry<String, String[]> category : categoryIndicators.entrySet()) {
+            // Determine category and boost score; the strict score uses the first matching
+            // category only, the relaxed score counts every category that matches
+            for (Map.Entry<String, String[]> category : CATEGORY_INDICATORS.entrySet()) {
                 for (String indicator : category.getValue()) {
                     if (lowerSentence.contains(indicator)) {
-                        importanceScore += 3;
-                        categoryIcon = category.getKey();
+                        if (categoryIcon.equals("🔹")) {
+                            importanceScore += 3;
+                            categoryIcon = category.getKey();
+                        }
+                        relaxedScore += 2;
                         break;
                     }
                 }
-                if (!categoryIcon.equals("🔹")) break; // Use first matching category
             }
             
             // Additional importance indicators
-            if (lowerSentence.matches(".*\\d+.*")) {
+            if (document.hasDigit(i)) {
                 importanceScore += 2; // Boost for numbers/statistics
+                relaxedScore += 2;
             }
             
             // Boost for sentences with proper nouns (likely names, places)
-            String[] words = sentence.split("\\s+");
-            for (String word : words) {
-                if (word.matches("[A-Z][a-z]+")) {
-                    importanceScore += 1;
-                }
-            }
+            importanceScore += document.getCapitalizedWordCount(i);
             
             // Score based on word frequency
-            String[] lowerWords = lowerSentence.split("\\W+");
-            for (String word : lowerWords) {
-                if (!STOP_WORDS.contains(word) && wordFreq.containsKey(word) && wordFreq.get(word) > 2) {
-                    importanceScore += wordFreq.get(word);
-                }
+            importanceScore += document.frequencyScore(i, 3);
+            relaxedScore += document.frequencyScore(i, 1);
+            
+            // Clean up the sentence
+            String cleanSentence = sentence.trim();
+            if (!cleanSentence.endsWith(".") && !cleanSentence.endsWith("!") && !cleanSentence.endsWith("?")) {
+                cleanSentence += ".";
             }
             
             // More selective threshold for key points
-            if (importanceScore > 8) {
-                // Clean up the sentence
-                String cleanSentence = sentence.trim();
-                if (!cleanSentence.endsWith(".") && !cleanSentence.endsWith("!") && !cleanSentence.endsWith("?")) {
-                    cleanSentence += ".";
-                }
-                
+            if (importanceScore > 8 && keyPoints.size() < 15) { // Increased from 8 to 15 key points
                 keyPoints.add(categoryIcon + " " + cleanSentence);
-                if (keyPoints.size() >= 15) break; // Increased from 8 to 15 key points
             }
-        }
-        
-        // If we have too few key points, lower the threshold
-        if (keyPoints.size() < 8) { // Increased from 3 to 8
-            keyPoints.clear();
-            for (String sentence : sentences) {
-                if (sentence.length() < 35 || sentence.length() > 250) continue;
-                
-                String lowerSentence = sentence.toLowerCase();
-                int importanceScore = 0;
-                
-                // Lower threshold analysis
-                for (Map.Entry<String, String[]> category : categoryIndicators.entrySet()) {
-                    for (String indicator : category.getValue()) {
-                        if (lowerSentence.contains(indicator)) {
-                            importanceScore += 2;
-                            break;
-                        }
-                    }
-                }
-                
-                if (lowerSentence.matches(".*\\d+.*")) importanceScore += 2;
-                
-                String[] lowerWords = lowerSentence.split("\\W+");
-                for (String word : lowerWords) {
-                    if (!STOP_WORDS.contains(word) && wordFreq.containsKey(word)) {
-                        importanceScore += wordFreq.get(word);
-                    }
-                }
-                
-                if (importanceScore > 5) {
-                    String cleanSentence = sentence.trim();
-                    if (!cleanSentence.endsWith(".") && !cleanSentence.endsWith("!") && !cleanSentence.endsWith("?")) {
-                        cleanSentence += ".";
-                    }
-                    keyPoints.add("🔹 " + cleanSentence);
-                    if (keyPoints.size() >= 12) break; // Increased from 6 to 12
-                }
+            if (relaxedScore > 5 && relaxedKeyPoints.size() < 12) { // Increased from 6 to 12
+                relaxedKeyPoints.add("🔹 " + cleanSentence);
             }
         }
         
-        return keyPoints;
+        // If we have too few key points, lower the threshold
+        return keyPoints.size() < 8 ? relaxedKeyPoints : keyPoints; // Increased from 3 to 8
     }
     
     /**
-     * Extract keywords from article text
+     * Extract keywords from article text, ranked by TF-IDF against the news corpus seen so far
      */
-    private static Map<String, Integer> extractKeywords(String text, int topN) {
-        Map<String, Integer> wordFreq = getWordFrequency(text);
-        
-        return wordFreq.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                .limit(topN)
-                .collect(LinkedHashMap::new, (map, entry) -> map.put(entry.getKey(), entry.getValue()), Map::putAll);
+    private static Map<String, Integer> extractKeywords(SummaryDocument document, int topN) {
+        return CorpusTfIdfModel.getInstance().rankTerms(document.getWordFrequency(), topN);
     }
     
     /**
-     * Get word frequency map
+     * Plain summary text as HTML with the keywords on a light purple background, in a single
+     * pass over the text; the text is escaped first
      */
-    private static Map<String, Integer> getWordFrequency(String text) {
-        Map<String, Integer> wordFreq = new HashMap<>();
-        String[] words = text.toLowerCase().split("\\W+");
-        
-        for (String word : words) {
-            if (word.length() > 3 && !STOP_WORDS.contains(word) && !word.matches("\\d+")) {
-                wordFreq.put(word, wordFreq.getOrDefault(word, 0) + 1);
+    public static String highlightKeywords(String text, Map<String, Integer> keywords) {
+        if (text == null) {
+            return null;
+        }
+        String html = escapeHtml(text);
+        if (keywords == null || keywords.isEmpty()) {
+            return html;
+        }
+        return new KeywordHighlighter(keywords.keySet()).highlight(html);
+    }
+    
+    private static String escapeHtml(String text) {
+        StringBuilder html = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&': html.append("&amp;"); break;
+                case '<': html.append("&lt;"); break;
+                case '>': html.append("&gt;"); break;
+                case '"': html.append("&quot;"); break;
+                default: html.append(c);
             }
         }
-        
-        return wordFreq;
+        return html.toString();
     }
     
     /**
-     * Highlight keywords in text using light purple background
+     * Create error summary
      */
-    private static String highlightKeywords(String text, Map<String, Integer> keywords) {
-        if (text == null || keywords == null || keywords.isEmpty()) {
-            return text;
-        }
-        
-        String highlightedText = text;
+    static ArticleSummary createErrorSummary(String error) {
+        return new ArticleSummary("Error", error, Arrays.asList("• Unable to process article"), 
+                                 new HashMap<>(), 0, "");
+    }
+    
+    /**
+     * One hedged retry with an alternative User-Agent; cancelling aborts the HTTP request
+     */
+    private static class UserAgentAttempt implements HedgedRequests.Attempt<FetchedPage> {
+        private final CloseableHttpClient httpClient;
+        private final HttpGet request;
+        private final String url;
+        private final String userAgent;
+        private final ExtractionBudget deadline;
         
-        // Sort keywords by length (descending) to avoid partial matches
-        List<String> sortedKeywords = keywords.keySet().stream()
-                .sorted((a, b) -> Integer.compare(b.length(), a.length()))
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        UserAgentAttempt(CloseableHttpClient httpClient, String url, String userAgent, ExtractionBudget deadline) {
+            this.httpClient = httpClient;
+            this.url = url;
+            this.userAgent = userAgent;
+            this.deadline = deadline;
+            this.request = new HttpGet(url);
+            request.setHeader("User-Agent", userAgent);
+            request.setHeader("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
+            request.setHeader("Accept-Language", "en-US,en;q=0.5");
+            request.setHeader("Accept-Encoding", "gzip, deflate");
+            request.setHeader("Connection", "keep-alive");
+        }
         
-        for (String keyword : sortedKeywords) {
-            if (keyword.length() < 3) continue; // Skip very short keywords
-            
-            // Create case-insensitive pattern for whole word matching
-            String pattern = "\\b(?i)" + Pattern.quote(keyword) + "\\b";
-            
-            // Replace with highlighted version, preserving original case
-            highlightedText = highlightedText.replaceAll(pattern, 
-                "<span style=\"background-color:#E6E6FA; padding:1px 3px; border-radius:2px;\">$0</span>");
+        @Override
+        public FetchedPage call() throws IOException {
+            logger.info("Retrying with User-Agent: {}", userAgent);
+            // Each attempt reads the shared deadline through its own budget object
+            ExtractionBudget budget = deadline.forStep(HTTP_TIMEOUT_MILLIS);
+            try (CloseableHttpResponse response = httpClient.execute(request)) {
+                int statusCode = response.getStatusLine().getStatusCode();
+                HttpEntity entity = response.getEntity();
+                if (statusCode != 200 || entity == null) {
+                    logger.debug("User-Agent {} got HTTP {}", userAgent, statusCode);
+                    return null;
+                }
+                String content = decode(readBody(request, entity, url, budget), entity, url);
+                logger.info("Successfully fetched content with alternative User-Agent");
+                return FetchedPage.of(content, response);
+            }
         }
         
-        return highlightedText;
+        @Override
+        public void cancel() {
+            request.abort();
+        }
     }
     
     /**
-     * Create error summary
+     * Downloaded page plus the validators needed to revalidate it later
      */
-    private static ArticleSummary createErrorSummary(String error) {
-        return new ArticleSummary("Error", error, Arrays.asList("• Unable to process article"), 
-                                 new HashMap<>(), 0, "");
+    private static class FetchedPage {
+        private final String html;
+        private final String etag;
+        private final String lastModified;
+        private final boolean notModified;
+        
+        private FetchedPage(String html, String etag, String lastModified, boolean notModified) {
+            this.html = html;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.notModified = notModified;
+        }
+        
+        static FetchedPage of(String html, CloseableHttpResponse response) {
+            Header etag = response.getFirstHeader("ETag");
+            Header lastModified = response.getFirstHeader("Last-Modified");
+            return new FetchedPage(html, etag != null ? etag.getValue() : null,
+                    lastModified != null ? lastModified.getValue() : null, false);
+        }
+        
+        static FetchedPage notModified() {
+            return new FetchedPage(null, null, null, true);
+        }
     }
     
     /**
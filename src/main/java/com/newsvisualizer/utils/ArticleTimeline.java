@@ -0,0 +1,211 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Article volume and sentiment over time in fixed-width buckets.
+ *
+ * Buckets live in a ring of primitive arrays (count and sentiment sum per bucket), so a
+ * timeline over weeks of data costs a few kilobytes and never materializes per-day
+ * article lists. Fine timelines can be rolled up into coarser resolutions.
+ */
+public class ArticleTimeline {
+    
+    /**
+     * Supported bucket widths
+     */
+    public enum Resolution {
+        MINUTE(60, 24 * 60),
+        HOUR(60 * 60, 24 * 35),
+        DAY(24 * 60 * 60, 2 * 365);
+        
+        private final long seconds;
+        private final int defaultCapacity;
+        
+        Resolution(long seconds, int defaultCapacity) {
+            this.seconds = seconds;
+            this.defaultCapacity = defaultCapacity;
+        }
+        
+        public long getSeconds() {
+            return seconds;
+        }
+        
+        public int getDefaultCapacity() {
+            return defaultCapacity;
+        }
+        
+        /**
+         * Pick a resolution that gives a readable number of points for a time span
+         */
+        public static Resolution forSpan(long spanSeconds) {
+            if (spanSeconds <= 3 * HOUR.seconds) {
+                return MINUTE;
+            }
+            if (spanSeconds <= 3 * DAY.seconds) {
+                return HOUR;
+            }
+            return DAY;
+        }
+    }
+    
+    private final Resolution resolution;
+    private final int capacity;
+    private final int[] counts;
+    private final double[] sentimentSums;
+    private final long[] slotBucketIds;
+    private long firstBucketId = Long.MAX_VALUE;
+    private long latestBucketId = Long.MIN_VALUE;
+    
+    public ArticleTimeline(Resolution resolution) {
+        this(resolution, resolution.getDefaultCapacity());
+    }
+    
+    /**
+     * @param capacity number of most recent buckets retained
+     */
+    public ArticleTimeline(Resolution resolution, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Timeline capacity must be positive");
+        }
+        this.resolution = resolution;
+        this.capacity = capacity;
+        this.counts = new int[capacity];
+        this.sentimentSums = new double[capacity];
+        this.slotBucketIds = new long[capacity];
+        Arrays.fill(slotBucketIds, Long.MIN_VALUE);
+    }
+    
+    /**
+     * Build a timeline for a list of articles, choosing the resolution from their time span
+     */
+    public static ArticleTimeline fromArticles(List<NewsArticle> articles) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (NewsArticle article : articles) {
+            if (article.getPublishedAt() != null) {
+                long epochSecond = NewsAnalyzer.publishedEpochSecond(article);
+                min = Math.min(min, epochSecond);
+                max = Math.max(max, epochSecond);
+            }
+        }
+        
+        Resolution resolution = min <= max ? Resolution.forSpan(max - min) : Resolution.HOUR;
+        ArticleTimeline timeline = new ArticleTimeline(resolution);
+        timeline.addArticles(articles);
+        return timeline;
+    }
+    
+    /**
+     * Add articles with a publication date; undated articles are skipped
+     */
+    public synchronized void addArticles(List<NewsArticle> articles) {
+        for (NewsArticle article : articles) {
+            if (article.getPublishedAt() != null) {
+                add(NewsAnalyzer.publishedEpochSecond(article), article.getSentimentScore());
+            }
+        }
+    }
+    
+    /**
+     * Record one article published at the given epoch second
+     */
+    public synchronized void add(long epochSecond, double sentiment) {
+        addToBucket(Math.floorDiv(epochSecond, resolution.seconds), 1, sentiment);
+    }
+    
+    /**
+     * Aggregate this timeline into a coarser resolution
+     */
+    public synchronized ArticleTimeline rollup(Resolution target) {
+        if (target.seconds < resolution.seconds) {
+            throw new IllegalArgumentException("Cannot roll up " + resolution + " into finer " + target);
+        }
+        long factor = target.seconds / resolution.seconds;
+        ArticleTimeline rolled = new ArticleTimeline(target, (int) Math.max(1, (capacity + factor - 1) / factor + 1));
+        
+        for (long bucketId = getOldestBucketId(); bucketId <= latestBucketId; bucketId++) {
+            int slot = slotOf(bucketId);
+            if (slotBucketIds[slot] == bucketId && counts[slot] > 0) {
+                rolled.addToBucket(Math.floorDiv(bucketId * resolution.seconds, target.seconds),
+                                   counts[slot], sentimentSums[slot]);
+            }
+        }
+        return rolled;
+    }
+    
+    public Resolution getResolution() {
+        return resolution;
+    }
+    
+    public synchronized boolean isEmpty() {
+        return latestBucketId == Long.MIN_VALUE;
+    }
+    
+    /**
+     * Number of contiguous buckets between the oldest retained and the latest bucket
+     */
+    public synchronized int getBucketCount() {
+        return isEmpty() ? 0 : (int) (latestBucketId - getOldestBucketId() + 1);
+    }
+    
+    /**
+     * Start of the i-th bucket (0 = oldest) as epoch seconds
+     */
+    public synchronized long getBucketStart(int index) {
+        return (getOldestBucketId() + index) * resolution.seconds;
+    }
+    
+    public synchronized int getCount(int index) {
+        long bucketId = getOldestBucketId() + index;
+        int slot = slotOf(bucketId);
+        return slotBucketIds[slot] == bucketId ? counts[slot] : 0;
+    }
+    
+    public synchronized double getAverageSentiment(int index) {
+        long bucketId = getOldestBucketId() + index;
+        int slot = slotOf(bucketId);
+        if (slotBucketIds[slot] != bucketId || counts[slot] == 0) {
+            return 0.0;
+        }
+        return sentimentSums[slot] / counts[slot];
+    }
+    
+    public synchronized long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (slotBucketIds[i] != Long.MIN_VALUE && slotBucketIds[i] > latestBucketId - capacity) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+    
+    private void addToBucket(long bucketId, int count, double sentimentSum) {
+        if (latestBucketId != Long.MIN_VALUE && bucketId <= latestBucketId - capacity) {
+            return; // older than the retained window
+        }
+        latestBucketId = Math.max(latestBucketId, bucketId);
+        firstBucketId = Math.min(firstBucketId, bucketId);
+        
+        int slot = slotOf(bucketId);
+        if (slotBucketIds[slot] != bucketId) {
+            slotBucketIds[slot] = bucketId;
+            counts[slot] = 0;
+            sentimentSums[slot] = 0.0;
+        }
+        counts[slot] += count;
+        sentimentSums[slot] += sentimentSum;
+    }
+    
+    private long getOldestBucketId() {
+        return Math.max(firstBucketId, latestBucketId - capacity + 1);
+    }
+    
+    private int slotOf(long bucketId) {
+        return (int) Math.floorMod(bucketId, (long) capacity);
+    }
+}
@@ -0,0 +1,274 @@
+package com.newsvisualizer.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Summarizes many URLs concurrently.
+ *
+ * At most {@code maxConcurrency} summaries run at once, and at most {@code perDomainLimit}
+ * of them against the same host, so a table full of one outlet's links does not hammer that
+ * site. URLs wait in per-domain queues; whenever a summary finishes the dispatcher starts the
+ * next URL from any domain with spare capacity, so no worker thread ever blocks on a domain
+ * limit. Each summary is handed to the {@link ProgressListener} as soon as it completes.
+ */
+public class BatchSummarizer {
+    private static final Logger logger = LoggerFactory.getLogger(BatchSummarizer.class);
+    
+    public static final int DEFAULT_MAX_CONCURRENCY = 6;
+    public static final int DEFAULT_PER_DOMAIN_LIMIT = 2;
+    
+    private final int maxConcurrency;
+    private final int perDomainLimit;
+    private final Function<String, ArticleSummarizer.ArticleSummary> summarizer;
+    
+    public BatchSummarizer() {
+        this(DEFAULT_MAX_CONCURRENCY, DEFAULT_PER_DOMAIN_LIMIT, ExtractionBudget.DEFAULT_BUDGET_MILLIS);
+    }
+    
+    public BatchSummarizer(int maxConcurrency, int perDomainLimit, long budgetMillis) {
+        this(maxConcurrency, perDomainLimit, url -> ArticleSummarizer.summarizeFromUrl(url, budgetMillis));
+    }
+    
+    /**
+     * Batch runner around an arbitrary per-URL summarizer
+     */
+    public BatchSummarizer(int maxConcurrency, int perDomainLimit,
+                           Function<String, ArticleSummarizer.ArticleSummary> summarizer) {
+        if (maxConcurrency <= 0 || perDomainLimit <= 0) {
+            throw new IllegalArgumentException("Concurrency limits must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.perDomainLimit = perDomainLimit;
+        this.summarizer = summarizer;
+    }
+    
+    /**
+     * Start summarizing the URLs (duplicates are summarized once) and return immediately.
+     * Listener callbacks arrive on worker threads; exceptions they throw are logged and ignored.
+     */
+    public Batch summarizeAll(List<String> urls, ProgressListener listener) {
+        Batch batch = new Batch(new ArrayList<>(new LinkedHashSet<>(urls)), listener);
+        batch.start();
+        return batch;
+    }
+    
+    /**
+     * Host used for the per-domain limit; "www." is ignored so both spellings share a slot
+     */
+    static String domainOf(String url) {
+        try {
+            String host = URI.create(url.trim()).getHost();
+            if (host == null) {
+                return "";
+            }
+            host = host.toLowerCase(Locale.ROOT);
+            return host.startsWith("www.") ? host.substring(4) : host;
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+    
+    /**
+     * Receives each summary as it completes
+     */
+    public interface ProgressListener {
+        void onSummary(String url, ArticleSummarizer.ArticleSummary summary, int completed, int total);
+        
+        /**
+         * Called once, after the last summary or after cancellation
+         */
+        default void onFinished(int completed, int total, boolean cancelled) {
+        }
+    }
+    
+    /**
+     * A running batch: cancel it, or wait for the summaries in input order
+     */
+    public class Batch {
+        private final List<String> urls;
+        private final ProgressListener listener;
+        private final ExecutorService executor;
+        private final Map<String, ArrayDeque<String>> waiting = new LinkedHashMap<>();
+        private final Map<String, Integer> activeByDomain = new HashMap<>();
+        private final Map<String, ArticleSummarizer.ArticleSummary> results = new HashMap<>();
+        private final CompletableFuture<Map<String, ArticleSummarizer.ArticleSummary>> done = new CompletableFuture<>();
+        private int active;
+        private int completed;
+        private boolean cancelled;
+        
+        private Batch(List<String> urls, ProgressListener listener) {
+            this.urls = urls;
+            this.listener = listener;
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(Math.max(1, Math.min(maxConcurrency, urls.size())), runnable -> {
+                Thread thread = new Thread(runnable, "batch-summarizer-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (String url : urls) {
+                waiting.computeIfAbsent(domainOf(url), domain -> new ArrayDeque<>()).add(url);
+            }
+        }
+        
+        private void start() {
+            if (urls.isEmpty()) {
+                finish();
+                return;
+            }
+            dispatch();
+        }
+        
+        /**
+         * Start queued URLs while there is global capacity and a domain with a free slot
+         */
+        private synchronized void dispatch() {
+            Iterator<Map.Entry<String, ArrayDeque<String>>> domains = waiting.entrySet().iterator();
+            while (!cancelled && active < maxConcurrency && domains.hasNext()) {
+                Map.Entry<String, ArrayDeque<String>> queue = domains.next();
+                String domain = queue.getKey();
+                while (active < maxConcurrency && activeByDomain.getOrDefault(domain, 0) < perDomainLimit
+                        && !queue.getValue().isEmpty()) {
+                    String url = queue.getValue().poll();
+                    active++;
+                    activeByDomain.merge(domain, 1, Integer::sum);
+                    executor.execute(() -> run(url, domain));
+                }
+                if (queue.getValue().isEmpty()) {
+                    domains.remove();
+                }
+            }
+        }
+        
+        private void run(String url, String domain) {
+            ArticleSummarizer.ArticleSummary summary;
+            try {
+                summary = summarizer.apply(url);
+            } catch (RuntimeException e) {
+                logger.warn("Batch summarization failed for {}: {}", url, e.getMessage());
+                summary = ArticleSummarizer.createErrorSummary("Error processing article: " + e.getMessage());
+            }
+            
+            int completedNow;
+            synchronized (this) {
+                active--;
+                activeByDomain.merge(domain, -1, Integer::sum);
+                if (cancelled) {
+                    return;
+                }
+                results.put(url, summary);
+                completedNow = ++completed;
+            }
+            try {
+                listener.onSummary(url, summary, completedNow, urls.size());
+            } catch (RuntimeException e) {
+                // A failing listener must not stall the dispatch or leave await() hanging
+                logger.warn("Batch listener failed for {}: {}", url, e.getMessage(), e);
+            }
+            
+            if (completedNow == urls.size()) {
+                finish();
+            } else {
+                dispatch();
+            }
+        }
+        
+        /**
+         * Stop starting new URLs; summaries already running are discarded when they finish
+         */
+        public void cancel() {
+            synchronized (this) {
+                if (cancelled || done.isDone()) {
+                    return;
+                }
+                cancelled = true;
+                waiting.clear();
+            }
+            finish();
+        }
+        
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+        
+        public synchronized int getCompletedCount() {
+            return completed;
+        }
+        
+        public int getTotal() {
+            return urls.size();
+        }
+        
+        /**
+         * Block until the batch finishes; summaries in input order, partial if cancelled
+         */
+        public Map<String, ArticleSummarizer.ArticleSummary> await() throws InterruptedException {
+            try {
+                return done.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        
+        /**
+         * Wait at most {@code timeoutMillis}; a batch still running then is cancelled and
+         * whatever finished so far is returned, in input order
+         */
+        public Map<String, ArticleSummarizer.ArticleSummary> await(long timeoutMillis) throws InterruptedException {
+            try {
+                return done.get(Math.max(0, timeoutMillis), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                cancel();
+                return await();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        
+        private void finish() {
+            Map<String, ArticleSummarizer.ArticleSummary> ordered = new LinkedHashMap<>();
+            int completedNow;
+            boolean wasCancelled;
+            synchronized (this) {
+                for (String url : urls) {
+                    if (results.containsKey(url)) {
+                        ordered.put(url, results.get(url));
+                    }
+                }
+                completedNow = completed;
+                wasCancelled = cancelled;
+            }
+            if (wasCancelled) {
+                executor.shutdownNow();
+            } else {
+                executor.shutdown();
+            }
+            if (done.complete(ordered)) {
+                try {
+                    listener.onFinished(completedNow, urls.size(), wasCancelled);
+                } catch (RuntimeException e) {
+                    logger.warn("Batch listener failed on finish: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
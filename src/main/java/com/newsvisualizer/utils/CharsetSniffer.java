@@ -0,0 +1,251 @@
+package com.newsvisualizer.utils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Picks the charset of a downloaded page from its raw bytes, so the body is decoded once.
+ *
+ * Evidence is taken in order of reliability: a byte order mark, then the charset declared
+ * by the HTTP header or a {@code <meta>} tag in the first few KB, then the bytes themselves.
+ * A declaration is trusted only when the bytes agree with it: a page labelled UTF-8 that is
+ * not valid UTF-8, or labelled Latin-1 that is in fact valid multi-byte UTF-8, is decided by
+ * the byte heuristics instead. Single-byte Latin labels map to Windows-1252, its superset.
+ */
+public class CharsetSniffer {
+    
+    public static final int META_SCAN_BYTES = 4096;
+    
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+    
+    /**
+     * Where the chosen charset came from
+     */
+    public enum Source {
+        BOM, HEADER, META, HEURISTIC
+    }
+    
+    private CharsetSniffer() {
+    }
+    
+    /**
+     * Detect the charset of a page body; {@code headerCharset} is the Content-Type parameter, or null
+     */
+    public static Detection detect(byte[] body, String headerCharset) {
+        Charset bom = bomCharset(body);
+        if (bom != null) {
+            return new Detection(bom, Source.BOM, bomLength(bom));
+        }
+        
+        ByteProfile profile = ByteProfile.of(body);
+        Charset header = normalize(headerCharset);
+        if (header != null && profile.agreesWith(header)) {
+            return new Detection(header, Source.HEADER, 0);
+        }
+        Charset meta = normalize(metaCharset(body));
+        if (meta != null && profile.agreesWith(meta)) {
+            return new Detection(meta, Source.META, 0);
+        }
+        return new Detection(profile.guess(), Source.HEURISTIC, 0);
+    }
+    
+    /**
+     * Detect the charset and decode the body with it, skipping any byte order mark
+     */
+    public static String decode(byte[] body, String headerCharset) {
+        Detection detection = detect(body, headerCharset);
+        return detection.decode(body);
+    }
+    
+    /**
+     * Charset named by the first {@code <meta charset>} or {@code <meta content="...; charset=...">}
+     * in the first {@link #META_SCAN_BYTES} bytes, or null
+     */
+    static String metaCharset(byte[] body) {
+        int limit = Math.min(body.length, META_SCAN_BYTES);
+        // The declaration itself is ASCII, so a byte-for-char view of the prefix is enough
+        String head = new String(body, 0, limit, StandardCharsets.ISO_8859_1).toLowerCase(Locale.ROOT);
+        int meta = head.indexOf("<meta");
+        while (meta >= 0) {
+            int end = head.indexOf('>', meta);
+            if (end < 0) {
+                return null;
+            }
+            int charset = head.indexOf("charset", meta);
+            if (charset >= 0 && charset < end) {
+                int i = charset + "charset".length();
+                while (i < end && (head.charAt(i) == ' ' || head.charAt(i) == '=')) {
+                    i++;
+                }
+                while (i < end && (head.charAt(i) == '"' || head.charAt(i) == '\'')) {
+                    i++;
+                }
+                int start = i;
+                while (i < end && "\"'; />".indexOf(head.charAt(i)) < 0) {
+                    i++;
+                }
+                if (i > start) {
+                    return head.substring(start, i);
+                }
+            }
+            meta = head.indexOf("<meta", end);
+        }
+        return null;
+    }
+    
+    /**
+     * Map a charset label to a Charset, or null when it is missing or unknown
+     */
+    static Charset normalize(String label) {
+        if (label == null) {
+            return null;
+        }
+        String name = label.trim().replace("\"", "").replace("'", "").toLowerCase(Locale.ROOT);
+        if (name.isEmpty()) {
+            return null;
+        }
+        switch (name) {
+            case "iso-8859-1":
+            case "latin1":
+            case "us-ascii":
+            case "ascii":
+                return WINDOWS_1252;
+            default:
+                break;
+        }
+        try {
+            Charset charset = Charset.forName(name);
+            // Pages that could declare UTF-16 in ASCII markup are not UTF-16
+            return charset.name().startsWith("UTF-16") ? StandardCharsets.UTF_8 : charset;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static Charset bomCharset(byte[] body) {
+        if (body.length >= 3 && (body[0] & 0xFF) == 0xEF && (body[1] & 0xFF) == 0xBB && (body[2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+        if (body.length >= 2 && (body[0] & 0xFF) == 0xFE && (body[1] & 0xFF) == 0xFF) {
+            return StandardCharsets.UTF_16BE;
+        }
+        if (body.length >= 2 && (body[0] & 0xFF) == 0xFF && (body[1] & 0xFF) == 0xFE) {
+            return StandardCharsets.UTF_16LE;
+        }
+        return null;
+    }
+    
+    private static int bomLength(Charset charset) {
+        return charset == StandardCharsets.UTF_8 ? 3 : 2;
+    }
+    
+    /**
+     * Detected charset plus the number of leading BOM bytes to skip
+     */
+    public static class Detection {
+        private final Charset charset;
+        private final Source source;
+        private final int skipBytes;
+        
+        private Detection(Charset charset, Source source, int skipBytes) {
+            this.charset = charset;
+            this.source = source;
+            this.skipBytes = skipBytes;
+        }
+        
+        public Charset getCharset() { return charset; }
+        public Source getSource() { return source; }
+        
+        public String decode(byte[] body) {
+            return new String(body, skipBytes, body.length - skipBytes, charset);
+        }
+    }
+    
+    /**
+     * One pass over the bytes: UTF-8 validity, multi-byte sequences and zero-byte parity
+     */
+    private static class ByteProfile {
+        private int validSequences;
+        private int invalidSequences;
+        private int evenZeros;
+        private int oddZeros;
+        private int length;
+        
+        static ByteProfile of(byte[] body) {
+            ByteProfile profile = new ByteProfile();
+            profile.length = body.length;
+            int i = 0;
+            while (i < body.length) {
+                int b = body[i] & 0xFF;
+                if (b < 0x80) {
+                    if (b == 0) {
+                        if ((i & 1) == 0) {
+                            profile.evenZeros++;
+                        } else {
+                            profile.oddZeros++;
+                        }
+                    }
+                    i++;
+                    continue;
+                }
+                int continuation = b >= 0xC2 && b <= 0xDF ? 1 : b >= 0xE0 && b <= 0xEF ? 2 : b >= 0xF0 && b <= 0xF4 ? 3 : -1;
+                if (continuation < 0 || !continuationBytes(body, i, continuation)) {
+                    profile.invalidSequences++;
+                    i++;
+                } else {
+                    profile.validSequences++;
+                    i += continuation + 1;
+                }
+            }
+            return profile;
+        }
+        
+        /**
+         * Whether the bytes are plausible in a declared charset
+         */
+        boolean agreesWith(Charset charset) {
+            if (charset == StandardCharsets.UTF_8) {
+                return !mostlyInvalidUtf8();
+            }
+            if (charset == WINDOWS_1252) {
+                // Clean multi-byte UTF-8 mislabelled as Latin-1 would come out as mojibake
+                return !(validSequences > 0 && invalidSequences == 0);
+            }
+            return true;
+        }
+        
+        Charset guess() {
+            // Text with a zero in almost every other byte is UTF-16 without a BOM
+            if (length >= 4 && oddZeros > length / 4 && evenZeros < oddZeros / 8) {
+                return StandardCharsets.UTF_16LE;
+            }
+            if (length >= 4 && evenZeros > length / 4 && oddZeros < evenZeros / 8) {
+                return StandardCharsets.UTF_16BE;
+            }
+            return mostlyInvalidUtf8() ? WINDOWS_1252 : StandardCharsets.UTF_8;
+        }
+        
+        /**
+         * A page truncated mid-character, or with a stray byte, is still UTF-8
+         */
+        private boolean mostlyInvalidUtf8() {
+            return invalidSequences > validSequences / 20 + 2;
+        }
+        
+        private static boolean continuationBytes(byte[] body, int start, int count) {
+            // A sequence cut off by the end of the body only has to be valid as far as it goes
+            int available = Math.min(count, body.length - 1 - start);
+            for (int k = 1; k <= available; k++) {
+                if (!isContinuation(body[start + k])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private static boolean isContinuation(byte b) {
+            return (b & 0xC0) == 0x80;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Corpus-level TF-IDF model for keyword ranking.
+ *
+ * Document frequencies are updated incrementally as articles are ingested and held in a
+ * dense double array indexed by term ID. Old documents fade out with an exponential
+ * half-life; instead of decaying every entry, new documents are added with a growing
+ * weight and the whole table is renormalized only when that weight gets large.
+ * Ranking multiplies a sublinear term frequency by the current IDF without rescanning the corpus.
+ * Hashes of ingested articles are remembered for a few half-lives, one generation per
+ * half-life, so the dedupe set ages out on the same schedule as the frequencies it guards.
+ * Terms are interned in the model's own dictionary; whenever it doubles, terms whose decayed
+ * frequency no longer matters are dropped and the survivors renumbered, so memory follows
+ * the live vocabulary rather than everything ever seen.
+ */
+public class CorpusTfIdfModel {
+    
+    public static final double DEFAULT_HALF_LIFE_HOURS = 72.0;
+    
+    // Renormalize once document weights grow past e^RENORMALIZE_EXPONENT
+    private static final double RENORMALIZE_EXPONENT = 40.0;
+    
+    // Article hashes are forgotten after this many half-lives, when a re-add weighs 1/16 or less
+    private static final int SEEN_HALF_LIVES = 4;
+    private static final int SEEN_DOCUMENTS_PER_HALF_LIFE = 50_000;
+    
+    // Compaction drops terms whose decayed frequency is below a hundredth of one fresh document
+    private static final int MIN_COMPACT_TERMS = 4096;
+    private static final double FORGOTTEN_DOCUMENT_FREQUENCY = 0.01;
+    
+    private static CorpusTfIdfModel instance;
+    
+    private TermDictionary dictionary = new TermDictionary();
+    private int compactAt = MIN_COMPACT_TERMS;
+    private final double decayPerSecond;
+    private final long halfLifeSeconds;
+    private final RecentHashes seenDocuments = new RecentHashes(SEEN_HALF_LIVES, SEEN_DOCUMENTS_PER_HALF_LIFE);
+    private long seenGenerationStart = Long.MIN_VALUE;
+    
+    private double[] documentFrequency = new double[1024];
+    private int[] lastDocument = new int[1024];
+    private double documentCount;
+    private int documentStamp;
+    private long referenceTime = Long.MIN_VALUE;
+    private long latestTime = Long.MIN_VALUE;
+    
+    public CorpusTfIdfModel() {
+        this(DEFAULT_HALF_LIFE_HOURS);
+    }
+    
+    public CorpusTfIdfModel(double halfLifeHours) {
+        if (halfLifeHours <= 0) {
+            throw new IllegalArgumentException("Half-life must be positive");
+        }
+        this.decayPerSecond = Math.log(2) / (halfLifeHours * 3600.0);
+        this.halfLifeSeconds = Math.max(1L, Math.round(halfLifeHours * 3600.0));
+    }
+    
+    /**
+     * Get the model shared by the keyword chart and the summarizer
+     */
+    public static synchronized CorpusTfIdfModel getInstance() {
+        if (instance == null) {
+            instance = new CorpusTfIdfModel();
+        }
+        return instance;
+    }
+    
+    public void addDocuments(List<NewsArticle> articles) {
+        for (NewsArticle article : articles) {
+            addDocument(article);
+        }
+    }
+    
+    /**
+     * Add an article's distinct keywords to the document frequencies; re-adding the same text is ignored
+     */
+    public void addDocument(NewsArticle article) {
+        long contentHash = AnalysisCache.contentHash(article);
+        AnalysisCache.AnalysisResult result = AnalysisCache.getInstance().getOrCompute(article, NewsAnalyzer::analyzeArticle);
+        
+        List<String> terms = new ArrayList<>(result.getKeywordCount());
+        for (int i = 0; i < result.getKeywordCount(); i++) {
+            terms.add(result.getKeyword(i));
+        }
+        
+        long epochSecond = NewsAnalyzer.publishedEpochSecond(article);
+        synchronized (this) {
+            advanceSeenDocuments(epochSecond);
+            if (!seenDocuments.add(contentHash)) {
+                return;
+            }
+            addTerms(terms, epochSecond);
+        }
+    }
+    
+    /**
+     * Add one document given its terms and time; duplicates within the document count once
+     */
+    public synchronized void addTerms(List<String> terms, long epochSecond) {
+        if (referenceTime == Long.MIN_VALUE) {
+            referenceTime = epochSecond;
+        }
+        latestTime = Math.max(latestTime, epochSecond);
+        if ((epochSecond - referenceTime) * decayPerSecond > RENORMALIZE_EXPONENT) {
+            renormalize(epochSecond);
+        }
+        
+        double weight = Math.exp((epochSecond - referenceTime) * decayPerSecond);
+        int stamp = ++documentStamp;
+        for (String term : terms) {
+            int id = dictionary.getOrAdd(term);
+            ensureCapacity(id);
+            if (lastDocument[id] != stamp) {
+                lastDocument[id] = stamp;
+                documentFrequency[id] += weight;
+            }
+        }
+        documentCount += weight;
+        
+        if (dictionary.size() >= compactAt) {
+            compact();
+        }
+    }
+    
+    /**
+     * Terms currently held by the model
+     */
+    public synchronized int getTermCount() {
+        return dictionary.size();
+    }
+    
+    /**
+     * Smoothed inverse document frequency at the time of the newest document
+     */
+    public synchronized double idf(String term) {
+        int id = dictionary.getId(term);
+        double df = id >= 0 && id < documentFrequency.length ? documentFrequency[id] : 0.0;
+        return idf(df);
+    }
+    
+    /**
+     * Decayed number of documents in the model
+     */
+    public synchronized double getDocumentCount() {
+        return documentCount * currentScale();
+    }
+    
+    /**
+     * Reorder term counts by TF-IDF score, keeping the top N with their raw counts
+     */
+    public synchronized Map<String, Integer> rankTerms(Map<String, Integer> termFrequencies, int topN) {
+        int size = termFrequencies.size();
+        String[] terms = new String[size];
+        int[] counts = new int[size];
+        double[] scores = new double[size];
+        int n = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            terms[n] = entry.getKey();
+            counts[n] = entry.getValue();
+            scores[n] = (1.0 + Math.log(counts[n])) * idf(entry.getKey());
+            n++;
+        }
+        
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> scores[a] != scores[b]
+                ? Double.compare(scores[b], scores[a]) : Integer.compare(counts[b], counts[a]));
+        
+        Map<String, Integer> ranked = new LinkedHashMap<>();
+        for (int i = 0; i < size && i < topN; i++) {
+            ranked.put(terms[order[i]], counts[order[i]]);
+        }
+        return ranked;
+    }
+    
+    private double idf(double scaledDf) {
+        double scale = currentScale();
+        return Math.log((documentCount * scale + 1.0) / (scaledDf * scale + 1.0)) + 1.0;
+    }
+    
+    /**
+     * Factor converting stored (weighted) values into values as of the newest document
+     */
+    private double currentScale() {
+        return latestTime == Long.MIN_VALUE ? 1.0 : Math.exp(-(latestTime - referenceTime) * decayPerSecond);
+    }
+    
+    /**
+     * Roll the dedupe set forward one generation for every half-life the newest document has moved
+     */
+    private void advanceSeenDocuments(long epochSecond) {
+        if (seenGenerationStart == Long.MIN_VALUE) {
+            seenGenerationStart = epochSecond;
+            return;
+        }
+        long elapsed = (epochSecond - seenGenerationStart) / halfLifeSeconds;
+        if (elapsed > 0) {
+            for (long i = 0; i < Math.min(elapsed, SEEN_HALF_LIVES); i++) {
+                seenDocuments.advance();
+            }
+            seenGenerationStart += elapsed * halfLifeSeconds;
+        }
+    }
+    
+    /**
+     * Drop terms whose frequency has decayed away and renumber the rest densely
+     */
+    private void compact() {
+        double scale = currentScale();
+        TermDictionary kept = new TermDictionary();
+        double[] frequencies = new double[documentFrequency.length];
+        for (int id = 0; id < dictionary.size(); id++) {
+            if (documentFrequency[id] * scale >= FORGOTTEN_DOCUMENT_FREQUENCY) {
+                frequencies[kept.getOrAdd(dictionary.getTerm(id))] = documentFrequency[id];
+            }
+        }
+        int capacity = Math.max(1024, kept.size() * 2);
+        documentFrequency = Arrays.copyOf(frequencies, capacity);
+        lastDocument = new int[capacity]; // stamps only matter within the document just added
+        dictionary = kept;
+        compactAt = Math.max(MIN_COMPACT_TERMS, kept.size() * 2);
+    }
+    
+    private void renormalize(long newReference) {
+        double factor = Math.exp(-(newReference - referenceTime) * decayPerSecond);
+        for (int i = 0; i < documentFrequency.length; i++) {
+            documentFrequency[i] *= factor;
+        }
+        documentCount *= factor;
+        referenceTime = newReference;
+    }
+    
+    private void ensureCapacity(int id) {
+        if (id >= documentFrequency.length) {
+            int capacity = Math.max(documentFrequency.length * 2, id + 1);
+            documentFrequency = Arrays.copyOf(documentFrequency, capacity);
+            lastDocument = Arrays.copyOf(lastDocument, capacity);
+        }
+    }
+}
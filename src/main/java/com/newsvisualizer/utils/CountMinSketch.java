@@ -0,0 +1,97 @@
+package com.newsvisualizer.utils;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min sketch for approximate term frequencies in fixed memory.
+ * Estimates never undercount; conservative update keeps the overcount small.
+ */
+public class CountMinSketch {
+    
+    private final int width;
+    private final int depth;
+    private final int mask;
+    private final int[] counters;
+    private long totalCount;
+    
+    /**
+     * @param width counters per row, rounded up to a power of two
+     * @param depth number of independent hash rows
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Sketch width and depth must be positive");
+        }
+        this.width = Integer.bitCount(width) == 1 ? width : Integer.highestOneBit(width) << 1;
+        this.depth = depth;
+        this.mask = this.width - 1;
+        this.counters = new int[this.width * depth];
+    }
+    
+    public void add(String term, int count) {
+        add(Hashing.hash64(term), count);
+    }
+    
+    /**
+     * Add occurrences of a pre-hashed term
+     */
+    public void add(long hash, int count) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[index(row, h1, h2)]);
+        }
+        
+        // Conservative update: only raise counters that are below the new estimate
+        int target = (int) Math.min((long) min + count, Integer.MAX_VALUE);
+        for (int row = 0; row < depth; row++) {
+            int idx = index(row, h1, h2);
+            if (counters[idx] < target) {
+                counters[idx] = target;
+            }
+        }
+        totalCount += count;
+    }
+    
+    public int estimate(String term) {
+        return estimate(Hashing.hash64(term));
+    }
+    
+    /**
+     * Estimated count of a pre-hashed term (never lower than the true count)
+     */
+    public int estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[index(row, h1, h2)]);
+        }
+        return min;
+    }
+    
+    public long getTotalCount() {
+        return totalCount;
+    }
+    
+    public int getWidth() {
+        return width;
+    }
+    
+    public int getDepth() {
+        return depth;
+    }
+    
+    public void clear() {
+        Arrays.fill(counters, 0);
+        totalCount = 0;
+    }
+    
+    private int index(int row, int h1, int h2) {
+        // Kirsch-Mitzenmacher double hashing gives each row an independent-enough position
+        return row * width + ((h1 + row * h2) & mask);
+    }
+}
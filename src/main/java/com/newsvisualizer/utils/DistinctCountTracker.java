@@ -0,0 +1,144 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Long-horizon distinct counts at ingest: how many outlets covered a keyword, and how
+ * many authors wrote for a source, per publication day.
+ *
+ * Each (keyword, day) and (source, day) pair gets a fixed-size HyperLogLog counter fed
+ * with source and author hashes, so no name sets are retained; counters are keyed by a
+ * 64-bit hash of the name and the day rather than by interned IDs. Ranges are answered by
+ * merging the daily counters, so an outlet seen on several days is counted once. The
+ * number of counters is capped; the least recently touched ones are evicted first.
+ */
+public class DistinctCountTracker {
+    
+    public static final int DEFAULT_MAX_COUNTERS = 8192;
+    public static final int DEFAULT_KEYWORDS_PER_ARTICLE = 10;
+    
+    private static final long SECONDS_PER_DAY = 86_400L;
+    
+    private static DistinctCountTracker instance;
+    
+    private final int precision;
+    private final int keywordsPerArticle;
+    private final Map<Long, HyperLogLog> sourcesByKeyword;
+    private final Map<Long, HyperLogLog> authorsBySource;
+    
+    public DistinctCountTracker() {
+        this(DEFAULT_MAX_COUNTERS, HyperLogLog.DEFAULT_PRECISION, DEFAULT_KEYWORDS_PER_ARTICLE);
+    }
+    
+    public DistinctCountTracker(int maxCounters, int precision, int keywordsPerArticle) {
+        if (maxCounters < 2 || keywordsPerArticle <= 0) {
+            throw new IllegalArgumentException("Counter budget and keywords per article must be positive");
+        }
+        this.precision = precision;
+        this.keywordsPerArticle = keywordsPerArticle;
+        this.sourcesByKeyword = boundedCounters(maxCounters - maxCounters / 4);
+        this.authorsBySource = boundedCounters(maxCounters / 4);
+    }
+    
+    /**
+     * Get the tracker fed by the news fetch pipeline
+     */
+    public static synchronized DistinctCountTracker getInstance() {
+        if (instance == null) {
+            instance = new DistinctCountTracker();
+        }
+        return instance;
+    }
+    
+    public void addArticles(List<NewsArticle> articles) {
+        for (NewsArticle article : articles) {
+            addArticle(article);
+        }
+    }
+    
+    /**
+     * Record the article's source against its top keywords and its author against its source.
+     * Adding the same article twice does not change any count.
+     */
+    public void addArticle(NewsArticle article) {
+        String source = article.getSource() != null ? article.getSource().getName() : null;
+        String author = article.getAuthor();
+        if (source == null || source.isBlank()) {
+            return;
+        }
+        long day = Math.floorDiv(NewsAnalyzer.publishedEpochSecond(article), SECONDS_PER_DAY);
+        long sourceHash = Hashing.hash64(source);
+        List<String> topKeywords = AnalysisCache.getInstance()
+                .getOrCompute(article, NewsAnalyzer::analyzeArticle).getTopKeywords(keywordsPerArticle);
+        
+        synchronized (this) {
+            for (String keyword : topKeywords) {
+                counter(sourcesByKeyword, keyword, day).addHash(sourceHash);
+            }
+            if (author != null && !author.isBlank()) {
+                counter(authorsBySource, source, day).add(author.trim().toLowerCase());
+            }
+        }
+    }
+    
+    /**
+     * Estimated number of distinct outlets that used the keyword between two days, inclusive
+     */
+    public synchronized long getDistinctSources(String keyword, LocalDate from, LocalDate to) {
+        return union(sourcesByKeyword, keyword, from, to);
+    }
+    
+    /**
+     * Estimated number of distinct authors published by a source between two days, inclusive
+     */
+    public synchronized long getDistinctAuthors(String source, LocalDate from, LocalDate to) {
+        return union(authorsBySource, source, from, to);
+    }
+    
+    public synchronized int getCounterCount() {
+        return sourcesByKeyword.size() + authorsBySource.size();
+    }
+    
+    public synchronized void clear() {
+        sourcesByKeyword.clear();
+        authorsBySource.clear();
+    }
+    
+    private long union(Map<Long, HyperLogLog> counters, String name, LocalDate from, LocalDate to) {
+        long nameHash = Hashing.hash64(name);
+        HyperLogLog union = new HyperLogLog(precision);
+        for (long day = from.toEpochDay(); day <= to.toEpochDay(); day++) {
+            HyperLogLog daily = counters.get(key(nameHash, day));
+            if (daily != null) {
+                union.merge(daily);
+            }
+        }
+        return union.estimate();
+    }
+    
+    private HyperLogLog counter(Map<Long, HyperLogLog> counters, String name, long day) {
+        return counters.computeIfAbsent(key(Hashing.hash64(name), day), k -> new HyperLogLog(precision));
+    }
+    
+    /**
+     * Counter key from the name's hash and the day, so no dictionary of names has to be kept
+     */
+    private static long key(long nameHash, long day) {
+        return Hashing.combine(nameHash, day);
+    }
+    
+    private static Map<Long, HyperLogLog> boundedCounters(int capacity) {
+        // Access-ordered LinkedHashMap evicting the least recently touched counter
+        return new LinkedHashMap<Long, HyperLogLog>(Math.min(capacity, 1024) * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, HyperLogLog> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+}
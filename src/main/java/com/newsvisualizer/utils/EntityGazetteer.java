@@ -0,0 +1,314 @@
+package com.newsvisualizer.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Named entity gazetteer for countries, organizations and people.
+ *
+ * Entity names and aliases are loaded from a tab-separated resource file into a token trie:
+ * tokens are interned to IDs and every trie edge is a single entry in a primitive
+ * (node, token) -> child map. Matching walks the trie once over the article tokens and
+ * always takes the longest entity, so "Reserve Bank of India" wins over "India".
+ */
+public class EntityGazetteer {
+    private static final Logger logger = LoggerFactory.getLogger(EntityGazetteer.class);
+    
+    public static final String DEFAULT_RESOURCE = "/gazetteer/entities.tsv";
+    
+    private static EntityGazetteer defaultInstance;
+    
+    /**
+     * Kinds of entities the gazetteer knows about
+     */
+    public enum EntityType {
+        COUNTRY, ORGANIZATION, PERSON
+    }
+    
+    private final TermDictionary tokens = new TermDictionary();
+    private final LongIntMap transitions = new LongIntMap(1024);
+    private final List<Entity> entities = new ArrayList<>();
+    private final Map<String, Entity> entitiesByName = new HashMap<>();
+    private int[] nodeEntity = new int[256];
+    private int nodeCount = 1; // node 0 is the root
+    
+    public EntityGazetteer() {
+        Arrays.fill(nodeEntity, -1);
+    }
+    
+    /**
+     * Get the gazetteer loaded from the bundled entity list
+     */
+    public static synchronized EntityGazetteer getDefault() {
+        if (defaultInstance == null) {
+            defaultInstance = new EntityGazetteer();
+            try (InputStream in = EntityGazetteer.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+                if (in == null) {
+                    logger.warn("Entity gazetteer resource {} not found", DEFAULT_RESOURCE);
+                } else {
+                    defaultInstance.load(in);
+                    logger.info("Loaded {} entities into gazetteer", defaultInstance.size());
+                }
+            } catch (IOException e) {
+                logger.error("Failed to load entity gazetteer", e);
+            }
+        }
+        return defaultInstance;
+    }
+    
+    /**
+     * Load entities from "TYPE &lt;tab&gt; name &lt;tab&gt; alias, alias" lines; '#' starts a comment
+     */
+    public synchronized void load(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            if (fields.length < 2) {
+                logger.warn("Skipping malformed gazetteer line {}: {}", lineNumber, line);
+                continue;
+            }
+            try {
+                EntityType type = EntityType.valueOf(fields[0].trim().toUpperCase());
+                List<String> aliases = new ArrayList<>();
+                if (fields.length > 2) {
+                    for (String alias : fields[2].split(",")) {
+                        if (!alias.isBlank()) {
+                            aliases.add(alias.trim());
+                        }
+                    }
+                }
+                addEntity(type, fields[1].trim(), aliases);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Skipping gazetteer line {} with unknown type: {}", lineNumber, fields[0]);
+            }
+        }
+    }
+    
+    /**
+     * Register an entity under its canonical name and aliases
+     */
+    public synchronized Entity addEntity(EntityType type, String name, List<String> aliases) {
+        Entity entity = entitiesByName.get(name);
+        if (entity == null) {
+            entity = new Entity(entities.size(), type, name);
+            entities.add(entity);
+            entitiesByName.put(name, entity);
+        }
+        insert(name, entity.getId());
+        for (String alias : aliases) {
+            insert(alias, entity.getId());
+        }
+        return entity;
+    }
+    
+    /**
+     * All entity mentions in a text, left to right, longest match first at each position
+     */
+    public List<EntityMention> findMentions(String text) {
+        List<EntityMention> mentions = new ArrayList<>();
+        forEachMention(text, (entity, start, end) -> mentions.add(new EntityMention(entity, start, end)));
+        return mentions;
+    }
+    
+    /**
+     * Visit entity mentions in one pass without materializing a result list
+     */
+    public void forEachMention(String text, MentionConsumer consumer) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        
+        // Tokenize once: char offsets plus lower-case and exact-case token IDs
+        int capacity = 32;
+        int[] starts = new int[capacity];
+        int[] ends = new int[capacity];
+        int[] lowerIds = new int[capacity];
+        int[] exactIds = new int[capacity];
+        int count = 0;
+        
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            while (i < length && !ScriptAwareTokenizer.isWordChar(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && ScriptAwareTokenizer.isWordChar(text.charAt(i))) {
+                i++;
+            }
+            if (start == i) {
+                break;
+            }
+            if (count == capacity) {
+                capacity *= 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                lowerIds = Arrays.copyOf(lowerIds, capacity);
+                exactIds = Arrays.copyOf(exactIds, capacity);
+            }
+            String token = text.substring(start, i);
+            String lower = token.toLowerCase();
+            starts[count] = start;
+            ends[count] = i;
+            lowerIds[count] = tokens.getId(lower);
+            exactIds[count] = lower.equals(token) ? -1 : tokens.getId(token);
+            count++;
+        }
+        
+        // Walk the trie from every token, jumping past each longest match
+        int t = 0;
+        while (t < count) {
+            int node = 0;
+            int matchedEntity = -1;
+            int matchedEnd = -1;
+            for (int j = t; j < count; j++) {
+                int child = childOf(node, lowerIds[j]);
+                if (child == 0) {
+                    child = childOf(node, exactIds[j]);
+                }
+                if (child == 0) {
+                    break;
+                }
+                node = child;
+                if (nodeEntity[node] >= 0) {
+                    matchedEntity = nodeEntity[node];
+                    matchedEnd = j;
+                }
+            }
+            
+            if (matchedEntity >= 0) {
+                consumer.accept(entities.get(matchedEntity), starts[t], ends[matchedEnd]);
+                t = matchedEnd + 1;
+            } else {
+                t++;
+            }
+        }
+    }
+    
+    public synchronized Entity getEntity(int id) {
+        return entities.get(id);
+    }
+    
+    /**
+     * Entity by canonical name, or null when unknown
+     */
+    public synchronized Entity findEntity(String name) {
+        return entitiesByName.get(name);
+    }
+    
+    public synchronized int size() {
+        return entities.size();
+    }
+    
+    private int childOf(int node, int tokenId) {
+        if (tokenId < 0) {
+            return 0;
+        }
+        return transitions.get(((long) node << 32) | tokenId);
+    }
+    
+    private void insert(String phrase, int entityId) {
+        List<String> phraseTokens = new ArrayList<>();
+        for (String token : phrase.split("[^\\p{L}\\p{M}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                phraseTokens.add(token);
+            }
+        }
+        if (phraseTokens.isEmpty()) {
+            return;
+        }
+        
+        // Short all-caps acronyms (WHO, UN, US) only match in capitals so pronouns and words are not entities
+        boolean caseSensitive = phrase.equals(phrase.toUpperCase()) && phrase.chars().anyMatch(Character::isLetter)
+                && phraseTokens.stream().allMatch(token -> token.length() <= 3);
+        
+        int node = 0;
+        for (String token : phraseTokens) {
+            int tokenId = tokens.getOrAdd(caseSensitive ? token : token.toLowerCase());
+            long key = ((long) node << 32) | tokenId;
+            int child = transitions.get(key);
+            if (child == 0) {
+                child = nodeCount++;
+                if (child == nodeEntity.length) {
+                    int oldLength = nodeEntity.length;
+                    nodeEntity = Arrays.copyOf(nodeEntity, oldLength * 2);
+                    Arrays.fill(nodeEntity, oldLength, nodeEntity.length, -1);
+                }
+                transitions.put(key, child);
+            }
+            node = child;
+        }
+        if (nodeEntity[node] < 0) {
+            nodeEntity[node] = entityId;
+        }
+    }
+    
+    /**
+     * Callback for {@link #forEachMention(String, MentionConsumer)}
+     */
+    @FunctionalInterface
+    public interface MentionConsumer {
+        void accept(Entity entity, int start, int end);
+    }
+    
+    /**
+     * A known entity
+     */
+    public static class Entity {
+        private final int id;
+        private final EntityType type;
+        private final String name;
+        
+        public Entity(int id, EntityType type, String name) {
+            this.id = id;
+            this.type = type;
+            this.name = name;
+        }
+        
+        public int getId() { return id; }
+        public EntityType getType() { return type; }
+        public String getName() { return name; }
+        
+        @Override
+        public String toString() {
+            return name + " (" + type + ")";
+        }
+    }
+    
+    /**
+     * An entity occurrence at a character range of the matched text
+     */
+    public static class EntityMention {
+        private final Entity entity;
+        private final int start;
+        private final int end;
+        
+        public EntityMention(Entity entity, int start, int end) {
+            this.entity = entity;
+            this.start = start;
+            this.end = end;
+        }
+        
+        public Entity getEntity() { return entity; }
+        public int getStart() { return start; }
+        public int getEnd() { return end; }
+    }
+}
@@ -0,0 +1,181 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates gazetteer entity mentions per entity and per time bucket.
+ * Counts are kept in an int array (totals) and one primitive map keyed by
+ * (bucket, entity), so it is cheap enough to update inline at ingest. Articles fetched
+ * again are skipped while their hash is remembered, for {@link #SEEN_BUCKETS} buckets back
+ * from the newest bucket seen.
+ */
+public class EntityMentionCounter {
+    
+    public static final long DEFAULT_BUCKET_SECONDS = 60 * 60;
+    
+    public static final int SEEN_BUCKETS = 48;
+    
+    private static final int ENTITY_BITS = 20;
+    private static final int SEEN_ARTICLES_PER_BUCKET = 5_000;
+    
+    private static EntityMentionCounter instance;
+    
+    private final EntityGazetteer gazetteer;
+    private final long bucketSeconds;
+    private final LongIntMap bucketCounts = new LongIntMap(1024);
+    private final RecentHashes seenArticles = new RecentHashes(SEEN_BUCKETS, SEEN_ARTICLES_PER_BUCKET);
+    private long latestBucket = Long.MIN_VALUE;
+    private int[] totals = new int[64];
+    
+    public EntityMentionCounter() {
+        this(EntityGazetteer.getDefault(), DEFAULT_BUCKET_SECONDS);
+    }
+    
+    public EntityMentionCounter(EntityGazetteer gazetteer, long bucketSeconds) {
+        if (bucketSeconds <= 0) {
+            throw new IllegalArgumentException("Bucket width must be positive");
+        }
+        this.gazetteer = gazetteer;
+        this.bucketSeconds = bucketSeconds;
+    }
+    
+    /**
+     * Get the counter fed by the news fetch pipeline
+     */
+    public static synchronized EntityMentionCounter getInstance() {
+        if (instance == null) {
+            instance = new EntityMentionCounter();
+        }
+        return instance;
+    }
+    
+    public void addArticles(List<NewsArticle> articles) {
+        for (NewsArticle article : articles) {
+            addArticle(article);
+        }
+    }
+    
+    /**
+     * Count the entity mentions of an article in its publication-time bucket; articles already
+     * counted are skipped
+     */
+    public synchronized void addArticle(NewsArticle article) {
+        long bucketId = Math.floorDiv(NewsAnalyzer.publishedEpochSecond(article), bucketSeconds);
+        if (bucketId > latestBucket) {
+            if (latestBucket != Long.MIN_VALUE) {
+                for (long b = latestBucket; b < bucketId && b < latestBucket + SEEN_BUCKETS; b++) {
+                    seenArticles.advance();
+                }
+            }
+            latestBucket = bucketId;
+        }
+        if (!seenArticles.add(AnalysisCache.contentHash(article))) {
+            return;
+        }
+        gazetteer.forEachMention(NewsAnalyzer.combineTextContent(article), (entity, start, end) -> {
+            int id = entity.getId();
+            if (id >= totals.length) {
+                totals = Arrays.copyOf(totals, Math.max(totals.length * 2, id + 1));
+            }
+            totals[id]++;
+            bucketCounts.addTo(key(bucketId, id), 1);
+        });
+    }
+    
+    /**
+     * Most mentioned entities, optionally restricted to one type (null for all types)
+     */
+    public synchronized Map<String, Integer> getTopEntities(EntityGazetteer.EntityType type, int topN) {
+        Integer[] order = new Integer[totals.length];
+        for (int i = 0; i < totals.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(totals[b], totals[a]));
+        
+        Map<String, Integer> top = new LinkedHashMap<>();
+        for (int id : order) {
+            if (top.size() >= topN || totals[id] == 0) {
+                break;
+            }
+            EntityGazetteer.Entity entity = gazetteer.getEntity(id);
+            if (type == null || entity.getType() == type) {
+                top.put(entity.getName(), totals[id]);
+            }
+        }
+        return top;
+    }
+    
+    /**
+     * Most mentioned entities within [fromEpochSecond, toEpochSecond), at bucket granularity,
+     * optionally restricted to one type (null for all types)
+     */
+    public synchronized Map<String, Integer> getTopEntities(EntityGazetteer.EntityType type,
+                                                            long fromEpochSecond, long toEpochSecond, int topN) {
+        long firstBucket = Math.floorDiv(fromEpochSecond, bucketSeconds);
+        long lastBucket = Math.floorDiv(toEpochSecond - 1, bucketSeconds);
+        int[] counts = new int[totals.length];
+        Integer[] order = new Integer[totals.length];
+        for (int id = 0; id < totals.length; id++) {
+            order[id] = id;
+            if (totals[id] > 0 && (type == null || gazetteer.getEntity(id).getType() == type)) {
+                for (long bucket = firstBucket; bucket <= lastBucket; bucket++) {
+                    counts[id] += bucketCounts.get(key(bucket, id));
+                }
+            }
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(counts[b], counts[a]));
+        
+        Map<String, Integer> top = new LinkedHashMap<>();
+        for (int id : order) {
+            if (top.size() >= topN || counts[id] == 0) {
+                break;
+            }
+            top.put(gazetteer.getEntity(id).getName(), counts[id]);
+        }
+        return top;
+    }
+    
+    /**
+     * Total mentions of an entity since counting started
+     */
+    public synchronized int getMentionCount(String entityName) {
+        EntityGazetteer.Entity entity = gazetteer.findEntity(entityName);
+        return entity != null && entity.getId() < totals.length ? totals[entity.getId()] : 0;
+    }
+    
+    /**
+     * Mentions of an entity within [fromEpochSecond, toEpochSecond), at bucket granularity
+     */
+    public synchronized int getMentionCount(String entityName, long fromEpochSecond, long toEpochSecond) {
+        EntityGazetteer.Entity entity = gazetteer.findEntity(entityName);
+        if (entity == null) {
+            return 0;
+        }
+        int count = 0;
+        long lastBucket = Math.floorDiv(toEpochSecond - 1, bucketSeconds);
+        for (long bucket = Math.floorDiv(fromEpochSecond, bucketSeconds); bucket <= lastBucket; bucket++) {
+            count += bucketCounts.get(key(bucket, entity.getId()));
+        }
+        return count;
+    }
+    
+    public synchronized void clear() {
+        bucketCounts.clear();
+        seenArticles.clear();
+        latestBucket = Long.MIN_VALUE;
+        Arrays.fill(totals, 0);
+    }
+    
+    public long getBucketSeconds() {
+        return bucketSeconds;
+    }
+    
+    private static long key(long bucketId, int entityId) {
+        return (bucketId << ENTITY_BITS) | entityId;
+    }
+}
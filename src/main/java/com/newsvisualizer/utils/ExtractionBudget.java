@@ -0,0 +1,114 @@
+package com.newsvisualizer.utils;
+
+/**
+ * Wall-clock budget for one summarization request.
+ *
+ * Regex extraction over untrusted pages can backtrack for seconds. Matching against
+ * {@link #guard(CharSequence)} instead of the raw string makes every step interruptible:
+ * the wrapper checks the deadline every few hundred character reads and throws
+ * {@link BudgetExceededException} once it has passed, which unwinds out of the matcher.
+ * Steps can take a tighter child budget with {@link #forStep(long)} so one slow pattern
+ * is skipped instead of consuming the whole request. Budgets are per request and are not
+ * meant to be shared between threads.
+ */
+public class ExtractionBudget {
+    
+    public static final long DEFAULT_BUDGET_MILLIS = 30_000;
+    
+    // Check the clock every 1024 reads; nanoTime is cheap but not free inside a regex loop
+    private static final int CHECK_MASK = 0x3FF;
+    
+    private final long deadline;
+    private int reads;
+    
+    private ExtractionBudget(long deadline) {
+        this.deadline = deadline;
+    }
+    
+    /**
+     * Budget expiring the given number of milliseconds from now
+     */
+    public static ExtractionBudget ofMillis(long millis) {
+        return new ExtractionBudget(System.nanoTime() + millis * 1_000_000L);
+    }
+    
+    /**
+     * Child budget for one step: at most {@code maxMillis}, and never past this budget
+     */
+    public ExtractionBudget forStep(long maxMillis) {
+        return new ExtractionBudget(Math.min(deadline, System.nanoTime() + maxMillis * 1_000_000L));
+    }
+    
+    public long remainingMillis() {
+        return Math.max(0, (deadline - System.nanoTime()) / 1_000_000L);
+    }
+    
+    public boolean isExpired() {
+        return System.nanoTime() - deadline >= 0;
+    }
+    
+    /**
+     * Throw if the budget has run out
+     */
+    public void check() {
+        if (isExpired()) {
+            throw new BudgetExceededException();
+        }
+    }
+    
+    /**
+     * View of the text whose reads fail once the budget has run out
+     */
+    public CharSequence guard(CharSequence text) {
+        return new GuardedSequence(text, 0, text.length());
+    }
+    
+    /**
+     * Thrown from inside a guarded read when the budget is exhausted
+     */
+    public static class BudgetExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        
+        public BudgetExceededException() {
+            super("Extraction time budget exceeded", null, false, false);
+        }
+    }
+    
+    private class GuardedSequence implements CharSequence {
+        private final CharSequence text;
+        private final int start;
+        private final int end;
+        
+        GuardedSequence(CharSequence text, int start, int end) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        public char charAt(int index) {
+            if ((++reads & CHECK_MASK) == 0) {
+                check();
+            }
+            return text.charAt(start + index);
+        }
+        
+        @Override
+        public int length() {
+            return end - start;
+        }
+        
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > length() || from > to) {
+                throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length());
+            }
+            return new GuardedSequence(text, start + from, start + to);
+        }
+        
+        @Override
+        public String toString() {
+            return text.subSequence(start, end).toString();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.newsvisualizer.utils;
+
+/**
+ * Fast non-cryptographic hash functions shared by the streaming analytics structures
+ */
+public final class Hashing {
+    
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private Hashing() {}
+    
+    /**
+     * 64-bit hash of a character sequence (FNV-1a over UTF-16 code units, finalized with mix64)
+     */
+    public static long hash64(CharSequence text) {
+        return hash64(text, 0, text.length());
+    }
+    
+    /**
+     * 64-bit hash of a region of a character sequence without creating a substring
+     */
+    public static long hash64(CharSequence text, int start, int end) {
+        long h = FNV_OFFSET;
+        for (int i = start; i < end; i++) {
+            h ^= text.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return mix64(h);
+    }
+    
+    /**
+     * Continue a running hash with another value, used to combine hashes of several fields
+     */
+    public static long combine(long hash, long value) {
+        return mix64(hash * 31 + value);
+    }
+    
+    /**
+     * MurmurHash3 64-bit finalizer; spreads every input bit over the whole output
+     */
+    public static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,107 @@
+package com.newsvisualizer.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs alternative attempts at the same request with staggered starts and keeps the first success.
+ *
+ * Attempt k starts {@code staggerMillis} after attempt k-1, or at once when every attempt
+ * started so far has already failed, so fast refusals cost no waiting. As soon as one attempt
+ * succeeds, or the deadline passes, every other attempt is cancelled. A blocked page then
+ * fails in about one deadline instead of one timeout per alternative.
+ */
+public class HedgedRequests {
+    private static final Logger logger = LoggerFactory.getLogger(HedgedRequests.class);
+    
+    /**
+     * One way of making the request
+     */
+    public interface Attempt<T> {
+        /**
+         * Result of the attempt, or null when it failed
+         */
+        T call() throws Exception;
+        
+        /**
+         * Abort the attempt from another thread; called for every attempt, finished or not
+         */
+        void cancel();
+    }
+    
+    private HedgedRequests() {
+    }
+    
+    /**
+     * First non-null result among the attempts, or null when all fail or the deadline passes
+     */
+    public static <T> T firstSuccess(List<? extends Attempt<T>> attempts, long staggerMillis, ExtractionBudget deadline) {
+        int total = attempts.size();
+        if (total == 0) {
+            return null;
+        }
+        
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(total, runnable -> {
+            Thread thread = new Thread(runnable, "hedged-request-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        int launched = 0;
+        int finished = 0;
+        long nextLaunch = System.nanoTime();
+        
+        try {
+            while (finished < total && !deadline.isExpired()) {
+                long now = System.nanoTime();
+                if (launched < total && (now - nextLaunch >= 0 || finished == launched)) {
+                    completion.submit(attempts.get(launched++)::call);
+                    nextLaunch = now + staggerMillis * 1_000_000L;
+                    continue;
+                }
+                
+                long wait = deadline.remainingMillis();
+                if (launched < total) {
+                    wait = Math.min(wait, (nextLaunch - now) / 1_000_000L);
+                }
+                Future<T> done = completion.poll(Math.max(1, wait), TimeUnit.MILLISECONDS);
+                if (done == null) {
+                    continue;
+                }
+                finished++;
+                try {
+                    T result = done.get();
+                    if (result != null) {
+                        logger.debug("Hedged attempt succeeded after {} of {} launched", finished, launched);
+                        return result;
+                    }
+                } catch (ExecutionException e) {
+                    logger.debug("Hedged attempt failed: {}", e.getCause().getMessage());
+                }
+            }
+            if (finished < total) {
+                logger.debug("Hedged request deadline passed with {} of {} attempts finished", finished, total);
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            for (Attempt<T> attempt : attempts) {
+                attempt.cancel();
+            }
+            executor.shutdownNow();
+        }
+    }
+}
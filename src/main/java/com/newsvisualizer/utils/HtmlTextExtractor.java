@@ -0,0 +1,462 @@
+package com.newsvisualizer.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass main-text extractor for article pages.
+ *
+ * A streaming tokenizer walks the HTML once: script, style, noscript and comment blocks are
+ * skipped in place, entities are decoded as text is emitted, and whitespace is collapsed on
+ * the fly. All visible text goes into one buffer; every open block element remembers where
+ * its text starts in that buffer, so a block's text is just a range of it. When a candidate
+ * block closes it is scored by text density (non-link text per tag, with bonuses for
+ * article-like names and penalties for navigation-like ones) and the best range wins.
+ * Paragraphs are collected as they close as a fallback for pages without a clear container.
+ */
+public class HtmlTextExtractor {
+    
+    /** Below this many characters a container is not trusted over the paragraph fallback */
+    static final int MIN_BLOCK_LENGTH = 200;
+    
+    private static final int MIN_PARAGRAPH_LENGTH = 30;
+    private static final int MAX_ENTITY_LENGTH = 10;
+    
+    private static final Set<String> RAW_TEXT_ELEMENTS = Set.of("script", "style", "noscript", "template", "svg");
+    private static final Set<String> CANDIDATE_ELEMENTS = Set.of("article", "main", "section", "div", "td");
+    private static final Set<String> BLOCK_ELEMENTS = Set.of(
+        "article", "main", "section", "div", "td", "body", "p", "li", "ul", "ol", "table", "tr",
+        "h1", "h2", "h3", "h4", "h5", "h6", "blockquote", "figure", "figcaption", "pre",
+        "header", "footer", "nav", "aside", "form");
+    private static final Set<String> BOILERPLATE_ELEMENTS = Set.of("nav", "aside", "button", "select");
+    // Site header and footer, but an article's own header holds its headline
+    private static final Set<String> PAGE_CHROME_ELEMENTS = Set.of("header", "footer");
+    private static final Set<String> CONTENT_ELEMENTS = Set.of("article", "main");
+    private static final Set<String> VOID_ELEMENTS = Set.of(
+        "br", "hr", "img", "meta", "link", "input", "source", "area", "base", "col", "embed", "wbr", "track", "param");
+    
+    private static final String[] POSITIVE_HINTS = {"article", "content", "story", "post", "entry", "body", "text", "main"};
+    private static final String[] NEGATIVE_HINTS = {"nav", "menu", "footer", "sidebar", "comment", "share", "social",
+        "related", "promo", "advert", "cookie", "subscribe", "newsletter", "breadcrumb"};
+    private static final String[] PARAGRAPH_NOISE = {"subscribe", "advertisement", "cookie", "privacy policy",
+        "copyright", "all rights reserved"};
+    
+    private static final Map<String, String> NAMED_ENTITIES = new HashMap<>();
+    
+    static {
+        String[][] entities = {
+            {"nbsp", " "}, {"amp", "&"}, {"lt", "<"}, {"gt", ">"}, {"quot", "\""}, {"apos", "'"},
+            {"rsquo", "'"}, {"lsquo", "'"}, {"rdquo", "\""}, {"ldquo", "\""}, {"mdash", "—"}, {"ndash", "–"},
+            {"hellip", "…"}, {"copy", "©"}, {"reg", "®"}, {"trade", "™"}, {"laquo", "«"}, {"raquo", "»"},
+            {"middot", "·"}, {"bull", "•"}, {"euro", "€"}, {"pound", "£"}, {"deg", "°"}, {"thinsp", " "},
+            {"ensp", " "}, {"emsp", " "}, {"zwj", ""}, {"zwnj", ""}
+        };
+        for (String[] entity : entities) {
+            NAMED_ENTITIES.put(entity[0], entity[1]);
+        }
+    }
+    
+    private final String html;
+    private final int length;
+    private final StringBuilder text;
+    private final StringBuilder paragraphs = new StringBuilder();
+    private final List<Block> stack = new ArrayList<>();
+    private int suppressedDepth;
+    private int linkDepth;
+    private int bestStart;
+    private int bestEnd;
+    private double bestScore;
+    
+    private HtmlTextExtractor(String html) {
+        this.html = html;
+        this.length = html.length();
+        this.text = new StringBuilder(Math.min(length / 4 + 16, 1 << 20));
+    }
+    
+    /**
+     * Main article text of a page, as plain text with collapsed whitespace
+     */
+    public static String extract(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+        return new HtmlTextExtractor(html).run();
+    }
+    
+    /**
+     * Decode character references in a fragment of text, e.g. an attribute value
+     */
+    public static String decodeEntities(String value) {
+        if (value == null || value.indexOf('&') < 0) {
+            return value;
+        }
+        StringBuilder decoded = new StringBuilder(value.length());
+        int i = 0;
+        while (i < value.length()) {
+            char c = value.charAt(i);
+            int semicolon = c == '&' ? entityEnd(value, i, value.length()) : -1;
+            String replacement = semicolon > 0 ? resolveEntity(value, i, semicolon) : null;
+            if (replacement != null) {
+                decoded.append(replacement);
+                i = semicolon + 1;
+            } else {
+                decoded.append(c);
+                i++;
+            }
+        }
+        return decoded.toString();
+    }
+    
+    private String run() {
+        int i = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                i = readMarkup(i);
+            } else if (c == '&') {
+                int semicolon = entityEnd(html, i, length);
+                String replacement = semicolon > 0 ? resolveEntity(html, i, semicolon) : null;
+                if (replacement != null) {
+                    for (int k = 0; k < replacement.length(); k++) {
+                        appendChar(replacement.charAt(k));
+                    }
+                    i = semicolon + 1;
+                } else {
+                    appendChar(c);
+                    i++;
+                }
+            } else {
+                appendChar(c);
+                i++;
+            }
+        }
+        // Unclosed blocks (truncated pages, missing end tags) still compete
+        while (!stack.isEmpty()) {
+            closeBlock(stack.size() - 1);
+        }
+        
+        String best = bestEnd - bestStart >= MIN_BLOCK_LENGTH ? text.substring(bestStart, bestEnd).trim() : "";
+        String fallback = paragraphs.toString().trim();
+        return best.length() >= fallback.length() || best.length() >= MIN_BLOCK_LENGTH ? best : fallback;
+    }
+    
+    /**
+     * Consume one tag, comment or declaration starting at '<' and return the next position
+     */
+    private int readMarkup(int start) {
+        if (html.startsWith("<!--", start)) {
+            int end = html.indexOf("-->", start + 4);
+            return end < 0 ? length : end + 3;
+        }
+        int i = start + 1;
+        if (i >= length) {
+            appendChar('<');
+            return length;
+        }
+        char first = html.charAt(i);
+        if (first == '!' || first == '?') {
+            int end = html.indexOf('>', i);
+            return end < 0 ? length : end + 1;
+        }
+        boolean closing = first == '/';
+        if (closing) {
+            i++;
+        }
+        int nameStart = i;
+        while (i < length && isNameChar(html.charAt(i))) {
+            i++;
+        }
+        if (i == nameStart) {
+            // A bare '<' in text, not a tag
+            appendChar('<');
+            return start + 1;
+        }
+        String name = html.substring(nameStart, i).toLowerCase(Locale.ROOT);
+        
+        // Attributes, respecting quotes so '>' inside a value does not end the tag
+        int attributesStart = i;
+        char quote = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                break;
+            }
+            i++;
+        }
+        int tagEnd = Math.min(i + 1, length);
+        boolean selfClosing = i > attributesStart && html.charAt(i - 1) == '/';
+        
+        if (closing) {
+            endTag(name);
+        } else if (RAW_TEXT_ELEMENTS.contains(name) && !selfClosing) {
+            return skipRawText(name, tagEnd);
+        } else {
+            startTag(name, attributesStart, i, selfClosing);
+        }
+        return tagEnd;
+    }
+    
+    /**
+     * Jump past the matching end tag of a script-like element without tokenizing its body
+     */
+    private int skipRawText(String name, int from) {
+        int i = from;
+        while ((i = html.indexOf("</", i)) >= 0) {
+            if (html.regionMatches(true, i + 2, name, 0, name.length())) {
+                int end = html.indexOf('>', i);
+                return end < 0 ? length : end + 1;
+            }
+            i += 2;
+        }
+        return length;
+    }
+    
+    private void startTag(String name, int attributesStart, int attributesEnd, boolean selfClosing) {
+        if (name.equals("br")) {
+            appendChar(' ');
+            return;
+        }
+        if (VOID_ELEMENTS.contains(name) || selfClosing) {
+            if (!stack.isEmpty()) {
+                stack.get(stack.size() - 1).tags++;
+            }
+            return;
+        }
+        if (name.equals("a")) {
+            linkDepth++;
+        }
+        if (!stack.isEmpty()) {
+            stack.get(stack.size() - 1).tags++;
+        }
+        if (!BLOCK_ELEMENTS.contains(name)) {
+            return;
+        }
+        
+        // Browsers close an open paragraph when a new block starts
+        if (!stack.isEmpty() && stack.get(stack.size() - 1).name.equals("p")) {
+            closeBlock(stack.size() - 1);
+        }
+        appendChar(' ');
+        
+        Block block = new Block(name, text.length());
+        int hint = classHint(attributesStart, attributesEnd);
+        block.boilerplate = BOILERPLATE_ELEMENTS.contains(name)
+                || PAGE_CHROME_ELEMENTS.contains(name) && !insideContent();
+        if (name.equals("article") || name.equals("main")) {
+            block.weight = 1.5;
+        } else {
+            block.weight = hint > 0 ? 1.25 : hint < 0 ? 0.25 : 1.0;
+        }
+        if (block.boilerplate) {
+            suppressedDepth++;
+        }
+        stack.add(block);
+    }
+    
+    private boolean insideContent() {
+        for (Block open : stack) {
+            if (CONTENT_ELEMENTS.contains(open.name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void endTag(String name) {
+        if (name.equals("a")) {
+            linkDepth = Math.max(0, linkDepth - 1);
+            return;
+        }
+        if (!BLOCK_ELEMENTS.contains(name)) {
+            return;
+        }
+        // Close the nearest open element of that name, implicitly closing anything left open inside it
+        for (int index = stack.size() - 1; index >= 0; index--) {
+            if (stack.get(index).name.equals(name)) {
+                while (stack.size() > index) {
+                    closeBlock(stack.size() - 1);
+                }
+                appendChar(' ');
+                return;
+            }
+        }
+    }
+    
+    private void closeBlock(int index) {
+        Block block = stack.remove(index);
+        if (block.boilerplate) {
+            suppressedDepth--;
+        }
+        int end = text.length();
+        Block parent = stack.isEmpty() ? null : stack.get(stack.size() - 1);
+        if (parent != null) {
+            parent.linkChars += block.linkChars;
+            parent.tags += block.tags;
+            parent.paragraphs += block.paragraphs;
+        }
+        
+        if (block.name.equals("p")) {
+            keepParagraph(block.start, end);
+            if (parent != null) {
+                parent.paragraphs++;
+            }
+            return;
+        }
+        if (!CANDIDATE_ELEMENTS.contains(block.name)) {
+            return;
+        }
+        
+        // Text density: characters of non-link text per tag, favouring blocks built from paragraphs
+        int textChars = end - block.start;
+        int plainChars = Math.max(0, textChars - block.linkChars);
+        double density = plainChars / (double) (block.tags + 1);
+        double score = plainChars * Math.min(1.0, density / 40.0) * block.weight * (1 + Math.min(block.paragraphs, 10) * 0.05);
+        if (score > bestScore) {
+            bestScore = score;
+            bestStart = block.start;
+            bestEnd = end;
+        }
+    }
+    
+    /**
+     * Add a closed paragraph to the fallback text unless it is short or reads like page furniture
+     */
+    private void keepParagraph(int start, int end) {
+        if (end - start <= MIN_PARAGRAPH_LENGTH) {
+            return;
+        }
+        String paragraph = text.substring(start, end);
+        String lower = paragraph.toLowerCase(Locale.ROOT);
+        for (String noise : PARAGRAPH_NOISE) {
+            if (lower.contains(noise)) {
+                return;
+            }
+        }
+        paragraphs.append(paragraph.trim()).append(' ');
+    }
+    
+    /**
+     * +1 for article-like class or id values, -1 for navigation-like ones, 0 otherwise.
+     * Article-like names win, so "article-body with-comments" still counts as content.
+     */
+    private int classHint(int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        String attributes = html.substring(from, to).toLowerCase(Locale.ROOT);
+        if (!attributes.contains("class") && !attributes.contains("id")) {
+            return 0;
+        }
+        for (String hint : POSITIVE_HINTS) {
+            if (attributes.contains(hint)) {
+                return 1;
+            }
+        }
+        for (String hint : NEGATIVE_HINTS) {
+            if (attributes.contains(hint)) {
+                return -1;
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Append one character of visible text, collapsing whitespace runs to a single space
+     */
+    private void appendChar(char c) {
+        if (suppressedDepth > 0) {
+            return;
+        }
+        if (Character.isWhitespace(c) || c == ' ') {
+            if (text.length() == 0 || text.charAt(text.length() - 1) == ' ') {
+                return;
+            }
+            c = ' ';
+        }
+        text.append(c);
+        if (linkDepth > 0 && !stack.isEmpty()) {
+            stack.get(stack.size() - 1).linkChars++;
+        }
+    }
+    
+    /**
+     * Position of the ';' ending a character reference that starts at {@code start}, or -1
+     */
+    private static int entityEnd(String source, int start, int limit) {
+        int last = Math.min(limit - 1, start + MAX_ENTITY_LENGTH);
+        for (int i = start + 1; i <= last; i++) {
+            char c = source.charAt(i);
+            if (c == ';') {
+                return i > start + 1 ? i : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '#') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Text for the reference between '&' and ';', or null when it is not a known reference
+     */
+    private static String resolveEntity(String source, int start, int semicolon) {
+        if (source.charAt(start + 1) == '#') {
+            return numericEntity(source, start + 2, semicolon);
+        }
+        return NAMED_ENTITIES.get(source.substring(start + 1, semicolon));
+    }
+    
+    private static String numericEntity(String source, int from, int to) {
+        try {
+            int codePoint = from < to && (source.charAt(from) == 'x' || source.charAt(from) == 'X')
+                    ? Integer.parseInt(source.substring(from + 1, to), 16)
+                    : Integer.parseInt(source.substring(from, to));
+            switch (codePoint) {
+                case 0x2018:
+                case 0x2019:
+                    return "'";
+                case 0x201C:
+                case 0x201D:
+                    return "\"";
+                case 0xA0:
+                    return " ";
+                default:
+                    return Character.isValidCodePoint(codePoint) && codePoint != 0 ? new String(Character.toChars(codePoint)) : null;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == ':';
+    }
+    
+    /**
+     * An open block element and the statistics of everything inside it so far
+     */
+    private static class Block {
+        private final String name;
+        private final int start;
+        private boolean boilerplate;
+        private double weight;
+        private int tags;
+        private int linkChars;
+        private int paragraphs;
+        
+        Block(String name, int start) {
+            this.name = name;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Streaming keyword anomaly detector over the ingest stream.
+ *
+ * Each tracked term keeps O(1) state: its count in the current time bucket plus an EWMA
+ * mean and variance of its per-bucket counts. The current count is tested against that
+ * baseline on every occurrence, so a spike is reported within the bucket it happens in
+ * rather than after a rescan. The tracked-term set is a bounded LRU; rarely seen terms
+ * are evicted first. Alerts are published to registered listeners.
+ */
+public class KeywordAnomalyDetector {
+    private static final Logger logger = LoggerFactory.getLogger(KeywordAnomalyDetector.class);
+    
+    public static final long DEFAULT_BUCKET_SECONDS = 60;
+    public static final double DEFAULT_ALPHA = 0.05;
+    public static final double DEFAULT_Z_THRESHOLD = 4.0;
+    public static final int DEFAULT_MIN_COUNT = 5;
+    public static final int DEFAULT_MAX_TERMS = 5000;
+    public static final int DEFAULT_WARMUP_BUCKETS = 5;
+    
+    // Longer gaps are folded as this many empty buckets; the mean has decayed to ~0 by then
+    private static final int MAX_FOLDED_GAP = 256;
+    private static final double MIN_VARIANCE = 1.0;
+    private static final int MAX_SEEN_ARTICLES = 100_000;
+    
+    private static KeywordAnomalyDetector instance;
+    
+    private final long bucketSeconds;
+    private final double alpha;
+    private final double zThreshold;
+    private final int minCount;
+    private final int warmupBuckets;
+    private final Map<String, TermState> terms;
+    private final List<AnomalyListener> listeners = new CopyOnWriteArrayList<>();
+    
+    // Article dedupe: content hash -> bucket offset from the first bucket seen
+    private final LongIntMap seenArticles = new LongIntMap(1024);
+    private long firstBucket = Long.MIN_VALUE;
+    private long latestBucket = Long.MIN_VALUE;
+    
+    public KeywordAnomalyDetector() {
+        this(DEFAULT_BUCKET_SECONDS, DEFAULT_ALPHA, DEFAULT_Z_THRESHOLD, DEFAULT_MIN_COUNT,
+             DEFAULT_MAX_TERMS, DEFAULT_WARMUP_BUCKETS);
+    }
+    
+    public KeywordAnomalyDetector(long bucketSeconds, double alpha, double zThreshold, int minCount,
+                                  int maxTerms, int warmupBuckets) {
+        if (bucketSeconds <= 0 || alpha <= 0 || alpha >= 1 || maxTerms <= 0) {
+            throw new IllegalArgumentException("Bucket width and term limit must be positive and alpha in (0, 1)");
+        }
+        this.bucketSeconds = bucketSeconds;
+        this.alpha = alpha;
+        this.zThreshold = zThreshold;
+        this.minCount = minCount;
+        this.warmupBuckets = warmupBuckets;
+        // Access-ordered so the least recently seen term is evicted when full
+        this.terms = new LinkedHashMap<String, TermState>(Math.min(maxTerms, 1024) * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TermState> eldest) {
+                return size() > maxTerms;
+            }
+        };
+    }
+    
+    /**
+     * Get the detector fed by the news fetch pipeline
+     */
+    public static synchronized KeywordAnomalyDetector getInstance() {
+        if (instance == null) {
+            instance = new KeywordAnomalyDetector();
+        }
+        return instance;
+    }
+    
+    public void addListener(AnomalyListener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeListener(AnomalyListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Feed a batch in publication order; articles already seen are skipped
+     */
+    public void addArticles(List<NewsArticle> articles) {
+        List<NewsArticle> ordered = new ArrayList<>(articles);
+        ordered.sort(Comparator.comparingLong(NewsAnalyzer::publishedEpochSecond));
+        for (NewsArticle article : ordered) {
+            addArticle(article);
+        }
+    }
+    
+    public void addArticle(NewsArticle article) {
+        long epochSecond = NewsAnalyzer.publishedEpochSecond(article);
+        long hash = AnalysisCache.contentHash(article);
+        List<String> tokens = NewsAnalyzer.extractKeywordTokens(article);
+        
+        List<KeywordAnomaly> anomalies = new ArrayList<>();
+        synchronized (this) {
+            long bucket = advance(epochSecond);
+            if (seenArticles.containsKey(hash)) {
+                return;
+            }
+            seenArticles.put(hash, (int) (bucket - firstBucket));
+            for (String term : tokens) {
+                KeywordAnomaly anomaly = observe(term, bucket);
+                if (anomaly != null) {
+                    anomalies.add(anomaly);
+                }
+            }
+        }
+        publish(anomalies);
+    }
+    
+    /**
+     * Record one occurrence of a term at a time; returns the alert it raised, if any
+     */
+    public KeywordAnomaly addTerm(String term, long epochSecond) {
+        KeywordAnomaly anomaly;
+        synchronized (this) {
+            anomaly = observe(term, advance(epochSecond));
+        }
+        if (anomaly != null) {
+            publish(List.of(anomaly));
+        }
+        return anomaly;
+    }
+    
+    /**
+     * EWMA baseline of a term's per-bucket count, or 0 when the term is not tracked
+     */
+    public synchronized double getBaseline(String term) {
+        TermState state = terms.get(term);
+        return state != null ? state.mean : 0.0;
+    }
+    
+    public synchronized int getTrackedTermCount() {
+        return terms.size();
+    }
+    
+    public synchronized void clear() {
+        terms.clear();
+        seenArticles.clear();
+        firstBucket = Long.MIN_VALUE;
+        latestBucket = Long.MIN_VALUE;
+    }
+    
+    private long advance(long epochSecond) {
+        long bucket = Math.floorDiv(epochSecond, bucketSeconds);
+        if (firstBucket == Long.MIN_VALUE) {
+            firstBucket = bucket;
+        }
+        if (bucket > latestBucket) {
+            latestBucket = bucket;
+            if (seenArticles.size() > MAX_SEEN_ARTICLES) {
+                // Forget the older half of the dedupe window
+                int horizon = (int) (bucket - firstBucket);
+                seenArticles.removeBelow(horizon - horizon / 2);
+            }
+        }
+        return bucket;
+    }
+    
+    private KeywordAnomaly observe(String term, long bucket) {
+        TermState state = terms.get(term);
+        if (state == null) {
+            state = new TermState(bucket);
+            // A term new to a warmed-up detector has had a zero baseline all along
+            state.observedBuckets = (int) Math.min(bucket - firstBucket, Integer.MAX_VALUE);
+            terms.put(term, state);
+        }
+        
+        if (bucket < state.bucket) {
+            return null; // late arrival for a bucket already folded into the baseline
+        }
+        if (bucket > state.bucket) {
+            fold(state, state.count);
+            long gap = Math.min(bucket - state.bucket - 1, MAX_FOLDED_GAP);
+            for (long i = 0; i < gap; i++) {
+                fold(state, 0);
+            }
+            state.bucket = bucket;
+            state.count = 0;
+            state.alerted = false;
+        }
+        state.count++;
+        
+        if (state.alerted || state.count < minCount || state.observedBuckets < warmupBuckets) {
+            return null;
+        }
+        double stdDev = Math.sqrt(Math.max(MIN_VARIANCE, Math.max(state.variance, state.mean)));
+        double z = (state.count - state.mean) / stdDev;
+        if (z < zThreshold) {
+            return null;
+        }
+        state.alerted = true;
+        return new KeywordAnomaly(term, bucket * bucketSeconds, state.count, state.mean, stdDev, z);
+    }
+    
+    /**
+     * Fold a closed bucket's count into the EWMA mean and variance
+     */
+    private void fold(TermState state, int count) {
+        double delta = count - state.mean;
+        state.mean += alpha * delta;
+        state.variance = (1 - alpha) * (state.variance + alpha * delta * delta);
+        state.observedBuckets++;
+    }
+    
+    private void publish(List<KeywordAnomaly> anomalies) {
+        for (KeywordAnomaly anomaly : anomalies) {
+            logger.info("Keyword anomaly: {}", anomaly);
+            for (AnomalyListener listener : listeners) {
+                try {
+                    listener.onAnomaly(anomaly);
+                } catch (RuntimeException e) {
+                    logger.warn("Anomaly listener failed", e);
+                }
+            }
+        }
+    }
+    
+    private static class TermState {
+        private long bucket;
+        private int count;
+        private double mean;
+        private double variance;
+        private int observedBuckets;
+        private boolean alerted;
+        
+        TermState(long bucket) {
+            this.bucket = bucket;
+        }
+    }
+    
+    /**
+     * Receives keyword anomaly alerts; called on the ingesting thread
+     */
+    @FunctionalInterface
+    public interface AnomalyListener {
+        void onAnomaly(KeywordAnomaly anomaly);
+    }
+    
+    /**
+     * A term whose count in the current bucket departs from its EWMA baseline
+     */
+    public static class KeywordAnomaly {
+        private final String term;
+        private final long bucketStart;
+        private final int count;
+        private final double baseline;
+        private final double stdDev;
+        private final double zScore;
+        
+        public KeywordAnomaly(String term, long bucketStart, int count, double baseline, double stdDev, double zScore) {
+            this.term = term;
+            this.bucketStart = bucketStart;
+            this.count = count;
+            this.baseline = baseline;
+            this.stdDev = stdDev;
+            this.zScore = zScore;
+        }
+        
+        public String getTerm() { return term; }
+        public long getBucketStart() { return bucketStart; }
+        public int getCount() { return count; }
+        public double getBaseline() { return baseline; }
+        public double getStdDev() { return stdDev; }
+        public double getZScore() { return zScore; }
+        
+        @Override
+        public String toString() {
+            return String.format("%s (%d mentions vs baseline %.1f, z=%.1f)", term, count, baseline, zScore);
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keyword co-occurrence graph: how often two keywords appear in the same article, over a
+ * sliding window of recent days.
+ *
+ * Pair counts live in one sparse matrix per publication day, keyed by a primitive long packing
+ * the two term IDs (smaller ID in the high half). Days older than the window, measured back
+ * from the newest day seen, are dropped whole, together with their document counts, so
+ * "related to election" means related this week rather than ever. When the live days hold
+ * more pairs than the budget, pairs below a support threshold are pruned from each day; the
+ * threshold is recomputed from the minimum on every prune, so it falls again once expired days
+ * free room. The dedupe set of article hashes rolls over with the days, and the graph's own
+ * term dictionary is compacted to the terms still in the window once expired days have left
+ * it at least twice that size. Neighbor queries read
+ * a compressed adjacency index (per-term slices sorted by count) over the summed window,
+ * rebuilt lazily after new articles arrive.
+ */
+public class KeywordCooccurrence {
+    
+    public static final int DEFAULT_MAX_PAIRS = 200_000;
+    public static final int DEFAULT_TERMS_PER_ARTICLE = 25;
+    public static final int DEFAULT_MIN_SUPPORT = 2;
+    public static final int DEFAULT_WINDOW_DAYS = 7;
+    
+    // Articles remembered per day for dedupe; far above any real day's fetches
+    private static final int SEEN_ARTICLES_PER_DAY = 20_000;
+    private static final int MIN_COMPACT_TERMS = 4096;
+    
+    private static KeywordCooccurrence instance;
+    
+    private final int maxPairs;
+    private final int termsPerArticle;
+    private final int windowDays;
+    private TermDictionary dictionary = new TermDictionary();
+    private final List<Bucket> buckets = new ArrayList<>(); // oldest day first
+    private final RecentHashes seenArticles;
+    private int pruneThreshold = DEFAULT_MIN_SUPPORT;
+    
+    // Adjacency index over window-local term indices: neighbors of local term t are
+    // neighborIds[offsets[t] .. offsets[t + 1]), as local indices
+    private boolean indexStale = true;
+    private LongIntMap localIndex = new LongIntMap();
+    private int[] localTerms = new int[0];
+    private int[] localDocumentCounts = new int[0];
+    private int[] offsets = new int[1];
+    private int[] neighborIds = new int[0];
+    private int[] neighborCounts = new int[0];
+    
+    public KeywordCooccurrence() {
+        this(DEFAULT_MAX_PAIRS, DEFAULT_TERMS_PER_ARTICLE);
+    }
+    
+    public KeywordCooccurrence(int maxPairs, int termsPerArticle) {
+        this(maxPairs, termsPerArticle, DEFAULT_WINDOW_DAYS);
+    }
+    
+    public KeywordCooccurrence(int maxPairs, int termsPerArticle, int windowDays) {
+        if (maxPairs <= 0 || termsPerArticle < 2 || windowDays <= 0) {
+            throw new IllegalArgumentException("Pair budget and window must be positive and at least two terms per article kept");
+        }
+        this.maxPairs = maxPairs;
+        this.termsPerArticle = termsPerArticle;
+        this.windowDays = windowDays;
+        this.seenArticles = new RecentHashes(windowDays, SEEN_ARTICLES_PER_DAY);
+    }
+    
+    /**
+     * Get the co-occurrence graph accumulated over analyzed articles
+     */
+    public static synchronized KeywordCooccurrence getInstance() {
+        if (instance == null) {
+            instance = new KeywordCooccurrence();
+        }
+        return instance;
+    }
+    
+    public void addArticles(List<NewsArticle> articles) {
+        for (NewsArticle article : articles) {
+            addArticle(article);
+        }
+    }
+    
+    /**
+     * Count the pairs among an article's strongest keywords on its publication day (today when
+     * undated); re-adding the same text and articles older than the window are ignored
+     */
+    public void addArticle(NewsArticle article) {
+        long contentHash = AnalysisCache.contentHash(article);
+        LocalDate day = article.getPublishedAt() != null ? article.getPublishedAt().toLocalDate() : LocalDate.now();
+        AnalysisCache.AnalysisResult result = AnalysisCache.getInstance().getOrCompute(article, NewsAnalyzer::analyzeArticle);
+        
+        // Keep the most frequent keywords so long articles do not add quadratically many pairs
+        List<String> terms = result.getTopKeywords(termsPerArticle);
+        
+        synchronized (this) {
+            Bucket bucket = bucketFor(day.toEpochDay());
+            if (bucket == null || !seenArticles.add(contentHash)) {
+                return;
+            }
+            addTerms(terms, bucket);
+        }
+    }
+    
+    /**
+     * Count every pair of distinct terms in one document published today
+     */
+    public synchronized void addTerms(List<String> terms) {
+        addTerms(terms, LocalDate.now());
+    }
+    
+    /**
+     * Count every pair of distinct terms in one document published on the given day
+     */
+    public synchronized void addTerms(List<String> terms, LocalDate day) {
+        Bucket bucket = bucketFor(day.toEpochDay());
+        if (bucket != null) {
+            addTerms(terms, bucket);
+        }
+    }
+    
+    private void addTerms(List<String> terms, Bucket bucket) {
+        int[] ids = new int[terms.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = dictionary.getOrAdd(terms.get(i));
+        }
+        Arrays.sort(ids);
+        
+        int size = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[size++] = ids[i];
+            }
+        }
+        
+        for (int i = 0; i < size; i++) {
+            bucket.documentCounts.addTo(ids[i], 1);
+            for (int j = i + 1; j < size; j++) {
+                bucket.pairs.addTo(pairKey(ids[i], ids[j]), 1);
+            }
+        }
+        indexStale = true;
+        
+        if (getPairCount() > maxPairs) {
+            prune();
+        }
+    }
+    
+    /**
+     * Number of documents in the window in which both terms appear (0 if either was pruned or never seen)
+     */
+    public synchronized int getPairCount(String first, String second) {
+        int a = dictionary.getId(first);
+        int b = dictionary.getId(second);
+        if (a < 0 || b < 0 || a == b) {
+            return 0;
+        }
+        long key = pairKey(Math.min(a, b), Math.max(a, b));
+        int count = 0;
+        for (Bucket bucket : buckets) {
+            count += bucket.pairs.get(key);
+        }
+        return count;
+    }
+    
+    /**
+     * Terms most often seen with the given term in the window, highest count first
+     */
+    public synchronized List<Neighbor> getNeighbors(String term, int topN) {
+        List<Neighbor> neighbors = new ArrayList<>();
+        int id = dictionary.getId(term);
+        if (indexStale) {
+            rebuildIndex();
+        }
+        int local = id < 0 ? -1 : localIndex.get(id) - 1;
+        if (local < 0) {
+            return neighbors;
+        }
+        
+        int end = Math.min(offsets[local + 1], offsets[local] + topN);
+        for (int i = offsets[local]; i < end; i++) {
+            int other = neighborIds[i];
+            int count = neighborCounts[i];
+            // Ochiai (cosine) association so ubiquitous terms do not dominate the score
+            double association = count / Math.sqrt((double) localDocumentCounts[local] * localDocumentCounts[other]);
+            neighbors.add(new Neighbor(dictionary.getTerm(localTerms[other]), count, association));
+        }
+        return neighbors;
+    }
+    
+    /**
+     * Symmetric pair-count matrix for a list of terms, for heatmaps
+     */
+    public synchronized int[][] getMatrix(List<String> terms) {
+        int[][] matrix = new int[terms.size()][terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            for (int j = i + 1; j < terms.size(); j++) {
+                int count = getPairCount(terms.get(i), terms.get(j));
+                matrix[i][j] = count;
+                matrix[j][i] = count;
+            }
+        }
+        return matrix;
+    }
+    
+    /**
+     * Pair entries held across the days of the window
+     */
+    public synchronized int getPairCount() {
+        int pairs = 0;
+        for (Bucket bucket : buckets) {
+            pairs += bucket.pairs.size();
+        }
+        return pairs;
+    }
+    
+    /**
+     * Terms currently interned by the graph
+     */
+    public synchronized int getTermCount() {
+        return dictionary.size();
+    }
+    
+    /**
+     * Support threshold used by the last prune
+     */
+    public synchronized int getPruneThreshold() {
+        return pruneThreshold;
+    }
+    
+    /**
+     * Drop low-support pairs from every day, raising the threshold from the minimum until the
+     * window is back under budget
+     */
+    public synchronized void prune() {
+        pruneThreshold = DEFAULT_MIN_SUPPORT;
+        removeBelow(pruneThreshold);
+        while (getPairCount() > maxPairs * 3L / 4) {
+            pruneThreshold++;
+            removeBelow(pruneThreshold);
+        }
+        indexStale = true;
+    }
+    
+    public synchronized void clear() {
+        buckets.clear();
+        seenArticles.clear();
+        dictionary = new TermDictionary();
+        pruneThreshold = DEFAULT_MIN_SUPPORT;
+        indexStale = true;
+    }
+    
+    private void removeBelow(int threshold) {
+        for (Bucket bucket : buckets) {
+            bucket.pairs.removeBelow(threshold);
+        }
+    }
+    
+    /**
+     * Bucket of a day, opening it (and expiring days that fall out of the window) when needed;
+     * null when the day is already older than the window
+     */
+    private Bucket bucketFor(long day) {
+        long newest = buckets.isEmpty() ? Long.MIN_VALUE : buckets.get(buckets.size() - 1).day;
+        if (day > newest) {
+            if (newest != Long.MIN_VALUE) {
+                for (long d = newest; d < day && d < newest + windowDays; d++) {
+                    seenArticles.advance();
+                }
+            }
+            Bucket bucket = new Bucket(day);
+            buckets.add(bucket);
+            if (buckets.removeIf(old -> old.day <= day - windowDays)) {
+                compactDictionary();
+            }
+            indexStale = true;
+            return bucket;
+        }
+        if (day <= newest - windowDays) {
+            return null;
+        }
+        for (int i = buckets.size() - 1; i >= 0; i--) {
+            Bucket bucket = buckets.get(i);
+            if (bucket.day == day) {
+                return bucket;
+            }
+            if (bucket.day < day) {
+                Bucket inserted = new Bucket(day);
+                buckets.add(i + 1, inserted);
+                return inserted;
+            }
+        }
+        Bucket oldest = new Bucket(day);
+        buckets.add(0, oldest);
+        return oldest;
+    }
+    
+    /**
+     * Re-intern only the terms still in the window when expired days left the dictionary at
+     * least twice that size, rewriting the per-day keys to the new IDs
+     */
+    private void compactDictionary() {
+        LongIntMap live = new LongIntMap(1024);
+        for (Bucket bucket : buckets) {
+            bucket.documentCounts.forEach((id, count) -> live.put(id, 1));
+        }
+        if (dictionary.size() < Math.max(MIN_COMPACT_TERMS, live.size() * 2L)) {
+            return;
+        }
+        
+        TermDictionary compacted = new TermDictionary();
+        LongIntMap remap = new LongIntMap(Math.max(16, live.size()));
+        live.forEach((id, ignored) -> remap.put(id, compacted.getOrAdd(dictionary.getTerm((int) id)) + 1));
+        for (Bucket bucket : buckets) {
+            LongIntMap documentCounts = new LongIntMap(Math.max(16, bucket.documentCounts.size()));
+            bucket.documentCounts.forEach((id, count) -> documentCounts.put(remap.get(id) - 1, count));
+            LongIntMap pairs = new LongIntMap(Math.max(16, bucket.pairs.size()));
+            bucket.pairs.forEach((key, count) -> {
+                int a = remap.get(key >>> 32) - 1;
+                int b = remap.get((int) key) - 1;
+                pairs.put(pairKey(Math.min(a, b), Math.max(a, b)), count);
+            });
+            bucket.documentCounts = documentCounts;
+            bucket.pairs = pairs;
+        }
+        dictionary = compacted;
+    }
+    
+    private static long pairKey(int smaller, int larger) {
+        return ((long) smaller << 32) | (larger & 0xFFFFFFFFL);
+    }
+    
+    private void rebuildIndex() {
+        // Sum the window, then number its terms densely so the index does not grow with the dictionary
+        LongIntMap pairs = new LongIntMap(Math.max(16, getPairCount()));
+        LongIntMap documentCounts = new LongIntMap(1024);
+        for (Bucket bucket : buckets) {
+            bucket.pairs.forEach(pairs::addTo);
+            bucket.documentCounts.forEach(documentCounts::addTo);
+        }
+        
+        int termCount = documentCounts.size();
+        localIndex = new LongIntMap(Math.max(16, termCount));
+        localTerms = new int[termCount];
+        localDocumentCounts = new int[termCount];
+        int[] next = new int[1];
+        documentCounts.forEach((id, count) -> {
+            localIndex.put(id, next[0] + 1); // 1-based so 0 means "not in the window"
+            localTerms[next[0]] = (int) id;
+            localDocumentCounts[next[0]] = count;
+            next[0]++;
+        });
+        
+        int[] degree = new int[termCount + 1];
+        pairs.forEach((key, count) -> {
+            degree[localIndex.get(key >>> 32) - 1]++;
+            degree[localIndex.get((int) key) - 1]++;
+        });
+        
+        offsets = new int[termCount + 1];
+        for (int t = 0; t < termCount; t++) {
+            offsets[t + 1] = offsets[t] + degree[t];
+        }
+        int total = offsets[termCount];
+        
+        // Pack (count, neighbor) into longs so each slice sorts with a primitive sort
+        long[] packed = new long[total];
+        int[] fill = Arrays.copyOf(offsets, termCount);
+        pairs.forEach((key, count) -> {
+            int a = localIndex.get(key >>> 32) - 1;
+            int b = localIndex.get((int) key) - 1;
+            packed[fill[a]++] = ((long) count << 32) | b;
+            packed[fill[b]++] = ((long) count << 32) | a;
+        });
+        
+        neighborIds = new int[total];
+        neighborCounts = new int[total];
+        for (int t = 0; t < termCount; t++) {
+            int from = offsets[t];
+            int to = offsets[t + 1];
+            Arrays.sort(packed, from, to);
+            for (int i = 0; i < to - from; i++) {
+                long entry = packed[to - 1 - i]; // descending by count
+                neighborIds[from + i] = (int) entry;
+                neighborCounts[from + i] = (int) (entry >>> 32);
+            }
+        }
+        indexStale = false;
+    }
+    
+    /**
+     * Pair and document counts of one publication day
+     */
+    private static class Bucket {
+        private final long day;
+        private LongIntMap pairs = new LongIntMap(1024);
+        private LongIntMap documentCounts = new LongIntMap(256);
+        
+        Bucket(long day) {
+            this.day = day;
+        }
+    }
+    
+    /**
+     * A term that co-occurs with the queried term
+     */
+    public static class Neighbor {
+        private final String term;
+        private final int count;
+        private final double association;
+        
+        public Neighbor(String term, int count, double association) {
+            this.term = term;
+            this.count = count;
+            this.association = association;
+        }
+        
+        public String getTerm() { return term; }
+        public int getCount() { return count; }
+        public double getAssociation() { return association; }
+        
+        @Override
+        public String toString() {
+            return String.format("%s (%d, %.2f)", term, count, association);
+        }
+    }
+}
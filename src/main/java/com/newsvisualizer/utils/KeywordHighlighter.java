@@ -0,0 +1,153 @@
+package com.newsvisualizer.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Wraps whole-word, case-insensitive keyword occurrences in highlight markup in one pass.
+ *
+ * The keywords are compiled into a trie whose edges live in a {@link LongIntMap} keyed by
+ * (node, char). The text is scanned once: at every word start the trie is walked for the
+ * longest keyword that also ends on a word boundary, and the output is written into a
+ * single StringBuilder. Existing tags and character references are copied through
+ * untouched, so markup is never highlighted twice. A highlighter is immutable and can be reused across texts.
+ */
+public class KeywordHighlighter {
+    
+    public static final String DEFAULT_OPEN_TAG =
+            "<span style=\"background-color:#E6E6FA; padding:1px 3px; border-radius:2px;\">";
+    public static final String DEFAULT_CLOSE_TAG = "</span>";
+    public static final int MIN_KEYWORD_LENGTH = 3;
+    
+    private static final int MAX_ENTITY_LENGTH = 10;
+    
+    private static final int ROOT = 0;
+    
+    private final LongIntMap edges = new LongIntMap(256);
+    private boolean[] terminal = new boolean[64];
+    private int nodeCount = 1;
+    private final String openTag;
+    private final String closeTag;
+    
+    public KeywordHighlighter(Collection<String> keywords) {
+        this(keywords, DEFAULT_OPEN_TAG, DEFAULT_CLOSE_TAG);
+    }
+    
+    public KeywordHighlighter(Collection<String> keywords, String openTag, String closeTag) {
+        this.openTag = openTag;
+        this.closeTag = closeTag;
+        for (String keyword : keywords) {
+            if (keyword != null && keyword.length() >= MIN_KEYWORD_LENGTH) {
+                add(keyword);
+            }
+        }
+    }
+    
+    /**
+     * The text with every keyword occurrence wrapped in the highlight tags
+     */
+    public String highlight(String text) {
+        if (text == null || nodeCount == 1) {
+            return text;
+        }
+        
+        StringBuilder out = null;
+        int copied = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '<' && i + 1 < length && isTagStart(text.charAt(i + 1))) {
+                int close = text.indexOf('>', i);
+                if (close < 0) {
+                    break;
+                }
+                i = close + 1;
+                continue;
+            }
+            if (c == '&') {
+                // Character references like "&amp;" are markup too
+                i = skipEntity(text, i);
+                continue;
+            }
+            if (!ScriptAwareTokenizer.isWordChar(c)) {
+                i++;
+                continue;
+            }
+            
+            // Word start: a match must begin here or not inside this word at all
+            int end = longestMatch(text, i);
+            if (end > i) {
+                if (out == null) {
+                    out = new StringBuilder(length + 64);
+                }
+                out.append(text, copied, i).append(openTag).append(text, i, end).append(closeTag);
+                copied = end;
+                i = end;
+            } else {
+                while (i < length && ScriptAwareTokenizer.isWordChar(text.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+        
+        if (out == null) {
+            return text;
+        }
+        return out.append(text, copied, length).toString();
+    }
+    
+    /**
+     * End of the longest keyword starting at {@code start} and ending on a word boundary, or {@code start}
+     */
+    private int longestMatch(String text, int start) {
+        int node = ROOT;
+        int best = start;
+        int length = text.length();
+        for (int j = start; j < length; j++) {
+            node = edges.get(edgeKey(node, Character.toLowerCase(text.charAt(j)))) - 1;
+            if (node < 0) {
+                break;
+            }
+            if (terminal[node] && (j + 1 == length || !ScriptAwareTokenizer.isWordChar(text.charAt(j + 1)))) {
+                best = j + 1;
+            }
+        }
+        return best;
+    }
+    
+    private void add(String keyword) {
+        int node = ROOT;
+        for (int i = 0; i < keyword.length(); i++) {
+            // Lower-case per char so keyword and text positions stay aligned
+            long key = edgeKey(node, Character.toLowerCase(keyword.charAt(i)));
+            int child = edges.get(key) - 1;
+            if (child < 0) {
+                child = nodeCount++;
+                if (child == terminal.length) {
+                    terminal = Arrays.copyOf(terminal, child * 2);
+                }
+                edges.put(key, child + 1); // stored 1-based so 0 means "no edge"
+            }
+            node = child;
+        }
+        terminal[node] = true;
+    }
+    
+    private static long edgeKey(int node, char c) {
+        return ((long) node << 16) | c;
+    }
+    
+    private static int skipEntity(String text, int ampersand) {
+        int j = ampersand + 1;
+        while (j < text.length() && j - ampersand <= MAX_ENTITY_LENGTH
+                && (Character.isLetterOrDigit(text.charAt(j)) || text.charAt(j) == '#')) {
+            j++;
+        }
+        return j < text.length() && j > ampersand + 1 && text.charAt(j) == ';' ? j + 1 : ampersand + 1;
+    }
+    
+    private static boolean isTagStart(char c) {
+        return Character.isLetter(c) || c == '/' || c == '!';
+    }
+}
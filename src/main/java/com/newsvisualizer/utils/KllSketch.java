@@ -0,0 +1,242 @@
+package com.newsvisualizer.utils;
+
+import java.util.Arrays;
+
+/**
+ * KLL quantile sketch over doubles (stored as floats).
+ *
+ * Items enter level 0; when a level overflows its capacity it is sorted and every other
+ * item (random offset) is promoted to the next level with twice the weight. Capacities
+ * shrink geometrically towards the lower levels, so the sketch holds O(k) items for any
+ * stream length with rank error around 1.7/k. Two sketches merge by concatenating levels
+ * and compacting, which makes per-thread sketches cheap to combine.
+ *
+ * Instances are not thread-safe; {@link #merged(KllSketch, KllSketch)} returns a new sketch
+ * and leaves its inputs untouched, for copy-on-write sharing.
+ */
+public class KllSketch {
+    
+    public static final int DEFAULT_K = 200;
+    
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+    
+    private final int k;
+    private float[][] levels;
+    private int[] sizes;
+    private int levelCount;
+    private long count;
+    private double sum;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private long randomState;
+    
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+    
+    public KllSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("KLL parameter k must be at least 8");
+        }
+        this.k = k;
+        this.levels = new float[][] {new float[k]};
+        this.sizes = new int[1];
+        this.levelCount = 1;
+        this.randomState = 0x9E3779B97F4A7C15L;
+    }
+    
+    private KllSketch(KllSketch other) {
+        this.k = other.k;
+        this.levelCount = other.levelCount;
+        this.levels = new float[other.levels.length][];
+        for (int h = 0; h < other.levels.length; h++) {
+            this.levels[h] = other.levels[h].clone();
+        }
+        this.sizes = other.sizes.clone();
+        this.count = other.count;
+        this.sum = other.sum;
+        this.min = other.min;
+        this.max = other.max;
+        this.randomState = other.randomState;
+    }
+    
+    /**
+     * New sketch summarizing both inputs; neither input is modified
+     */
+    public static KllSketch merged(KllSketch first, KllSketch second) {
+        KllSketch result = new KllSketch(first);
+        result.merge(second);
+        return result;
+    }
+    
+    public void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        append(0, (float) value);
+        count++;
+        sum += value;
+        min = count == 1 ? value : Math.min(min, value);
+        max = count == 1 ? value : Math.max(max, value);
+        compress();
+    }
+    
+    /**
+     * Fold another sketch into this one
+     */
+    public void merge(KllSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        for (int h = 0; h < other.levelCount; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        sum += other.sum;
+        compress();
+    }
+    
+    /**
+     * Approximate value at a rank fraction in [0, 1]; NaN for an empty sketch
+     */
+    public double getQuantile(double fraction) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (fraction <= 0) {
+            return min;
+        }
+        if (fraction >= 1) {
+            return max;
+        }
+        
+        int retained = 0;
+        for (int h = 0; h < levelCount; h++) {
+            retained += sizes[h];
+        }
+        // Pack (value, weight) so one primitive sort orders all retained items
+        long[] packed = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levelCount; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                packed[n] = ((long) sortableBits(levels[h][i]) << 32) | h;
+                n++;
+            }
+        }
+        Arrays.sort(packed);
+        
+        long totalWeight = 0;
+        for (long entry : packed) {
+            totalWeight += 1L << (int) entry;
+        }
+        double target = fraction * totalWeight;
+        long cumulative = 0;
+        for (long entry : packed) {
+            cumulative += 1L << (int) entry;
+            if (cumulative >= target) {
+                return fromSortableBits((int) (entry >> 32));
+            }
+        }
+        return max;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getMean() {
+        return count > 0 ? sum / count : Double.NaN;
+    }
+    
+    public double getMin() {
+        return min;
+    }
+    
+    public double getMax() {
+        return max;
+    }
+    
+    private void append(int level, float value) {
+        while (level >= levelCount) {
+            addLevel();
+        }
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+    }
+    
+    private void addLevel() {
+        if (levelCount == levels.length) {
+            levels = Arrays.copyOf(levels, levels.length + 1);
+            sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        }
+        levels[levelCount] = new float[Math.max(MIN_CAPACITY, k / 2)];
+        levelCount++;
+    }
+    
+    private int capacity(int level) {
+        int depth = levelCount - 1 - level;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+    
+    /**
+     * Compact overflowing levels, lowest first, until every level fits
+     */
+    private void compress() {
+        boolean compacted = true;
+        while (compacted) {
+            compacted = false;
+            for (int h = 0; h < levelCount; h++) {
+                if (sizes[h] >= capacity(h)) {
+                    compact(h);
+                    compacted = true;
+                    break;
+                }
+            }
+        }
+    }
+    
+    private void compact(int level) {
+        if (level + 1 >= levelCount) {
+            addLevel();
+        }
+        float[] items = levels[level];
+        int size = sizes[level];
+        Arrays.sort(items, 0, size);
+        
+        // With an odd count the smallest item stays behind so an exact half is promoted
+        int pairs = size / 2;
+        int offset = nextBit();
+        int leftover = size % 2 == 1 ? 1 : 0;
+        for (int i = 0; i < pairs; i++) {
+            append(level + 1, items[leftover + 2 * i + offset]);
+        }
+        sizes[level] = leftover;
+    }
+    
+    private int nextBit() {
+        // xorshift64: reproducible per sketch without sharing a Random between threads
+        randomState ^= randomState << 13;
+        randomState ^= randomState >>> 7;
+        randomState ^= randomState << 17;
+        return (int) (randomState & 1);
+    }
+    
+    /**
+     * Map float bits to an int whose signed order matches the float order
+     */
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits >= 0 ? bits : bits ^ 0x7FFFFFFF;
+    }
+    
+    private static float fromSortableBits(int bits) {
+        return Float.intBitsToFloat(bits >= 0 ? bits : bits ^ 0x7FFFFFFF);
+    }
+}
@@ -0,0 +1,224 @@
+package com.newsvisualizer.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to int values.
+ * Avoids boxing for the hash-keyed counters used by the analytics engines
+ * (n-gram hashes, term-pair keys, term IDs). Not thread-safe.
+ */
+public class LongIntMap {
+    
+    private static final long FREE_KEY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+    
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+    
+    // The free-key sentinel is stored out of line so every long is a valid key
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+    
+    public LongIntMap() {
+        this(16);
+    }
+    
+    public LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+    
+    /**
+     * Value for a key, or 0 when absent
+     */
+    public int get(long key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey ? freeKeyValue : 0;
+        }
+        int slot = findSlot(key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+    
+    public boolean containsKey(long key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey;
+        }
+        return keys[findSlot(key)] == key;
+    }
+    
+    public void put(long key, int value) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+            }
+            freeKeyValue = value;
+            return;
+        }
+        int slot = findSlot(key);
+        if (keys[slot] != key) {
+            keys[slot] = key;
+            if (++size > resizeThreshold) {
+                values[slot] = value;
+                rehash(keys.length * 2);
+                return;
+            }
+        }
+        values[slot] = value;
+    }
+    
+    /**
+     * Add a delta to a key's value (absent keys start at 0) and return the new value
+     */
+    public int addTo(long key, int delta) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+            }
+            return freeKeyValue += delta;
+        }
+        int slot = findSlot(key);
+        if (keys[slot] == key) {
+            return values[slot] += delta;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return delta;
+    }
+    
+    public void remove(long key) {
+        if (key == FREE_KEY) {
+            if (hasFreeKey) {
+                hasFreeKey = false;
+                freeKeyValue = 0;
+                size--;
+            }
+            return;
+        }
+        int slot = findSlot(key);
+        if (keys[slot] != key) {
+            return;
+        }
+        keys[slot] = FREE_KEY;
+        values[slot] = 0;
+        size--;
+        shiftBack(slot);
+    }
+    
+    /**
+     * Remove every entry whose value is below {@code minValue}; returns the number removed
+     */
+    public int removeBelow(int minValue) {
+        int before = size;
+        if (hasFreeKey && freeKeyValue < minValue) {
+            remove(FREE_KEY);
+        }
+        // Rebuilding is simpler and faster than repeated backward-shift deletes for bulk pruning
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length);
+        int kept = hasFreeKey ? 1 : 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY && oldValues[i] >= minValue) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                kept++;
+            }
+        }
+        size = kept;
+        return before - size;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        Arrays.fill(values, 0);
+        hasFreeKey = false;
+        freeKeyValue = 0;
+        size = 0;
+    }
+    
+    /**
+     * Visit every entry; the map must not be modified during iteration
+     */
+    public void forEach(EntryConsumer consumer) {
+        if (hasFreeKey) {
+            consumer.accept(FREE_KEY, freeKeyValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+    
+    /**
+     * Callback for {@link #forEach(EntryConsumer)}
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+    
+    private int findSlot(long key) {
+        int slot = (int) Hashing.mix64(key) & mask;
+        while (keys[slot] != FREE_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    /**
+     * Backward-shift deletion keeps probe chains intact without tombstones
+     */
+    private void shiftBack(int freed) {
+        int slot = (freed + 1) & mask;
+        while (keys[slot] != FREE_KEY) {
+            int ideal = (int) Hashing.mix64(keys[slot]) & mask;
+            // Move the entry if its ideal slot is not between the hole and its current position
+            if (((slot - ideal) & mask) >= ((slot - freed) & mask)) {
+                keys[freed] = keys[slot];
+                values[freed] = values[slot];
+                keys[slot] = FREE_KEY;
+                values[slot] = 0;
+                freed = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+    
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -3,7 +3,9 @@ package com.newsvisualizer.utils;
 import com.newsvisualizer.model.NewsArticle;
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -13,94 +15,67 @@ import java.util.stream.Collectors;
  */
 public class NewsAnalyzer {
     
-    // Enhanced sentiment words for better analysis
-    private static final Set<String> POSITIVE_WORDS = new HashSet<>(Arrays.asList(
-        // Basic positive words
-        "good", "great", "excellent", "amazing", "wonderful", "fantastic", "positive", "best", "better",
-        "outstanding", "superb", "brilliant", "awesome", "incredible", "magnificent", "marvelous",
-        // Success and achievement
-        "success", "successful", "win", "winning", "victory", "victorious", "achievement", "accomplish",
-        "breakthrough", "progress", "growth", "improve", "improvement", "advance", "rise", "boost",
-        "surge", "gain", "profit", "benefit", "advantage", "opportunity", "record", "high",
-        // Emotions and feelings
-        "love", "happy", "happiness", "joy", "joyful", "celebrate", "celebration", "triumph",
-        "pleased", "delighted", "excited", "thrilled", "optimistic", "hope", "hopeful", "confident",
-        "proud", "satisfaction", "smile", "laugh", "peace", "peaceful", "calm",
-        // Quality and approval
-        "quality", "premium", "top", "leading", "first", "winner", "champion", "hero", "star",
-        "approve", "support", "agree", "accept", "welcome", "embrace", "praise", "appreciate",
-        "thank", "gratitude", "honor", "respect", "admire", "inspire", "motivate",
-        // Health and life
-        "health", "healthy", "cure", "heal", "recover", "recovery", "save", "rescue", "help",
-        "relief", "comfort", "safe", "safety", "secure", "protect", "strengthen", "strong"
+    // Common stop words to ignore when extracting keywords
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+        "the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for", "of", 
+        "with", "by", "is", "are", "was", "were", "be", "been", "being", "have", 
+        "has", "had", "do", "does", "did", "will", "would", "could", "should",
+        "this", "that", "these", "those", "i", "you", "he", "she", "it", "we", "they",
+        // Hindi postpositions and auxiliaries
+        "है", "हैं", "था", "थे", "थी", "का", "की", "के", "में", "से", "को", "पर", "ने", "और",
+        "यह", "वह", "एक", "भी", "तो", "लिए", "कि", "हो", "गया", "गई"
     ));
     
-    private static final Set<String> NEGATIVE_WORDS = new HashSet<>(Arrays.asList(
-        // Basic negative words
-        "bad", "terrible", "awful", "horrible", "worst", "worse", "negative", "poor", "fail",
-        "failure", "failed", "failing", "loss", "lose", "losing", "lost", "defeat", "beaten",
-        // Crisis and problems
-        "crisis", "problem", "problems", "issue", "issues", "trouble", "difficulty", "challenge",
-        "concern", "worry", "worried", "fear", "afraid", "scared", "panic", "anxiety", "stress",
-        "decline", "decrease", "drop", "fall", "crash", "collapse", "breakdown", "recession",
-        // Violence and conflict
-        "disaster", "catastrophe", "tragedy", "tragic", "death", "die", "died", "kill", "killed",
-        "murder", "shooting", "violence", "violent", "attack", "assault", "bomb", "explosion",
-        "war", "warfare", "conflict", "fight", "battle", "terrorism", "terrorist", "threat",
-        "threaten", "danger", "dangerous", "risk", "risky", "harm", "damage", "destroy",
-        // Emotions and feelings
-        "hate", "angry", "anger", "rage", "furious", "mad", "upset", "disappointed", "sad",
-        "sadness", "depression", "depressed", "miserable", "unhappy", "cry", "tears", "grief",
-        "hurt", "pain", "suffer", "suffering", "agony", "torture", "abuse", "victim",
-        // Corruption and wrongdoing
-        "corrupt", "corruption", "scandal", "fraud", "lie", "lying", "cheat", "steal", "theft",
-        "crime", "criminal", "illegal", "arrest", "prison", "jail", "guilty", "blame", "fault",
-        // Rejection and disapproval
-        "reject", "denial", "refuse", "oppose", "against", "protest", "criticize", "condemn",
-        "dispute", "disagree", "controversy", "controversial", "boycott", "ban", "forbid"
-    ));
+    // Chinese function characters; CJK bigrams containing one are not keywords
+    private static final String CJK_FUNCTION_CHARS = "的了是在和也有这那我你他她它们个之与或就都而及";
     
     /**
-     * Perform basic sentiment analysis on news articles
+     * Perform basic sentiment analysis on news articles.
+     * Results are memoized by content hash, so unchanged articles are not rescored.
      */
     public static void analyzeSentiment(List<NewsArticle> articles) {
+        AnalysisCache cache = AnalysisCache.getInstance();
         for (NewsArticle article : articles) {
-            double sentiment = calculateSentiment(article);
-            article.setSentimentScore(sentiment);
+            AnalysisCache.AnalysisResult result = cache.getOrCompute(article, NewsAnalyzer::analyzeArticle);
+            article.setSentimentScore(result.getSentiment());
         }
     }
     
     /**
-     * Calculate sentiment score for a single article
+     * Score sentiment and collect the keyword vector of a single article in one token pass
      */
-    private static double calculateSentiment(NewsArticle article) {
-        String text = combineTextContent(article).toLowerCase();
-        String[] words = text.split("\\W+");
+    static AnalysisCache.AnalysisResult analyzeArticle(NewsArticle article) {
+        List<String> words = ScriptAwareTokenizer.tokenize(combineTextContent(article));
         
-        int positiveCount = 0;
-        int negativeCount = 0;
+        SentimentLexicon.Scorer scorer = SentimentLexicon.getInstance().newScorer();
+        Map<String, Integer> keywordCounts = new HashMap<>();
         
         for (String word : words) {
-            if (POSITIVE_WORDS.contains(word)) {
-                positiveCount++;
-            } else if (NEGATIVE_WORDS.contains(word)) {
-                negativeCount++;
+            scorer.accept(word);
+            if (isKeywordCandidate(word)) {
+                keywordCounts.merge(word, 1, Integer::sum);
             }
         }
         
-        int totalWords = words.length;
-        if (totalWords == 0) return 0.0;
+        int totalWords = words.size();
+        // Weighted sentiment per word, so long articles are not scored as more extreme
+        double sentiment = totalWords > 0 ? scorer.getScore() / totalWords : 0.0;
         
-        double positiveRatio = (double) positiveCount / totalWords;
-        double negativeRatio = (double) negativeCount / totalWords;
+        String[] keywords = new String[keywordCounts.size()];
+        int[] counts = new int[keywordCounts.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : keywordCounts.entrySet()) {
+            keywords[i] = entry.getKey();
+            counts[i++] = entry.getValue();
+        }
         
-        return positiveRatio - negativeRatio;
+        return new AnalysisCache.AnalysisResult(sentiment, totalWords, keywords, counts);
     }
     
     /**
      * Combine title, description, and content for analysis
      */
-    private static String combineTextContent(NewsArticle article) {
+    static String combineTextContent(NewsArticle article) {
         StringBuilder content = new StringBuilder();
         
         if (StringUtils.isNotBlank(article.getTitle())) {
@@ -117,29 +92,76 @@ public class NewsAnalyzer {
     }
     
     /**
-     * Extract keywords from articles
+     * Lower-cased keyword tokens of an article, with stop words and numbers removed.
+     * Shared by the keyword chart and the streaming keyword engines so they agree on terms.
      */
-    public static Map<String, Integer> extractKeywords(List<NewsArticle> articles, int topN) {
-        Map<String, Integer> wordFrequency = new HashMap<>();
-        
-        // Common stop words to ignore
-        Set<String> stopWords = new HashSet<>(Arrays.asList(
-            "the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for", "of", 
-            "with", "by", "is", "are", "was", "were", "be", "been", "being", "have", 
-            "has", "had", "do", "does", "did", "will", "would", "could", "should",
-            "this", "that", "these", "those", "i", "you", "he", "she", "it", "we", "they"
-        ));
+    static List<String> extractKeywordTokens(NewsArticle article) {
+        List<String> words = ScriptAwareTokenizer.tokenize(combineTextContent(article));
         
-        for (NewsArticle article : articles) {
-            String text = combineTextContent(article).toLowerCase();
-            String[] words = text.split("\\W+");
-            
-            for (String word : words) {
-                if (word.length() > 2 && !stopWords.contains(word) && !word.matches("\\d+")) {
-                    wordFrequency.put(word, wordFrequency.getOrDefault(word, 0) + 1);
-                }
+        List<String> tokens = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (isKeywordCandidate(word)) {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+    
+    /**
+     * Whether a lower-cased token is worth counting as a keyword
+     */
+    static boolean isKeywordCandidate(String word) {
+        if (word.isEmpty() || STOP_WORDS.contains(word) || isNumeric(word)) {
+            return false;
+        }
+        char first = word.charAt(0);
+        if (first < 0x80) {
+            return word.length() > 2;
+        }
+        if (ScriptAwareTokenizer.isCjk(first)) {
+            return isCjkKeyword(word);
+        }
+        // Devanagari and other scripts pack a syllable into a couple of chars
+        return word.length() > 1;
+    }
+    
+    /**
+     * CJK bigrams are keywords unless they contain a function character or are pure hiragana (grammar)
+     */
+    private static boolean isCjkKeyword(String word) {
+        boolean allHiragana = true;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (CJK_FUNCTION_CHARS.indexOf(c) >= 0) {
+                return false;
+            }
+            allHiragana &= c >= 0x3040 && c <= 0x309F;
+        }
+        return word.length() > 1 && !allHiragana;
+    }
+    
+    private static boolean isNumeric(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i))) {
+                return false;
             }
         }
+        return !word.isEmpty();
+    }
+    
+    /**
+     * Publication time of an article as epoch seconds (UTC), falling back to now when unknown
+     */
+    static long publishedEpochSecond(NewsArticle article) {
+        LocalDateTime publishedAt = article.getPublishedAt() != null ? article.getPublishedAt() : LocalDateTime.now();
+        return publishedAt.toEpochSecond(ZoneOffset.UTC);
+    }
+    
+    /**
+     * Extract keywords from articles
+     */
+    public static Map<String, Integer> extractKeywords(List<NewsArticle> articles, int topN) {
+        Map<String, Integer> wordFrequency = getKeywordFrequencies(articles);
         
         return wordFrequency.entrySet().stream()
                 .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
@@ -152,6 +174,61 @@ public class NewsAnalyzer {
                 ));
     }
     
+    /**
+     * Extract keywords ranked by TF-IDF against the shared corpus model, so words common
+     * to every article ("said", "year") give way to distinctive ones. Values are raw counts.
+     */
+    public static Map<String, Integer> extractKeywordsTfIdf(List<NewsArticle> articles, int topN) {
+        return CorpusTfIdfModel.getInstance().rankTerms(getKeywordFrequencies(articles), topN);
+    }
+    
+    /**
+     * Summed keyword counts across articles
+     */
+    private static Map<String, Integer> getKeywordFrequencies(List<NewsArticle> articles) {
+        Map<String, Integer> wordFrequency = new HashMap<>();
+        
+        AnalysisCache cache = AnalysisCache.getInstance();
+        for (NewsArticle article : articles) {
+            // Reuse the keyword vector memoized during sentiment analysis
+            AnalysisCache.AnalysisResult result = cache.getOrCompute(article, NewsAnalyzer::analyzeArticle);
+            for (int i = 0; i < result.getKeywordCount(); i++) {
+                wordFrequency.merge(result.getKeyword(i), result.getKeywordFrequency(i), Integer::sum);
+            }
+        }
+        return wordFrequency;
+    }
+    
+    /**
+     * Extract multi-word key phrases (bigrams and trigrams) from articles
+     */
+    public static Map<String, Integer> extractKeyPhrases(List<NewsArticle> articles, int topN) {
+        return new PhraseExtractor().extractPhrases(articles, topN);
+    }
+    
+    /**
+     * Cluster near-duplicate articles across sources into stories
+     */
+    public static List<StoryClusterer.StoryCluster> clusterStories(List<NewsArticle> articles) {
+        return StoryClusterer.cluster(articles);
+    }
+    
+    /**
+     * Stories covered by more than one article, mapped to the number of sources covering them
+     */
+    public static Map<String, Integer> getStoryCoverage(List<NewsArticle> articles, int topN) {
+        Map<String, Integer> coverage = new LinkedHashMap<>();
+        for (StoryClusterer.StoryCluster cluster : clusterStories(articles)) {
+            if (coverage.size() >= topN) {
+                break;
+            }
+            if (cluster.size() > 1 && cluster.getStory() != null) {
+                coverage.merge(cluster.getStory(), cluster.getSources().size(), Math::max);
+            }
+        }
+        return coverage;
+    }
+    
     /**
      * Group articles by publication date
      */
@@ -199,6 +276,16 @@ public class NewsAnalyzer {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Get recent articles from an indexed corpus, newest first; binary-searches the time index instead of scanning
+     */
+    public static List<NewsArticle> getRecentArticles(ArticleIndex index, int hours) {
+        return index.query()
+                .publishedWithin(hours)
+                .orderBy(ArticleQuery.Order.NEWEST_FIRST)
+                .list();
+    }
+    
     /**
      * Calculate average sentiment score
      */
@@ -244,5 +331,151 @@ public class NewsAnalyzer {
                 ));
     }
     
-    // Publication timeline functionality removed
+    // Columnar equivalents: the same queries over an ArticleColumnStore, scanning primitive columns
+    
+    /**
+     * Get source distribution from a column store, most frequent first
+     */
+    public static Map<String, Integer> getSourceDistribution(ArticleColumnStore store) {
+        return countByDictionaryId(store.sourceIdColumn(), store.size(), store.getSourceDictionary());
+    }
+    
+    /**
+     * Get category distribution from a column store, most frequent first
+     */
+    public static Map<String, Integer> getCategoryDistribution(ArticleColumnStore store) {
+        return countByDictionaryId(store.categoryIdColumn(), store.size(), store.getCategoryDictionary());
+    }
+    
+    /**
+     * Get sentiment distribution from a column store
+     */
+    public static Map<String, Integer> getSentimentDistribution(ArticleColumnStore store) {
+        float[] sentiments = store.sentimentColumn();
+        int positive = 0;
+        int negative = 0;
+        int neutral = 0;
+        for (int row = 0; row < store.size(); row++) {
+            float score = sentiments[row];
+            if (score > 0.05f) {
+                positive++;
+            } else if (score < -0.05f) {
+                negative++;
+            } else {
+                neutral++;
+            }
+        }
+        
+        Map<String, Integer> distribution = new HashMap<>();
+        if (positive > 0) distribution.put(NewsArticle.sentimentText(1.0), positive);
+        if (negative > 0) distribution.put(NewsArticle.sentimentText(-1.0), negative);
+        if (neutral > 0) distribution.put(NewsArticle.sentimentText(0.0), neutral);
+        return distribution;
+    }
+    
+    /**
+     * Calculate average sentiment score from a column store
+     */
+    public static double getAverageSentiment(ArticleColumnStore store) {
+        if (store.size() == 0) {
+            return 0.0;
+        }
+        float[] sentiments = store.sentimentColumn();
+        double sum = 0.0;
+        for (int row = 0; row < store.size(); row++) {
+            sum += sentiments[row];
+        }
+        return sum / store.size();
+    }
+    
+    /**
+     * Article counts per publication date (yyyy-MM-dd), in chronological order
+     */
+    public static Map<String, Integer> getDateDistribution(ArticleColumnStore store) {
+        long[] publishedAt = store.publishedAtColumn();
+        LongIntMap countsByDay = new LongIntMap(64);
+        for (int row = 0; row < store.size(); row++) {
+            if (publishedAt[row] != ArticleColumnStore.NO_TIME) {
+                countsByDay.addTo(Math.floorDiv(publishedAt[row], 86400L), 1);
+            }
+        }
+        
+        long[] days = new long[countsByDay.size()];
+        int[] index = {0};
+        countsByDay.forEach((day, count) -> days[index[0]++] = day);
+        Arrays.sort(days);
+        
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        for (long day : days) {
+            distribution.put(LocalDate.ofEpochDay(day).toString(), countsByDay.get(day));
+        }
+        return distribution;
+    }
+    
+    /**
+     * Row indices grouped by source name
+     */
+    public static Map<String, int[]> groupBySource(ArticleColumnStore store) {
+        int[] sourceIds = store.sourceIdColumn();
+        int sourceCount = store.getSourceDictionary().size();
+        int[] counts = new int[sourceCount];
+        for (int row = 0; row < store.size(); row++) {
+            counts[sourceIds[row]]++;
+        }
+        
+        int[][] rows = new int[sourceCount][];
+        for (int id = 0; id < sourceCount; id++) {
+            rows[id] = new int[counts[id]];
+        }
+        int[] fill = new int[sourceCount];
+        for (int row = 0; row < store.size(); row++) {
+            int id = sourceIds[row];
+            rows[id][fill[id]++] = row;
+        }
+        
+        Map<String, int[]> groups = new HashMap<>();
+        for (int id = 0; id < sourceCount; id++) {
+            if (counts[id] > 0) {
+                groups.put(store.getSourceDictionary().getTerm(id), rows[id]);
+            }
+        }
+        return groups;
+    }
+    
+    /**
+     * Row indices of articles published in the last N hours
+     */
+    public static int[] getRecentRows(ArticleColumnStore store, int hours) {
+        long cutoff = LocalDateTime.now().minus(hours, ChronoUnit.HOURS).toEpochSecond(ZoneOffset.UTC);
+        long[] publishedAt = store.publishedAtColumn();
+        int[] rows = new int[store.size()];
+        int count = 0;
+        for (int row = 0; row < store.size(); row++) {
+            if (publishedAt[row] != ArticleColumnStore.NO_TIME && publishedAt[row] > cutoff) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+    
+    private static Map<String, Integer> countByDictionaryId(int[] ids, int size, TermDictionary dictionary) {
+        int[] counts = new int[dictionary.size()];
+        for (int row = 0; row < size; row++) {
+            counts[ids[row]]++;
+        }
+        
+        Integer[] order = new Integer[counts.length];
+        for (int id = 0; id < counts.length; id++) {
+            order[id] = id;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(counts[b], counts[a]));
+        
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        for (int id : order) {
+            if (counts[id] > 0) {
+                distribution.put(dictionary.getTerm(id), counts[id]);
+            }
+        }
+        return distribution;
+    }
 }
\ No newline at end of file
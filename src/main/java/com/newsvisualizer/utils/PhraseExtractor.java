@@ -0,0 +1,223 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extracts multi-word key phrases ("prime minister", "stock market") from articles.
+ *
+ * Tokens are interned to term IDs in a dictionary private to the call, and n-grams are
+ * counted by a polynomial rolling hash over the ID window, so no per-n-gram String is ever
+ * built while counting. Stop words, numbers and sentence punctuation break phrases. Only
+ * n-grams that reach the minimum support are turned back into text, in a second pass over
+ * the already-interned IDs.
+ */
+public class PhraseExtractor {
+    
+    public static final int DEFAULT_MIN_SUPPORT = 2;
+    
+    private static final long BASE = 0x9E3779B97F4A7C15L; // odd, so multiplication is invertible mod 2^64
+    private static final int BOUNDARY = -1;
+    
+    private final int minN;
+    private final int maxN;
+    private final int minSupport;
+    
+    public PhraseExtractor() {
+        this(2, 3, DEFAULT_MIN_SUPPORT);
+    }
+    
+    public PhraseExtractor(int minN, int maxN, int minSupport) {
+        if (minN < 2 || maxN < minN) {
+            throw new IllegalArgumentException("Phrase lengths must satisfy 2 <= minN <= maxN");
+        }
+        this.minN = minN;
+        this.maxN = maxN;
+        this.minSupport = Math.max(1, minSupport);
+    }
+    
+    /**
+     * Most frequent phrases across the articles, highest count first
+     */
+    public Map<String, Integer> extractPhrases(List<NewsArticle> articles, int topN) {
+        // IDs only live for this call, so the tokens of every chart refresh are not kept around
+        TermDictionary dictionary = new TermDictionary();
+        List<int[]> documents = new ArrayList<>(articles.size());
+        for (NewsArticle article : articles) {
+            documents.add(toTermIds(NewsAnalyzer.combineTextContent(article), dictionary));
+        }
+        
+        // Pass 1: count every n-gram by rolling hash
+        LongIntMap[] counts = new LongIntMap[maxN + 1];
+        for (int n = minN; n <= maxN; n++) {
+            counts[n] = new LongIntMap(1024);
+        }
+        for (int[] ids : documents) {
+            for (int n = minN; n <= maxN; n++) {
+                LongIntMap nCounts = counts[n];
+                forEachNgram(ids, n, (hash, end) -> nCounts.addTo(hash, 1));
+            }
+        }
+        
+        // Prune by support, then keep the best candidates (longer phrases win ties)
+        List<long[]> candidates = new ArrayList<>();
+        for (int n = minN; n <= maxN; n++) {
+            final int length = n;
+            counts[n].forEach((hash, count) -> {
+                if (count >= minSupport) {
+                    candidates.add(new long[] {hash, count, length});
+                }
+            });
+        }
+        candidates.sort((a, b) -> a[1] != b[1] ? Long.compare(b[1], a[1]) : Long.compare(b[2], a[2]));
+        int keep = Math.min(candidates.size(), topN * 2); // headroom for sub-phrase suppression
+        
+        // Pass 2: recover the text of the surviving hashes from the interned IDs
+        LongIntMap[] wanted = new LongIntMap[maxN + 1];
+        for (int n = minN; n <= maxN; n++) {
+            wanted[n] = new LongIntMap(keep);
+        }
+        for (int i = 0; i < keep; i++) {
+            long[] candidate = candidates.get(i);
+            wanted[(int) candidate[2]].put(candidate[0], i + 1); // 1-based so 0 means "not wanted"
+        }
+        String[] phrases = new String[keep];
+        for (int[] ids : documents) {
+            for (int n = minN; n <= maxN; n++) {
+                LongIntMap nWanted = wanted[n];
+                final int length = n;
+                forEachNgram(ids, n, (hash, end) -> {
+                    int index = nWanted.get(hash) - 1;
+                    if (index >= 0 && phrases[index] == null) {
+                        phrases[index] = toPhrase(ids, end - length + 1, end, dictionary);
+                    }
+                });
+            }
+        }
+        
+        return rank(candidates, phrases, keep, topN);
+    }
+    
+    /**
+     * Drop phrases fully explained by a longer phrase with at least the same count
+     * ("prime minister" inside "prime minister modi"), then keep the top N.
+     */
+    private Map<String, Integer> rank(List<long[]> candidates, String[] phrases, int keep, int topN) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < keep && result.size() < topN; i++) {
+            String phrase = phrases[i];
+            if (phrase == null) {
+                continue;
+            }
+            int count = (int) candidates.get(i)[1];
+            boolean subsumed = false;
+            for (int j = 0; j < keep && !subsumed; j++) {
+                if (j != i && phrases[j] != null && candidates.get(j)[2] > candidates.get(i)[2]
+                        && candidates.get(j)[1] >= count
+                        && (" " + phrases[j] + " ").contains(" " + phrase + " ")) {
+                    subsumed = true;
+                }
+            }
+            if (!subsumed) {
+                result.put(phrase, count);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Intern the keyword tokens of a text; stop words, numbers and punctuation become boundaries
+     */
+    static int[] toTermIds(String text, TermDictionary dictionary) {
+        int[] ids = new int[16];
+        int size = 0;
+        StringBuilder word = new StringBuilder();
+        boolean lastWasBoundary = true;
+        
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : '.';
+            if (ScriptAwareTokenizer.isWordChar(c)) {
+                word.append(Character.toLowerCase(c));
+                continue;
+            }
+            
+            int id = BOUNDARY;
+            if (word.length() > 0) {
+                String token = word.toString();
+                word.setLength(0);
+                if (NewsAnalyzer.isKeywordCandidate(token)) {
+                    id = dictionary.getOrAdd(token);
+                }
+                if (size + 2 > ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                }
+                if (id != BOUNDARY || !lastWasBoundary) {
+                    ids[size++] = id;
+                    lastWasBoundary = id == BOUNDARY;
+                }
+            }
+            
+            // Whitespace, hyphens and apostrophes join words; other punctuation ends a phrase
+            boolean joiner = Character.isWhitespace(c) || c == '-' || c == '\'' || c == '’';
+            if (!joiner && !lastWasBoundary) {
+                if (size + 1 > ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                }
+                ids[size++] = BOUNDARY;
+                lastWasBoundary = true;
+            }
+        }
+        return Arrays.copyOf(ids, size);
+    }
+    
+    /**
+     * Feed the rolling hash of every n-gram that does not cross a boundary
+     */
+    private static void forEachNgram(int[] ids, int n, NgramConsumer consumer) {
+        long power = 1; // BASE^(n-1)
+        for (int i = 1; i < n; i++) {
+            power *= BASE;
+        }
+        
+        long hash = 0;
+        int run = 0;
+        for (int i = 0; i < ids.length; i++) {
+            int id = ids[i];
+            if (id == BOUNDARY) {
+                hash = 0;
+                run = 0;
+                continue;
+            }
+            if (run == n) {
+                hash -= (ids[i - n] + 1L) * power; // drop the oldest term from the window
+            } else {
+                run++;
+            }
+            hash = hash * BASE + (id + 1L);
+            if (run == n) {
+                consumer.accept(hash, i);
+            }
+        }
+    }
+    
+    private static String toPhrase(int[] ids, int start, int end, TermDictionary dictionary) {
+        StringBuilder phrase = new StringBuilder();
+        for (int i = start; i <= end; i++) {
+            if (i > start) {
+                phrase.append(' ');
+            }
+            phrase.append(dictionary.getTerm(ids[i]));
+        }
+        return phrase.toString();
+    }
+    
+    @FunctionalInterface
+    private interface NgramConsumer {
+        void accept(long hash, int endIndex);
+    }
+}
@@ -0,0 +1,75 @@
+package com.newsvisualizer.utils;
+
+/**
+ * Bounded set of 64-bit content hashes, used to skip articles that were already counted.
+ *
+ * Hashes are kept in a ring of generations. {@link #advance()} opens a new generation and
+ * forgets the oldest, so owners with time buckets advance it when a bucket rolls over and a
+ * hash is remembered for as long as the data it guarded. A generation that reaches its
+ * capacity advances on its own, so memory never exceeds {@code generations * capacity}
+ * hashes even if nobody advances the set.
+ */
+public class RecentHashes {
+    
+    private final LongIntMap[] generations;
+    private final int capacityPerGeneration;
+    private int current;
+    
+    public RecentHashes(int generations, int capacityPerGeneration) {
+        if (generations <= 0 || capacityPerGeneration <= 0) {
+            throw new IllegalArgumentException("Generation count and capacity must be positive");
+        }
+        this.generations = new LongIntMap[generations];
+        this.capacityPerGeneration = capacityPerGeneration;
+        for (int i = 0; i < generations; i++) {
+            this.generations[i] = new LongIntMap(Math.min(capacityPerGeneration, 1024));
+        }
+    }
+    
+    /**
+     * Remember a hash; false when it is already remembered
+     */
+    public synchronized boolean add(long hash) {
+        if (contains(hash)) {
+            return false;
+        }
+        if (generations[current].size() >= capacityPerGeneration) {
+            advance();
+        }
+        generations[current].put(hash, 1);
+        return true;
+    }
+    
+    public synchronized boolean contains(long hash) {
+        for (LongIntMap generation : generations) {
+            if (generation.containsKey(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Start a new generation, forgetting the hashes of the oldest one
+     */
+    public synchronized void advance() {
+        current = (current + 1) % generations.length;
+        // A fresh map, so a generation that once filled up does not keep its large tables
+        generations[current] = new LongIntMap(Math.min(capacityPerGeneration, 1024));
+    }
+    
+    public synchronized int size() {
+        int size = 0;
+        for (LongIntMap generation : generations) {
+            size += generation.size();
+        }
+        return size;
+    }
+    
+    public synchronized void clear() {
+        for (int i = 0; i < generations.length; i++) {
+            generations[i] = new LongIntMap(Math.min(capacityPerGeneration, 1024));
+        }
+        current = 0;
+    }
+}
@@ -0,0 +1,168 @@
+package com.newsvisualizer.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Script-aware word tokenizer for the analysis pipeline.
+ *
+ * A quick scan picks the path per text: pure ASCII text (the common English case) is split
+ * with a char-range check and no regex or Unicode lookups. Other text is tokenized by code
+ * point so Devanagari vowel signs and viramas stay inside their words, and runs of Chinese
+ * or Japanese characters (which have no spaces) become overlapping bigrams.
+ * Tokens are returned lower-cased.
+ */
+public final class ScriptAwareTokenizer {
+    
+    /**
+     * Dominant script of a text, as far as tokenization cares
+     */
+    public enum Script {
+        ASCII, DEVANAGARI, CJK, OTHER
+    }
+    
+    private ScriptAwareTokenizer() {}
+    
+    /**
+     * Detect the script of a text. Stops at the first non-ASCII char for English text;
+     * otherwise counts Devanagari and CJK code points against other letters.
+     */
+    public static Script detectScript(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        while (i < length && text.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == length) {
+            return Script.ASCII;
+        }
+        
+        int devanagari = 0;
+        int cjk = 0;
+        int other = 0;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (isDevanagari(c)) {
+                devanagari++;
+            } else if (isCjk(c)) {
+                cjk++;
+            } else if (Character.isLetter(c)) {
+                other++;
+            }
+        }
+        if (cjk > 0 && cjk >= devanagari) {
+            return Script.CJK;
+        }
+        if (devanagari > 0) {
+            return Script.DEVANAGARI;
+        }
+        return other > 0 ? Script.OTHER : Script.ASCII;
+    }
+    
+    /**
+     * Lower-cased word tokens of a text
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>(Math.max(16, text.length() / 6));
+        if (detectScript(text) == Script.ASCII) {
+            tokenizeAscii(text, tokens);
+        } else {
+            tokenizeUnicode(text, tokens);
+        }
+        return tokens;
+    }
+    
+    /**
+     * Whether a code point belongs inside a word: letters, digits, underscore and combining marks
+     */
+    public static boolean isWordChar(int c) {
+        if (c < 0x80) {
+            return isAsciiWordChar((char) c);
+        }
+        if (Character.isLetterOrDigit(c)) {
+            return true;
+        }
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+    
+    /**
+     * Han ideographs and kana, which are written without spaces between words
+     */
+    public static boolean isCjk(int c) {
+        return (c >= 0x4E00 && c <= 0x9FFF) // CJK unified ideographs
+                || (c >= 0x3400 && c <= 0x4DBF) // extension A
+                || (c >= 0x3040 && c <= 0x30FF) // hiragana and katakana
+                || (c >= 0xF900 && c <= 0xFAFF) // compatibility ideographs
+                || (c >= 0x31F0 && c <= 0x31FF) // katakana phonetic extensions
+                || (c >= 0xFF66 && c <= 0xFF9D) // half-width katakana
+                || (c >= 0x20000 && c <= 0x2FA1F); // supplementary ideograph planes
+    }
+    
+    public static boolean isDevanagari(int c) {
+        return (c >= 0x0900 && c <= 0x097F) || (c >= 0xA8E0 && c <= 0xA8FF);
+    }
+    
+    private static boolean isAsciiWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+    
+    private static void tokenizeAscii(String text, List<String> tokens) {
+        int length = text.length();
+        char[] word = new char[32];
+        int size = 0;
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (isAsciiWordChar(c)) {
+                if (size == word.length) {
+                    word = Arrays.copyOf(word, size * 2);
+                }
+                word[size++] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+            } else if (size > 0) {
+                tokens.add(new String(word, 0, size));
+                size = 0;
+            }
+        }
+    }
+    
+    private static void tokenizeUnicode(String text, List<String> tokens) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            if (isCjk(codePoint)) {
+                // Bigram the run; a lone ideograph is kept as a unigram
+                int previous = i;
+                int start = i;
+                i += Character.charCount(codePoint);
+                while (i < length && isCjk(text.codePointAt(i))) {
+                    int next = i + Character.charCount(text.codePointAt(i));
+                    tokens.add(text.substring(previous, next));
+                    previous = i;
+                    i = next;
+                }
+                if (previous == start) {
+                    tokens.add(text.substring(start, i));
+                }
+            } else if (isWordChar(codePoint)) {
+                int start = i;
+                while (i < length) {
+                    codePoint = text.codePointAt(i);
+                    if (isCjk(codePoint) || !isWordChar(codePoint)) {
+                        break;
+                    }
+                    i += Character.charCount(codePoint);
+                }
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+    }
+}
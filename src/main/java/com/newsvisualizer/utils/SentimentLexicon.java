@@ -0,0 +1,369 @@
+package com.newsvisualizer.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Weighted, multi-language sentiment lexicon compiled for fast per-token scoring.
+ *
+ * Lexicons are tab-separated files of "term, weight, kind" lines, loaded from the bundled
+ * resources and then from ./data/lexicons (later entries override earlier ones). At load
+ * time the terms are compiled into a sorted table of 64-bit term hashes with parallel weight
+ * and kind arrays, so scoring a token is a binary search over a long[] with no String lookups.
+ *
+ * A compiled lexicon is immutable. Reloading builds a new one on a background thread and
+ * swaps the shared reference, so analysis threads never wait on a reload.
+ */
+public class SentimentLexicon {
+    private static final Logger logger = LoggerFactory.getLogger(SentimentLexicon.class);
+    
+    public static final String[] BUNDLED_RESOURCES = {
+        "/lexicon/sentiment_en.tsv",
+        "/lexicon/sentiment_hi.tsv"
+    };
+    public static final Path EXTERNAL_DIRECTORY = Paths.get("data", "lexicons");
+    
+    /** Number of tokens after a negator whose sentiment is flipped */
+    public static final int NEGATION_WINDOW = 3;
+    /** Number of tokens an intensifier can reach forward to the next sentiment term */
+    public static final int INTENSIFIER_WINDOW = 2;
+    
+    /**
+     * Role of a lexicon term
+     */
+    public enum Kind {
+        SENTIMENT, NEGATOR, INTENSIFIER
+    }
+    
+    private static final Kind[] KINDS = Kind.values();
+    
+    private static volatile SentimentLexicon current;
+    private static ExecutorService reloadExecutor;
+    private static boolean watching;
+    
+    private final long[] hashes;
+    private final float[] weights;
+    private final byte[] kinds;
+    
+    private SentimentLexicon(long[] hashes, float[] weights, byte[] kinds) {
+        this.hashes = hashes;
+        this.weights = weights;
+        this.kinds = kinds;
+    }
+    
+    /**
+     * Get the active lexicon, loading the bundled and external files on first use
+     */
+    public static SentimentLexicon getInstance() {
+        SentimentLexicon lexicon = current;
+        if (lexicon == null) {
+            synchronized (SentimentLexicon.class) {
+                if (current == null) {
+                    current = loadDefault();
+                    startWatching();
+                }
+                lexicon = current;
+            }
+        }
+        return lexicon;
+    }
+    
+    /**
+     * Rebuild the lexicon from its files in the background and swap it in when ready.
+     * Cached analysis results are dropped so articles are rescored with the new weights.
+     */
+    public static synchronized CompletableFuture<SentimentLexicon> reloadAsync() {
+        if (reloadExecutor == null) {
+            reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "sentiment-lexicon-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            SentimentLexicon lexicon = loadDefault();
+            current = lexicon;
+            AnalysisCache.getInstance().clear();
+            logger.info("Reloaded sentiment lexicon with {} terms", lexicon.size());
+            return lexicon;
+        }, reloadExecutor);
+    }
+    
+    /**
+     * Compile a lexicon from readers of lexicon lines; entries in later readers override earlier ones
+     */
+    public static SentimentLexicon compile(List<? extends Reader> sources) throws IOException {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (Reader source : sources) {
+            parse(source, entries);
+        }
+        return compile(entries);
+    }
+    
+    public static SentimentLexicon compile(Reader source) throws IOException {
+        return compile(List.of(source));
+    }
+    
+    /**
+     * Start a scoring pass over one document
+     */
+    public Scorer newScorer() {
+        return new Scorer();
+    }
+    
+    /**
+     * Index of a term in the compiled table, or -1 when the term is not in the lexicon
+     */
+    int find(CharSequence token, int start, int end) {
+        int index = Arrays.binarySearch(hashes, Hashing.hash64(token, start, end));
+        return index >= 0 ? index : -1;
+    }
+    
+    /**
+     * Weight of a sentiment term, or 0 when the term is unknown or not a sentiment term
+     */
+    public double getWeight(String term) {
+        int index = find(term, 0, term.length());
+        return index >= 0 && kinds[index] == Kind.SENTIMENT.ordinal() ? weights[index] : 0.0;
+    }
+    
+    public int size() {
+        return hashes.length;
+    }
+    
+    private static SentimentLexicon loadDefault() {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (String resource : BUNDLED_RESOURCES) {
+            try (InputStream in = SentimentLexicon.class.getResourceAsStream(resource)) {
+                if (in == null) {
+                    logger.warn("Sentiment lexicon resource {} not found", resource);
+                    continue;
+                }
+                parse(new InputStreamReader(in, StandardCharsets.UTF_8), entries);
+            } catch (IOException e) {
+                logger.error("Failed to load sentiment lexicon {}", resource, e);
+            }
+        }
+        
+        if (Files.isDirectory(EXTERNAL_DIRECTORY)) {
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(EXTERNAL_DIRECTORY, "*.tsv")) {
+                stream.forEach(files::add);
+            } catch (IOException e) {
+                logger.error("Failed to list sentiment lexicons in {}", EXTERNAL_DIRECTORY, e);
+            }
+            files.sort(null);
+            for (Path file : files) {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    parse(reader, entries);
+                } catch (IOException e) {
+                    logger.error("Failed to load sentiment lexicon {}", file, e);
+                }
+            }
+        }
+        
+        SentimentLexicon lexicon = compile(entries);
+        logger.info("Compiled sentiment lexicon with {} terms", lexicon.size());
+        return lexicon;
+    }
+    
+    /**
+     * Parse "term &lt;tab&gt; weight [&lt;tab&gt; kind]" lines; '#' starts a comment
+     */
+    private static void parse(Reader source, Map<String, Entry> entries) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            if (fields.length < 2) {
+                logger.warn("Skipping malformed lexicon line {}: {}", lineNumber, line);
+                continue;
+            }
+            try {
+                String term = fields[0].trim().toLowerCase();
+                float weight = Float.parseFloat(fields[1].trim());
+                Kind kind = fields.length > 2 ? Kind.valueOf(fields[2].trim().toUpperCase()) : Kind.SENTIMENT;
+                entries.remove(term); // keep the override's position so it wins below
+                entries.put(term, new Entry(weight, kind));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Skipping lexicon line {} with bad weight or kind: {}", lineNumber, line);
+            }
+        }
+    }
+    
+    private static SentimentLexicon compile(Map<String, Entry> entries) {
+        int size = entries.size();
+        long[] keys = new long[size];
+        Entry[] values = new Entry[size];
+        String[] terms = new String[size];
+        int n = 0;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            terms[n] = entry.getKey();
+            keys[n] = Hashing.hash64(entry.getKey());
+            values[n] = entry.getValue();
+            n++;
+        }
+        
+        // Sort entry indexes by hash, then lay the table out in that order
+        Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, (a, b) -> Long.compare(keys[a], keys[b]));
+        
+        long[] hashes = new long[size];
+        float[] weights = new float[size];
+        byte[] kinds = new byte[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int index = sorted[i];
+            if (count > 0 && hashes[count - 1] == keys[index]) {
+                logger.warn("Sentiment lexicon hash collision, dropping term '{}'", terms[index]);
+                continue;
+            }
+            hashes[count] = keys[index];
+            weights[count] = values[index].weight;
+            kinds[count] = (byte) values[index].kind.ordinal();
+            count++;
+        }
+        return new SentimentLexicon(Arrays.copyOf(hashes, count), Arrays.copyOf(weights, count),
+                Arrays.copyOf(kinds, count));
+    }
+    
+    /**
+     * Watch the external lexicon directory and reload when a file changes
+     */
+    private static void startWatching() {
+        if (watching || !Files.isDirectory(EXTERNAL_DIRECTORY)) {
+            return;
+        }
+        watching = true;
+        Thread watcher = new Thread(() -> {
+            try (WatchService service = EXTERNAL_DIRECTORY.getFileSystem().newWatchService()) {
+                EXTERNAL_DIRECTORY.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                while (true) {
+                    WatchKey key = service.take();
+                    key.pollEvents();
+                    reloadAsync();
+                    if (!key.reset()) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Stopped watching sentiment lexicons: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "sentiment-lexicon-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+    
+    private static class Entry {
+        private final float weight;
+        private final Kind kind;
+        
+        Entry(float weight, Kind kind) {
+            this.weight = weight;
+            this.kind = kind;
+        }
+    }
+    
+    /**
+     * Single-pass scorer for one document. Feed lower-cased tokens in order; a negator flips
+     * and dampens sentiment terms in the next {@link #NEGATION_WINDOW} tokens, and an
+     * intensifier scales the next sentiment term within {@link #INTENSIFIER_WINDOW} tokens.
+     */
+    public class Scorer {
+        private double score;
+        private int sentimentTerms;
+        private int negationLeft;
+        private double negationFactor = 1.0;
+        private int intensifierLeft;
+        private double intensity = 1.0;
+        
+        public void accept(CharSequence token) {
+            accept(token, 0, token.length());
+        }
+        
+        public void accept(CharSequence text, int start, int end) {
+            int index = find(text, start, end);
+            if (index < 0) {
+                tick();
+                return;
+            }
+            
+            Kind kind = KINDS[kinds[index]];
+            if (kind == Kind.NEGATOR) {
+                negationLeft = NEGATION_WINDOW;
+                negationFactor = weights[index];
+            } else if (kind == Kind.INTENSIFIER) {
+                // Stacked intensifiers ("very very") compound
+                intensity = intensifierLeft > 0 ? intensity * weights[index] : weights[index];
+                intensifierLeft = INTENSIFIER_WINDOW;
+            } else {
+                double weight = weights[index];
+                if (intensifierLeft > 0) {
+                    weight *= intensity;
+                    intensifierLeft = 0;
+                    intensity = 1.0;
+                }
+                if (negationLeft > 0) {
+                    weight *= negationFactor;
+                }
+                score += weight;
+                sentimentTerms++;
+                tick();
+            }
+        }
+        
+        /**
+         * Summed weighted sentiment of the tokens seen so far
+         */
+        public double getScore() {
+            return score;
+        }
+        
+        public int getSentimentTermCount() {
+            return sentimentTerms;
+        }
+        
+        private void tick() {
+            if (negationLeft > 0) {
+                negationLeft--;
+            }
+            if (intensifierLeft > 0 && --intensifierLeft == 0) {
+                intensity = 1.0;
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sentiment distributions per source, per category and per publication day, kept as
+ * mergeable KLL sketches so percentiles need no retained scores.
+ *
+ * Ingestion threads fill thread-confined {@link Batch} sketches and commit them by
+ * compare-and-set on copy-on-write shared sketches, so no lock is held while merging and
+ * readers always see a consistent snapshot. Already-counted articles are remembered per
+ * publication day for {@link #SEEN_WINDOW_DAYS} days back from the newest day seen, so the
+ * dedupe set stays bounded however long the session runs.
+ */
+public class SentimentQuantiles {
+    
+    public static final int SEEN_WINDOW_DAYS = 7;
+    
+    private static final String UNKNOWN = "Unknown";
+    
+    // Articles remembered per day for dedupe; far above any real day's fetches
+    private static final int SEEN_ARTICLES_PER_DAY = 20_000;
+    
+    private static SentimentQuantiles instance;
+    
+    /**
+     * Ways the sentiment scores are broken down
+     */
+    public enum Dimension {
+        SOURCE, CATEGORY, DAY
+    }
+    
+    private final Map<Dimension, ConcurrentMap<String, AtomicReference<KllSketch>>> sketches =
+            new EnumMap<>(Dimension.class);
+    private final RecentHashes seenArticles = new RecentHashes(SEEN_WINDOW_DAYS, SEEN_ARTICLES_PER_DAY);
+    private long newestSeenDay = Long.MIN_VALUE;
+    
+    public SentimentQuantiles() {
+        for (Dimension dimension : Dimension.values()) {
+            sketches.put(dimension, new ConcurrentHashMap<>());
+        }
+    }
+    
+    /**
+     * Get the quantile sketches accumulated over analyzed articles
+     */
+    public static synchronized SentimentQuantiles getInstance() {
+        if (instance == null) {
+            instance = new SentimentQuantiles();
+        }
+        return instance;
+    }
+    
+    /**
+     * Add the sentiment scores of analyzed articles; articles already added are skipped
+     */
+    public void addArticles(List<NewsArticle> articles) {
+        Batch batch = newBatch();
+        for (NewsArticle article : articles) {
+            batch.add(article);
+        }
+        batch.commit();
+    }
+    
+    /**
+     * Start a thread-confined batch to be merged in with {@link Batch#commit()}
+     */
+    public Batch newBatch() {
+        return new Batch();
+    }
+    
+    /**
+     * Percentile summary for one key of a dimension, or null when nothing was recorded
+     */
+    public Summary getSummary(Dimension dimension, String key) {
+        AtomicReference<KllSketch> sketch = sketches.get(dimension).get(key);
+        return sketch != null ? new Summary(key, sketch.get()) : null;
+    }
+    
+    /**
+     * Summaries of the most populated keys of a dimension, largest first
+     */
+    public Map<String, Summary> getSummaries(Dimension dimension, int topN) {
+        List<Summary> summaries = new ArrayList<>();
+        for (Map.Entry<String, AtomicReference<KllSketch>> entry : sketches.get(dimension).entrySet()) {
+            KllSketch sketch = entry.getValue().get();
+            if (sketch.getCount() > 0) {
+                summaries.add(new Summary(entry.getKey(), sketch));
+            }
+        }
+        summaries.sort(Comparator.comparingLong(Summary::getCount).reversed().thenComparing(Summary::getKey));
+        
+        Map<String, Summary> result = new LinkedHashMap<>();
+        for (int i = 0; i < summaries.size() && i < topN; i++) {
+            result.put(summaries.get(i).getKey(), summaries.get(i));
+        }
+        return result;
+    }
+    
+    public void clear() {
+        for (ConcurrentMap<String, AtomicReference<KllSketch>> map : sketches.values()) {
+            map.clear();
+        }
+        synchronized (seenArticles) {
+            seenArticles.clear();
+            newestSeenDay = Long.MIN_VALUE;
+        }
+    }
+    
+    /**
+     * Remember an article, rolling the dedupe set forward a generation per new publication day;
+     * false when it was already counted
+     */
+    private boolean markSeen(NewsArticle article) {
+        long day = (article.getPublishedAt() != null ? article.getPublishedAt().toLocalDate() : LocalDate.now()).toEpochDay();
+        synchronized (seenArticles) {
+            if (day > newestSeenDay) {
+                if (newestSeenDay != Long.MIN_VALUE) {
+                    for (long d = newestSeenDay; d < day && d < newestSeenDay + SEEN_WINDOW_DAYS; d++) {
+                        seenArticles.advance();
+                    }
+                }
+                newestSeenDay = day;
+            }
+            return seenArticles.add(AnalysisCache.contentHash(article));
+        }
+    }
+    
+    private void mergeShared(Dimension dimension, String key, KllSketch local) {
+        AtomicReference<KllSketch> shared = sketches.get(dimension)
+                .computeIfAbsent(key, k -> new AtomicReference<>(new KllSketch()));
+        shared.accumulateAndGet(local, KllSketch::merged);
+    }
+    
+    private static String keyFor(Dimension dimension, NewsArticle article) {
+        switch (dimension) {
+            case SOURCE:
+                return article.getSource() != null && article.getSource().getName() != null
+                        ? article.getSource().getName() : UNKNOWN;
+            case CATEGORY:
+                return article.getCategory() != null ? article.getCategory() : UNKNOWN;
+            default:
+                return article.getPublishedAt() != null ? article.getPublishedAt().toLocalDate().toString() : UNKNOWN;
+        }
+    }
+    
+    /**
+     * Sketches local to one ingesting thread
+     */
+    public class Batch {
+        private final Map<Dimension, Map<String, KllSketch>> local = new EnumMap<>(Dimension.class);
+        
+        private Batch() {
+            for (Dimension dimension : Dimension.values()) {
+                local.put(dimension, new HashMap<>());
+            }
+        }
+        
+        public void add(NewsArticle article) {
+            if (!markSeen(article)) {
+                return;
+            }
+            for (Dimension dimension : Dimension.values()) {
+                local.get(dimension)
+                        .computeIfAbsent(keyFor(dimension, article), k -> new KllSketch())
+                        .update(article.getSentimentScore());
+            }
+        }
+        
+        /**
+         * Merge this batch into the shared sketches and reset it
+         */
+        public void commit() {
+            for (Map.Entry<Dimension, Map<String, KllSketch>> entry : local.entrySet()) {
+                for (Map.Entry<String, KllSketch> sketch : entry.getValue().entrySet()) {
+                    mergeShared(entry.getKey(), sketch.getKey(), sketch.getValue());
+                }
+                entry.getValue().clear();
+            }
+        }
+    }
+    
+    /**
+     * Percentiles of the sentiment scores for one key
+     */
+    public static class Summary {
+        private final String key;
+        private final long count;
+        private final double mean;
+        private final double min;
+        private final double p10;
+        private final double p25;
+        private final double p50;
+        private final double p75;
+        private final double p90;
+        private final double max;
+        
+        public Summary(String key, KllSketch sketch) {
+            this.key = key;
+            this.count = sketch.getCount();
+            this.mean = sketch.getMean();
+            this.min = sketch.getMin();
+            this.p10 = sketch.getQuantile(0.10);
+            this.p25 = sketch.getQuantile(0.25);
+            this.p50 = sketch.getQuantile(0.50);
+            this.p75 = sketch.getQuantile(0.75);
+            this.p90 = sketch.getQuantile(0.90);
+            this.max = sketch.getMax();
+        }
+        
+        public String getKey() { return key; }
+        public long getCount() { return count; }
+        public double getMean() { return mean; }
+        public double getMin() { return min; }
+        public double getP10() { return p10; }
+        public double getP25() { return p25; }
+        public double getP50() { return p50; }
+        public double getP75() { return p75; }
+        public double getP90() { return p90; }
+        public double getMax() { return max; }
+        
+        @Override
+        public String toString() {
+            return String.format("%s: n=%d p10=%.3f p50=%.3f p90=%.3f", key, count, p10, p50, p90);
+        }
+    }
+}
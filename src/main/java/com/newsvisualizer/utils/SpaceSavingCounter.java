@@ -0,0 +1,158 @@
+package com.newsvisualizer.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitters summary (Metwally et al.).
+ * Tracks at most {@code capacity} terms; when full, the least frequent term is evicted
+ * and the newcomer inherits its count as an error bound. Updates are O(log capacity)
+ * thanks to an indexed min-heap.
+ */
+public class SpaceSavingCounter {
+    
+    private final int capacity;
+    private final Map<String, Entry> entries;
+    private final Entry[] heap;
+    private int size;
+    
+    public SpaceSavingCounter(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new HashMap<>(capacity * 2);
+        this.heap = new Entry[capacity];
+    }
+    
+    /**
+     * Record occurrences of a term
+     */
+    public void add(String term, long count) {
+        Entry entry = entries.get(term);
+        if (entry != null) {
+            entry.count += count;
+            siftDown(entry.heapIndex);
+            return;
+        }
+        
+        if (size < capacity) {
+            entry = new Entry(term, count, 0);
+            entry.heapIndex = size;
+            heap[size++] = entry;
+            entries.put(term, entry);
+            siftUp(entry.heapIndex);
+            return;
+        }
+        
+        // Replace the current minimum; its count becomes the newcomer's overestimation bound
+        Entry min = heap[0];
+        entries.remove(min.term);
+        min.error = min.count;
+        min.count += count;
+        min.term = term;
+        entries.put(term, min);
+        siftDown(0);
+    }
+    
+    /**
+     * Estimated count for a tracked term, or 0 when the term is not tracked
+     */
+    public long getCount(String term) {
+        Entry entry = entries.get(term);
+        return entry != null ? entry.count : 0;
+    }
+    
+    /**
+     * Lower bound on the true count of a tracked term
+     */
+    public long getGuaranteedCount(String term) {
+        Entry entry = entries.get(term);
+        return entry != null ? entry.count - entry.error : 0;
+    }
+    
+    public boolean contains(String term) {
+        return entries.containsKey(term);
+    }
+    
+    /**
+     * Tracked terms ordered by estimated count, highest first
+     */
+    public List<String> getTopTerms(int topN) {
+        List<Entry> sorted = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sorted.add(heap[i]);
+        }
+        sorted.sort(Comparator.comparingLong((Entry e) -> e.count).reversed());
+        
+        List<String> result = new ArrayList<>(Math.min(topN, sorted.size()));
+        for (int i = 0; i < sorted.size() && i < topN; i++) {
+            result.add(sorted.get(i).term);
+        }
+        return result;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public void clear() {
+        entries.clear();
+        for (int i = 0; i < size; i++) {
+            heap[i] = null;
+        }
+        size = 0;
+    }
+    
+    private void siftUp(int index) {
+        Entry entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= entry.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(entry, index);
+    }
+    
+    private void siftDown(int index) {
+        Entry entry = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].count < heap[child].count) {
+                child = right;
+            }
+            if (entry.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(entry, index);
+    }
+    
+    private void place(Entry entry, int index) {
+        heap[index] = entry;
+        entry.heapIndex = index;
+    }
+    
+    private static final class Entry {
+        private String term;
+        private long count;
+        private long error;
+        private int heapIndex;
+        
+        private Entry(String term, long count, long error) {
+            this.term = term;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups differently worded articles about the same event into stories.
+ *
+ * Titles and descriptions are reduced to word-bigram shingles, each article gets a MinHash
+ * signature, and signatures are bucketed by LSH bands. Only articles sharing a band bucket
+ * are compared, so clustering a 24h corpus is close to linear instead of all-pairs.
+ * Articles can be added incrementally as they are ingested.
+ */
+public class StoryClusterer {
+    
+    public static final int DEFAULT_BANDS = 25;
+    public static final int DEFAULT_ROWS = 4;
+    public static final double DEFAULT_SIMILARITY = 0.4;
+    
+    // Cap on verifications per bucket so a hot bucket cannot turn an insert quadratic
+    private static final int MAX_COMPARISONS_PER_BUCKET = 16;
+    
+    private final int bands;
+    private final int rows;
+    private final double similarityThreshold;
+    private final long[] seeds;
+    
+    private final List<NewsArticle> articles = new ArrayList<>();
+    private final List<int[]> signatures = new ArrayList<>();
+    private final List<Map<Long, List<Integer>>> bandBuckets;
+    private int[] parent = new int[64];
+    
+    public StoryClusterer() {
+        this(DEFAULT_BANDS, DEFAULT_ROWS, DEFAULT_SIMILARITY);
+    }
+    
+    /**
+     * @param bands number of LSH bands
+     * @param rows signature rows per band; bands * rows is the signature length
+     * @param similarityThreshold minimum estimated Jaccard similarity to merge two articles
+     */
+    public StoryClusterer(int bands, int rows, double similarityThreshold) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Bands and rows must be positive");
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.similarityThreshold = similarityThreshold;
+        this.seeds = new long[bands * rows];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = Hashing.mix64(0x9E3779B97F4A7C15L * (i + 1));
+        }
+        this.bandBuckets = new ArrayList<>(bands);
+        for (int b = 0; b < bands; b++) {
+            bandBuckets.add(new HashMap<>());
+        }
+    }
+    
+    /**
+     * Cluster a batch of articles in one go
+     */
+    public static List<StoryCluster> cluster(List<NewsArticle> articles) {
+        StoryClusterer clusterer = new StoryClusterer();
+        clusterer.addAll(articles);
+        return clusterer.getClusters(1);
+    }
+    
+    public void addAll(List<NewsArticle> batch) {
+        for (NewsArticle article : batch) {
+            add(article);
+        }
+    }
+    
+    /**
+     * Add an article, merging it into any story whose members share an LSH bucket and are similar enough
+     */
+    public synchronized void add(NewsArticle article) {
+        int index = articles.size();
+        int[] signature = signature(shingles(article));
+        articles.add(article);
+        signatures.add(signature);
+        if (index == parent.length) {
+            parent = Arrays.copyOf(parent, parent.length * 2);
+        }
+        parent[index] = index;
+        
+        if (signature == null) {
+            return; // nothing to compare on
+        }
+        
+        for (int band = 0; band < bands; band++) {
+            long key = bandKey(signature, band);
+            List<Integer> bucket = bandBuckets.get(band).computeIfAbsent(key, k -> new ArrayList<>(2));
+            int compared = 0;
+            for (int i = bucket.size() - 1; i >= 0 && compared < MAX_COMPARISONS_PER_BUCKET; i--) {
+                int other = bucket.get(i);
+                compared++;
+                if (find(other) != find(index)
+                        && estimateSimilarity(signature, signatures.get(other)) >= similarityThreshold) {
+                    union(index, other);
+                }
+            }
+            bucket.add(index);
+        }
+    }
+    
+    /**
+     * Stories with at least {@code minSize} articles, most widely covered first
+     */
+    public synchronized List<StoryCluster> getClusters(int minSize) {
+        Map<Integer, List<NewsArticle>> members = new HashMap<>();
+        for (int i = 0; i < articles.size(); i++) {
+            members.computeIfAbsent(find(i), k -> new ArrayList<>()).add(articles.get(i));
+        }
+        
+        List<StoryCluster> clusters = new ArrayList<>();
+        for (List<NewsArticle> group : members.values()) {
+            if (group.size() >= minSize) {
+                clusters.add(new StoryCluster(group));
+            }
+        }
+        clusters.sort(Comparator.comparingInt((StoryCluster c) -> c.getSources().size())
+                .thenComparingInt(StoryCluster::size).reversed());
+        return clusters;
+    }
+    
+    public synchronized int size() {
+        return articles.size();
+    }
+    
+    /**
+     * Fraction of matching MinHash rows, an unbiased estimate of Jaccard similarity
+     */
+    static double estimateSimilarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+    
+    /**
+     * Word-bigram shingle hashes of the title and description (unigrams for one-word texts)
+     */
+    private long[] shingles(NewsArticle article) {
+        StringBuilder text = new StringBuilder();
+        if (article.getTitle() != null) {
+            text.append(article.getTitle()).append(' ');
+        }
+        if (article.getDescription() != null) {
+            text.append(article.getDescription());
+        }
+        
+        List<String> tokens = new ArrayList<>();
+        // Script-aware so Devanagari and CJK titles shingle too, not just ASCII words
+        for (String word : ScriptAwareTokenizer.tokenize(text.toString())) {
+            if (NewsAnalyzer.isKeywordCandidate(word)) {
+                tokens.add(word);
+            }
+        }
+        if (tokens.isEmpty()) {
+            return new long[0];
+        }
+        if (tokens.size() == 1) {
+            return new long[] {Hashing.hash64(tokens.get(0))};
+        }
+        
+        long[] shingles = new long[tokens.size() - 1];
+        long previous = Hashing.hash64(tokens.get(0));
+        for (int i = 1; i < tokens.size(); i++) {
+            long current = Hashing.hash64(tokens.get(i));
+            shingles[i - 1] = Hashing.combine(previous, current);
+            previous = current;
+        }
+        return shingles;
+    }
+    
+    private int[] signature(long[] shingles) {
+        if (shingles.length == 0) {
+            return null;
+        }
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < seeds.length; i++) {
+                int h = (int) Hashing.mix64(shingle ^ seeds[i]);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+    
+    private long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int r = 0; r < rows; r++) {
+            key = Hashing.combine(key, signature[band * rows + r]);
+        }
+        return key;
+    }
+    
+    private int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]]; // path halving
+            i = parent[i];
+        }
+        return i;
+    }
+    
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA != rootB) {
+            // Keep the older article as root so cluster IDs are stable as articles stream in
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+    
+    /**
+     * One story: its member articles, the sources that covered it and when it was first seen
+     */
+    public static class StoryCluster {
+        private final List<NewsArticle> articles;
+        private final Set<String> sources;
+        private final NewsArticle representative;
+        private final LocalDateTime firstSeen;
+        
+        public StoryCluster(List<NewsArticle> articles) {
+            this.articles = articles;
+            this.sources = new LinkedHashSet<>();
+            NewsArticle earliest = articles.get(0);
+            for (NewsArticle article : articles) {
+                sources.add(article.getSource() != null && article.getSource().getName() != null
+                        ? article.getSource().getName() : "Unknown");
+                if (article.getPublishedAt() != null && (earliest.getPublishedAt() == null
+                        || article.getPublishedAt().isBefore(earliest.getPublishedAt()))) {
+                    earliest = article;
+                }
+            }
+            this.representative = earliest;
+            this.firstSeen = earliest.getPublishedAt();
+        }
+        
+        public NewsArticle getRepresentative() { return representative; }
+        public String getStory() { return representative.getTitle(); }
+        public List<NewsArticle> getArticles() { return articles; }
+        public Set<String> getSources() { return sources; }
+        public LocalDateTime getFirstSeen() { return firstSeen; }
+        public int size() { return articles.size(); }
+    }
+}
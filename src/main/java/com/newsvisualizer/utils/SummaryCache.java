@@ -0,0 +1,294 @@
+package com.newsvisualizer.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.newsvisualizer.model.CachedUrlSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Two-tier cache of URL summaries: an in-memory LRU in front of an optional persistent
+ * store (the H2 database in the app), both keyed by canonical URL.
+ *
+ * Entries keep the page's ETag, Last-Modified and a hash of its body. Within the freshness
+ * window a repeat summary is served without touching the network; after it, the page is
+ * revalidated with a conditional request, and a 304 or an unchanged body hash skips
+ * re-extraction. Store failures are logged and the cache falls back to memory only.
+ */
+public class SummaryCache {
+    private static final Logger logger = LoggerFactory.getLogger(SummaryCache.class);
+    
+    public static final int DEFAULT_CAPACITY = 256;
+    public static final Duration DEFAULT_FRESHNESS = Duration.ofMinutes(15);
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    // Tracking parameters that never change the page content
+    private static final String[] TRACKING_PREFIXES = {"utm_", "fbclid", "gclid", "mc_cid", "mc_eid", "ocid", "cmpid"};
+    
+    private static SummaryCache instance;
+    
+    private final Map<String, Entry> entries;
+    private final Duration freshness;
+    private volatile Store store;
+    private long hits;
+    private long misses;
+    
+    public SummaryCache(int capacity, Duration freshness) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        this.freshness = freshness;
+        this.entries = new LinkedHashMap<String, Entry>(Math.min(capacity, 1024) * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+    
+    /**
+     * Get the cache shared by ArticleSummarizer
+     */
+    public static synchronized SummaryCache getInstance() {
+        if (instance == null) {
+            instance = new SummaryCache(DEFAULT_CAPACITY, DEFAULT_FRESHNESS);
+        }
+        return instance;
+    }
+    
+    /**
+     * Attach the persistent tier; null keeps the cache in memory only
+     */
+    public void setStore(Store store) {
+        this.store = store;
+    }
+    
+    /**
+     * Normalize a URL so trivially different spellings share one entry: lower-case scheme
+     * and host, no default port, no fragment, no tracking parameters, no trailing slash.
+     */
+    public static String canonicalize(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            URI uri = new URI(url.trim());
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return url.trim();
+            }
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            if ((port == 80 && scheme.equals("http")) || (port == 443 && scheme.equals("https"))) {
+                port = -1;
+            }
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            if (path.length() > 1 && path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            
+            StringBuilder canonical = new StringBuilder(scheme).append("://").append(uri.getHost().toLowerCase(Locale.ROOT));
+            if (port != -1) {
+                canonical.append(':').append(port);
+            }
+            canonical.append(path);
+            String query = canonicalQuery(uri.getRawQuery());
+            if (!query.isEmpty()) {
+                canonical.append('?').append(query);
+            }
+            return canonical.toString();
+        } catch (URISyntaxException e) {
+            return url.trim();
+        }
+    }
+    
+    /**
+     * Cached entry for a canonical URL, loading it from the store on a memory miss
+     */
+    public Entry get(String canonicalUrl) {
+        synchronized (this) {
+            Entry entry = entries.get(canonicalUrl);
+            if (entry != null) {
+                hits++;
+                return entry;
+            }
+        }
+        
+        Entry loaded = null;
+        Store current = store;
+        if (current != null) {
+            try {
+                CachedUrlSummary record = current.findUrlSummary(canonicalUrl);
+                if (record != null) {
+                    loaded = new Entry(record, fromJson(record.getSummaryJson()));
+                }
+            } catch (Exception e) {
+                logger.warn("Summary store lookup failed for {}: {}", canonicalUrl, e.getMessage());
+            }
+        }
+        synchronized (this) {
+            if (loaded != null) {
+                hits++;
+                entries.put(canonicalUrl, loaded);
+            } else {
+                misses++;
+            }
+        }
+        return loaded;
+    }
+    
+    /**
+     * Store a freshly built summary with the validators of the page it came from
+     */
+    public Entry put(String canonicalUrl, String etag, String lastModified, long bodyHash,
+                     ArticleSummarizer.ArticleSummary summary) {
+        CachedUrlSummary record = new CachedUrlSummary(canonicalUrl, etag, lastModified, bodyHash, toJson(summary));
+        Entry entry = new Entry(record, summary);
+        synchronized (this) {
+            entries.put(canonicalUrl, entry);
+        }
+        Store current = store;
+        if (current != null) {
+            try {
+                current.saveUrlSummary(record);
+            } catch (Exception e) {
+                logger.warn("Summary store write failed for {}: {}", canonicalUrl, e.getMessage());
+            }
+        }
+        return entry;
+    }
+    
+    /**
+     * Record that the origin confirmed the entry is still current
+     */
+    public void markValidated(Entry entry) {
+        LocalDateTime now = LocalDateTime.now();
+        entry.record.setValidatedAt(now);
+        Store current = store;
+        if (current != null) {
+            try {
+                current.touchUrlSummary(entry.getCanonicalUrl(), now);
+            } catch (Exception e) {
+                logger.debug("Summary store touch failed for {}: {}", entry.getCanonicalUrl(), e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Whether the entry was validated recently enough to serve without a request
+     */
+    public boolean isFresh(Entry entry) {
+        return entry.getValidatedAt().plus(freshness).isAfter(LocalDateTime.now());
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    public synchronized long getHitCount() {
+        return hits;
+    }
+    
+    public synchronized long getMissCount() {
+        return misses;
+    }
+    
+    /**
+     * Drop the in-memory tier; persisted entries are kept
+     */
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+    }
+    
+    static String toJson(ArticleSummarizer.ArticleSummary summary) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("title", summary.getTitle());
+        node.put("summary", summary.getSummary());
+        node.put("wordCount", summary.getWordCount());
+        node.put("url", summary.getUrl());
+        summary.getKeyPoints().forEach(node.putArray("keyPoints")::add);
+        ObjectNode keywords = node.putObject("keywords");
+        summary.getKeywords().forEach(keywords::put);
+        return node.toString();
+    }
+    
+    static ArticleSummarizer.ArticleSummary fromJson(String json) throws java.io.IOException {
+        JsonNode node = MAPPER.readTree(json);
+        List<String> keyPoints = new ArrayList<>();
+        node.path("keyPoints").forEach(point -> keyPoints.add(point.asText()));
+        Map<String, Integer> keywords = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.path("keywords").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            keywords.put(field.getKey(), field.getValue().asInt());
+        }
+        return new ArticleSummarizer.ArticleSummary(node.path("title").asText(), node.path("summary").asText(),
+                keyPoints, keywords, node.path("wordCount").asInt(), node.path("url").asText());
+    }
+    
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        StringBuilder kept = new StringBuilder();
+        for (String parameter : rawQuery.split("&")) {
+            String name = parameter.toLowerCase(Locale.ROOT);
+            boolean tracking = parameter.isEmpty();
+            for (String prefix : TRACKING_PREFIXES) {
+                tracking |= name.startsWith(prefix);
+            }
+            if (!tracking) {
+                if (kept.length() > 0) {
+                    kept.append('&');
+                }
+                kept.append(parameter);
+            }
+        }
+        return kept.toString();
+    }
+    
+    /**
+     * Persistent tier; implemented by DatabaseService
+     */
+    public interface Store {
+        CachedUrlSummary findUrlSummary(String canonicalUrl) throws Exception;
+        
+        void saveUrlSummary(CachedUrlSummary cached) throws Exception;
+        
+        boolean touchUrlSummary(String canonicalUrl, LocalDateTime validatedAt) throws Exception;
+    }
+    
+    /**
+     * A cached summary and the validators of the page it was built from
+     */
+    public static class Entry {
+        private final CachedUrlSummary record;
+        private final ArticleSummarizer.ArticleSummary summary;
+        
+        Entry(CachedUrlSummary record, ArticleSummarizer.ArticleSummary summary) {
+            this.record = record;
+            this.summary = summary;
+        }
+        
+        public String getCanonicalUrl() { return record.getCanonicalUrl(); }
+        public String getEtag() { return record.getEtag(); }
+        public String getLastModified() { return record.getLastModified(); }
+        public long getBodyHash() { return record.getBodyHash(); }
+        public LocalDateTime getValidatedAt() { return record.getValidatedAt(); }
+        public ArticleSummarizer.ArticleSummary getSummary() { return summary; }
+    }
+}
@@ -0,0 +1,272 @@
+package com.newsvisualizer.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sentence and term model of one article, built once and shared by every summarizer stage.
+ *
+ * The text is split into sentences in one scan, each sentence is tokenized once into
+ * document-local term IDs, and a single frequency table counts the keyword candidates.
+ * Scoring stages read the ID arrays and the table instead of re-splitting the text and
+ * rebuilding word maps. Per-sentence sparse term vectors (sorted IDs with counts) are
+ * kept for similarity measures. Immutable once built.
+ */
+public class SummaryDocument {
+    
+    private final String text;
+    private final String[] sentences;
+    private final String[] lowerSentences;
+    private final int[][] tokenIds;
+    private final int[][] vectorIds;
+    private final int[][] vectorCounts;
+    private final boolean[] hasDigit;
+    private final int[] capitalizedWords;
+    private final List<String> terms;
+    private final int[] frequency;
+    
+    private SummaryDocument(String text, List<String> sentenceList, Set<String> stopWords) {
+        this.text = text;
+        int n = sentenceList.size();
+        this.sentences = sentenceList.toArray(new String[0]);
+        this.lowerSentences = new String[n];
+        this.tokenIds = new int[n][];
+        this.vectorIds = new int[n][];
+        this.vectorCounts = new int[n][];
+        this.hasDigit = new boolean[n];
+        this.capitalizedWords = new int[n];
+        this.terms = new ArrayList<>();
+        
+        Map<String, Integer> ids = new HashMap<>();
+        int[] counts = new int[64];
+        for (int i = 0; i < n; i++) {
+            String sentence = sentences[i];
+            lowerSentences[i] = sentence.toLowerCase(Locale.ROOT);
+            scanSurface(i, sentence);
+            
+            List<String> tokens = ScriptAwareTokenizer.tokenize(sentence);
+            int[] sentenceIds = new int[tokens.size()];
+            for (int t = 0; t < sentenceIds.length; t++) {
+                String token = tokens.get(t);
+                Integer id = ids.get(token);
+                if (id == null) {
+                    id = terms.size();
+                    ids.put(token, id);
+                    terms.add(token);
+                    if (id == counts.length) {
+                        counts = Arrays.copyOf(counts, id * 2);
+                    }
+                }
+                sentenceIds[t] = id;
+                if (isFrequencyCandidate(token, stopWords)) {
+                    counts[id]++;
+                }
+            }
+            tokenIds[i] = sentenceIds;
+            buildVector(i, sentenceIds);
+        }
+        this.frequency = Arrays.copyOf(counts, terms.size());
+    }
+    
+    /**
+     * Build the model of an article text; {@code stopWords} are left out of the frequency table
+     */
+    public static SummaryDocument build(String text, Set<String> stopWords) {
+        return new SummaryDocument(text, splitSentences(text), stopWords);
+    }
+    
+    /**
+     * Split after a period followed by whitespace, dropping the whitespace; same boundaries as
+     * {@code text.split("(?<=\\.)\\s+")} without the regex
+     */
+    static List<String> splitSentences(String text) {
+        List<String> sentences = new ArrayList<>();
+        int start = 0;
+        int length = text.length();
+        for (int i = 1; i < length; i++) {
+            if (text.charAt(i - 1) == '.' && Character.isWhitespace(text.charAt(i))) {
+                int end = i;
+                while (i < length && Character.isWhitespace(text.charAt(i))) {
+                    i++;
+                }
+                sentences.add(text.substring(start, end));
+                start = i;
+            }
+        }
+        if (start < length || sentences.isEmpty()) {
+            sentences.add(text.substring(start));
+        }
+        return sentences;
+    }
+    
+    public String getText() {
+        return text;
+    }
+    
+    public int getSentenceCount() {
+        return sentences.length;
+    }
+    
+    public String getSentence(int index) {
+        return sentences[index];
+    }
+    
+    public String getLowerSentence(int index) {
+        return lowerSentences[index];
+    }
+    
+    /**
+     * Term IDs of the sentence's tokens, in order, repeats included
+     */
+    public int[] getTokenIds(int index) {
+        return tokenIds[index];
+    }
+    
+    /**
+     * Distinct term IDs of the sentence in ascending order, parallel to {@link #getVectorCounts(int)}
+     */
+    public int[] getVectorIds(int index) {
+        return vectorIds[index];
+    }
+    
+    public int[] getVectorCounts(int index) {
+        return vectorCounts[index];
+    }
+    
+    public boolean hasDigit(int index) {
+        return hasDigit[index];
+    }
+    
+    /**
+     * Number of whitespace-separated words that look like capitalized names ("Delhi", "Reuters")
+     */
+    public int getCapitalizedWordCount(int index) {
+        return capitalizedWords[index];
+    }
+    
+    public int getTermCount() {
+        return terms.size();
+    }
+    
+    public String getTerm(int id) {
+        return terms.get(id);
+    }
+    
+    /**
+     * Occurrences of a term in the whole text; 0 for stop words and other non-keywords
+     */
+    public int getFrequency(int id) {
+        return frequency[id];
+    }
+    
+    /**
+     * Sum of the frequencies of the sentence's tokens that occur at least {@code minFrequency} times
+     */
+    public int frequencyScore(int index, int minFrequency) {
+        int score = 0;
+        for (int id : tokenIds[index]) {
+            if (frequency[id] >= minFrequency) {
+                score += frequency[id];
+            }
+        }
+        return score;
+    }
+    
+    /**
+     * Keyword frequency table as a map, for ranking against the corpus
+     */
+    public Map<String, Integer> getWordFrequency() {
+        Map<String, Integer> wordFreq = new LinkedHashMap<>();
+        for (int id = 0; id < frequency.length; id++) {
+            if (frequency[id] > 0) {
+                wordFreq.put(terms.get(id), frequency[id]);
+            }
+        }
+        return wordFreq;
+    }
+    
+    /**
+     * English words need 4+ letters; other scripts follow the analyzer's keyword rules
+     */
+    private static boolean isFrequencyCandidate(String word, Set<String> stopWords) {
+        if (word.charAt(0) >= 0x80) {
+            return NewsAnalyzer.isKeywordCandidate(word);
+        }
+        if (word.length() <= 3 || stopWords.contains(word)) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Digit flag and capitalized-word count from one pass over the raw sentence
+     */
+    private void scanSurface(int index, String sentence) {
+        int capitalized = 0;
+        int wordStart = -1;
+        for (int i = 0; i <= sentence.length(); i++) {
+            char c = i < sentence.length() ? sentence.charAt(i) : ' ';
+            if (c >= '0' && c <= '9') {
+                hasDigit[index] = true;
+            }
+            if (Character.isWhitespace(c)) {
+                if (wordStart >= 0 && isCapitalizedWord(sentence, wordStart, i)) {
+                    capitalized++;
+                }
+                wordStart = -1;
+            } else if (wordStart < 0) {
+                wordStart = i;
+            }
+        }
+        capitalizedWords[index] = capitalized;
+    }
+    
+    /**
+     * Matches [A-Z][a-z]+ over the whole word
+     */
+    private static boolean isCapitalizedWord(String sentence, int start, int end) {
+        if (end - start < 2) {
+            return false;
+        }
+        char first = sentence.charAt(start);
+        if (first < 'A' || first > 'Z') {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            char c = sentence.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void buildVector(int index, int[] ids) {
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        int[] counts = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            if (distinct > 0 && sorted[distinct - 1] == sorted[i]) {
+                counts[distinct - 1]++;
+            } else {
+                sorted[distinct] = sorted[i];
+                counts[distinct] = 1;
+                distinct++;
+            }
+        }
+        vectorIds[index] = Arrays.copyOf(sorted, distinct);
+        vectorCounts[index] = Arrays.copyOf(counts, distinct);
+    }
+}
@@ -0,0 +1,66 @@
+package com.newsvisualizer.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns terms to dense int IDs so analytics can work on int arrays and
+ * primitive-keyed maps instead of Strings. IDs are stable for the life of the dictionary.
+ *
+ * Lookups of known terms never lock: IDs live in a concurrent map and terms in an array that
+ * is only ever replaced by a larger copy. Only assigning a new ID takes the lock. There is no
+ * process-wide instance and entries are never evicted, so each engine owns a dictionary scoped
+ * to what it retains: per call for one-off analyses, or re-interned from its live terms when
+ * its own window or decay lets old terms go.
+ */
+public class TermDictionary {
+    
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] terms = new String[1024];
+    private volatile int size;
+    
+    /**
+     * ID for a term, assigning the next free ID on first sight
+     */
+    public int getOrAdd(String term) {
+        Integer id = ids.get(term);
+        return id != null ? id : add(term);
+    }
+    
+    /**
+     * ID for a known term, or -1 when the term has never been seen
+     */
+    public int getId(String term) {
+        Integer id = ids.get(term);
+        return id != null ? id : -1;
+    }
+    
+    public String getTerm(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Unknown term ID " + id);
+        }
+        return terms[id];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private synchronized int add(String term) {
+        Integer existing = ids.get(term);
+        if (existing != null) {
+            return existing;
+        }
+        int id = size;
+        String[] current = terms;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[id] = term;
+        // Publish the term before its ID so any reader holding the ID can resolve it
+        terms = current;
+        size = id + 1;
+        ids.put(term, id);
+        return id;
+    }
+}
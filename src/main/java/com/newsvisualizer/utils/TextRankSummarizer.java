@@ -0,0 +1,233 @@
+package com.newsvisualizer.utils;
+
+import java.util.Arrays;
+
+/**
+ * Ranks the sentences of a {@link SummaryDocument} with TextRank.
+ *
+ * Sentences are nodes; two sentences are linked when they share keyword terms, weighted by
+ * the overlap normalized by the log of their lengths. Edges are found through an inverted
+ * index from term to sentences, so only pairs that actually share a term are ever compared,
+ * and terms that occur in most sentences are skipped because they link almost everything.
+ * Power iteration stops once the scores settle or the budget runs out, in which case the
+ * latest scores are returned as they are.
+ */
+public class TextRankSummarizer {
+    
+    public static final double DAMPING = 0.85;
+    public static final double TOLERANCE = 1e-6;
+    public static final int MAX_ITERATIONS = 100;
+    
+    // Terms in more than half of the sentences are skipped, but never in short texts
+    private static final double MAX_TERM_SHARE = 0.5;
+    private static final int MIN_POSTINGS_CAP = 10;
+    
+    private TextRankSummarizer() {
+    }
+    
+    /**
+     * Rank every sentence; graph construction throws once the budget is exceeded
+     */
+    public static Ranking rank(SummaryDocument document, ExtractionBudget budget) {
+        int n = document.getSentenceCount();
+        if (n == 0) {
+            return new Ranking(new double[0], 0, 0, true);
+        }
+        
+        SentenceGraph graph = SentenceGraph.build(document, budget);
+        
+        double[] scores = new double[n];
+        double[] next = new double[n];
+        Arrays.fill(scores, 1.0 / n);
+        int iterations = 0;
+        boolean converged = false;
+        
+        while (iterations < MAX_ITERATIONS && !budget.isExpired()) {
+            // Sentences without edges spread their score evenly instead of leaking it
+            double dangling = 0;
+            for (int i = 0; i < n; i++) {
+                if (graph.start[i] == graph.start[i + 1]) {
+                    dangling += scores[i];
+                }
+            }
+            double base = (1 - DAMPING) / n + DAMPING * dangling / n;
+            
+            double delta = 0;
+            for (int i = 0; i < n; i++) {
+                double sum = 0;
+                for (int e = graph.start[i]; e < graph.start[i + 1]; e++) {
+                    sum += graph.weights[e] * scores[graph.neighbours[e]];
+                }
+                next[i] = base + DAMPING * sum;
+                delta += Math.abs(next[i] - scores[i]);
+            }
+            
+            double[] swap = scores;
+            scores = next;
+            next = swap;
+            iterations++;
+            if (delta < TOLERANCE) {
+                converged = true;
+                break;
+            }
+        }
+        
+        return new Ranking(scores, iterations, graph.edgeCount(), converged);
+    }
+    
+    /**
+     * Sentence scores plus how the iteration went
+     */
+    public static class Ranking {
+        private final double[] scores;
+        private final int iterations;
+        private final int edgeCount;
+        private final boolean converged;
+        
+        private Ranking(double[] scores, int iterations, int edgeCount, boolean converged) {
+            this.scores = scores;
+            this.iterations = iterations;
+            this.edgeCount = edgeCount;
+            this.converged = converged;
+        }
+        
+        public double getScore(int sentence) { return scores[sentence]; }
+        public double[] getScores() { return scores.clone(); }
+        public int getIterations() { return iterations; }
+        public int getEdgeCount() { return edgeCount; }
+        public boolean isConverged() { return converged; }
+    }
+    
+    /**
+     * Undirected similarity graph in compressed sparse rows. Each stored weight is already
+     * divided by the neighbour's total edge weight, ready for the power iteration.
+     */
+    private static class SentenceGraph {
+        private final int[] start;
+        private final int[] neighbours;
+        private final double[] weights;
+        
+        private SentenceGraph(int[] start, int[] neighbours, double[] weights) {
+            this.start = start;
+            this.neighbours = neighbours;
+            this.weights = weights;
+        }
+        
+        int edgeCount() {
+            return neighbours.length / 2;
+        }
+        
+        static SentenceGraph build(SummaryDocument document, ExtractionBudget budget) {
+            int n = document.getSentenceCount();
+            int terms = document.getTermCount();
+            
+            // Keyword length of every sentence and document frequency of every keyword term
+            int[] length = new int[n];
+            int[] postingStart = new int[terms + 1];
+            for (int s = 0; s < n; s++) {
+                int[] ids = document.getVectorIds(s);
+                int[] counts = document.getVectorCounts(s);
+                for (int k = 0; k < ids.length; k++) {
+                    if (document.getFrequency(ids[k]) > 0) {
+                        length[s] += counts[k];
+                        postingStart[ids[k] + 1]++;
+                    }
+                }
+            }
+            int maxPostings = Math.max(MIN_POSTINGS_CAP, (int) (n * MAX_TERM_SHARE));
+            for (int t = 0; t < terms; t++) {
+                postingStart[t + 1] += postingStart[t];
+            }
+            
+            // Inverted index: sentences (ascending) and counts per term
+            int[] postingSentences = new int[postingStart[terms]];
+            int[] postingCounts = new int[postingStart[terms]];
+            int[] fill = Arrays.copyOf(postingStart, terms);
+            for (int s = 0; s < n; s++) {
+                int[] ids = document.getVectorIds(s);
+                int[] counts = document.getVectorCounts(s);
+                for (int k = 0; k < ids.length; k++) {
+                    if (document.getFrequency(ids[k]) > 0) {
+                        int slot = fill[ids[k]]++;
+                        postingSentences[slot] = s;
+                        postingCounts[slot] = counts[k];
+                    }
+                }
+            }
+            
+            // Accumulate overlaps with later sentences only, so every pair is visited once
+            double[] overlap = new double[n];
+            int[] touched = new int[n];
+            int[] edgeFrom = new int[16];
+            int[] edgeTo = new int[16];
+            double[] edgeWeight = new double[16];
+            int edges = 0;
+            int[] degree = new int[n];
+            double[] totalWeight = new double[n];
+            
+            for (int s = 0; s < n; s++) {
+                budget.check();
+                int touchedCount = 0;
+                int[] ids = document.getVectorIds(s);
+                int[] counts = document.getVectorCounts(s);
+                for (int k = 0; k < ids.length; k++) {
+                    int t = ids[k];
+                    int from = postingStart[t];
+                    int to = postingStart[t + 1];
+                    if (document.getFrequency(t) == 0 || to - from > maxPostings) {
+                        continue;
+                    }
+                    for (int p = from; p < to; p++) {
+                        int other = postingSentences[p];
+                        if (other <= s) {
+                            continue;
+                        }
+                        if (overlap[other] == 0) {
+                            touched[touchedCount++] = other;
+                        }
+                        overlap[other] += Math.min(counts[k], postingCounts[p]);
+                    }
+                }
+                
+                for (int i = 0; i < touchedCount; i++) {
+                    int other = touched[i];
+                    double weight = overlap[other] / (Math.log(1 + length[s]) + Math.log(1 + length[other]));
+                    overlap[other] = 0;
+                    if (edges == edgeFrom.length) {
+                        edgeFrom = Arrays.copyOf(edgeFrom, edges * 2);
+                        edgeTo = Arrays.copyOf(edgeTo, edges * 2);
+                        edgeWeight = Arrays.copyOf(edgeWeight, edges * 2);
+                    }
+                    edgeFrom[edges] = s;
+                    edgeTo[edges] = other;
+                    edgeWeight[edges] = weight;
+                    edges++;
+                    degree[s]++;
+                    degree[other]++;
+                    totalWeight[s] += weight;
+                    totalWeight[other] += weight;
+                }
+            }
+            
+            // Store both directions; the weight into i from j is normalized by j's total
+            int[] start = new int[n + 1];
+            for (int s = 0; s < n; s++) {
+                start[s + 1] = start[s] + degree[s];
+            }
+            int[] neighbours = new int[edges * 2];
+            double[] weights = new double[edges * 2];
+            int[] next = Arrays.copyOf(start, n);
+            for (int e = 0; e < edges; e++) {
+                int a = edgeFrom[e];
+                int b = edgeTo[e];
+                int slot = next[a]++;
+                neighbours[slot] = b;
+                weights[slot] = edgeWeight[e] / totalWeight[b];
+                slot = next[b]++;
+                neighbours[slot] = a;
+                weights[slot] = edgeWeight[e] / totalWeight[a];
+            }
+            return new SentenceGraph(start, neighbours, weights);
+        }
+    }
+}
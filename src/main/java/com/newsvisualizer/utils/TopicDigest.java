@@ -0,0 +1,88 @@
+package com.newsvisualizer.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges the summaries of the articles linked from a topic or listing page into one digest:
+ * the lead sentences of every article under its headline, a few key points from each, and
+ * the keyword counts summed across articles. Articles that failed or did not finish in time
+ * are left out, and the digest says how many of the linked articles it covers.
+ */
+public class TopicDigest {
+    
+    public static final int DEFAULT_MAX_ARTICLES = 8;
+    
+    private static final int LEAD_SENTENCES = 2;
+    private static final int KEY_POINTS_PER_ARTICLE = 2;
+    private static final int MAX_KEY_POINTS = 15;
+    private static final int KEYWORD_LIMIT = 20;
+    
+    private TopicDigest() {
+    }
+    
+    /**
+     * Digest of the finished summaries, in link order; null when none of the articles succeeded
+     */
+    public static ArticleSummarizer.ArticleSummary merge(String topicTitle, String topicUrl,
+                                                         List<ArticleLinkExtractor.ArticleLink> links,
+                                                         Map<String, ArticleSummarizer.ArticleSummary> summaries) {
+        StringBuilder body = new StringBuilder();
+        List<String> keyPoints = new ArrayList<>();
+        Map<String, Integer> keywordTotals = new HashMap<>();
+        int articles = 0;
+        int wordCount = 0;
+        
+        for (ArticleLinkExtractor.ArticleLink link : links) {
+            ArticleSummarizer.ArticleSummary summary = summaries.get(link.getUrl());
+            if (summary == null || "Error".equals(summary.getTitle())) {
+                continue;
+            }
+            articles++;
+            wordCount += summary.getWordCount();
+            
+            String headline = summary.getTitle().isEmpty() ? link.getHeadline() : summary.getTitle();
+            body.append("▪ ").append(headline).append("\n").append(lead(summary.getSummary())).append("\n\n");
+            
+            for (int i = 0; i < summary.getKeyPoints().size() && i < KEY_POINTS_PER_ARTICLE
+                    && keyPoints.size() < MAX_KEY_POINTS; i++) {
+                keyPoints.add(summary.getKeyPoints().get(i));
+            }
+            summary.getKeywords().forEach((keyword, count) -> keywordTotals.merge(keyword, count, Integer::sum));
+        }
+        if (articles == 0) {
+            return null;
+        }
+        
+        String header = "📰 Digest of " + articles + " of " + links.size() + " linked articles"
+                + (articles < links.size() ? " (the rest failed or ran out of time)" : "") + "\n\n";
+        
+        Map<String, Integer> keywords = new LinkedHashMap<>();
+        keywordTotals.entrySet().stream()
+                .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
+                .limit(KEYWORD_LIMIT)
+                .forEach(entry -> keywords.put(entry.getKey(), entry.getValue()));
+        
+        String title = (topicTitle == null || topicTitle.isEmpty() ? "Topic" : topicTitle) + " - Topic Digest";
+        return new ArticleSummarizer.ArticleSummary(title, header + body.toString().trim(), keyPoints, keywords,
+                wordCount, topicUrl);
+    }
+    
+    /**
+     * First sentences of an article summary, without the overview and analysis paragraphs
+     */
+    static String lead(String summary) {
+        StringBuilder text = new StringBuilder();
+        for (String paragraph : summary.split("\n\n")) {
+            String trimmed = paragraph.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("📋") && !trimmed.startsWith("🔍")) {
+                text.append(trimmed).append(' ');
+            }
+        }
+        List<String> sentences = SummaryDocument.splitSentences(text.toString().trim());
+        return String.join(" ", sentences.subList(0, Math.min(LEAD_SENTENCES, sentences.size())));
+    }
+}
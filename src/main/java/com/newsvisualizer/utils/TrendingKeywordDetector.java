@@ -0,0 +1,230 @@
+package com.newsvisualizer.utils;
+
+import com.newsvisualizer.model.NewsArticle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming "what's spiking right now" detector over everything ingested.
+ *
+ * Time is split into fixed-width buckets kept in a ring. Each bucket holds a Count-Min
+ * sketch of term frequencies and a Space-Saving heavy-hitters list, so memory is fixed
+ * regardless of vocabulary size or corpus length. A keyword is trending when its rate
+ * over the most recent window exceeds its rate over the remaining (baseline) buckets.
+ */
+public class TrendingKeywordDetector {
+    
+    public static final long DEFAULT_BUCKET_SECONDS = 15 * 60;
+    public static final int DEFAULT_BUCKET_COUNT = 96;       // 24 hours of history
+    public static final int DEFAULT_WINDOW_BUCKETS = 4;      // last hour is "now"
+    public static final int DEFAULT_SKETCH_WIDTH = 2048;
+    public static final int DEFAULT_SKETCH_DEPTH = 4;
+    public static final int DEFAULT_HEAVY_HITTERS = 64;
+    
+    private final long bucketSeconds;
+    private final int windowBuckets;
+    private final CountMinSketch[] sketches;
+    private final SpaceSavingCounter[] heavyHitters;
+    private final long[] bucketIds;
+    private long latestBucketId = Long.MIN_VALUE;
+    
+    public TrendingKeywordDetector() {
+        this(DEFAULT_BUCKET_SECONDS, DEFAULT_BUCKET_COUNT, DEFAULT_WINDOW_BUCKETS,
+             DEFAULT_SKETCH_WIDTH, DEFAULT_SKETCH_DEPTH, DEFAULT_HEAVY_HITTERS);
+    }
+    
+    public TrendingKeywordDetector(long bucketSeconds, int bucketCount, int windowBuckets,
+                                   int sketchWidth, int sketchDepth, int heavyHitterCapacity) {
+        if (bucketSeconds <= 0 || windowBuckets <= 0 || windowBuckets >= bucketCount) {
+            throw new IllegalArgumentException("Window must be positive and shorter than the bucket ring");
+        }
+        this.bucketSeconds = bucketSeconds;
+        this.windowBuckets = windowBuckets;
+        this.sketches = new CountMinSketch[bucketCount];
+        this.heavyHitters = new SpaceSavingCounter[bucketCount];
+        this.bucketIds = new long[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            sketches[i] = new CountMinSketch(sketchWidth, sketchDepth);
+            heavyHitters[i] = new SpaceSavingCounter(heavyHitterCapacity);
+            bucketIds[i] = Long.MIN_VALUE;
+        }
+    }
+    
+    /**
+     * Feed the keywords of a batch of articles, bucketed by publication time
+     */
+    public void addArticles(List<NewsArticle> articles) {
+        for (NewsArticle article : articles) {
+            addArticle(article);
+        }
+    }
+    
+    /**
+     * Feed the keywords of one article, bucketed by its publication time
+     */
+    public synchronized void addArticle(NewsArticle article) {
+        long epochSecond = NewsAnalyzer.publishedEpochSecond(article);
+        int slot = slotFor(epochSecond);
+        if (slot < 0) {
+            return;
+        }
+        for (String term : NewsAnalyzer.extractKeywordTokens(article)) {
+            sketches[slot].add(term, 1);
+            heavyHitters[slot].add(term, 1);
+        }
+    }
+    
+    /**
+     * Record a single term occurrence at the given time
+     */
+    public synchronized void addTerm(String term, long epochSecond) {
+        int slot = slotFor(epochSecond);
+        if (slot >= 0) {
+            sketches[slot].add(term, 1);
+            heavyHitters[slot].add(term, 1);
+        }
+    }
+    
+    /**
+     * Keywords whose rate in the recent window is at least {@code minRatio} times their baseline rate,
+     * highest ratio first. Windows are relative to the newest bucket seen, so replayed history works too.
+     */
+    public synchronized List<TrendingKeyword> getTrendingKeywords(int topN, double minRatio) {
+        List<TrendingKeyword> trending = new ArrayList<>();
+        if (latestBucketId == Long.MIN_VALUE) {
+            return trending;
+        }
+        
+        // Candidates are the heavy hitters of the window buckets
+        Set<String> candidates = new LinkedHashSet<>();
+        long windowTotal = 0;
+        long baselineTotal = 0;
+        for (int i = 0; i < sketches.length; i++) {
+            if (!isLive(i)) {
+                continue;
+            }
+            if (isInWindow(i)) {
+                windowTotal += sketches[i].getTotalCount();
+                candidates.addAll(heavyHitters[i].getTopTerms(Integer.MAX_VALUE));
+            } else {
+                baselineTotal += sketches[i].getTotalCount();
+            }
+        }
+        if (windowTotal == 0) {
+            return trending;
+        }
+        
+        for (String term : candidates) {
+            long hash = Hashing.hash64(term);
+            long windowCount = 0;
+            long baselineCount = 0;
+            for (int i = 0; i < sketches.length; i++) {
+                if (!isLive(i)) {
+                    continue;
+                }
+                if (isInWindow(i)) {
+                    windowCount += sketches[i].estimate(hash);
+                } else {
+                    baselineCount += sketches[i].estimate(hash);
+                }
+            }
+            
+            double windowRate = (double) windowCount / windowTotal;
+            // Add-one smoothing so unseen-in-baseline terms get a finite (large) ratio
+            double baselineRate = (baselineCount + 1.0) / (baselineTotal + 1.0);
+            double ratio = windowRate / baselineRate;
+            if (ratio >= minRatio) {
+                trending.add(new TrendingKeyword(term, windowCount, windowRate, baselineRate, ratio));
+            }
+        }
+        
+        trending.sort(Comparator.comparingDouble(TrendingKeyword::getRatio).reversed()
+                .thenComparing(Comparator.comparingLong(TrendingKeyword::getWindowCount).reversed()));
+        return trending.size() > topN ? new ArrayList<>(trending.subList(0, topN)) : trending;
+    }
+    
+    /**
+     * Trending keywords with their window counts, in the map shape used by the keyword charts
+     */
+    public Map<String, Integer> getTrendingKeywordCounts(int topN, double minRatio) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (TrendingKeyword keyword : getTrendingKeywords(topN, minRatio)) {
+            counts.put(keyword.getTerm(), (int) Math.min(keyword.getWindowCount(), Integer.MAX_VALUE));
+        }
+        return counts;
+    }
+    
+    public synchronized void clear() {
+        for (int i = 0; i < sketches.length; i++) {
+            sketches[i].clear();
+            heavyHitters[i].clear();
+            bucketIds[i] = Long.MIN_VALUE;
+        }
+        latestBucketId = Long.MIN_VALUE;
+    }
+    
+    /**
+     * Ring slot for a timestamp, recycling stale buckets; -1 when older than the retained history
+     */
+    private int slotFor(long epochSecond) {
+        long bucketId = Math.floorDiv(epochSecond, bucketSeconds);
+        if (latestBucketId != Long.MIN_VALUE && bucketId <= latestBucketId - sketches.length) {
+            return -1;
+        }
+        if (bucketId > latestBucketId) {
+            latestBucketId = bucketId;
+        }
+        
+        int slot = (int) Math.floorMod(bucketId, (long) sketches.length);
+        if (bucketIds[slot] != bucketId) {
+            sketches[slot].clear();
+            heavyHitters[slot].clear();
+            bucketIds[slot] = bucketId;
+        }
+        return slot;
+    }
+    
+    private boolean isLive(int slot) {
+        return bucketIds[slot] != Long.MIN_VALUE && bucketIds[slot] > latestBucketId - sketches.length;
+    }
+    
+    private boolean isInWindow(int slot) {
+        return bucketIds[slot] > latestBucketId - windowBuckets;
+    }
+    
+    /**
+     * A keyword whose recent rate exceeds its baseline
+     */
+    public static class TrendingKeyword {
+        private final String term;
+        private final long windowCount;
+        private final double windowRate;
+        private final double baselineRate;
+        private final double ratio;
+        
+        public TrendingKeyword(String term, long windowCount, double windowRate, double baselineRate, double ratio) {
+            this.term = term;
+            this.windowCount = windowCount;
+            this.windowRate = windowRate;
+            this.baselineRate = baselineRate;
+            this.ratio = ratio;
+        }
+        
+        public String getTerm() { return term; }
+        public long getWindowCount() { return windowCount; }
+        public double getWindowRate() { return windowRate; }
+        public double getBaselineRate() { return baselineRate; }
+        public double getRatio() { return ratio; }
+        
+        @Override
+        public String toString() {
+            return String.format("%s (x%.1f, %d mentions)", term, ratio, windowCount);
+        }
+    }
+}
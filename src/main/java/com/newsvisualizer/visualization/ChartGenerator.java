@@ -1,20 +1,41 @@
 package com.newsvisualizer.visualization;
 
+import com.newsvisualizer.utils.ArticleTimeline;
+import com.newsvisualizer.utils.SentimentQuantiles;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.StandardChartTheme;
+import org.jfree.chart.axis.CategoryLabelPositions;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.SymbolAxis;
 import org.jfree.chart.plot.CategoryPlot;
 import org.jfree.chart.plot.PiePlot;
 import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.category.BarRenderer;
+import org.jfree.chart.renderer.category.BoxAndWhiskerRenderer;
+import org.jfree.chart.renderer.PaintScale;
 import org.jfree.chart.renderer.category.CategoryItemRenderer;
+import org.jfree.chart.renderer.xy.XYBlockRenderer;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.data.category.CategoryDataset;
 import org.jfree.data.category.DefaultCategoryDataset;
 import org.jfree.data.general.DefaultPieDataset;
+import org.jfree.data.statistics.BoxAndWhiskerItem;
+import org.jfree.data.statistics.DefaultBoxAndWhiskerCategoryDataset;
 import org.jfree.data.general.PieDataset;
+import org.jfree.data.time.FixedMillisecond;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
+import org.jfree.data.xy.DefaultXYZDataset;
 import javax.swing.*;
 import java.awt.*;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -106,7 +127,165 @@ public class ChartGenerator {
         return new ChartPanel(chart);
     }
     
-    // Timeline chart functionality removed
+    /**
+     * Create a publication timeline chart: article volume per bucket with average sentiment
+     * on a secondary axis. Reads the timeline's primitive buckets directly.
+     */
+    public static JPanel createTimelineChart(String title, ArticleTimeline timeline) {
+        TimeSeries volume = new TimeSeries("Articles");
+        TimeSeries sentiment = new TimeSeries("Avg Sentiment");
+        
+        int buckets = timeline.getBucketCount();
+        for (int i = 0; i < buckets; i++) {
+            // Bucket starts are UTC-encoded local times; convert back to wall-clock time for display
+            LocalDateTime start = LocalDateTime.ofEpochSecond(timeline.getBucketStart(i), 0, ZoneOffset.UTC);
+            FixedMillisecond period = new FixedMillisecond(
+                start.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            
+            int count = timeline.getCount(i);
+            volume.add(period, count);
+            if (count > 0) {
+                sentiment.add(period, timeline.getAverageSentiment(i));
+            }
+        }
+        
+        JFreeChart chart = ChartFactory.createTimeSeriesChart(
+                title,
+                "Time (" + timeline.getResolution().name().toLowerCase() + "ly buckets)",
+                "Number of Articles",
+                new TimeSeriesCollection(volume),
+                true, // legend
+                true, // tooltips
+                false // URLs
+        );
+        
+        customizeChart(chart);
+        XYPlot plot = chart.getXYPlot();
+        plot.setBackgroundPaint(Color.WHITE);
+        plot.setOutlineVisible(false);
+        plot.setRangeGridlinePaint(Color.LIGHT_GRAY);
+        plot.setDomainGridlinePaint(Color.LIGHT_GRAY);
+        
+        XYLineAndShapeRenderer volumeRenderer = new XYLineAndShapeRenderer(true, buckets <= 100);
+        volumeRenderer.setSeriesPaint(0, new Color(63, 81, 181)); // Indigo
+        volumeRenderer.setSeriesStroke(0, new BasicStroke(2.0f));
+        plot.setRenderer(0, volumeRenderer);
+        
+        // Sentiment on its own axis so small scores stay readable next to counts
+        NumberAxis sentimentAxis = new NumberAxis("Avg Sentiment");
+        sentimentAxis.setAutoRangeIncludesZero(true);
+        plot.setRangeAxis(1, sentimentAxis);
+        plot.setDataset(1, new TimeSeriesCollection(sentiment));
+        plot.mapDatasetToRangeAxis(1, 1);
+        
+        XYLineAndShapeRenderer sentimentRenderer = new XYLineAndShapeRenderer(true, false);
+        sentimentRenderer.setSeriesPaint(0, new Color(76, 175, 80)); // Green
+        sentimentRenderer.setSeriesStroke(0, new BasicStroke(1.5f, BasicStroke.CAP_ROUND,
+            BasicStroke.JOIN_ROUND, 1.0f, new float[] {4.0f, 4.0f}, 0.0f));
+        plot.setRenderer(1, sentimentRenderer);
+        
+        return new ChartPanel(chart);
+    }
+    
+    /**
+     * Create a keyword co-occurrence heatmap: cell (i, j) is the number of articles
+     * mentioning both terms. The diagonal is left blank.
+     */
+    public static JPanel createCooccurrenceHeatmap(String title, List<String> terms, int[][] matrix) {
+        int size = terms.size();
+        double[] xs = new double[size * size];
+        double[] ys = new double[size * size];
+        double[] zs = new double[size * size];
+        int max = 1;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int cell = i * size + j;
+                xs[cell] = i;
+                ys[cell] = j;
+                zs[cell] = i == j ? 0 : matrix[i][j];
+                max = Math.max(max, (int) zs[cell]);
+            }
+        }
+        DefaultXYZDataset dataset = new DefaultXYZDataset();
+        dataset.addSeries("Co-occurrence", new double[][] {xs, ys, zs});
+        
+        String[] labels = terms.toArray(new String[0]);
+        SymbolAxis xAxis = new SymbolAxis(null, labels);
+        xAxis.setVerticalTickLabels(true);
+        xAxis.setGridBandsVisible(false);
+        SymbolAxis yAxis = new SymbolAxis(null, labels);
+        yAxis.setGridBandsVisible(false);
+        yAxis.setInverted(true);
+        
+        // White for no overlap up to indigo for the most frequent pair
+        final double upper = max;
+        PaintScale scale = new PaintScale() {
+            @Override
+            public double getLowerBound() { return 0; }
+            
+            @Override
+            public double getUpperBound() { return upper; }
+            
+            @Override
+            public Paint getPaint(double value) {
+                double t = Math.max(0, Math.min(1, value / upper));
+                return new Color((int) (255 - t * (255 - 63)), (int) (255 - t * (255 - 81)), (int) (255 - t * (255 - 181)));
+            }
+        };
+        XYBlockRenderer renderer = new XYBlockRenderer();
+        renderer.setPaintScale(scale);
+        renderer.setDefaultToolTipGenerator((data, series, item) -> String.format("%s + %s: %d articles",
+            labels[(int) data.getXValue(series, item)], labels[(int) data.getYValue(series, item)],
+            (int) ((DefaultXYZDataset) data).getZValue(series, item)));
+        
+        XYPlot plot = new XYPlot(dataset, xAxis, yAxis, renderer);
+        plot.setBackgroundPaint(Color.WHITE);
+        plot.setDomainGridlinesVisible(false);
+        plot.setRangeGridlinesVisible(false);
+        plot.setOutlineVisible(false);
+        
+        JFreeChart chart = new JFreeChart(title, JFreeChart.DEFAULT_TITLE_FONT, plot, false);
+        customizeChart(chart);
+        return new ChartPanel(chart);
+    }
+    
+    /**
+     * Create a sentiment box plot: boxes span p25-p75 around the median, whiskers p10-p90,
+     * and the extremes are drawn as far-out markers.
+     */
+    public static JPanel createSentimentBoxPlot(String title, String categoryAxisLabel,
+                                                Map<String, SentimentQuantiles.Summary> summaries) {
+        DefaultBoxAndWhiskerCategoryDataset dataset = new DefaultBoxAndWhiskerCategoryDataset();
+        for (Map.Entry<String, SentimentQuantiles.Summary> entry : summaries.entrySet()) {
+            SentimentQuantiles.Summary summary = entry.getValue();
+            String label = entry.getKey().length() > 20 ? entry.getKey().substring(0, 20) + "..." : entry.getKey();
+            dataset.add(new BoxAndWhiskerItem(summary.getMean(), summary.getP50(), summary.getP25(), summary.getP75(),
+                summary.getP10(), summary.getP90(), summary.getMin(), summary.getMax(), new ArrayList<>()),
+                "Sentiment", label);
+        }
+        
+        JFreeChart chart = ChartFactory.createBoxAndWhiskerChart(
+                title,
+                categoryAxisLabel,
+                "Sentiment Score",
+                dataset,
+                false // legend
+        );
+        
+        customizeChart(chart);
+        CategoryPlot plot = chart.getCategoryPlot();
+        plot.setBackgroundPaint(Color.WHITE);
+        plot.setOutlineVisible(false);
+        plot.setRangeGridlinePaint(Color.LIGHT_GRAY);
+        plot.getDomainAxis().setCategoryLabelPositions(CategoryLabelPositions.UP_45);
+        
+        BoxAndWhiskerRenderer renderer = (BoxAndWhiskerRenderer) plot.getRenderer();
+        renderer.setSeriesPaint(0, new Color(63, 81, 181, 160)); // Indigo
+        renderer.setMeanVisible(true);
+        renderer.setMaximumBarWidth(0.08);
+        
+        return new ChartPanel(chart);
+    }
     
     /**
      * Create a sentiment analysis chart (special pie chart with sentiment colors)
@@ -0,0 +1,118 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.model.NewsArticle;
+import com.newsvisualizer.model.Source;
+import com.newsvisualizer.utils.ArticleIndex;
+import com.newsvisualizer.utils.ArticleQuery;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the indexed article query engine
+ */
+public class ArticleQueryTest {
+    
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 0, 0);
+    
+    private static List<NewsArticle> corpus() {
+        List<NewsArticle> articles = new ArrayList<>();
+        String[] categories = {"business", "technology", "sports", "health"};
+        // Shuffled publication order so the time index has to be sorted
+        for (int i = 0; i < 1000; i++) {
+            int hour = (i * 37) % 100;
+            NewsArticle article = new NewsArticle("Title " + i, null, null, "http://test.com/" + i,
+                null, START.plusHours(hour).plusMinutes(i % 60), new Source("s" + (i % 10), "Source " + (i % 10)), null);
+            article.setCategory(categories[i % categories.length]);
+            article.setSentimentScore((i % 21 - 10) / 10.0);
+            articles.add(article);
+        }
+        return articles;
+    }
+    
+    @Test
+    public void testPushdownMatchesBruteForce() {
+        List<NewsArticle> articles = corpus();
+        ArticleIndex index = ArticleIndex.fromArticles(articles);
+        LocalDateTime from = START.plusHours(20);
+        LocalDateTime to = START.plusHours(30);
+        
+        ArticleQuery query = index.query()
+                .publishedBetween(from, to)
+                .fromSources("Source 3", "Source 7")
+                .where(article -> article.getSentimentScore() > 0);
+        List<NewsArticle> result = query.list();
+        
+        List<NewsArticle> expected = articles.stream()
+                .filter(a -> !a.getPublishedAt().isBefore(from) && a.getPublishedAt().isBefore(to))
+                .filter(a -> a.getSource().getName().equals("Source 3") || a.getSource().getName().equals("Source 7"))
+                .filter(a -> a.getSentimentScore() > 0)
+                .collect(Collectors.toList());
+        
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), result.size());
+        assertTrue(result.containsAll(expected));
+        // Only the ten-hour slice of the time index is read, not the whole corpus
+        assertTrue(query.getScannedRowCount() <= 110, "scanned " + query.getScannedRowCount());
+    }
+    
+    @Test
+    public void testBitmapIntersection() {
+        ArticleIndex index = ArticleIndex.fromArticles(corpus());
+        
+        // Rows of source 2 have even indexes, so they are split between "business" and "sports"
+        assertEquals(50, index.query().fromSources("Source 2").inCategories("sports").count());
+        assertEquals(100, index.query().fromSources("Source 2").inCategories("sports", "business").count());
+        assertEquals(0, index.query().fromSources("Source 2").inCategories("technology").count());
+        assertEquals(0, index.query().fromSources("Nobody").count());
+        assertEquals(250, index.query().inCategories("business").count());
+    }
+    
+    @Test
+    public void testRepeatedFiltersNarrow() {
+        ArticleIndex index = ArticleIndex.fromArticles(corpus());
+        
+        assertEquals(index.query().fromSources("Source 2").count(),
+            index.query().fromSources("Source 2", "Source 3").fromSources("Source 2", "Source 5").count());
+        
+        ArticleQuery disjoint = index.query().fromSources("Source 2").fromSources("Source 3").fromSources("Source 2");
+        assertEquals(0, disjoint.count());
+        assertEquals(0, disjoint.getScannedRowCount());
+    }
+    
+    @Test
+    public void testOrderLimitAndGrouping() {
+        List<NewsArticle> articles = corpus();
+        ArticleIndex index = ArticleIndex.fromArticles(articles);
+        
+        ArticleQuery newest = index.query().orderBy(ArticleQuery.Order.NEWEST_FIRST).limit(5);
+        List<NewsArticle> top = newest.list();
+        List<NewsArticle> expected = articles.stream()
+                .sorted(Comparator.comparing(NewsArticle::getPublishedAt).reversed())
+                .limit(5)
+                .collect(Collectors.toList());
+        assertEquals(expected.stream().map(NewsArticle::getPublishedAt).collect(Collectors.toList()),
+                top.stream().map(NewsArticle::getPublishedAt).collect(Collectors.toList()));
+        assertEquals(5, newest.getScannedRowCount());
+        
+        List<NewsArticle> positive = index.query().orderBy(ArticleQuery.Order.MOST_POSITIVE).limit(3).list();
+        assertEquals(1.0, positive.get(0).getSentimentScore(), 1e-9);
+        
+        Map<String, Integer> byCategory = index.query().countBy(ArticleQuery.Field.CATEGORY);
+        assertEquals(4, byCategory.size());
+        assertEquals(250, byCategory.get("health"));
+        
+        Map<String, Double> bySource = index.query().inCategories("business").averageSentimentBy(ArticleQuery.Field.SOURCE);
+        double bruteForce = articles.stream()
+                .filter(a -> a.getSource().getName().equals("Source 0") && a.getCategory().equals("business"))
+                .mapToDouble(NewsArticle::getSentimentScore).average().orElse(0);
+        assertEquals(bruteForce, bySource.get("Source 0"), 1e-9);
+    }
+}
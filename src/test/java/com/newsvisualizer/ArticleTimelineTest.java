@@ -0,0 +1,60 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.model.NewsArticle;
+import com.newsvisualizer.model.Source;
+import com.newsvisualizer.utils.ArticleTimeline;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the bucketed article timeline
+ */
+public class ArticleTimelineTest {
+    
+    @Test
+    public void testHourlyBucketsAndRollup() {
+        Source source = new Source("test", "Test Source");
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 0, 30);
+        List<NewsArticle> articles = new ArrayList<>();
+        
+        // Two articles per hour for two full days
+        for (int hour = 0; hour < 48; hour++) {
+            for (int i = 0; i < 2; i++) {
+                NewsArticle article = new NewsArticle("Title " + hour, null, null,
+                    "http://test.com/" + hour + "/" + i, null, start.plusHours(hour), source, null);
+                article.setSentimentScore(i == 0 ? 0.2 : 0.0);
+                articles.add(article);
+            }
+        }
+        
+        ArticleTimeline hourly = new ArticleTimeline(ArticleTimeline.Resolution.HOUR);
+        hourly.addArticles(articles);
+        
+        assertEquals(48, hourly.getBucketCount());
+        assertEquals(2, hourly.getCount(0));
+        assertEquals(0.1, hourly.getAverageSentiment(0), 1e-9);
+        assertEquals(96, hourly.getTotalCount());
+        
+        ArticleTimeline daily = hourly.rollup(ArticleTimeline.Resolution.DAY);
+        assertEquals(2, daily.getBucketCount());
+        assertEquals(48, daily.getCount(0));
+        assertEquals(48, daily.getCount(1));
+        assertEquals(0.1, daily.getAverageSentiment(1), 1e-9);
+    }
+    
+    @Test
+    public void testUndatedArticlesAreSkipped() {
+        NewsArticle undated = new NewsArticle("No date", null, null, "http://test.com/x",
+            null, null, new Source("test", "Test Source"), null);
+        
+        ArticleTimeline timeline = ArticleTimeline.fromArticles(List.of(undated));
+        
+        assertTrue(timeline.isEmpty());
+        assertEquals(0, timeline.getBucketCount());
+    }
+}
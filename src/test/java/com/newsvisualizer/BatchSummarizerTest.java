@@ -0,0 +1,154 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.ArticleSummarizer;
+import com.newsvisualizer.utils.BatchSummarizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for concurrent batch summarization
+ */
+public class BatchSummarizerTest {
+    
+    private static ArticleSummarizer.ArticleSummary fakeSummary(String url) {
+        return new ArticleSummarizer.ArticleSummary("Title of " + url, "Summary", List.of(), new HashMap<>(), 100, url);
+    }
+    
+    @Test
+    public void testConcurrencyLimitsAndStreaming() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        Map<String, AtomicInteger> activeByHost = new ConcurrentHashMap<>();
+        AtomicInteger maxPerHost = new AtomicInteger();
+        
+        BatchSummarizer batchSummarizer = new BatchSummarizer(4, 2, url -> {
+            AtomicInteger host = activeByHost.computeIfAbsent(url.substring(0, url.indexOf('/', 8)), h -> new AtomicInteger());
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            maxPerHost.accumulateAndGet(host.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            host.decrementAndGet();
+            active.decrementAndGet();
+            return fakeSummary(url);
+        });
+        
+        // 12 URLs on one host and 3 on two others; www. shares the slot of the bare host
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            urls.add((i % 2 == 0 ? "https://www.big.com/" : "https://big.com/") + i);
+        }
+        urls.add("https://small.org/a");
+        urls.add("https://small.org/b");
+        urls.add("https://other.net/c");
+        urls.add("https://small.org/a"); // duplicate
+        
+        List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch finished = new CountDownLatch(1);
+        BatchSummarizer.Batch batch = batchSummarizer.summarizeAll(urls, new BatchSummarizer.ProgressListener() {
+            @Override
+            public void onSummary(String url, ArticleSummarizer.ArticleSummary summary, int completed, int total) {
+                assertEquals(15, total);
+                assertEquals("Title of " + url, summary.getTitle());
+                progress.add(completed);
+            }
+            
+            @Override
+            public void onFinished(int completed, int total, boolean cancelled) {
+                assertFalse(cancelled);
+                finished.countDown();
+            }
+        });
+        
+        Map<String, ArticleSummarizer.ArticleSummary> results = batch.await();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        
+        assertEquals(15, results.size());
+        assertEquals(urls.subList(0, 15), new ArrayList<>(results.keySet()));
+        assertEquals(15, progress.size());
+        assertTrue(progress.contains(15));
+        assertTrue(maxActive.get() <= 4, "global " + maxActive.get());
+        assertTrue(maxPerHost.get() <= 2, "per host " + maxPerHost.get());
+        // The small hosts ran alongside the big one rather than after it
+        assertTrue(maxActive.get() > 2);
+    }
+    
+    @Test
+    public void testCancelReturnsPartialResults() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BatchSummarizer batchSummarizer = new BatchSummarizer(1, 1, url -> {
+            if (url.endsWith("/1")) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return fakeSummary(url);
+        });
+        
+        List<String> urls = List.of("https://a.com/0", "https://a.com/1", "https://a.com/2");
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        BatchSummarizer.Batch batch = batchSummarizer.summarizeAll(urls,
+            (url, summary, completed, total) -> seen.add(url));
+        
+        while (batch.getCompletedCount() < 1) {
+            Thread.sleep(5);
+        }
+        batch.cancel();
+        release.countDown();
+        
+        Map<String, ArticleSummarizer.ArticleSummary> results = batch.await();
+        assertTrue(batch.isCancelled());
+        assertEquals(List.of("https://a.com/0"), new ArrayList<>(results.keySet()));
+        assertEquals(List.of("https://a.com/0"), seen);
+    }
+    
+    @Test
+    public void testAwaitWithTimeoutReturnsPartialResults() throws Exception {
+        BatchSummarizer batchSummarizer = new BatchSummarizer(4, 4, url -> {
+            if (url.endsWith("slow")) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return fakeSummary(url);
+        });
+        
+        BatchSummarizer.Batch batch = batchSummarizer.summarizeAll(
+            List.of("https://a.com/fast", "https://a.com/slow", "https://b.com/fast"), (url, summary, completed, total) -> { });
+        Map<String, ArticleSummarizer.ArticleSummary> results = batch.await(500);
+        
+        assertTrue(batch.isCancelled());
+        assertEquals(List.of("https://a.com/fast", "https://b.com/fast"), new ArrayList<>(results.keySet()));
+    }
+    
+    @Test
+    public void testThrowingListenerDoesNotStallBatch() throws Exception {
+        BatchSummarizer batchSummarizer = new BatchSummarizer(1, 1, BatchSummarizerTest::fakeSummary);
+        List<String> urls = List.of("https://a.com/1", "https://a.com/2", "https://a.com/3");
+        
+        BatchSummarizer.Batch batch = batchSummarizer.summarizeAll(urls, (url, summary, completed, total) -> {
+            throw new IllegalStateException("listener bug");
+        });
+        Map<String, ArticleSummarizer.ArticleSummary> results = batch.await(5_000);
+        
+        assertFalse(batch.isCancelled());
+        assertEquals(urls, new ArrayList<>(results.keySet()));
+    }
+}
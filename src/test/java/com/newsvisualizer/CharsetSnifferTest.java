@@ -0,0 +1,75 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.CharsetSniffer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for byte-level charset detection
+ */
+public class CharsetSnifferTest {
+    
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+    private static final String TEXT = "<p>Café owners in São Paulo – “record” sales</p>";
+    
+    @Test
+    public void testByteOrderMarkWinsAndIsSkipped() {
+        byte[] text = TEXT.getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[text.length + 3];
+        body[0] = (byte) 0xEF;
+        body[1] = (byte) 0xBB;
+        body[2] = (byte) 0xBF;
+        System.arraycopy(text, 0, body, 3, text.length);
+        
+        CharsetSniffer.Detection detection = CharsetSniffer.detect(body, "iso-8859-1");
+        
+        assertEquals(CharsetSniffer.Source.BOM, detection.getSource());
+        assertEquals(TEXT, detection.decode(body));
+    }
+    
+    @Test
+    public void testMetaCharsetInHead() {
+        String html = "<html><head><meta http-equiv=\"Content-Type\" content=\"text/html; charset=windows-1252\">"
+            + "</head><body>" + TEXT + "</body></html>";
+        byte[] body = html.getBytes(WINDOWS_1252);
+        
+        CharsetSniffer.Detection detection = CharsetSniffer.detect(body, null);
+        
+        assertEquals(CharsetSniffer.Source.META, detection.getSource());
+        assertEquals(html, detection.decode(body));
+    }
+    
+    @Test
+    public void testWrongHeaderIsOverruledByTheBytes() {
+        // Latin-1 bytes served as UTF-8 would decode to replacement characters
+        byte[] latin = ("<html><body>" + TEXT + TEXT + TEXT + TEXT + "</body></html>").getBytes(WINDOWS_1252);
+        CharsetSniffer.Detection latinDetection = CharsetSniffer.detect(latin, "UTF-8");
+        assertEquals(CharsetSniffer.Source.HEURISTIC, latinDetection.getSource());
+        assertEquals(WINDOWS_1252, latinDetection.getCharset());
+        
+        // UTF-8 bytes labelled Latin-1 would come out as mojibake
+        byte[] utf8 = TEXT.getBytes(StandardCharsets.UTF_8);
+        assertEquals(TEXT, CharsetSniffer.decode(utf8, "ISO-8859-1"));
+    }
+    
+    @Test
+    public void testHeaderAndDefaults() {
+        byte[] ascii = "<p>Plain ASCII page</p>".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(CharsetSniffer.Source.HEADER, CharsetSniffer.detect(ascii, "\"utf-8\"").getSource());
+        assertEquals(StandardCharsets.UTF_8, CharsetSniffer.detect(ascii, "no-such-charset").getCharset());
+        
+        byte[] utf16 = TEXT.getBytes(StandardCharsets.UTF_16LE);
+        assertEquals(StandardCharsets.UTF_16LE, CharsetSniffer.detect(utf16, null).getCharset());
+        
+        // A body cut off in the middle of a multi-byte character is still UTF-8
+        byte[] utf8 = TEXT.getBytes(StandardCharsets.UTF_8);
+        int quoteStart = TEXT.substring(0, TEXT.indexOf('“')).getBytes(StandardCharsets.UTF_8).length;
+        byte[] truncated = Arrays.copyOf(utf8, quoteStart + 1);
+        assertEquals(StandardCharsets.UTF_8, CharsetSniffer.detect(truncated, null).getCharset());
+    }
+}
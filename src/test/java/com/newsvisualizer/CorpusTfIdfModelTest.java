@@ -0,0 +1,113 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.model.NewsArticle;
+import com.newsvisualizer.utils.CorpusTfIdfModel;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the incremental corpus TF-IDF model
+ */
+public class CorpusTfIdfModelTest {
+    
+    private static final long DAY = 24 * 3600L;
+    
+    @Test
+    public void testCommonTermsAreDemoted() {
+        CorpusTfIdfModel model = new CorpusTfIdfModel();
+        long now = 1_700_000_000L;
+        for (int i = 0; i < 20; i++) {
+            model.addTerms(List.of("tfidfsaid", "tfidfofficials", "tfidftopic" + i), now + i);
+        }
+        model.addTerms(List.of("tfidfsaid", "tfidfearthquake"), now + 20);
+        
+        Map<String, Integer> counts = new HashMap<>();
+        counts.put("tfidfsaid", 5);
+        counts.put("tfidfofficials", 4);
+        counts.put("tfidfearthquake", 3);
+        
+        Map<String, Integer> ranked = model.rankTerms(counts, 1);
+        
+        assertEquals("tfidfearthquake", ranked.keySet().iterator().next());
+        assertEquals(3, ranked.get("tfidfearthquake"));
+        assertEquals(1, ranked.size());
+        assertTrue(model.idf("tfidfsaid") < model.idf("tfidfearthquake"));
+    }
+    
+    @Test
+    public void testDocumentFrequenciesDecayWithAge() {
+        CorpusTfIdfModel model = new CorpusTfIdfModel(24.0);
+        long start = 1_700_000_000L;
+        for (int i = 0; i < 10; i++) {
+            model.addTerms(List.of("tfidfelection"), start);
+        }
+        double freshIdf = model.idf("tfidfelection");
+        
+        // Ten half-lives later the old coverage barely counts against the term
+        model.addTerms(List.of("tfidfweather"), start + 10 * DAY);
+        
+        assertTrue(model.idf("tfidfelection") > freshIdf);
+        assertEquals(1.0 + 10 / 1024.0, model.getDocumentCount(), 1e-9);
+    }
+    
+    @Test
+    public void testDuplicateTermsCountOncePerDocument() {
+        CorpusTfIdfModel model = new CorpusTfIdfModel();
+        model.addTerms(List.of("tfidfrepeat", "tfidfrepeat", "tfidfrepeat"), 1_700_000_000L);
+        model.addTerms(List.of("tfidfother"), 1_700_000_000L);
+        
+        assertEquals(model.idf("tfidfrepeat"), model.idf("tfidfother"), 1e-12);
+    }
+    
+    @Test
+    public void testSeenArticlesAgeOutWithTheHalfLife() {
+        CorpusTfIdfModel model = new CorpusTfIdfModel(1.0);
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 12, 0);
+        NewsArticle article = article("Harbor bridge reopens after repairs", start);
+        
+        model.addDocument(article);
+        model.addDocument(article);
+        assertEquals(1.0, model.getDocumentCount(), 1e-9);
+        
+        // Once enough half-lives pass the hash is forgotten and a re-add only adds its faded weight
+        model.addDocument(article("Council approves new budget", start.plusHours(5)));
+        double before = model.getDocumentCount();
+        model.addDocument(article);
+        assertEquals(before + 1 / 32.0, model.getDocumentCount(), 1e-9);
+    }
+    
+    @Test
+    public void testDecayedTermsAreCompactedAway() {
+        CorpusTfIdfModel model = new CorpusTfIdfModel(1.0);
+        long start = 1_700_000_000L;
+        List<String> oldTerms = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            oldTerms.add("tfidfold" + i);
+        }
+        model.addTerms(oldTerms, start);
+        
+        List<String> newTerms = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            newTerms.add("tfidfnew" + i);
+        }
+        model.addTerms(newTerms, start + 20 * 3600);
+        
+        assertEquals(1200, model.getTermCount());
+        assertEquals(model.idf("tfidfnever"), model.idf("tfidfold0"), 1e-12);
+        assertTrue(model.idf("tfidfnew0") < model.idf("tfidfold0"));
+    }
+    
+    private static NewsArticle article(String title, LocalDateTime publishedAt) {
+        NewsArticle article = new NewsArticle();
+        article.setTitle(title);
+        article.setPublishedAt(publishedAt);
+        return article;
+    }
+}
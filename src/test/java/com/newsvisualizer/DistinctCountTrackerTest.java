@@ -0,0 +1,70 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.model.NewsArticle;
+import com.newsvisualizer.model.Source;
+import com.newsvisualizer.utils.DistinctCountTracker;
+import com.newsvisualizer.utils.HyperLogLog;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for HyperLogLog counters and the distinct-count tracker
+ */
+public class DistinctCountTrackerTest {
+    
+    @Test
+    public void testHyperLogLogEstimateAndUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            first.add("outlet-" + i);
+            second.add("outlet-" + (i + 25_000));
+        }
+        // Re-adding values must not change the estimate
+        for (int i = 0; i < 1000; i++) {
+            first.add("outlet-" + i);
+        }
+        
+        assertEquals(50_000, first.estimate(), 50_000 * 0.08);
+        first.merge(second);
+        assertEquals(75_000, first.estimate(), 75_000 * 0.08);
+        
+        HyperLogLog small = new HyperLogLog();
+        small.add("a");
+        small.add("b");
+        small.add("c");
+        assertEquals(3, small.estimate());
+    }
+    
+    @Test
+    public void testDistinctSourcesAndAuthorsAcrossDays() {
+        DistinctCountTracker tracker = new DistinctCountTracker();
+        LocalDate day = LocalDate.of(2024, 5, 1);
+        
+        for (int d = 0; d < 3; d++) {
+            for (int s = 0; s < 20; s++) {
+                // Sources 0-19 on day one, 10-29 on day two, 20-39 on day three
+                Source source = new Source("s" + (s + 10 * d), "Outlet " + (s + 10 * d));
+                NewsArticle article = new NewsArticle("Cyclone landfall update " + d + " " + s,
+                    "Cyclone warning issued", null, "http://test.com/" + d + "/" + s, null,
+                    day.plusDays(d).atTime(12, 0), source, "Reporter " + (s % 5));
+                tracker.addArticle(article);
+                tracker.addArticle(article);
+            }
+        }
+        
+        assertEquals(20, tracker.getDistinctSources("cyclone", day, day), 1);
+        assertEquals(40, tracker.getDistinctSources("cyclone", day, day.plusDays(2)), 1);
+        assertEquals(0, tracker.getDistinctSources("earthquake", day, day.plusDays(2)));
+        assertEquals(1, tracker.getDistinctAuthors("Outlet 15", day, day.plusDays(2)));
+        
+        NewsArticle staff = new NewsArticle("Cyclone recap", null, null, "http://test.com/recap", null,
+            LocalDateTime.of(2024, 5, 2, 18, 0), new Source("s15", "Outlet 15"), "Another Reporter");
+        tracker.addArticle(staff);
+        assertEquals(2, tracker.getDistinctAuthors("Outlet 15", day, day.plusDays(2)));
+    }
+}
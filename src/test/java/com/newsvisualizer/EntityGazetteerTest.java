@@ -0,0 +1,82 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.model.NewsArticle;
+import com.newsvisualizer.model.Source;
+import com.newsvisualizer.utils.EntityGazetteer;
+import com.newsvisualizer.utils.EntityMentionCounter;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the entity gazetteer
+ */
+public class EntityGazetteerTest {
+    
+    @Test
+    public void testLongestMatchWins() {
+        EntityGazetteer gazetteer = EntityGazetteer.getDefault();
+        
+        List<EntityGazetteer.EntityMention> mentions = gazetteer.findMentions(
+            "The Reserve Bank of India met as India and the United States of America talked.");
+        
+        assertEquals(3, mentions.size());
+        assertEquals("Reserve Bank of India", mentions.get(0).getEntity().getName());
+        assertEquals("India", mentions.get(1).getEntity().getName());
+        assertEquals("United States", mentions.get(2).getEntity().getName(), "Aliases map to the canonical name");
+        assertEquals(EntityGazetteer.EntityType.ORGANIZATION, mentions.get(0).getEntity().getType());
+    }
+    
+    @Test
+    public void testShortAcronymsAreCaseSensitive() {
+        EntityGazetteer gazetteer = EntityGazetteer.getDefault();
+        
+        assertTrue(gazetteer.findMentions("Officials who spoke to us declined").isEmpty());
+        assertEquals("World Health Organization",
+            gazetteer.findMentions("The WHO warned on Monday").get(0).getEntity().getName());
+    }
+    
+    @Test
+    public void testMentionCountsAcrossArticles() {
+        Source source = new Source("test", "Test Source");
+        List<NewsArticle> articles = Arrays.asList(
+            new NewsArticle("Narendra Modi visits Japan", "PM Modi met leaders", null,
+                "http://test.com/1", null, LocalDateTime.now(), source, null),
+            new NewsArticle("Modi and Biden discuss trade", null, null,
+                "http://test.com/2", null, LocalDateTime.now(), source, null)
+        );
+        
+        EntityMentionCounter counter = new EntityMentionCounter();
+        counter.addArticles(articles);
+        counter.addArticles(articles);
+        Map<String, Integer> people = counter.getTopEntities(EntityGazetteer.EntityType.PERSON, 5);
+        
+        assertEquals(3, people.get("Narendra Modi").intValue());
+        assertEquals(1, people.get("Joe Biden").intValue());
+        assertFalse(people.containsKey("Japan"), "Type filter should exclude countries");
+    }
+    
+    @Test
+    public void testMentionCountsPerTimeRange() {
+        Source source = new Source("test", "Test Source");
+        LocalDateTime morning = LocalDateTime.of(2024, 3, 1, 9, 0);
+        EntityMentionCounter counter = new EntityMentionCounter();
+        counter.addArticle(new NewsArticle("Modi opens new airport", null, null,
+            "http://test.com/1", null, morning, source, null));
+        counter.addArticle(new NewsArticle("Modi meets Biden", null, null,
+            "http://test.com/2", null, morning.plusDays(1), source, null));
+        
+        long dayTwo = morning.plusDays(1).toLocalDate().atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        Map<String, Integer> recent = counter.getTopEntities(null, dayTwo, dayTwo + 86_400, 5);
+        
+        assertEquals(1, recent.get("Narendra Modi").intValue());
+        assertEquals(1, recent.get("Joe Biden").intValue());
+        assertEquals(2, counter.getMentionCount("Narendra Modi"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.ExtractionBudget;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the interruptible extraction budget
+ */
+public class ExtractionBudgetTest {
+    
+    @Test
+    public void testCatastrophicBacktrackingIsInterrupted() {
+        // Nested greedy groups against a run of a's without a b backtrack polynomially for minutes
+        String hostile = "a".repeat(40) + "c";
+        ExtractionBudget budget = ExtractionBudget.ofMillis(100);
+        Matcher matcher = Pattern.compile("(.*a){20}b").matcher(budget.guard(hostile));
+        
+        long start = System.nanoTime();
+        assertThrows(ExtractionBudget.BudgetExceededException.class, matcher::find);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+        
+        assertTrue(elapsedMillis < 2_000, "took " + elapsedMillis + " ms");
+        assertTrue(budget.isExpired());
+    }
+    
+    @Test
+    public void testGuardedMatchingWithinBudget() {
+        ExtractionBudget budget = ExtractionBudget.ofMillis(10_000);
+        Matcher matcher = Pattern.compile("<h1>(.*?)</h1>").matcher(budget.guard("<p>x</p><h1>Headline</h1>"));
+        
+        assertTrue(matcher.find());
+        assertEquals("Headline", matcher.group(1));
+        assertEquals("x</p>", budget.guard("<p>x</p>").subSequence(3, 8).toString());
+    }
+    
+    @Test
+    public void testStepBudgetNeverOutlivesParent() {
+        ExtractionBudget parent = ExtractionBudget.ofMillis(0);
+        ExtractionBudget step = parent.forStep(60_000);
+        
+        assertTrue(step.isExpired());
+        assertEquals(0, step.remainingMillis());
+        assertThrows(ExtractionBudget.BudgetExceededException.class, step::check);
+        assertTrue(ExtractionBudget.ofMillis(60_000).forStep(50).remainingMillis() <= 50);
+    }
+}
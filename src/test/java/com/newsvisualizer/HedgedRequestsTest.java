@@ -0,0 +1,99 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.ExtractionBudget;
+import com.newsvisualizer.utils.HedgedRequests;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for hedged request attempts
+ */
+public class HedgedRequestsTest {
+    
+    @Test
+    public void testFirstSuccessWinsAndOthersAreCancelled() {
+        List<FakeAttempt> attempts = new ArrayList<>();
+        attempts.add(new FakeAttempt(null, Long.MAX_VALUE)); // hangs until cancelled
+        attempts.add(new FakeAttempt("page", 50));
+        attempts.add(new FakeAttempt("late page", Long.MAX_VALUE));
+        
+        long start = System.nanoTime();
+        String result = HedgedRequests.firstSuccess(attempts, 100, ExtractionBudget.ofMillis(5_000));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        assertEquals("page", result);
+        assertTrue(elapsedMillis < 1_000, "took " + elapsedMillis + " ms");
+        for (FakeAttempt attempt : attempts) {
+            assertEquals(0, attempt.cancelled.getCount());
+        }
+    }
+    
+    @Test
+    public void testFastFailuresDoNotWaitForTheStagger() {
+        List<FakeAttempt> attempts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            attempts.add(new FakeAttempt(null, 0));
+        }
+        
+        long start = System.nanoTime();
+        String result = HedgedRequests.firstSuccess(attempts, 2_000, ExtractionBudget.ofMillis(10_000));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        assertNull(result);
+        assertTrue(elapsedMillis < 1_000, "took " + elapsedMillis + " ms");
+        for (FakeAttempt attempt : attempts) {
+            assertTrue(attempt.started);
+        }
+    }
+    
+    @Test
+    public void testDeadlineBoundsHangingAttempts() {
+        List<FakeAttempt> attempts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            attempts.add(new FakeAttempt("never", Long.MAX_VALUE));
+        }
+        
+        long start = System.nanoTime();
+        String result = HedgedRequests.firstSuccess(attempts, 50, ExtractionBudget.ofMillis(300));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        assertNull(result);
+        assertTrue(elapsedMillis >= 250 && elapsedMillis < 2_000, "took " + elapsedMillis + " ms");
+        assertTrue(attempts.get(5).started);
+    }
+    
+    /**
+     * Attempt that answers after a delay, or blocks until cancelled
+     */
+    private static class FakeAttempt implements HedgedRequests.Attempt<String> {
+        private final String result;
+        private final long delayMillis;
+        private final CountDownLatch cancelled = new CountDownLatch(1);
+        private volatile boolean started;
+        
+        FakeAttempt(String result, long delayMillis) {
+            this.result = result;
+            this.delayMillis = delayMillis;
+        }
+        
+        @Override
+        public String call() throws InterruptedException {
+            started = true;
+            if (cancelled.await(delayMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("aborted");
+            }
+            return result;
+        }
+        
+        @Override
+        public void cancel() {
+            cancelled.countDown();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.HtmlTextExtractor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the streaming HTML text extractor
+ */
+public class HtmlTextExtractorTest {
+    
+    private static String paragraph(int i) {
+        return "<p>Paragraph " + i + " of the story explains what the council decided on Tuesday &amp; why it matters.</p>\n";
+    }
+    
+    @Test
+    public void testPicksArticleBlockAndSkipsBoilerplate() {
+        StringBuilder html = new StringBuilder("<html><head><title>T</title><style>p { color: red; }</style>"
+            + "<script>var x = '<div>not text</div>';</script></head><body>"
+            + "<nav><a href='/'>Home</a> <a href='/world'>World</a></nav>"
+            + "<div class=\"sidebar\"><a href='/a'>Trending link one</a> <a href='/b'>Trending link two</a></div>"
+            + "<article class=\"story\"><h1>Council votes</h1><!-- <p>hidden</p> -->");
+        for (int i = 0; i < 5; i++) {
+            html.append(paragraph(i));
+        }
+        html.append("</article><footer>Copyright 2024 All rights reserved</footer></body></html>");
+        
+        String text = HtmlTextExtractor.extract(html.toString());
+        
+        assertTrue(text.startsWith("Council votes Paragraph 0"), text);
+        assertTrue(text.contains("Tuesday & why"));
+        assertFalse(text.contains("not text"));
+        assertFalse(text.contains("color"));
+        assertFalse(text.contains("hidden"));
+        assertFalse(text.contains("Home"));
+        assertFalse(text.contains("Trending"));
+        assertFalse(text.contains("Copyright"));
+        assertFalse(text.contains("  "));
+    }
+    
+    @Test
+    public void testPageWideFormAndArticleHeaderKeepTheirText() {
+        // ASP.NET WebForms pages wrap the whole body in one form
+        StringBuilder html = new StringBuilder("<body><form id=\"aspnetForm\"><header>Site Name Menu</header>"
+            + "<article><header><h1>Council votes</h1></header>");
+        for (int i = 0; i < 5; i++) {
+            html.append(paragraph(i));
+        }
+        html.append("<footer>Filed under local news</footer></article><footer>Copyright 2024</footer></form></body>");
+        
+        String text = HtmlTextExtractor.extract(html.toString());
+        
+        assertTrue(text.startsWith("Council votes Paragraph 0"), text);
+        assertTrue(text.contains("Paragraph 4 of the story"));
+        assertFalse(text.contains("Site Name"));
+        assertFalse(text.contains("Copyright"));
+    }
+    
+    @Test
+    public void testParagraphFallbackWithoutContainer() {
+        String html = "<body><span>Menu</span><p>Short</p>"
+            + "<p>The first real paragraph has more than thirty characters in it.</p>"
+            + "<p>Subscribe now to get the newsletter delivered every single morning.</p>"
+            + "<p>The second real paragraph is also long enough to be kept.</p>";
+        
+        String text = HtmlTextExtractor.extract(html);
+        
+        assertEquals("The first real paragraph has more than thirty characters in it. "
+            + "The second real paragraph is also long enough to be kept.", text);
+    }
+    
+    @Test
+    public void testEntitiesAndMalformedMarkup() {
+        assertEquals("Tom's \"quote\" — 5 < 6 & é", HtmlTextExtractor.decodeEntities(
+            "Tom&rsquo;s &ldquo;quote&#8221; &mdash; 5 &lt; 6 &amp; &#xE9;"));
+        assertEquals("AT&T and &unknown; stay", HtmlTextExtractor.decodeEntities("AT&T and &unknown; stay"));
+        
+        // Unterminated script and an attribute containing '>' must not break the pass
+        assertEquals("", HtmlTextExtractor.extract("<div title=\"a > b\">x</div><script>never closed"));
+        assertEquals("", HtmlTextExtractor.extract("a < b"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.KeywordAnomalyDetector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the streaming EWMA keyword anomaly detector
+ */
+public class KeywordAnomalyDetectorTest {
+    
+    private static final long START = 1_700_000_000L;
+    
+    @Test
+    public void testSpikeRaisesSingleAlert() {
+        KeywordAnomalyDetector detector = new KeywordAnomalyDetector();
+        List<KeywordAnomalyDetector.KeywordAnomaly> alerts = new ArrayList<>();
+        detector.addListener(alerts::add);
+        
+        // An hour of steady background: "markets" twice a minute, "explosion" never
+        for (int minute = 0; minute < 60; minute++) {
+            detector.addTerm("markets", START + minute * 60);
+            detector.addTerm("markets", START + minute * 60 + 30);
+        }
+        assertTrue(alerts.isEmpty());
+        assertEquals(2.0, detector.getBaseline("markets"), 0.2);
+        
+        // "explosion" suddenly appears a dozen times within one minute
+        for (int i = 0; i < 12; i++) {
+            detector.addTerm("explosion", START + 3600 + i);
+        }
+        detector.addTerm("markets", START + 3600);
+        detector.addTerm("markets", START + 3630);
+        
+        assertEquals(1, alerts.size());
+        assertEquals("explosion", alerts.get(0).getTerm());
+        assertEquals(KeywordAnomalyDetector.DEFAULT_MIN_COUNT, alerts.get(0).getCount());
+    }
+    
+    @Test
+    public void testTrackedTermsAreBounded() {
+        KeywordAnomalyDetector detector = new KeywordAnomalyDetector(60, 0.1, 4.0, 5, 100, 5);
+        for (int i = 0; i < 1000; i++) {
+            detector.addTerm("term" + i, START + i);
+        }
+        assertEquals(100, detector.getTrackedTermCount());
+        assertEquals(0.0, detector.getBaseline("term0"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.KeywordCooccurrence;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the keyword co-occurrence graph
+ */
+public class KeywordCooccurrenceTest {
+    
+    @Test
+    public void testNeighborsOrderedByCount() {
+        KeywordCooccurrence graph = new KeywordCooccurrence();
+        for (int i = 0; i < 5; i++) {
+            graph.addTerms(List.of("cooc-election", "cooc-votes", "cooc-candidate"));
+        }
+        graph.addTerms(List.of("cooc-election", "cooc-weather"));
+        graph.addTerms(List.of("cooc-election", "cooc-votes", "cooc-votes"));
+        
+        List<KeywordCooccurrence.Neighbor> neighbors = graph.getNeighbors("cooc-election", 10);
+        
+        assertEquals(3, neighbors.size());
+        assertEquals("cooc-votes", neighbors.get(0).getTerm());
+        assertEquals(6, neighbors.get(0).getCount());
+        assertEquals("cooc-candidate", neighbors.get(1).getTerm());
+        assertEquals("cooc-weather", neighbors.get(2).getTerm());
+        assertEquals(6, graph.getPairCount("cooc-votes", "cooc-election"));
+        
+        int[][] matrix = graph.getMatrix(List.of("cooc-election", "cooc-votes", "cooc-weather"));
+        assertEquals(6, matrix[0][1]);
+        assertEquals(6, matrix[1][0]);
+        assertEquals(0, matrix[1][2]);
+    }
+    
+    @Test
+    public void testPruningBoundsPairCount() {
+        KeywordCooccurrence graph = new KeywordCooccurrence(100, 10);
+        for (int i = 0; i < 200; i++) {
+            graph.addTerms(List.of("cooc-common-a", "cooc-common-b", "cooc-rare" + i, "cooc-other" + i));
+        }
+        
+        assertTrue(graph.getPairCount() <= 100);
+        assertEquals(200, graph.getPairCount("cooc-common-a", "cooc-common-b"));
+        assertEquals(0, graph.getPairCount("cooc-rare0", "cooc-other0"));
+    }
+    
+    @Test
+    public void testDaysOutsideWindowExpire() {
+        KeywordCooccurrence graph = new KeywordCooccurrence(1000, 10, 7);
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        graph.addTerms(List.of("cooc-window-a", "cooc-window-b"), start);
+        graph.addTerms(List.of("cooc-window-a", "cooc-window-b"), start.plusDays(6));
+        assertEquals(2, graph.getPairCount("cooc-window-a", "cooc-window-b"));
+        
+        graph.addTerms(List.of("cooc-window-a", "cooc-window-c"), start.plusDays(7));
+        assertEquals(1, graph.getPairCount("cooc-window-a", "cooc-window-b"));
+        assertEquals(2, graph.getNeighbors("cooc-window-a", 10).size());
+        
+        // Too old for the window now
+        graph.addTerms(List.of("cooc-window-a", "cooc-window-b"), start);
+        assertEquals(1, graph.getPairCount("cooc-window-a", "cooc-window-b"));
+        
+        graph.addTerms(List.of("cooc-window-d", "cooc-window-e"), start.plusDays(30));
+        assertEquals(0, graph.getPairCount("cooc-window-a", "cooc-window-c"));
+        assertTrue(graph.getNeighbors("cooc-window-a", 10).isEmpty());
+        assertEquals(1, graph.getPairCount());
+    }
+    
+    @Test
+    public void testPruneThresholdFallsAfterExpiry() {
+        KeywordCooccurrence graph = new KeywordCooccurrence(40, 10, 2);
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        // Forty-one pairs seen three times each: the overflow prune has to climb past the minimum
+        for (int i = 0; i < 41; i++) {
+            for (int repeat = 0; repeat < 3; repeat++) {
+                graph.addTerms(List.of("cooc-busy-a" + i, "cooc-busy-b" + i), start);
+            }
+        }
+        assertTrue(graph.getPruneThreshold() > KeywordCooccurrence.DEFAULT_MIN_SUPPORT);
+        
+        // The busy day expires; a new prune starts again from the minimum support
+        LocalDate later = start.plusDays(5);
+        for (int i = 0; i < 30; i++) {
+            graph.addTerms(List.of("cooc-quiet-a" + i, "cooc-quiet-b" + i), later);
+            graph.addTerms(List.of("cooc-quiet-a" + i, "cooc-quiet-b" + i), later);
+        }
+        for (int i = 0; i < 11; i++) {
+            graph.addTerms(List.of("cooc-single-a" + i, "cooc-single-b" + i), later);
+        }
+        assertEquals(KeywordCooccurrence.DEFAULT_MIN_SUPPORT, graph.getPruneThreshold());
+        assertEquals(2, graph.getPairCount("cooc-quiet-a0", "cooc-quiet-b0"));
+    }
+    
+    @Test
+    public void testExpiredTermsLeaveTheDictionary() {
+        KeywordCooccurrence graph = new KeywordCooccurrence(100_000, 10, 1);
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        for (int i = 0; i < 3000; i++) {
+            graph.addTerms(List.of("cooc-gone-a" + i, "cooc-gone-b" + i), start);
+        }
+        graph.addTerms(List.of("cooc-kept-a", "cooc-kept-b"), start.plusDays(1));
+        graph.addTerms(List.of("cooc-kept-a", "cooc-kept-b"), start.plusDays(1));
+        
+        assertEquals(2, graph.getTermCount());
+        assertEquals(2, graph.getPairCount("cooc-kept-b", "cooc-kept-a"));
+        assertEquals(0, graph.getPairCount("cooc-gone-a0", "cooc-gone-b0"));
+        assertEquals("cooc-kept-b", graph.getNeighbors("cooc-kept-a", 5).get(0).getTerm());
+    }
+}
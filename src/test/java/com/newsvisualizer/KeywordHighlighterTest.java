@@ -0,0 +1,79 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.ArticleSummarizer;
+import com.newsvisualizer.utils.KeywordHighlighter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the single-pass keyword highlighter
+ */
+public class KeywordHighlighterTest {
+    
+    private static final String OPEN = KeywordHighlighter.DEFAULT_OPEN_TAG;
+    private static final String CLOSE = KeywordHighlighter.DEFAULT_CLOSE_TAG;
+    
+    @Test
+    public void testWholeWordCaseInsensitiveMatches() {
+        KeywordHighlighter highlighter = new KeywordHighlighter(List.of("election", "delhi", "in"));
+        
+        String result = highlighter.highlight("Election results in Delhi; elections elsewhere. DELHI votes.");
+        
+        assertEquals(OPEN + "Election" + CLOSE + " results in " + OPEN + "Delhi" + CLOSE
+            + "; elections elsewhere. " + OPEN + "DELHI" + CLOSE + " votes.", result);
+    }
+    
+    @Test
+    public void testLongestKeywordWins() {
+        KeywordHighlighter highlighter = new KeywordHighlighter(List.of("prime", "prime minister"));
+        
+        assertEquals("The " + OPEN + "Prime Minister" + CLOSE + " met the " + OPEN + "prime" + CLOSE + " suspect.",
+            highlighter.highlight("The Prime Minister met the prime suspect."));
+    }
+    
+    @Test
+    public void testMarkupIsNotHighlighted() {
+        KeywordHighlighter highlighter = new KeywordHighlighter(List.of("span", "style", "color"));
+        
+        String text = "<span style=\"color:red\">Color and style</span>";
+        
+        assertEquals("<span style=\"color:red\">" + OPEN + "Color" + CLOSE + " and " + OPEN + "style" + CLOSE + "</span>",
+            highlighter.highlight(text));
+        assertEquals("a < b", highlighter.highlight("a < b"));
+    }
+    
+    @Test
+    public void testCharacterReferencesAreNotHighlighted() {
+        KeywordHighlighter highlighter = new KeywordHighlighter(List.of("amp", "quot"));
+        
+        assertEquals("Tom &amp; Jerry &quot;" + OPEN + "amp" + CLOSE + "&quot; & co",
+            highlighter.highlight("Tom &amp; Jerry &quot;amp&quot; & co"));
+    }
+    
+    @Test
+    public void testMatchesLegacyReplaceAllOnPlainText() {
+        List<String> keywords = List.of("market", "stocks", "investors", "rally");
+        String text = "Stocks rallied as investors returned to the market. The market rally lifted stocks, "
+            + "and Investors cheered the stockmarket rally.";
+        
+        String legacy = text;
+        for (String keyword : keywords) {
+            legacy = legacy.replaceAll("\\b(?i)" + Pattern.quote(keyword) + "\\b", OPEN + "$0" + CLOSE);
+        }
+        
+        assertEquals(legacy, new KeywordHighlighter(keywords).highlight(text));
+    }
+    
+    @Test
+    public void testSummaryTextIsEscapedBeforeHighlighting() {
+        Map<String, Integer> keywords = Map.of("budget", 3, "lt", 1);
+        
+        assertEquals(OPEN + "Budget" + CLOSE + " &lt;b&gt; &amp; " + OPEN + "budget" + CLOSE + " cuts",
+            ArticleSummarizer.highlightKeywords("Budget <b> & budget cuts", keywords));
+    }
+}
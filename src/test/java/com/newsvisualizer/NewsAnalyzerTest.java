@@ -2,6 +2,8 @@ package com.newsvisualizer;
 
 import com.newsvisualizer.model.NewsArticle;
 import com.newsvisualizer.model.Source;
+import com.newsvisualizer.utils.AnalysisCache;
+import com.newsvisualizer.utils.ArticleColumnStore;
 import com.newsvisualizer.utils.NewsAnalyzer;
 import org.junit.jupiter.api.Test;
 
@@ -97,6 +99,24 @@ public class NewsAnalyzerTest {
         assertTrue(keywords.get("technology") >= 2, "Technology should appear at least 2 times");
     }
     
+    @Test
+    public void testKeyPhraseExtraction() {
+        Source testSource = new Source("test", "Test Source");
+        
+        List<NewsArticle> articles = Arrays.asList(
+            createTestArticle("The prime minister visited the stock market.", testSource),
+            createTestArticle("Stock market rallies after prime minister speech", testSource),
+            createTestArticle("Prime minister, market", testSource)
+        );
+        
+        Map<String, Integer> phrases = NewsAnalyzer.extractKeyPhrases(articles, 10);
+        
+        assertTrue(phrases.containsKey("prime minister"), "Should contain 'prime minister' phrase");
+        assertTrue(phrases.containsKey("stock market"), "Should contain 'stock market' phrase");
+        assertEquals(9, phrases.get("prime minister").intValue(), "Phrase appears in title, description and content");
+        assertFalse(phrases.containsKey("minister market"), "Punctuation should break phrases");
+    }
+    
     @Test
     public void testSentimentDistribution() {
         Source testSource = new Source("test", "Test Source");
@@ -139,6 +159,55 @@ public class NewsAnalyzerTest {
         assertEquals(1, distribution.get("Source Two").intValue(), "Source Two should have 1 article");
     }
     
+    @Test
+    public void testAnalysisIsMemoizedByContent() {
+        Source testSource = new Source("test", "Test Source");
+        AnalysisCache cache = AnalysisCache.getInstance();
+        
+        NewsArticle article = createTestArticle("Memoized wonderful breakthrough " + Math.random(), testSource);
+        NewsArticle duplicate = new NewsArticle(article.getTitle(), article.getDescription(), article.getContent(),
+            "http://test.com/duplicate", null, LocalDateTime.now(), testSource, "Other Author");
+        
+        NewsAnalyzer.analyzeSentiment(Arrays.asList(article));
+        long misses = cache.getMissCount();
+        
+        // A refetched duplicate with identical text is served from the cache
+        NewsAnalyzer.analyzeSentiment(Arrays.asList(duplicate));
+        assertEquals(misses, cache.getMissCount(), "Identical content should not be rescored");
+        assertEquals(article.getSentimentScore(), duplicate.getSentimentScore());
+        
+        // Any text change produces a new key
+        duplicate.setContent(duplicate.getContent() + " terrible");
+        NewsAnalyzer.analyzeSentiment(Arrays.asList(duplicate));
+        assertEquals(misses + 1, cache.getMissCount(), "Changed content should be rescored");
+    }
+    
+    @Test
+    public void testColumnStoreMatchesListAnalytics() {
+        Source source1 = new Source("source1", "Source One");
+        Source source2 = new Source("source2", "Source Two");
+        
+        List<NewsArticle> articles = Arrays.asList(
+            createTestArticle("Great excellent amazing", source1),
+            createTestArticle("Terrible horrible awful", source1),
+            createTestArticle("Normal regular standard", source2)
+        );
+        articles.get(2).setPublishedAt(LocalDateTime.now().minusDays(3));
+        NewsAnalyzer.analyzeSentiment(articles);
+        
+        ArticleColumnStore store = ArticleColumnStore.fromArticles(articles);
+        
+        assertEquals(3, store.size());
+        assertEquals(articles.get(0).getTitle(), store.getTitle(0));
+        assertEquals(articles.get(2).getContent(), store.getContent(2));
+        assertEquals(NewsAnalyzer.getSourceDistribution(articles), NewsAnalyzer.getSourceDistribution(store));
+        assertEquals(NewsAnalyzer.getSentimentDistribution(articles), NewsAnalyzer.getSentimentDistribution(store));
+        assertEquals(NewsAnalyzer.getAverageSentiment(articles), NewsAnalyzer.getAverageSentiment(store), 1e-6);
+        assertEquals(2, NewsAnalyzer.getDateDistribution(store).size(), "Articles span two dates");
+        assertEquals(2, NewsAnalyzer.getRecentRows(store, 24).length);
+        assertArrayEquals(new int[] {0, 1}, NewsAnalyzer.groupBySource(store).get("Source One"));
+    }
+    
     private NewsArticle createTestArticle(String content, Source source) {
         return new NewsArticle(
             "Test Title: " + content,
@@ -0,0 +1,39 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.RecentHashes;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the bounded dedupe set of content hashes
+ */
+public class RecentHashesTest {
+    
+    @Test
+    public void testHashesExpireWithGenerations() {
+        RecentHashes hashes = new RecentHashes(2, 100);
+        assertTrue(hashes.add(1L));
+        assertFalse(hashes.add(1L));
+        
+        hashes.advance();
+        assertTrue(hashes.add(2L));
+        assertTrue(hashes.contains(1L));
+        
+        hashes.advance();
+        assertFalse(hashes.contains(1L));
+        assertTrue(hashes.contains(2L));
+        assertTrue(hashes.add(1L));
+    }
+    
+    @Test
+    public void testFullGenerationAdvancesOnItsOwn() {
+        RecentHashes hashes = new RecentHashes(3, 10);
+        for (long hash = 0; hash < 1000; hash++) {
+            hashes.add(hash);
+        }
+        assertTrue(hashes.size() <= 30);
+        assertTrue(hashes.contains(999L));
+        assertFalse(hashes.contains(0L));
+    }
+}
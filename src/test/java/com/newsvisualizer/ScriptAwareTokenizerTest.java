@@ -0,0 +1,66 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.model.NewsArticle;
+import com.newsvisualizer.model.Source;
+import com.newsvisualizer.utils.NewsAnalyzer;
+import com.newsvisualizer.utils.ScriptAwareTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for script-aware tokenization
+ */
+public class ScriptAwareTokenizerTest {
+    
+    @Test
+    public void testScriptDetection() {
+        assertEquals(ScriptAwareTokenizer.Script.ASCII, ScriptAwareTokenizer.detectScript("Markets rally today"));
+        assertEquals(ScriptAwareTokenizer.Script.DEVANAGARI, ScriptAwareTokenizer.detectScript("भारत में चुनाव"));
+        assertEquals(ScriptAwareTokenizer.Script.CJK, ScriptAwareTokenizer.detectScript("東京で地震"));
+        assertEquals(ScriptAwareTokenizer.Script.OTHER, ScriptAwareTokenizer.detectScript("Café société"));
+    }
+    
+    @Test
+    public void testAsciiFastPath() {
+        assertEquals(List.of("breaking", "news", "u", "s", "stocks_up", "2024"),
+                ScriptAwareTokenizer.tokenize("  Breaking NEWS: U.S. stocks_up 2024!"));
+    }
+    
+    @Test
+    public void testDevanagariKeepsCombiningMarks() {
+        // Vowel signs and the virama must not split words
+        assertEquals(List.of("भारत", "में", "चुनाव", "प्रधानमंत्री"),
+                ScriptAwareTokenizer.tokenize("भारत में चुनाव, प्रधानमंत्री।"));
+    }
+    
+    @Test
+    public void testCjkBigrams() {
+        assertEquals(List.of("東京", "京都", "news"), ScriptAwareTokenizer.tokenize("東京都 News"));
+        assertEquals(List.of("雨"), ScriptAwareTokenizer.tokenize("雨"));
+    }
+    
+    @Test
+    public void testAnalyzerUsesScriptAwareTokens() {
+        Source source = new Source("test", "Test Source");
+        NewsArticle hindi = new NewsArticle("दिल्ली में संकट", "दिल्ली में भारी संकट और नुकसान", null,
+                "http://test.com/hi", null, LocalDateTime.now(), source, null);
+        NewsArticle chinese = new NewsArticle("北京地震", "北京发生地震", null,
+                "http://test.com/zh", null, LocalDateTime.now(), source, null);
+        
+        NewsAnalyzer.analyzeSentiment(List.of(hindi));
+        assertTrue(hindi.getSentimentScore() < 0);
+        
+        Map<String, Integer> hindiKeywords = NewsAnalyzer.extractKeywords(List.of(hindi), 5);
+        assertEquals(2, hindiKeywords.get("दिल्ली"));
+        assertFalse(hindiKeywords.containsKey("में"));
+        
+        Map<String, Integer> chineseKeywords = NewsAnalyzer.extractKeywords(List.of(chinese), 5);
+        assertEquals(2, chineseKeywords.get("北京"));
+        assertEquals(2, chineseKeywords.get("地震"));
+    }
+}
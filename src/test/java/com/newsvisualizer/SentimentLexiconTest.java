@@ -0,0 +1,64 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.SentimentLexicon;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the compiled sentiment lexicon
+ */
+public class SentimentLexiconTest {
+    
+    private static final String LEXICON = "# test lexicon\n"
+            + "good\t1.0\n"
+            + "disaster\t-2.0\n"
+            + "not\t-0.75\tNEGATOR\n"
+            + "very\t1.5\tINTENSIFIER\n";
+    
+    private static double score(SentimentLexicon lexicon, String text) {
+        SentimentLexicon.Scorer scorer = lexicon.newScorer();
+        for (String token : text.split(" ")) {
+            scorer.accept(token);
+        }
+        return scorer.getScore();
+    }
+    
+    @Test
+    public void testWeightsNegationAndIntensifiers() throws Exception {
+        SentimentLexicon lexicon = SentimentLexicon.compile(new StringReader(LEXICON));
+        
+        assertEquals(4, lexicon.size());
+        assertEquals(1.0, score(lexicon, "a good day"), 1e-6);
+        assertEquals(-2.0, score(lexicon, "a disaster"), 1e-6);
+        assertEquals(1.5, score(lexicon, "a very good day"), 1e-6);
+        assertEquals(-0.75, score(lexicon, "not a good day"), 1e-6);
+        assertEquals(-1.125, score(lexicon, "not very good"), 1e-6);
+        
+        // The negation window closes after a few tokens
+        assertEquals(1.0, score(lexicon, "not that it was ever good"), 1e-6);
+    }
+    
+    @Test
+    public void testLaterSourcesOverrideEarlierOnes() throws Exception {
+        SentimentLexicon lexicon = SentimentLexicon.compile(List.of(
+                new StringReader(LEXICON), new StringReader("good\t0.25\nbad\t-1\n")));
+        
+        assertEquals(0.25, lexicon.getWeight("good"), 1e-6);
+        assertEquals(-1.0, lexicon.getWeight("bad"), 1e-6);
+        assertEquals(0.0, lexicon.getWeight("very"), 1e-6);
+        assertEquals(0.0, lexicon.getWeight("unknown"), 1e-6);
+    }
+    
+    @Test
+    public void testBundledLexiconLoads() {
+        SentimentLexicon lexicon = SentimentLexicon.getInstance();
+        
+        assertTrue(lexicon.getWeight("excellent") > 0);
+        assertTrue(lexicon.getWeight("disaster") < 0);
+        assertTrue(lexicon.getWeight("संकट") < 0);
+    }
+}
@@ -0,0 +1,112 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.model.NewsArticle;
+import com.newsvisualizer.model.Source;
+import com.newsvisualizer.utils.KllSketch;
+import com.newsvisualizer.utils.SentimentQuantiles;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the KLL sketch and per-dimension sentiment quantiles
+ */
+public class SentimentQuantilesTest {
+    
+    @Test
+    public void testQuantilesStayAccurateAndBounded() {
+        KllSketch sketch = new KllSketch();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            sketch.update(random.nextDouble());
+        }
+        
+        assertEquals(100_000, sketch.getCount());
+        assertEquals(0.10, sketch.getQuantile(0.10), 0.02);
+        assertEquals(0.50, sketch.getQuantile(0.50), 0.02);
+        assertEquals(0.90, sketch.getQuantile(0.90), 0.02);
+        assertTrue(sketch.getMin() >= 0 && sketch.getMax() < 1);
+    }
+    
+    @Test
+    public void testMergedSketchMatchesCombinedStream() {
+        KllSketch low = new KllSketch();
+        KllSketch high = new KllSketch();
+        for (int i = 0; i < 5000; i++) {
+            low.update(i / 10000.0);
+            high.update(0.5 + i / 10000.0);
+        }
+        
+        KllSketch merged = KllSketch.merged(low, high);
+        
+        assertEquals(10_000, merged.getCount());
+        assertEquals(5000, low.getCount(), "inputs are left untouched");
+        assertEquals(0.5, merged.getQuantile(0.5), 0.02);
+        assertEquals(0.0, merged.getMin());
+        assertEquals(0.9999, merged.getMax(), 1e-6);
+    }
+    
+    @Test
+    public void testConcurrentBatchesPerSource() throws Exception {
+        SentimentQuantiles quantiles = new SentimentQuantiles();
+        Source calm = new Source("calm", "Calm Daily");
+        Source grim = new Source("grim", "Grim Times");
+        
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int thread = t;
+            threads.add(new Thread(() -> {
+                SentimentQuantiles.Batch batch = quantiles.newBatch();
+                for (int i = 0; i < 500; i++) {
+                    boolean isCalm = i % 2 == 0;
+                    NewsArticle article = new NewsArticle("Article " + thread + "-" + i, null, null,
+                        "http://test.com/" + thread + "/" + i, null, LocalDateTime.now(), isCalm ? calm : grim, null);
+                    article.setSentimentScore(isCalm ? 0.1 + (i % 10) / 100.0 : -0.5);
+                    batch.add(article);
+                }
+                batch.commit();
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        SentimentQuantiles.Summary calmSummary = quantiles.getSummary(SentimentQuantiles.Dimension.SOURCE, "Calm Daily");
+        SentimentQuantiles.Summary grimSummary = quantiles.getSummary(SentimentQuantiles.Dimension.SOURCE, "Grim Times");
+        
+        assertEquals(1000, calmSummary.getCount());
+        assertEquals(1000, grimSummary.getCount());
+        assertTrue(calmSummary.getP10() >= 0.1 && calmSummary.getP90() <= 0.19);
+        assertEquals(-0.5, grimSummary.getP50(), 1e-6);
+        assertEquals(2, quantiles.getSummaries(SentimentQuantiles.Dimension.SOURCE, 10).size());
+    }
+    
+    @Test
+    public void testDuplicatesSkippedWithinSeenWindow() {
+        SentimentQuantiles quantiles = new SentimentQuantiles();
+        Source source = new Source("wire", "Wire Service");
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 9, 0);
+        NewsArticle article = new NewsArticle("Port strike ends", null, null,
+            "http://test.com/port", null, start, source, null);
+        article.setSentimentScore(0.2);
+        
+        quantiles.addArticles(List.of(article, article));
+        quantiles.addArticles(List.of(article));
+        assertEquals(1, quantiles.getSummary(SentimentQuantiles.Dimension.SOURCE, "Wire Service").getCount());
+        
+        // A week of newer days later the hash has been forgotten
+        NewsArticle later = new NewsArticle("Markets rally", null, null,
+            "http://test.com/rally", null, start.plusDays(SentimentQuantiles.SEEN_WINDOW_DAYS), source, null);
+        later.setSentimentScore(0.4);
+        quantiles.addArticles(List.of(later, article));
+        assertEquals(3, quantiles.getSummary(SentimentQuantiles.Dimension.SOURCE, "Wire Service").getCount());
+    }
+}
@@ -0,0 +1,60 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.model.NewsArticle;
+import com.newsvisualizer.model.Source;
+import com.newsvisualizer.utils.StoryClusterer;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MinHash-LSH story clustering
+ */
+public class StoryClustererTest {
+    
+    @Test
+    public void testNearDuplicatesAcrossSourcesAreClustered() {
+        LocalDateTime now = LocalDateTime.now();
+        NewsArticle bbc = article("Heavy floods hit Mumbai as monsoon rains intensify overnight",
+            "Heavy floods hit Mumbai after monsoon rains intensify, disrupting trains", "BBC News", now);
+        NewsArticle hindu = article("Heavy floods hit Mumbai as monsoon rains intensify",
+            "Heavy floods hit Mumbai after monsoon rains intensify, disrupting local trains", "The Hindu", now.minusHours(2));
+        NewsArticle other = article("Central bank holds interest rates steady",
+            "Policy makers kept borrowing costs unchanged citing inflation outlook", "BBC News", now);
+        
+        List<StoryClusterer.StoryCluster> clusters = StoryClusterer.cluster(Arrays.asList(bbc, hindu, other));
+        
+        assertEquals(2, clusters.size(), "Flood coverage should collapse into one story");
+        StoryClusterer.StoryCluster flood = clusters.get(0);
+        assertEquals(2, flood.size());
+        assertEquals(2, flood.getSources().size());
+        assertSame(hindu, flood.getRepresentative(), "Earliest article represents the story");
+        assertEquals(hindu.getPublishedAt(), flood.getFirstSeen());
+    }
+    
+    @Test
+    public void testDevanagariNearDuplicatesAreClustered() {
+        LocalDateTime now = LocalDateTime.now();
+        NewsArticle first = article("मुंबई में भारी बारिश से बाढ़, लोकल ट्रेन सेवाएं ठप",
+            "मुंबई में भारी बारिश के कारण कई इलाकों में पानी भर गया और लोकल ट्रेन सेवाएं ठप हो गईं", "Aaj Tak", now);
+        NewsArticle second = article("मुंबई में भारी बारिश से बाढ़, लोकल ट्रेन सेवाएं ठप",
+            "मुंबई में भारी बारिश के कारण कई इलाकों में पानी भर गया, लोकल ट्रेन सेवाएं ठप हो गईं", "Dainik Bhaskar", now.minusHours(1));
+        NewsArticle other = article("रिज़र्व बैंक ने ब्याज दरें स्थिर रखीं",
+            "मौद्रिक नीति समिति ने महंगाई को देखते हुए रेपो दर में कोई बदलाव नहीं किया", "Aaj Tak", now);
+        
+        List<StoryClusterer.StoryCluster> clusters = StoryClusterer.cluster(Arrays.asList(first, second, other));
+        
+        assertEquals(2, clusters.size(), "Hindi flood coverage should collapse into one story");
+        assertEquals(2, clusters.get(0).size());
+        assertSame(second, clusters.get(0).getRepresentative());
+    }
+    
+    private NewsArticle article(String title, String description, String source, LocalDateTime publishedAt) {
+        return new NewsArticle(title, description, null, "http://test.com/" + Math.random(),
+            null, publishedAt, new Source(source, source), "Test Author");
+    }
+}
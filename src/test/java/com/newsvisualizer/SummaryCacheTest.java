@@ -0,0 +1,101 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.model.CachedUrlSummary;
+import com.newsvisualizer.utils.ArticleSummarizer;
+import com.newsvisualizer.utils.SummaryCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the two-tier URL summary cache
+ */
+public class SummaryCacheTest {
+    
+    /**
+     * Map-backed stand-in for the database tier
+     */
+    private static class MemoryStore implements SummaryCache.Store {
+        private final Map<String, CachedUrlSummary> rows = new HashMap<>();
+        
+        @Override
+        public CachedUrlSummary findUrlSummary(String canonicalUrl) {
+            return rows.get(canonicalUrl);
+        }
+        
+        @Override
+        public void saveUrlSummary(CachedUrlSummary cached) {
+            rows.put(cached.getCanonicalUrl(), cached);
+        }
+        
+        @Override
+        public boolean touchUrlSummary(String canonicalUrl, LocalDateTime validatedAt) {
+            return rows.containsKey(canonicalUrl);
+        }
+    }
+    
+    private static ArticleSummarizer.ArticleSummary summary() {
+        Map<String, Integer> keywords = new LinkedHashMap<>();
+        keywords.put("election", 5);
+        keywords.put("vote", 3);
+        return new ArticleSummarizer.ArticleSummary("Election results", "Line one.\n\nLine \"two\".",
+            List.of("📌 First point.", "📌 Second point."), keywords, 1200, "https://example.com/story");
+    }
+    
+    @Test
+    public void testCanonicalization() {
+        assertEquals("https://example.com/news/story?id=7",
+            SummaryCache.canonicalize("HTTPS://Example.COM:443/news/story/?utm_source=x&id=7&fbclid=abc#comments"));
+        assertEquals("http://example.com:8080/", SummaryCache.canonicalize("http://example.com:8080"));
+        assertEquals("not a url", SummaryCache.canonicalize(" not a url "));
+    }
+    
+    @Test
+    public void testPersistentTierSurvivesMemoryClear() {
+        MemoryStore store = new MemoryStore();
+        SummaryCache cache = new SummaryCache(8, Duration.ofMinutes(15));
+        cache.setStore(store);
+        String url = SummaryCache.canonicalize("https://example.com/story");
+        
+        assertNull(cache.get(url));
+        cache.put(url, "\"v1\"", null, 42L, summary());
+        cache.clear();
+        
+        // A new process starts with an empty memory tier and reloads from the store
+        SummaryCache.Entry entry = cache.get(url);
+        assertNotNull(entry);
+        assertEquals("\"v1\"", entry.getEtag());
+        assertEquals(42L, entry.getBodyHash());
+        assertTrue(cache.isFresh(entry));
+        
+        ArticleSummarizer.ArticleSummary restored = entry.getSummary();
+        assertEquals("Election results", restored.getTitle());
+        assertEquals("Line one.\n\nLine \"two\".", restored.getSummary());
+        assertEquals(List.of("📌 First point.", "📌 Second point."), restored.getKeyPoints());
+        assertEquals(List.of("election", "vote"), List.copyOf(restored.getKeywords().keySet()));
+        assertEquals(1200, restored.getWordCount());
+    }
+    
+    @Test
+    public void testFreshnessAndLruEviction() {
+        SummaryCache cache = new SummaryCache(2, Duration.ZERO);
+        cache.put("https://a.com/1", null, null, 1L, summary());
+        cache.put("https://a.com/2", null, null, 2L, summary());
+        cache.get("https://a.com/1");
+        cache.put("https://a.com/3", null, null, 3L, summary());
+        
+        assertEquals(2, cache.size());
+        assertNull(cache.get("https://a.com/2"));
+        SummaryCache.Entry entry = cache.get("https://a.com/1");
+        assertNotNull(entry);
+        // Zero freshness: every hit must be revalidated with the origin
+        assertFalse(cache.isFresh(entry));
+    }
+}
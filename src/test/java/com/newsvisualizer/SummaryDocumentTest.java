@@ -0,0 +1,68 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.SummaryDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the shared sentence model used by the summarizer
+ */
+public class SummaryDocumentTest {
+    
+    @Test
+    public void testSentencesMatchRegexSplit() {
+        String[] texts = {
+            "Markets rose today. Investors cheered the news.  Analysts were cautious.",
+            "No period at all",
+            "Ends with a period.   ",
+            "Version 2.0 shipped. U.S. officials said.\nNext line.",
+            ""
+        };
+        for (String text : texts) {
+            String[] expected = text.split("(?<=\\.)\\s+");
+            SummaryDocument document = SummaryDocument.build(text, Set.of());
+            assertEquals(expected.length, document.getSentenceCount(), text);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], document.getSentence(i));
+            }
+        }
+    }
+    
+    @Test
+    public void testFrequencyTableAndVectors() {
+        String text = "Election officials counted votes in Delhi. The election results were delayed. "
+            + "Officials said 2024 turnout was high.";
+        SummaryDocument document = SummaryDocument.build(text, Set.of("the", "said", "were", "was"));
+        
+        assertEquals(3, document.getSentenceCount());
+        assertEquals(2, (int) document.getWordFrequency().get("election"));
+        assertEquals(2, (int) document.getWordFrequency().get("officials"));
+        // Stop words, short words and bare numbers are not keywords
+        assertFalse(document.getWordFrequency().containsKey("the"));
+        assertFalse(document.getWordFrequency().containsKey("in"));
+        assertFalse(document.getWordFrequency().containsKey("2024"));
+        
+        assertTrue(document.hasDigit(2));
+        assertFalse(document.hasDigit(0));
+        assertEquals(1, document.getCapitalizedWordCount(0)); // "Delhi." carries punctuation, like the old [A-Z][a-z]+ match
+        
+        // Sentence 0: election(2) + officials(2) + counted(1) + votes(1) + delhi(1)
+        assertEquals(7, document.frequencyScore(0, 1));
+        assertEquals(4, document.frequencyScore(0, 2));
+        
+        int[] ids = document.getVectorIds(1);
+        int[] counts = document.getVectorCounts(1);
+        assertEquals(ids.length, counts.length);
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i - 1] < ids[i]);
+        }
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        assertEquals(document.getTokenIds(1).length, total);
+    }
+}
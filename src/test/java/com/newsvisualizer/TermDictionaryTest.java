@@ -0,0 +1,51 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.TermDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the shared term dictionary
+ */
+public class TermDictionaryTest {
+    
+    @Test
+    public void testConcurrentInterningAssignsOneIdPerTerm() throws Exception {
+        TermDictionary dictionary = new TermDictionary();
+        int[][] seen = new int[4][3000];
+        AtomicInteger unresolved = new AtomicInteger();
+        
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int thread = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 3000; i++) {
+                    int id = dictionary.getOrAdd("term" + i);
+                    if (!("term" + i).equals(dictionary.getTerm(id))) {
+                        unresolved.incrementAndGet();
+                    }
+                    seen[thread][i] = id;
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(0, unresolved.get());
+        assertEquals(3000, dictionary.size());
+        for (int i = 0; i < 3000; i++) {
+            assertEquals(seen[0][i], seen[3][i]);
+            assertEquals(seen[0][i], dictionary.getId("term" + i));
+        }
+        assertEquals(-1, dictionary.getId("never-seen"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.ExtractionBudget;
+import com.newsvisualizer.utils.SummaryDocument;
+import com.newsvisualizer.utils.TextRankSummarizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TextRank sentence ranking
+ */
+public class TextRankSummarizerTest {
+    
+    @Test
+    public void testCentralSentenceRanksHighest() {
+        String text = "Flooding closed schools across Assam. "
+            + "Landslides damaged roads and bridges. "
+            + "Officials said schools, roads, bridges and villages would reopen after flooding and landslides recede. "
+            + "Rescue teams reached stranded villages. "
+            + "Cricket fans celebrated a late victory.";
+        SummaryDocument document = SummaryDocument.build(text, Set.of("said", "would", "after", "near"));
+        
+        TextRankSummarizer.Ranking ranking = TextRankSummarizer.rank(document, ExtractionBudget.ofMillis(5_000));
+        
+        assertTrue(ranking.isConverged());
+        double sum = 0;
+        int best = 0;
+        for (int i = 0; i < document.getSentenceCount(); i++) {
+            sum += ranking.getScore(i);
+            if (ranking.getScore(i) > ranking.getScore(best)) {
+                best = i;
+            }
+        }
+        assertEquals(1.0, sum, 1e-6);
+        assertEquals(2, best);
+        // The unrelated sentence has no edges and keeps only the teleport share
+        assertTrue(ranking.getScore(4) < ranking.getScore(3));
+    }
+    
+    @Test
+    public void testLongArticleStaysSparseAndFast() {
+        String[] topics = {"budget", "election", "pipeline", "vaccine", "satellite", "harbour", "tariff", "monsoon"};
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            text.append("Reporters traced the ").append(topics[i % topics.length])
+                .append(" records of case").append(i).append(" through ")
+                .append(topics[(i * 3 + 1) % topics.length]).append(" filings. ");
+        }
+        SummaryDocument document = SummaryDocument.build(text.toString(), Set.of("through"));
+        
+        long start = System.nanoTime();
+        TextRankSummarizer.Ranking ranking = TextRankSummarizer.rank(document, ExtractionBudget.ofMillis(5_000));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        assertEquals(600, document.getSentenceCount());
+        assertTrue(ranking.isConverged());
+        // "reporters", "traced", "records" and "filings" occur everywhere and must not link every pair
+        assertTrue(ranking.getEdgeCount() < 600 * 599 / 2);
+        assertTrue(elapsedMillis < 2_000, "ranking took " + elapsedMillis + " ms");
+    }
+    
+    @Test
+    public void testExpiredBudgetStopsGraphConstruction() {
+        SummaryDocument document = SummaryDocument.build(
+            "Markets rallied on Monday. Markets slipped on Tuesday. Markets closed flat on Wednesday.", Set.of());
+        
+        assertThrows(ExtractionBudget.BudgetExceededException.class,
+            () -> TextRankSummarizer.rank(document, ExtractionBudget.ofMillis(0)));
+    }
+}
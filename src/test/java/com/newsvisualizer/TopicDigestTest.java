@@ -0,0 +1,118 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.utils.ArticleLinkExtractor;
+import com.newsvisualizer.utils.ArticleSummarizer;
+import com.newsvisualizer.utils.TopicDigest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for topic page link extraction and digest merging
+ */
+public class TopicDigestTest {
+    
+    private static final String TOPIC_URL = "https://www.example.com/topic/elections";
+    
+    @Test
+    public void testArticleLinksAreExtractedInPageOrder() {
+        String html = "<html><body>"
+            + "<nav><a href=\"/\">Home</a> <a href=\"/topic/sports\">Sports</a> <a href=\"/login\">Sign in</a></nav>"
+            + "<a href='/india-news/polls-open-in-five-states-4512345'><img src=\"x.jpg\"></a>"
+            + "<a href='/india-news/polls-open-in-five-states-4512345'><h2>Polls open in five states</h2></a>"
+            + "<!-- <a href=\"/hidden/commented-out-story-link\">Hidden</a> -->"
+            + "<script>var s = '<a href=\"/script/story-in-a-script\">x</a>';</script>"
+            + "<a class=\"headline\" href=\"https://example.com/politics/counting-begins-at-dawn.html\">Counting begins at dawn</a>"
+            + "<a href=\"https://other.com/world/unrelated-story-elsewhere\">Elsewhere</a>"
+            + "<a href=\"/politics/2024/results\">Full results for every constituency tonight</a>"
+            + "<a href=\"/images/turnout-chart-large.png\">Turnout chart</a>"
+            + "<a href=\"" + TOPIC_URL + "#top\">Back to top of the elections page</a>"
+            + "<a href=\"/author/jane-doe-smith\">Jane Doe Smith</a>"
+            + "<a href=\"/news/tally?x=1&amp;y=2\">Tally</a>"
+            + "</body></html>";
+        
+        List<ArticleLinkExtractor.ArticleLink> links = ArticleLinkExtractor.extract(html, TOPIC_URL, 10);
+        
+        List<String> urls = new ArrayList<>();
+        for (ArticleLinkExtractor.ArticleLink link : links) {
+            urls.add(link.getUrl());
+        }
+        assertEquals(List.of(
+            "https://www.example.com/india-news/polls-open-in-five-states-4512345",
+            "https://example.com/politics/counting-begins-at-dawn.html",
+            "https://www.example.com/politics/2024/results"), urls);
+        // The longest anchor text of a repeated link is its headline
+        assertEquals("Polls open in five states", links.get(0).getHeadline());
+        
+        assertEquals(2, ArticleLinkExtractor.extract(html, TOPIC_URL, 2).size());
+    }
+    
+    @Test
+    public void testNonAsciiTextDoesNotShiftOffsets() {
+        // "İ" lower-cases to two chars, so offsets into a lower-cased copy would drift
+        StringBuilder html = new StringBuilder("<html><body><p>");
+        for (int i = 0; i < 5; i++) {
+            html.append("İstanbul İzmir ");
+        }
+        html.append("</p>")
+            .append("<A HREF=\"/turkey/ferry-services-resume-after-storm\">Ferry services resume</A>")
+            .append("<a href=\"/turkey/markets-rally-on-rate-decision\"><abbr>BIST</abbr> markets rally</a>")
+            .append("<a href=\"/turkey/new-metro-line-opens-in-izmir\">New metro line opens</a>")
+            .append("</body></html>");
+        
+        List<ArticleLinkExtractor.ArticleLink> links = ArticleLinkExtractor.extract(html.toString(),
+            "https://news.example.com.tr/topic/turkey", 10);
+        
+        assertEquals(3, links.size());
+        assertEquals("https://news.example.com.tr/turkey/ferry-services-resume-after-storm", links.get(0).getUrl());
+        assertEquals("Ferry services resume", links.get(0).getHeadline());
+        assertEquals("BIST markets rally", links.get(1).getHeadline());
+    }
+    
+    @Test
+    public void testDigestMergesFinishedSummaries() {
+        List<ArticleLinkExtractor.ArticleLink> links = List.of(
+            new ArticleLinkExtractor.ArticleLink("https://example.com/a", "Story A"),
+            new ArticleLinkExtractor.ArticleLink("https://example.com/b", "Story B"),
+            new ArticleLinkExtractor.ArticleLink("https://example.com/c", "Story C"));
+        
+        Map<String, Integer> keywordsA = new HashMap<>();
+        keywordsA.put("election", 4);
+        keywordsA.put("turnout", 2);
+        Map<String, Integer> keywordsC = new HashMap<>();
+        keywordsC.put("election", 3);
+        keywordsC.put("counting", 5);
+        
+        Map<String, ArticleSummarizer.ArticleSummary> summaries = new HashMap<>();
+        summaries.put("https://example.com/a", new ArticleSummarizer.ArticleSummary("Polls open",
+            "📋 Overview: This comprehensive analysis examines polls.\n\nVoting began early. Queues were long. "
+                + "Turnout was high.\n\n🔍 Analysis: This summary encompasses the primary facts.",
+            List.of("🔹 Voting began early.", "🔹 Queues were long.", "🔹 Turnout was high."), keywordsA, 400,
+            "https://example.com/a"));
+        summaries.put("https://example.com/b", new ArticleSummarizer.ArticleSummary("Error", "Timed out",
+            List.of("• Unable to process article"), new HashMap<>(), 0, ""));
+        summaries.put("https://example.com/c", new ArticleSummarizer.ArticleSummary("", "Counting starts tomorrow.",
+            List.of("📢 Officials confirmed the date."), keywordsC, 300, "https://example.com/c"));
+        
+        ArticleSummarizer.ArticleSummary digest = TopicDigest.merge("Elections", TOPIC_URL, links, summaries);
+        
+        assertEquals("Elections - Topic Digest", digest.getTitle());
+        assertEquals(TOPIC_URL, digest.getUrl());
+        assertEquals(700, digest.getWordCount());
+        assertTrue(digest.getSummary().startsWith("📰 Digest of 2 of 3 linked articles"));
+        assertTrue(digest.getSummary().contains("▪ Polls open\nVoting began early. Queues were long."));
+        assertFalse(digest.getSummary().contains("Turnout was high"));
+        assertTrue(digest.getSummary().contains("▪ Story C\nCounting starts tomorrow."));
+        assertEquals(List.of("🔹 Voting began early.", "🔹 Queues were long.", "📢 Officials confirmed the date."),
+            digest.getKeyPoints());
+        assertEquals(List.of("election", "counting", "turnout"), new ArrayList<>(digest.getKeywords().keySet()));
+        assertEquals(7, (int) digest.getKeywords().get("election"));
+        
+        assertNull(TopicDigest.merge("Elections", TOPIC_URL, links, new HashMap<>()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.newsvisualizer;
+
+import com.newsvisualizer.model.NewsArticle;
+import com.newsvisualizer.model.Source;
+import com.newsvisualizer.utils.CountMinSketch;
+import com.newsvisualizer.utils.SpaceSavingCounter;
+import com.newsvisualizer.utils.TrendingKeywordDetector;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the streaming trending keyword engine
+ */
+public class TrendingKeywordDetectorTest {
+    
+    @Test
+    public void testCountMinSketchNeverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(256, 4);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("term" + (i % 50), 1);
+        }
+        
+        for (int i = 0; i < 50; i++) {
+            assertTrue(sketch.estimate("term" + i) >= 20, "Estimate must not undercount");
+        }
+        assertEquals(1000, sketch.getTotalCount());
+    }
+    
+    @Test
+    public void testSpaceSavingKeepsHeavyHitters() {
+        SpaceSavingCounter counter = new SpaceSavingCounter(10);
+        for (int i = 0; i < 500; i++) {
+            counter.add("election", 1);
+            counter.add("noise" + i, 1);
+        }
+        
+        assertEquals(10, counter.size(), "Capacity must bound the tracked terms");
+        assertEquals("election", counter.getTopTerms(1).get(0));
+        assertTrue(counter.getGuaranteedCount("election") >= 400);
+    }
+    
+    @Test
+    public void testSpikingKeywordIsReported() {
+        TrendingKeywordDetector detector = new TrendingKeywordDetector(3600, 24, 1, 1024, 4, 32);
+        Source source = new Source("test", "Test Source");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        
+        // Steady baseline for twenty hours
+        for (int hour = 0; hour < 20; hour++) {
+            for (int i = 0; i < 5; i++) {
+                detector.addArticle(article("Markets update economy report", start.plusHours(hour), source));
+            }
+        }
+        
+        // Sudden burst in the latest hour
+        for (int i = 0; i < 5; i++) {
+            detector.addArticle(article("Explosion reported downtown economy", start.plusHours(20), source));
+        }
+        
+        List<TrendingKeywordDetector.TrendingKeyword> trending = detector.getTrendingKeywords(5, 2.0);
+        
+        assertFalse(trending.isEmpty(), "Burst keyword should be trending");
+        assertTrue(trending.stream().anyMatch(k -> k.getTerm().equals("explosion")));
+        assertTrue(trending.stream().noneMatch(k -> k.getTerm().equals("economy")),
+            "Keywords steady across the baseline should not trend");
+        assertTrue(trending.stream().noneMatch(k -> k.getTerm().equals("markets")),
+            "Baseline-only keywords should not trend");
+    }
+    
+    private NewsArticle article(String title, LocalDateTime publishedAt, Source source) {
+        return new NewsArticle(title, null, null, "http://test.com/" + Math.random(),
+            null, publishedAt, source, "Test Author");
+    }
+}